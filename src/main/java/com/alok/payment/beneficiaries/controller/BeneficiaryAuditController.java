@@ -0,0 +1,37 @@
+package com.alok.payment.beneficiaries.controller;
+
+import com.alok.payment.beneficiaries.dto.AuditEventResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.service.AuditQueryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/beneficiaries/audit-events")
+public class BeneficiaryAuditController {
+
+    private static final Logger log = LoggerFactory.getLogger(BeneficiaryAuditController.class);
+
+    private final AuditQueryService auditQueryService;
+
+    public BeneficiaryAuditController(AuditQueryService auditQueryService) {
+        this.auditQueryService = auditQueryService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<AuditEventResponse>> getAuditEvents(
+            @RequestParam String customerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        log.info("REST request to get audit events for customer: {} from {} to {}", customerId, from, to);
+
+        return ResponseEntity.ok(auditQueryService.findEvents(customerId, from, to, cursor, size));
+    }
+}
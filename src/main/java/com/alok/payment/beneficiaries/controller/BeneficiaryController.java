@@ -3,17 +3,30 @@ package com.alok.payment.beneficiaries.controller;
 import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
 import com.alok.payment.beneficiaries.dto.BeneficiaryResponse;
 import com.alok.payment.beneficiaries.dto.BeneficiarySearchCriteria;
+import com.alok.payment.beneficiaries.dto.BeneficiaryVersionResponse;
+import com.alok.payment.beneficiaries.dto.BulkCreateResponse;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeRequest;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.dto.DuplicateClusterResponse;
+import com.alok.payment.beneficiaries.dto.DuplicatePairResponse;
 import com.alok.payment.beneficiaries.dto.PagedResponse;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
 import com.alok.payment.beneficiaries.model.Beneficiary;
 import com.alok.payment.beneficiaries.service.BeneficiaryService;
+import com.alok.payment.beneficiaries.service.BulkBeneficiaryService;
+import com.alok.payment.beneficiaries.service.BulkStatusChangeService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -26,30 +39,70 @@ public class BeneficiaryController {
     private static final Logger log = LoggerFactory.getLogger(BeneficiaryController.class);
     
     private final BeneficiaryService beneficiaryService;
+    private final BulkBeneficiaryService bulkBeneficiaryService;
+    private final BulkStatusChangeService bulkStatusChangeService;
 
-    public BeneficiaryController(BeneficiaryService beneficiaryService) {
+    public BeneficiaryController(BeneficiaryService beneficiaryService,
+                                 BulkBeneficiaryService bulkBeneficiaryService,
+                                 BulkStatusChangeService bulkStatusChangeService) {
         this.beneficiaryService = beneficiaryService;
+        this.bulkBeneficiaryService = bulkBeneficiaryService;
+        this.bulkStatusChangeService = bulkStatusChangeService;
     }
     
     @PostMapping
     public ResponseEntity<BeneficiaryResponse> createBeneficiary(
-            @Valid @RequestBody BeneficiaryRequest request) {
-        log.info("REST request to create beneficiary for customer: {}", request.getCustomerId());
+            @Valid @RequestBody BeneficiaryRequest request,
+            @RequestParam(defaultValue = "false") boolean async) {
+        log.info("REST request to create beneficiary for customer: {} (async: {})", request.getCustomerId(), async);
+        
+        if (async) {
+            Beneficiary pending = beneficiaryService.createBeneficiaryAsync(request);
+            URI statusLocation = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/v1/beneficiaries/{id}/status")
+                    .queryParam("customerId", pending.getCustomerId())
+                    .buildAndExpand(pending.getId())
+                    .toUri();
+            return ResponseEntity.accepted()
+                    .location(statusLocation)
+                    .body(BeneficiaryResponse.from(pending));
+        }
         
         Beneficiary beneficiary = beneficiaryService.createBeneficiary(request);
         return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(eTag(beneficiary))
                 .body(BeneficiaryResponse.from(beneficiary));
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResponse> createBeneficiaries(
+            @RequestBody List<BeneficiaryRequest> requests) {
+        log.info("REST request to bulk create {} beneficiaries", requests.size());
+        
+        return ResponseEntity.ok(bulkBeneficiaryService.createBeneficiaries(requests));
+    }
+    
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkStatusChangeResponse> changeBeneficiaryStatuses(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        log.info("REST request to change beneficiaries of customer: {} to status {}",
+                request.getCustomerId(), request.getStatus());
+        
+        return ResponseEntity.ok(bulkStatusChangeService.changeStatus(request));
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<BeneficiaryResponse> updateBeneficiary(
             @PathVariable Long id,
             @RequestParam String customerId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody BeneficiaryRequest request) {
         log.info("REST request to update beneficiary ID: {} for customer: {}", id, customerId);
         
-        Beneficiary beneficiary = beneficiaryService.updateBeneficiary(id, customerId, request);
-        return ResponseEntity.ok(BeneficiaryResponse.from(beneficiary));
+        Beneficiary beneficiary = beneficiaryService.updateBeneficiary(id, customerId, request, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(eTag(beneficiary))
+                .body(BeneficiaryResponse.from(beneficiary));
     }
     
     @DeleteMapping("/{id}")
@@ -69,9 +122,40 @@ public class BeneficiaryController {
         log.info("REST request to get beneficiary ID: {} for customer: {}", id, customerId);
         
         Beneficiary beneficiary = beneficiaryService.getBeneficiary(id, customerId);
+        return ResponseEntity.ok()
+                .eTag(eTag(beneficiary))
+                .body(BeneficiaryResponse.from(beneficiary));
+    }
+    
+    @GetMapping("/{id}/status")
+    public ResponseEntity<BeneficiaryResponse> getBeneficiaryStatus(
+            @PathVariable Long id,
+            @RequestParam String customerId) {
+        log.info("REST request to get status of beneficiary ID: {} for customer: {}", id, customerId);
+        
+        Beneficiary beneficiary = beneficiaryService.getBeneficiaryStatus(id, customerId);
         return ResponseEntity.ok(BeneficiaryResponse.from(beneficiary));
     }
     
+    @GetMapping("/{id}/as-of")
+    public ResponseEntity<BeneficiaryVersionResponse> getBeneficiaryAsOf(
+            @PathVariable Long id,
+            @RequestParam String customerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp) {
+        log.info("REST request to get beneficiary ID: {} for customer: {} as of {}", id, customerId, timestamp);
+        
+        return ResponseEntity.ok(beneficiaryService.getBeneficiaryAsOf(id, customerId, timestamp));
+    }
+    
+    @GetMapping("/{id}/versions")
+    public ResponseEntity<List<BeneficiaryVersionResponse>> getBeneficiaryVersions(
+            @PathVariable Long id,
+            @RequestParam String customerId) {
+        log.info("REST request to get version history of beneficiary ID: {} for customer: {}", id, customerId);
+        
+        return ResponseEntity.ok(beneficiaryService.getBeneficiaryHistory(id, customerId));
+    }
+    
     @GetMapping
     public ResponseEntity<List<BeneficiaryResponse>> getBeneficiaries(
             @RequestParam String customerId,
@@ -118,14 +202,33 @@ public class BeneficiaryController {
     }
     
     @GetMapping("/duplicates")
-    public ResponseEntity<List<Map<String, Object>>> findPotentialDuplicates(
-            @RequestParam String customerId) {
+    public ResponseEntity<CursorPage<DuplicatePairResponse>> findPotentialDuplicates(
+            @RequestParam String customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("REST request to find potential duplicate beneficiaries for customer: {}", customerId);
         
-        List<Map<String, Object>> duplicates = beneficiaryService.findPotentialDuplicates(customerId);
+        CursorPage<DuplicatePairResponse> duplicates = beneficiaryService.findPotentialDuplicates(
+                customerId, cursor, size);
         return ResponseEntity.ok(duplicates);
     }
     
+    @GetMapping("/duplicates/clusters")
+    public ResponseEntity<List<DuplicateClusterResponse>> getDuplicateClusters(
+            @RequestParam String customerId) {
+        log.info("REST request to get duplicate clusters for customer: {}", customerId);
+        
+        return ResponseEntity.ok(beneficiaryService.getDuplicateClusters(customerId));
+    }
+    
+    @PostMapping("/duplicates/clusters/rebuild")
+    public ResponseEntity<List<DuplicateClusterResponse>> rebuildDuplicateClusters(
+            @RequestParam String customerId) {
+        log.info("REST request to rebuild duplicate clusters for customer: {}", customerId);
+        
+        return ResponseEntity.ok(beneficiaryService.rebuildDuplicateClusters(customerId));
+    }
+    
     @GetMapping("/usage-report")
     public ResponseEntity<Map<String, Object>> getUsageReport(
             @RequestParam String customerId,
@@ -137,4 +240,30 @@ public class BeneficiaryController {
         Map<String, Object> report = beneficiaryService.getBeneficiaryUsageReport(
                 customerId, startDate, endDate);
         return ResponseEntity.ok(report);
-    }}
\ No newline at end of file
+    }
+    
+    private static String eTag(Beneficiary beneficiary) {
+        return "\"" + beneficiary.getVersion() + "\"";
+    }
+    
+    /**
+     * The version named by an If-Match header, or null when absent or "*", which match any version.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match must be an ETag returned for this beneficiary: " + ifMatch);
+        }
+    }
+}
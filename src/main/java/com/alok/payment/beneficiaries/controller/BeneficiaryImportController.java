@@ -0,0 +1,50 @@
+package com.alok.payment.beneficiaries.controller;
+
+import com.alok.payment.beneficiaries.dto.ImportResponse;
+import com.alok.payment.beneficiaries.service.BeneficiaryImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/beneficiaries/imports")
+public class BeneficiaryImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(BeneficiaryImportController.class);
+
+    private final BeneficiaryImportService importService;
+
+    public BeneficiaryImportController(BeneficiaryImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResponse> importBeneficiaries(@RequestPart("file") MultipartFile file) throws IOException {
+        log.info("REST request to import beneficiaries from file: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importCsv(input));
+        }
+    }
+
+    @GetMapping("/{importId}/errors")
+    public ResponseEntity<Resource> getErrorReport(@PathVariable String importId) {
+        log.info("REST request to download error report of import: {}", importId);
+
+        return importService.findErrorReport(importId)
+                .<ResponseEntity<Resource>>map(report -> ResponseEntity.ok()
+                        .contentType(new MediaType("text", "csv"))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + importId + "-errors.csv\"")
+                        .body(new FileSystemResource(report)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.alok.payment.beneficiaries.controller;
+
+import com.alok.payment.beneficiaries.dto.SanctionsRescreenJobResponse;
+import com.alok.payment.beneficiaries.model.SanctionsRescreenJob;
+import com.alok.payment.beneficiaries.service.SanctionsRescreeningService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/sanctions/rescreen-jobs")
+public class SanctionsRescreenController {
+    
+    private static final Logger log = LoggerFactory.getLogger(SanctionsRescreenController.class);
+    
+    private final SanctionsRescreeningService rescreeningService;
+
+    public SanctionsRescreenController(SanctionsRescreeningService rescreeningService) {
+        this.rescreeningService = rescreeningService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<SanctionsRescreenJobResponse> startJob() {
+        log.info("REST request to start a sanctions rescreen job");
+        
+        return accepted(rescreeningService.startJob());
+    }
+    
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<SanctionsRescreenJobResponse> resumeJob(@PathVariable Long jobId) {
+        log.info("REST request to resume sanctions rescreen job: {}", jobId);
+        
+        return accepted(rescreeningService.resumeJob(jobId));
+    }
+    
+    @GetMapping("/{jobId}")
+    public ResponseEntity<SanctionsRescreenJobResponse> getJob(@PathVariable Long jobId) {
+        log.info("REST request to get sanctions rescreen job: {}", jobId);
+        
+        return rescreeningService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(SanctionsRescreenJobResponse.from(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private ResponseEntity<SanctionsRescreenJobResponse> accepted(SanctionsRescreenJob job) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/sanctions/rescreen-jobs/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(SanctionsRescreenJobResponse.from(job));
+    }
+}
@@ -0,0 +1,89 @@
+package com.alok.payment.beneficiaries.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for one recorded beneficiary audit event.
+ * For updates, changes maps each changed field to its new value.
+ */
+public class AuditEventResponse {
+
+    private Long id;
+    private String operation;
+    private String customerId;
+    private Long beneficiaryId;
+    private String accountNumber;
+    private Map<String, String> changes;
+    private LocalDateTime occurredAt;
+
+    public AuditEventResponse() {
+    }
+
+    public AuditEventResponse(Long id, String operation, String customerId, Long beneficiaryId,
+                              String accountNumber, Map<String, String> changes, LocalDateTime occurredAt) {
+        this.id = id;
+        this.operation = operation;
+        this.customerId = customerId;
+        this.beneficiaryId = beneficiaryId;
+        this.accountNumber = accountNumber;
+        this.changes = changes;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getBeneficiaryId() {
+        return beneficiaryId;
+    }
+
+    public void setBeneficiaryId(Long beneficiaryId) {
+        this.beneficiaryId = beneficiaryId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Map<String, String> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(Map<String, String> changes) {
+        this.changes = changes;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
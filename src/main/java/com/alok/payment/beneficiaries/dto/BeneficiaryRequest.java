@@ -23,6 +23,9 @@ public class BeneficiaryRequest {
     
     @Pattern(regexp = "DOMESTIC|INTERNATIONAL", message = "Beneficiary type must be DOMESTIC or INTERNATIONAL")
     private String beneficiaryType;
+    
+    @Pattern(regexp = "[A-Z]{2}", message = "Beneficiary country must be an ISO 3166 alpha-2 code")
+    private String beneficiaryCountry;
 
     public BeneficiaryRequest() {
     }
@@ -94,4 +97,12 @@ public class BeneficiaryRequest {
     public void setBeneficiaryType(String beneficiaryType) {
         this.beneficiaryType = beneficiaryType;
     }
+
+    public String getBeneficiaryCountry() {
+        return beneficiaryCountry;
+    }
+
+    public void setBeneficiaryCountry(String beneficiaryCountry) {
+        this.beneficiaryCountry = beneficiaryCountry;
+    }
 }
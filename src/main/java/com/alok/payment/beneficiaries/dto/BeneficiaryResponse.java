@@ -17,6 +17,13 @@ public class BeneficiaryResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private String validationFailureReason;
+    private String beneficiaryCountry;
+    private Double validationFraudScore;
+    private String validationAccountStatus;
+    private LocalDateTime validatedAt;
+    private String accountHolderName;
+    private String nameMatch;
 
     public BeneficiaryResponse() {
     }
@@ -125,8 +132,64 @@ public class BeneficiaryResponse {
         this.updatedAt = updatedAt;
     }
     
+    public String getValidationFailureReason() {
+        return validationFailureReason;
+    }
+
+    public void setValidationFailureReason(String validationFailureReason) {
+        this.validationFailureReason = validationFailureReason;
+    }
+    
+    public String getBeneficiaryCountry() {
+        return beneficiaryCountry;
+    }
+
+    public void setBeneficiaryCountry(String beneficiaryCountry) {
+        this.beneficiaryCountry = beneficiaryCountry;
+    }
+    
+    public Double getValidationFraudScore() {
+        return validationFraudScore;
+    }
+
+    public void setValidationFraudScore(Double validationFraudScore) {
+        this.validationFraudScore = validationFraudScore;
+    }
+    
+    public String getValidationAccountStatus() {
+        return validationAccountStatus;
+    }
+
+    public void setValidationAccountStatus(String validationAccountStatus) {
+        this.validationAccountStatus = validationAccountStatus;
+    }
+    
+    public LocalDateTime getValidatedAt() {
+        return validatedAt;
+    }
+
+    public void setValidatedAt(LocalDateTime validatedAt) {
+        this.validatedAt = validatedAt;
+    }
+    
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+    
+    public void setAccountHolderName(String accountHolderName) {
+        this.accountHolderName = accountHolderName;
+    }
+    
+    public String getNameMatch() {
+        return nameMatch;
+    }
+    
+    public void setNameMatch(String nameMatch) {
+        this.nameMatch = nameMatch;
+    }
+    
     public static BeneficiaryResponse from(Beneficiary beneficiary) {
-        return new BeneficiaryResponse(
+        BeneficiaryResponse response = new BeneficiaryResponse(
                 beneficiary.getId(),
                 beneficiary.getCustomerId(),
                 beneficiary.getAccountNumber(),
@@ -139,5 +202,13 @@ public class BeneficiaryResponse {
                 beneficiary.getCreatedAt(),
                 beneficiary.getUpdatedAt()
         );
+        response.setValidationFailureReason(beneficiary.getValidationFailureReason());
+        response.setBeneficiaryCountry(beneficiary.getBeneficiaryCountry());
+        response.setValidationFraudScore(beneficiary.getValidationFraudScore());
+        response.setValidationAccountStatus(beneficiary.getValidationAccountStatus());
+        response.setValidatedAt(beneficiary.getValidatedAt());
+        response.setAccountHolderName(beneficiary.getAccountHolderName());
+        response.setNameMatch(beneficiary.getNameMatch());
+        return response;
     }
 }
@@ -0,0 +1,57 @@
+package com.alok.payment.beneficiaries.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one stored version of a beneficiary: its state from validFrom until the next version.
+ */
+public class BeneficiaryVersionResponse {
+
+    private Long versionId;
+    private String operation;
+    private LocalDateTime validFrom;
+    private BeneficiaryResponse beneficiary;
+
+    public BeneficiaryVersionResponse() {
+    }
+
+    public BeneficiaryVersionResponse(Long versionId, String operation, LocalDateTime validFrom,
+                                      BeneficiaryResponse beneficiary) {
+        this.versionId = versionId;
+        this.operation = operation;
+        this.validFrom = validFrom;
+        this.beneficiary = beneficiary;
+    }
+
+    public Long getVersionId() {
+        return versionId;
+    }
+
+    public void setVersionId(Long versionId) {
+        this.versionId = versionId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public BeneficiaryResponse getBeneficiary() {
+        return beneficiary;
+    }
+
+    public void setBeneficiary(BeneficiaryResponse beneficiary) {
+        this.beneficiary = beneficiary;
+    }
+}
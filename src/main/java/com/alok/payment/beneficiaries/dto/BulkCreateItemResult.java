@@ -0,0 +1,55 @@
+package com.alok.payment.beneficiaries.dto;
+
+/**
+ * DTO for the outcome of one item of a bulk create, identified by its position in the request.
+ * Status is CREATED, INVALID or DUPLICATE; beneficiaryId is only set for CREATED.
+ */
+public class BulkCreateItemResult {
+
+    private int index;
+    private String status;
+    private Long beneficiaryId;
+    private String message;
+
+    public BulkCreateItemResult() {
+    }
+
+    public BulkCreateItemResult(int index, String status, Long beneficiaryId, String message) {
+        this.index = index;
+        this.status = status;
+        this.beneficiaryId = beneficiaryId;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getBeneficiaryId() {
+        return beneficiaryId;
+    }
+
+    public void setBeneficiaryId(Long beneficiaryId) {
+        this.beneficiaryId = beneficiaryId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
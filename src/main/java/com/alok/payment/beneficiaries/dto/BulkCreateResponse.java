@@ -0,0 +1,56 @@
+package com.alok.payment.beneficiaries.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the response to a bulk create: counts plus one result per requested item, in request order.
+ */
+public class BulkCreateResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkCreateItemResult> results;
+
+    public BulkCreateResponse() {
+    }
+
+    public BulkCreateResponse(List<BulkCreateItemResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.created = (int) results.stream().filter(result -> "CREATED".equals(result.getStatus())).count();
+        this.failed = total - created;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkCreateItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkCreateItemResult> results) {
+        this.results = results;
+    }
+}
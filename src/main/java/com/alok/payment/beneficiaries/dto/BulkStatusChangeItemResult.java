@@ -0,0 +1,45 @@
+package com.alok.payment.beneficiaries.dto;
+
+/**
+ * DTO for the outcome of a bulk status change for one beneficiary.
+ * Status is UPDATED, UNCHANGED (its current status does not allow the change) or NOT_FOUND.
+ */
+public class BulkStatusChangeItemResult {
+
+    private Long beneficiaryId;
+    private String status;
+    private String message;
+
+    public BulkStatusChangeItemResult() {
+    }
+
+    public BulkStatusChangeItemResult(Long beneficiaryId, String status, String message) {
+        this.beneficiaryId = beneficiaryId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public Long getBeneficiaryId() {
+        return beneficiaryId;
+    }
+
+    public void setBeneficiaryId(Long beneficiaryId) {
+        this.beneficiaryId = beneficiaryId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,85 @@
+package com.alok.payment.beneficiaries.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.List;
+
+/**
+ * DTO for a bulk status change of one customer's beneficiaries. The beneficiaries are either
+ * listed by id, or selected by the filter fields (accountNumber, beneficiaryBankCode,
+ * beneficiaryType); at least one of the two must be given.
+ */
+public class BulkStatusChangeRequest {
+
+    @NotBlank(message = "Customer ID is required")
+    private String customerId;
+
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "DELETED|INACTIVE", message = "Status must be DELETED or INACTIVE")
+    private String status;
+
+    private List<Long> beneficiaryIds;
+
+    private String accountNumber;
+
+    private String beneficiaryBankCode;
+
+    @Pattern(regexp = "DOMESTIC|INTERNATIONAL", message = "Beneficiary type must be DOMESTIC or INTERNATIONAL")
+    private String beneficiaryType;
+
+    public BulkStatusChangeRequest() {
+    }
+
+    public boolean hasFilter() {
+        return accountNumber != null || beneficiaryBankCode != null || beneficiaryType != null;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Long> getBeneficiaryIds() {
+        return beneficiaryIds;
+    }
+
+    public void setBeneficiaryIds(List<Long> beneficiaryIds) {
+        this.beneficiaryIds = beneficiaryIds;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getBeneficiaryBankCode() {
+        return beneficiaryBankCode;
+    }
+
+    public void setBeneficiaryBankCode(String beneficiaryBankCode) {
+        this.beneficiaryBankCode = beneficiaryBankCode;
+    }
+
+    public String getBeneficiaryType() {
+        return beneficiaryType;
+    }
+
+    public void setBeneficiaryType(String beneficiaryType) {
+        this.beneficiaryType = beneficiaryType;
+    }
+}
@@ -0,0 +1,68 @@
+package com.alok.payment.beneficiaries.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the response to a bulk status change: counts plus one result per beneficiary. For a
+ * change by id the results follow the request order; for a change by filter they list the
+ * beneficiaries that were updated.
+ */
+public class BulkStatusChangeResponse {
+
+    private String status;
+    private int total;
+    private int updated;
+    private int failed;
+    private List<BulkStatusChangeItemResult> results;
+
+    public BulkStatusChangeResponse() {
+    }
+
+    public BulkStatusChangeResponse(String status, List<BulkStatusChangeItemResult> results) {
+        this.status = status;
+        this.results = results;
+        this.total = results.size();
+        this.updated = (int) results.stream().filter(result -> "UPDATED".equals(result.getStatus())).count();
+        this.failed = total - updated;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkStatusChangeItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkStatusChangeItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,46 @@
+package com.alok.payment.beneficiaries.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a cluster of beneficiaries connected by name similarity.
+ */
+public class DuplicateClusterResponse {
+    
+    private Long clusterId;
+    private int size;
+    private List<BeneficiaryResponse> members;
+
+    public DuplicateClusterResponse() {
+    }
+
+    public DuplicateClusterResponse(Long clusterId, List<BeneficiaryResponse> members) {
+        this.clusterId = clusterId;
+        this.members = members;
+        this.size = members.size();
+    }
+
+    public Long getClusterId() {
+        return clusterId;
+    }
+
+    public void setClusterId(Long clusterId) {
+        this.clusterId = clusterId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<BeneficiaryResponse> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<BeneficiaryResponse> members) {
+        this.members = members;
+    }
+}
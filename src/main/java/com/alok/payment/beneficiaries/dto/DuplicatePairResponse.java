@@ -0,0 +1,101 @@
+package com.alok.payment.beneficiaries.dto;
+
+import com.alok.payment.beneficiaries.model.Beneficiary;
+
+/**
+ * DTO for a pair of potentially duplicate beneficiaries.
+ * Each unordered pair is reported once, with beneficiary1Id lower than beneficiary2Id.
+ */
+public class DuplicatePairResponse {
+    
+    private Long beneficiary1Id;
+    private String beneficiary1Name;
+    private String beneficiary1Account;
+    private Long beneficiary2Id;
+    private String beneficiary2Name;
+    private String beneficiary2Account;
+    private double similarity;
+
+    public DuplicatePairResponse() {
+    }
+
+    public DuplicatePairResponse(Long beneficiary1Id, String beneficiary1Name, String beneficiary1Account,
+                                 Long beneficiary2Id, String beneficiary2Name, String beneficiary2Account,
+                                 double similarity) {
+        this.beneficiary1Id = beneficiary1Id;
+        this.beneficiary1Name = beneficiary1Name;
+        this.beneficiary1Account = beneficiary1Account;
+        this.beneficiary2Id = beneficiary2Id;
+        this.beneficiary2Name = beneficiary2Name;
+        this.beneficiary2Account = beneficiary2Account;
+        this.similarity = similarity;
+    }
+
+    public Long getBeneficiary1Id() {
+        return beneficiary1Id;
+    }
+
+    public void setBeneficiary1Id(Long beneficiary1Id) {
+        this.beneficiary1Id = beneficiary1Id;
+    }
+
+    public String getBeneficiary1Name() {
+        return beneficiary1Name;
+    }
+
+    public void setBeneficiary1Name(String beneficiary1Name) {
+        this.beneficiary1Name = beneficiary1Name;
+    }
+
+    public String getBeneficiary1Account() {
+        return beneficiary1Account;
+    }
+
+    public void setBeneficiary1Account(String beneficiary1Account) {
+        this.beneficiary1Account = beneficiary1Account;
+    }
+
+    public Long getBeneficiary2Id() {
+        return beneficiary2Id;
+    }
+
+    public void setBeneficiary2Id(Long beneficiary2Id) {
+        this.beneficiary2Id = beneficiary2Id;
+    }
+
+    public String getBeneficiary2Name() {
+        return beneficiary2Name;
+    }
+
+    public void setBeneficiary2Name(String beneficiary2Name) {
+        this.beneficiary2Name = beneficiary2Name;
+    }
+
+    public String getBeneficiary2Account() {
+        return beneficiary2Account;
+    }
+
+    public void setBeneficiary2Account(String beneficiary2Account) {
+        this.beneficiary2Account = beneficiary2Account;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+    
+    public static DuplicatePairResponse of(Beneficiary first, Beneficiary second, double similarity) {
+        return new DuplicatePairResponse(
+                first.getId(),
+                first.getBeneficiaryName(),
+                first.getBeneficiaryAccountNumber(),
+                second.getId(),
+                second.getBeneficiaryName(),
+                second.getBeneficiaryAccountNumber(),
+                similarity
+        );
+    }
+}
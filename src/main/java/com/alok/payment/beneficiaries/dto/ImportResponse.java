@@ -0,0 +1,64 @@
+package com.alok.payment.beneficiaries.dto;
+
+/**
+ * DTO for the outcome of a file import.
+ * errorReport is the path to download rejected rows from, and is absent when none were rejected.
+ */
+public class ImportResponse {
+
+    private String importId;
+    private long totalRows;
+    private long imported;
+    private long rejected;
+    private String errorReport;
+
+    public ImportResponse() {
+    }
+
+    public ImportResponse(String importId, long totalRows, long imported, long rejected) {
+        this.importId = importId;
+        this.totalRows = totalRows;
+        this.imported = imported;
+        this.rejected = rejected;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public String getErrorReport() {
+        return errorReport;
+    }
+
+    public void setErrorReport(String errorReport) {
+        this.errorReport = errorReport;
+    }
+}
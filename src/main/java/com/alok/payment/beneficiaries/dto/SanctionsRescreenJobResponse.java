@@ -0,0 +1,110 @@
+package com.alok.payment.beneficiaries.dto;
+
+import com.alok.payment.beneficiaries.model.SanctionsRescreenJob;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the progress of a bulk sanctions rescreening job.
+ */
+public class SanctionsRescreenJobResponse {
+    
+    private Long jobId;
+    private String status;
+    private long lastBeneficiaryId;
+    private long scannedCount;
+    private long flaggedCount;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public SanctionsRescreenJobResponse() {
+    }
+
+    public static SanctionsRescreenJobResponse from(SanctionsRescreenJob job) {
+        SanctionsRescreenJobResponse response = new SanctionsRescreenJobResponse();
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setLastBeneficiaryId(job.getLastBeneficiaryId());
+        response.setScannedCount(job.getScannedCount());
+        response.setFlaggedCount(job.getFlaggedCount());
+        response.setFailureReason(job.getFailureReason());
+        response.setStartedAt(job.getStartedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getLastBeneficiaryId() {
+        return lastBeneficiaryId;
+    }
+
+    public void setLastBeneficiaryId(long lastBeneficiaryId) {
+        this.lastBeneficiaryId = lastBeneficiaryId;
+    }
+
+    public long getScannedCount() {
+        return scannedCount;
+    }
+
+    public void setScannedCount(long scannedCount) {
+        this.scannedCount = scannedCount;
+    }
+
+    public long getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    public void setFlaggedCount(long flaggedCount) {
+        this.flaggedCount = flaggedCount;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.alok.payment.beneficiaries.exception;
+
+public class BeneficiaryVersionConflictException extends RuntimeException {
+    public BeneficiaryVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.alok.payment.beneficiaries.exception;
+
+/**
+ * Exception thrown when a request is malformed, e.g. an unparseable cursor, If-Match header or
+ * import file. Its message is returned to the client, so it must only describe the request.
+ */
+public class InvalidRequestException extends RuntimeException {
+    
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+    
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.alok.payment.beneficiaries.exception;
+
+/**
+ * Exception thrown when a sanctions rescreening job is requested while another one is running.
+ */
+public class SanctionsRescreenInProgressException extends RuntimeException {
+    
+    public SanctionsRescreenInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.alok.payment.beneficiaries.exception;
+
+/**
+ * Exception thrown when the third-party validation service cannot be called,
+ * because it timed out, its circuit is open or too many calls are in flight.
+ */
+public class ThirdPartyServiceUnavailableException extends RuntimeException {
+    
+    public ThirdPartyServiceUnavailableException(String message) {
+        super(message);
+    }
+    
+    public ThirdPartyServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.alok.payment.beneficiaries.exception;
+
+/**
+ * Exception thrown when our own third-party validation quota had no capacity in time.
+ * Unlike other unavailability it says nothing about the provider or the beneficiary,
+ * so background callers can retry the validation later.
+ */
+public class ValidationRateLimitExceededException extends ThirdPartyServiceUnavailableException {
+    
+    public ValidationRateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -20,6 +20,15 @@ public class Beneficiary {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long duplicateClusterId;
+    private String validationFailureReason;
+    private String beneficiaryCountry;
+    private Double validationFraudScore;
+    private String validationAccountStatus;
+    private LocalDateTime validatedAt;
+    private String accountHolderName;
+    private String nameMatch;
+    private long version;
 
     public Beneficiary() {
     }
@@ -127,4 +136,76 @@ public class Beneficiary {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getDuplicateClusterId() {
+        return duplicateClusterId;
+    }
+
+    public void setDuplicateClusterId(Long duplicateClusterId) {
+        this.duplicateClusterId = duplicateClusterId;
+    }
+
+    public String getValidationFailureReason() {
+        return validationFailureReason;
+    }
+
+    public void setValidationFailureReason(String validationFailureReason) {
+        this.validationFailureReason = validationFailureReason;
+    }
+
+    public String getBeneficiaryCountry() {
+        return beneficiaryCountry;
+    }
+
+    public void setBeneficiaryCountry(String beneficiaryCountry) {
+        this.beneficiaryCountry = beneficiaryCountry;
+    }
+
+    public Double getValidationFraudScore() {
+        return validationFraudScore;
+    }
+
+    public void setValidationFraudScore(Double validationFraudScore) {
+        this.validationFraudScore = validationFraudScore;
+    }
+
+    public String getValidationAccountStatus() {
+        return validationAccountStatus;
+    }
+
+    public void setValidationAccountStatus(String validationAccountStatus) {
+        this.validationAccountStatus = validationAccountStatus;
+    }
+
+    public LocalDateTime getValidatedAt() {
+        return validatedAt;
+    }
+
+    public void setValidatedAt(LocalDateTime validatedAt) {
+        this.validatedAt = validatedAt;
+    }
+
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+
+    public void setAccountHolderName(String accountHolderName) {
+        this.accountHolderName = accountHolderName;
+    }
+
+    public String getNameMatch() {
+        return nameMatch;
+    }
+
+    public void setNameMatch(String nameMatch) {
+        this.nameMatch = nameMatch;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,110 @@
+package com.alok.payment.beneficiaries.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("sanctions_rescreen_jobs")
+public class SanctionsRescreenJob {
+
+    @Id
+    private Long id;
+    private String status;
+    private long lastBeneficiaryId;
+    private long scannedCount;
+    private long flaggedCount;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public SanctionsRescreenJob() {
+    }
+
+    public SanctionsRescreenJob(Long id, String status, long lastBeneficiaryId, long scannedCount, long flaggedCount,
+                                String failureReason, LocalDateTime startedAt, LocalDateTime updatedAt,
+                                LocalDateTime completedAt) {
+        this.id = id;
+        this.status = status;
+        this.lastBeneficiaryId = lastBeneficiaryId;
+        this.scannedCount = scannedCount;
+        this.flaggedCount = flaggedCount;
+        this.failureReason = failureReason;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getLastBeneficiaryId() {
+        return lastBeneficiaryId;
+    }
+
+    public void setLastBeneficiaryId(long lastBeneficiaryId) {
+        this.lastBeneficiaryId = lastBeneficiaryId;
+    }
+
+    public long getScannedCount() {
+        return scannedCount;
+    }
+
+    public void setScannedCount(long scannedCount) {
+        this.scannedCount = scannedCount;
+    }
+
+    public long getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    public void setFlaggedCount(long flaggedCount) {
+        this.flaggedCount = flaggedCount;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,13 @@ public interface BeneficiaryRepository extends CrudRepository<Beneficiary, Long>
     @Query("SELECT * FROM beneficiaries WHERE customer_id = :customerId")
     List<Beneficiary> findAllByCustomerId(@Param("customerId") String customerId);
     
+    /**
+     * Beneficiaries of a customer in any status with id at or above fromId, for resuming a scan
+     * in id order without reloading what earlier pages covered.
+     */
+    @Query("SELECT * FROM beneficiaries WHERE customer_id = :customerId AND id >= :fromId")
+    List<Beneficiary> findAllByCustomerIdFromId(@Param("customerId") String customerId, @Param("fromId") long fromId);
+    
     @Query("SELECT * FROM beneficiaries WHERE customer_id = :customerId " +
            "AND (:accountNumber IS NULL OR account_number = :accountNumber) " +
            "AND status = 'ACTIVE'")
@@ -31,17 +40,164 @@ public interface BeneficiaryRepository extends CrudRepository<Beneficiary, Long>
             @Param("id") Long id, 
             @Param("customerId") String customerId);
     
-    @Query("SELECT * FROM beneficiaries WHERE customer_id = :customerId " +
-           "AND beneficiary_account_number = :beneficiaryAccountNumber " +
-           "AND status = 'ACTIVE'")
-    Optional<Beneficiary> findByCustomerIdAndBeneficiaryAccountNumber(
+    @Query("SELECT * FROM beneficiaries WHERE id = :id AND customer_id = :customerId")
+    Optional<Beneficiary> findAnyStatusByIdAndCustomerId(
+            @Param("id") Long id, 
+            @Param("customerId") String customerId);
+    
+    /**
+     * Inserts a new beneficiary unless the customer already has a live one with the same account
+     * number, in one round trip. Empty on conflict; the partial unique index makes this safe
+     * against concurrent creates without a prior SELECT.
+     */
+    default Optional<Beneficiary> insertIfAbsent(Beneficiary beneficiary) {
+        return insertOnConflictDoNothing(beneficiary.getCustomerId(), beneficiary.getAccountNumber(),
+                beneficiary.getBeneficiaryName(), beneficiary.getBeneficiaryAccountNumber(),
+                beneficiary.getBeneficiaryBankCode(), beneficiary.getBeneficiaryBankName(),
+                beneficiary.getBeneficiaryType(), beneficiary.getBeneficiaryCountry(), beneficiary.getStatus(),
+                beneficiary.getValidationFraudScore(), beneficiary.getValidationAccountStatus(),
+                beneficiary.getValidatedAt(), beneficiary.getAccountHolderName(), beneficiary.getNameMatch(),
+                beneficiary.getCreatedAt(), beneficiary.getUpdatedAt());
+    }
+    
+    @Query("INSERT INTO beneficiaries (customer_id, account_number, beneficiary_name, beneficiary_account_number, " +
+           "beneficiary_bank_code, beneficiary_bank_name, beneficiary_type, beneficiary_country, status, " +
+           "validation_fraud_score, validation_account_status, validated_at, account_holder_name, name_match, " +
+           "created_at, updated_at) VALUES (:customerId, :accountNumber, :beneficiaryName, :beneficiaryAccountNumber, " +
+           ":beneficiaryBankCode, :beneficiaryBankName, :beneficiaryType, :beneficiaryCountry, :status, " +
+           ":fraudScore, :accountStatus, :validatedAt, :accountHolderName, :nameMatch, :createdAt, :updatedAt) " +
+           "ON CONFLICT (customer_id, beneficiary_account_number) " +
+           "WHERE status IN ('ACTIVE', 'PENDING_VALIDATION') DO NOTHING RETURNING *")
+    Optional<Beneficiary> insertOnConflictDoNothing(
+            @Param("customerId") String customerId,
+            @Param("accountNumber") String accountNumber,
+            @Param("beneficiaryName") String beneficiaryName,
+            @Param("beneficiaryAccountNumber") String beneficiaryAccountNumber,
+            @Param("beneficiaryBankCode") String beneficiaryBankCode,
+            @Param("beneficiaryBankName") String beneficiaryBankName,
+            @Param("beneficiaryType") String beneficiaryType,
+            @Param("beneficiaryCountry") String beneficiaryCountry,
+            @Param("status") String status,
+            @Param("fraudScore") Double fraudScore,
+            @Param("accountStatus") String accountStatus,
+            @Param("validatedAt") LocalDateTime validatedAt,
+            @Param("accountHolderName") String accountHolderName,
+            @Param("nameMatch") String nameMatch,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Applies an edit to an ACTIVE beneficiary in one statement. When expectedVersion is not null
+     * the row must still be at that version. A stored validation is kept only if the account and
+     * bank code are unchanged, and its name match only if the name is unchanged too. Empty if no
+     * row matched; a clash with another live beneficiary fails on the unique index.
+     */
+    @Query(value = "UPDATE beneficiaries b SET account_number = :accountNumber, beneficiary_name = :beneficiaryName, " +
+           "beneficiary_account_number = :beneficiaryAccountNumber, beneficiary_bank_code = :beneficiaryBankCode, " +
+           "beneficiary_bank_name = :beneficiaryBankName, " +
+           "beneficiary_type = COALESCE(:beneficiaryType, o.beneficiary_type), " +
+           "beneficiary_country = COALESCE(:beneficiaryCountry, o.beneficiary_country), " +
+           "validation_fraud_score = CASE WHEN o.same_account THEN o.validation_fraud_score END, " +
+           "validation_account_status = CASE WHEN o.same_account THEN o.validation_account_status END, " +
+           "validated_at = CASE WHEN o.same_account THEN o.validated_at END, " +
+           "account_holder_name = CASE WHEN o.same_account THEN o.account_holder_name END, " +
+           "name_match = CASE WHEN o.same_account AND o.beneficiary_name = :beneficiaryName THEN o.name_match END, " +
+           "updated_at = :updatedAt, version = o.version + 1 " +
+           "FROM (SELECT *, beneficiary_account_number = :beneficiaryAccountNumber " +
+           "AND beneficiary_bank_code = :beneficiaryBankCode AS same_account FROM beneficiaries " +
+           "WHERE id = :id AND customer_id = :customerId AND status = 'ACTIVE' FOR UPDATE) o " +
+           "WHERE b.id = o.id AND (:expectedVersion IS NULL OR o.version = :expectedVersion) " +
+           "RETURNING b.*, o.account_number AS previous_account_number, " +
+           "o.beneficiary_name AS previous_beneficiary_name, " +
+           "o.beneficiary_account_number AS previous_beneficiary_account_number, " +
+           "o.beneficiary_bank_code AS previous_beneficiary_bank_code, " +
+           "o.beneficiary_bank_name AS previous_beneficiary_bank_name, " +
+           "o.beneficiary_type AS previous_beneficiary_type, " +
+           "o.beneficiary_country AS previous_beneficiary_country, o.version AS previous_version",
+           rowMapperClass = BeneficiaryUpdate.Mapper.class)
+    Optional<BeneficiaryUpdate> updateIfVersionMatches(
+            @Param("id") Long id,
             @Param("customerId") String customerId,
-            @Param("beneficiaryAccountNumber") String beneficiaryAccountNumber);
+            @Param("accountNumber") String accountNumber,
+            @Param("beneficiaryName") String beneficiaryName,
+            @Param("beneficiaryAccountNumber") String beneficiaryAccountNumber,
+            @Param("beneficiaryBankCode") String beneficiaryBankCode,
+            @Param("beneficiaryBankName") String beneficiaryBankName,
+            @Param("beneficiaryType") String beneficiaryType,
+            @Param("beneficiaryCountry") String beneficiaryCountry,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("expectedVersion") Long expectedVersion);
     
+    /**
+     * Soft deletes a beneficiary. 0 when it does not exist or is already deleted, so a repeated
+     * delete is not recorded twice.
+     */
     @Modifying
-    @Query("UPDATE beneficiaries SET status = 'DELETED' WHERE id = :id AND customer_id = :customerId")
+    @Query("UPDATE beneficiaries SET status = 'DELETED', version = version + 1 " +
+           "WHERE id = :id AND customer_id = :customerId AND status <> 'DELETED'")
     int softDeleteByIdAndCustomerId(@Param("id") Long id, @Param("customerId") String customerId);
     
+    @Query("SELECT * FROM beneficiaries WHERE customer_id = :customerId AND status = 'ACTIVE' " +
+           "AND duplicate_cluster_id IS NOT NULL ORDER BY duplicate_cluster_id, id")
+    List<Beneficiary> findClusteredByCustomerId(@Param("customerId") String customerId);
+    
+    @Query("SELECT * FROM beneficiaries WHERE customer_id = :customerId " +
+           "AND duplicate_cluster_id = :clusterId AND status = 'ACTIVE'")
+    List<Beneficiary> findByDuplicateClusterId(
+            @Param("customerId") String customerId,
+            @Param("clusterId") Long clusterId);
+    
+    // Held until the transaction ends, so cluster changes of one customer run one at a time
+    @Query("SELECT true FROM pg_advisory_xact_lock(hashtext(:customerId))")
+    boolean lockDuplicateClusters(@Param("customerId") String customerId);
+    
+    @Modifying
+    @Query("UPDATE beneficiaries SET duplicate_cluster_id = :clusterId " +
+           "WHERE customer_id = :customerId AND id IN (:ids)")
+    int assignDuplicateCluster(
+            @Param("customerId") String customerId,
+            @Param("clusterId") Long clusterId,
+            @Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE beneficiaries SET duplicate_cluster_id = :clusterId " +
+           "WHERE customer_id = :customerId AND (id IN (:ids) OR duplicate_cluster_id IN (:clusterIds))")
+    int mergeDuplicateClusters(
+            @Param("customerId") String customerId,
+            @Param("clusterId") Long clusterId,
+            @Param("ids") Collection<Long> ids,
+            @Param("clusterIds") Collection<Long> clusterIds);
+    
+    @Modifying
+    @Query("UPDATE beneficiaries SET duplicate_cluster_id = NULL " +
+           "WHERE customer_id = :customerId AND id IN (:ids)")
+    int clearDuplicateCluster(@Param("customerId") String customerId, @Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE beneficiaries SET duplicate_cluster_id = NULL " +
+           "WHERE customer_id = :customerId AND duplicate_cluster_id IS NOT NULL")
+    int clearDuplicateClustersByCustomerId(@Param("customerId") String customerId);
+    
+    @Modifying
+    @Query("UPDATE beneficiaries SET status = :status, validation_failure_reason = :failureReason, " +
+           "updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id AND status = 'PENDING_VALIDATION'")
+    int completePendingValidation(
+            @Param("id") Long id,
+            @Param("status") String status,
+            @Param("failureReason") String failureReason);
+    
+    @Modifying
+    @Query("UPDATE beneficiaries SET validation_fraud_score = :fraudScore, validation_account_status = :accountStatus, " +
+           "validated_at = :validatedAt, account_holder_name = :accountHolderName, name_match = :nameMatch, " +
+           "version = version + 1 WHERE id = :id")
+    int recordValidationResult(
+            @Param("id") Long id,
+            @Param("fraudScore") Double fraudScore,
+            @Param("accountStatus") String accountStatus,
+            @Param("validatedAt") LocalDateTime validatedAt,
+            @Param("accountHolderName") String accountHolderName,
+            @Param("nameMatch") String nameMatch);
+    
     @Modifying
     @Query("DELETE FROM beneficiaries")
     void deleteAll();
@@ -85,4 +241,31 @@ public interface BeneficiaryRepository extends CrudRepository<Beneficiary, Long>
             @Param("beneficiaryBankCode") String beneficiaryBankCode,
             @Param("createdAfter") java.time.LocalDateTime createdAfter,
             @Param("createdBefore") java.time.LocalDateTime createdBefore);
+    
+    /**
+     * Keyset scan over ACTIVE beneficiaries in id order, used by bulk jobs.
+     * Each call is a short index range read, so long scans do not hold a transaction open.
+     */
+    @Query("SELECT * FROM beneficiaries WHERE status = 'ACTIVE' AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Beneficiary> findActiveAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * Keyset scan over ACTIVE beneficiaries never validated or last validated before the cutoff.
+     */
+    @Query("SELECT * FROM beneficiaries WHERE status = 'ACTIVE' AND id > :afterId " +
+           "AND (validated_at IS NULL OR validated_at < :validatedBefore) ORDER BY id LIMIT :limit")
+    List<Beneficiary> findStaleActiveAfterId(
+            @Param("afterId") long afterId,
+            @Param("validatedBefore") LocalDateTime validatedBefore,
+            @Param("limit") int limit);
+    
+    /**
+     * Keyset scan over beneficiaries still pending validation since before the cutoff.
+     */
+    @Query("SELECT * FROM beneficiaries WHERE status = 'PENDING_VALIDATION' AND id > :afterId " +
+           "AND updated_at < :pendingBefore ORDER BY id LIMIT :limit")
+    List<Beneficiary> findPendingValidationAfterId(
+            @Param("afterId") long afterId,
+            @Param("pendingBefore") LocalDateTime pendingBefore,
+            @Param("limit") int limit);
 }
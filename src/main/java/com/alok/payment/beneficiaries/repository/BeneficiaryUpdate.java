@@ -0,0 +1,59 @@
+package com.alok.payment.beneficiaries.repository;
+
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Result of {@link BeneficiaryRepository#updateIfVersionMatches}: the row as updated, and the
+ * editable fields as they were before, so callers can tell what changed without reading first.
+ */
+public class BeneficiaryUpdate {
+
+    private final Beneficiary previous;
+    private final Beneficiary updated;
+
+    public BeneficiaryUpdate(Beneficiary previous, Beneficiary updated) {
+        this.previous = previous;
+        this.updated = updated;
+    }
+
+    /**
+     * The editable fields before the update; other properties are not populated.
+     */
+    public Beneficiary getPrevious() {
+        return previous;
+    }
+
+    public Beneficiary getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Maps the updated row plus its previous_* columns.
+     */
+    public static class Mapper implements RowMapper<BeneficiaryUpdate> {
+
+        private final RowMapper<Beneficiary> rowMapper = BeanPropertyRowMapper.newInstance(Beneficiary.class);
+
+        @Override
+        public BeneficiaryUpdate mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Beneficiary updated = rowMapper.mapRow(rs, rowNum);
+            Beneficiary previous = new Beneficiary();
+            previous.setId(updated.getId());
+            previous.setCustomerId(updated.getCustomerId());
+            previous.setAccountNumber(rs.getString("previous_account_number"));
+            previous.setBeneficiaryName(rs.getString("previous_beneficiary_name"));
+            previous.setBeneficiaryAccountNumber(rs.getString("previous_beneficiary_account_number"));
+            previous.setBeneficiaryBankCode(rs.getString("previous_beneficiary_bank_code"));
+            previous.setBeneficiaryBankName(rs.getString("previous_beneficiary_bank_name"));
+            previous.setBeneficiaryType(rs.getString("previous_beneficiary_type"));
+            previous.setBeneficiaryCountry(rs.getString("previous_beneficiary_country"));
+            previous.setVersion(rs.getLong("previous_version"));
+            return new BeneficiaryUpdate(previous, updated);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.alok.payment.beneficiaries.repository;
+
+import com.alok.payment.beneficiaries.model.SanctionsRescreenJob;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SanctionsRescreenJobRepository extends CrudRepository<SanctionsRescreenJob, Long> {
+}
@@ -0,0 +1,397 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+
+/**
+ * Table-driven account and bank code format rules, selected by beneficiary type and country.
+ * <p>
+ * Covers IBAN length and mod-97 checksum, BIC structure, and per-country domestic formats such as
+ * UK sort codes, US ABA routing numbers (with checksum) and Indian IFSC codes. Rules are looked up
+ * in arrays indexed by country code and checks run directly over the input characters, so a valid
+ * request is checked without regexes or intermediate strings; only a failure builds a message.
+ * Requests without a country keep the original generic rules, except that IBANs are recognised.
+ * <p>
+ * The checks tolerate separators and lower case, so write paths store the {@link #canonical} form:
+ * otherwise two spellings of one account would pass as two different accounts.
+ */
+final class AccountFormatRules {
+
+    private static final String GENERIC_ACCOUNT_ERROR = "Invalid account number format. Must be 8-20 digits.";
+    private static final String GENERIC_BANK_CODE_ERROR = "Invalid bank code format. Must be 6-11 alphanumeric characters.";
+
+    private static final byte[] IBAN_LENGTHS = new byte[26 * 26];
+    private static final DomesticRule[] DOMESTIC_RULES = new DomesticRule[26 * 26];
+
+    static {
+        String[] ibanLengths = {
+                "AD24", "AE23", "AL28", "AT20", "AZ28", "BA20", "BE16", "BG22", "BH22", "BR29", "CH21", "CR22",
+                "CY28", "CZ24", "DE22", "DK18", "DO28", "EE20", "EG29", "ES24", "FI18", "FO18", "FR27", "GB22",
+                "GE22", "GI23", "GL18", "GR27", "GT28", "HR21", "HU28", "IE22", "IL23", "IS26", "IT27", "JO30",
+                "KW30", "KZ20", "LB28", "LC32", "LI21", "LT20", "LU20", "LV21", "MC27", "MD24", "ME22", "MK19",
+                "MR27", "MT31", "MU30", "NL18", "NO15", "PK24", "PL28", "PS29", "PT25", "QA29", "RO24", "RS22",
+                "SA24", "SC31", "SE24", "SI19", "SK24", "SM27", "TN24", "TR26", "UA29", "VA22", "VG24", "XK20"
+        };
+        for (String entry : ibanLengths) {
+            IBAN_LENGTHS[countryIndex(entry, 0)] = Byte.parseByte(entry.substring(2));
+        }
+
+        domestic("GB", "sort code", BankCodeCheck.DIGITS, 6, 8, 8);
+        domestic("IE", "sort code", BankCodeCheck.DIGITS, 6, 8, 8);
+        domestic("US", "routing number", BankCodeCheck.ABA_ROUTING, 9, 4, 17);
+        domestic("IN", "IFSC code", BankCodeCheck.IFSC, 11, 9, 18);
+        domestic("AU", "BSB number", BankCodeCheck.DIGITS, 6, 6, 10);
+        domestic("NZ", "bank and branch code", BankCodeCheck.DIGITS, 6, 9, 10);
+        domestic("CA", "transit and institution number", BankCodeCheck.DIGITS, 8, 7, 12);
+        domestic("DE", "bank code (BLZ)", BankCodeCheck.DIGITS, 8, 1, 10);
+    }
+
+    private AccountFormatRules() {
+    }
+
+    /**
+     * Validates the account number and bank code of a beneficiary.
+     *
+     * @param beneficiaryType DOMESTIC or INTERNATIONAL; null is treated as DOMESTIC
+     * @param country ISO 3166 alpha-2 country of the beneficiary's bank, or null if unknown
+     * @return null if the format is valid, otherwise the reason it is not
+     */
+    static String validate(String beneficiaryType, String country, String accountNumber, String bankCode) {
+        if (accountNumber == null) {
+            return GENERIC_ACCOUNT_ERROR;
+        }
+        if (bankCode == null) {
+            return GENERIC_BANK_CODE_ERROR;
+        }
+
+        if (country == null) {
+            if (looksLikeIban(accountNumber)) {
+                String ibanError = validateIban(accountNumber, -1);
+                return ibanError != null ? ibanError : validateBic(bankCode, -1);
+            }
+            return validateGeneric(accountNumber, bankCode);
+        }
+
+        if (country.length() != 2 || !isUpperLetter(country.charAt(0)) || !isUpperLetter(country.charAt(1))) {
+            return "Invalid beneficiary country. Must be an ISO 3166 alpha-2 code.";
+        }
+        int countryIndex = countryIndex(country, 0);
+        boolean ibanCountry = IBAN_LENGTHS[countryIndex] != 0;
+        DomesticRule domesticRule = DOMESTIC_RULES[countryIndex];
+
+        if ("INTERNATIONAL".equals(beneficiaryType)) {
+            String accountError;
+            if (ibanCountry) {
+                accountError = validateIban(accountNumber, countryIndex);
+            } else if (domesticRule != null) {
+                accountError = domesticRule.validateAccount(accountNumber);
+            } else {
+                accountError = validateGenericAccount(accountNumber);
+            }
+            return accountError != null ? accountError : validateBic(bankCode, countryIndex);
+        }
+
+        if (ibanCountry && looksLikeIban(accountNumber)) {
+            String ibanError = validateIban(accountNumber, countryIndex);
+            return ibanError != null ? ibanError : validateGenericBankCode(bankCode);
+        }
+        if (domesticRule != null) {
+            return domesticRule.validate(accountNumber, bankCode);
+        }
+        return validateGeneric(accountNumber, bankCode);
+    }
+
+    /**
+     * Rewrites the request's account number and bank code in canonical form. Called by every write path
+     * before validation, duplicate checks and the insert.
+     */
+    static void canonicalize(BeneficiaryRequest request) {
+        request.setBeneficiaryAccountNumber(canonical(request.getBeneficiaryAccountNumber()));
+        request.setBeneficiaryBankCode(canonical(request.getBeneficiaryBankCode()));
+    }
+
+    /**
+     * Canonical form of an account number or bank code: ' ' and '-' separators removed and letters
+     * upper-cased. Returns the value itself when it is already canonical.
+     */
+    static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        int i = 0;
+        while (i < value.length() && !needsRewrite(value.charAt(i))) {
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder canonical = new StringBuilder(value.length()).append(value, 0, i);
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != ' ' && c != '-') {
+                canonical.append(c >= 'a' && c <= 'z' ? (char) (c - 'a' + 'A') : c);
+            }
+        }
+        return canonical.toString();
+    }
+
+    private static boolean needsRewrite(char c) {
+        return c == ' ' || c == '-' || (c >= 'a' && c <= 'z');
+    }
+
+    /**
+     * Checks IBAN structure, the registered length for its country and the ISO 7064 mod-97 checksum.
+     * Spaces are ignored and letters may be either case.
+     *
+     * @param expectedCountryIndex country the IBAN must belong to, or -1 for any
+     */
+    static String validateIban(String iban, int expectedCountryIndex) {
+        int length = 0;
+        char c0 = 0;
+        char c1 = 0;
+        for (int i = 0; i < iban.length(); i++) {
+            char c = iban.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            char upper = Character.toUpperCase(c);
+            boolean valid = length < 2 ? isUpperLetter(upper)
+                    : length < 4 ? isDigit(upper)
+                    : isDigit(upper) || isUpperLetter(upper);
+            if (!valid) {
+                return "Invalid IBAN format.";
+            }
+            if (length == 0) {
+                c0 = upper;
+            } else if (length == 1) {
+                c1 = upper;
+            }
+            length++;
+        }
+        if (length < 4) {
+            return "Invalid IBAN format.";
+        }
+
+        int countryIndex = (c0 - 'A') * 26 + (c1 - 'A');
+        if (expectedCountryIndex >= 0 && countryIndex != expectedCountryIndex) {
+            return "IBAN country does not match beneficiary country.";
+        }
+        int expectedLength = IBAN_LENGTHS[countryIndex];
+        if (expectedLength == 0) {
+            return "IBAN country " + c0 + c1 + " is not supported.";
+        }
+        if (length != expectedLength) {
+            return "Invalid IBAN length for " + c0 + c1 + ". Must be " + expectedLength + " characters.";
+        }
+
+        // Move the first four characters to the end and reduce mod 97 as we go
+        int remainder = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int position = 0;
+            for (int i = 0; i < iban.length(); i++) {
+                char c = iban.charAt(i);
+                if (c == ' ') {
+                    continue;
+                }
+                boolean inPrefix = position++ < 4;
+                if (inPrefix == (pass == 0)) {
+                    continue;
+                }
+                char upper = Character.toUpperCase(c);
+                remainder = isDigit(upper)
+                        ? (remainder * 10 + (upper - '0')) % 97
+                        : (remainder * 100 + (upper - 'A' + 10)) % 97;
+            }
+        }
+        return remainder == 1 ? null : "Invalid IBAN checksum.";
+    }
+
+    private static boolean looksLikeIban(String accountNumber) {
+        int seen = 0;
+        for (int i = 0; i < accountNumber.length() && seen < 4; i++) {
+            char c = accountNumber.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            char upper = Character.toUpperCase(c);
+            if (seen < 2 ? !isUpperLetter(upper) : !isDigit(upper)) {
+                return false;
+            }
+            seen++;
+        }
+        return seen == 4;
+    }
+
+    /**
+     * Checks BIC structure: 4 letter institution, 2 letter country, 2 character location, optional 3 character branch.
+     *
+     * @param expectedCountryIndex country the BIC must belong to, or -1 for any
+     */
+    static String validateBic(String bic, int expectedCountryIndex) {
+        int length = bic.length();
+        if (length != 8 && length != 11) {
+            return "Invalid BIC format. Must be 8 or 11 characters.";
+        }
+        for (int i = 0; i < length; i++) {
+            char c = bic.charAt(i);
+            boolean valid = i < 6 ? isUpperLetter(c) : isUpperLetter(c) || isDigit(c);
+            if (!valid) {
+                return "Invalid BIC format.";
+            }
+        }
+        if (expectedCountryIndex >= 0 && countryIndex(bic, 4) != expectedCountryIndex) {
+            return "BIC country does not match beneficiary country.";
+        }
+        return null;
+    }
+
+    private enum BankCodeCheck {
+        DIGITS,
+        ABA_ROUTING,
+        IFSC
+    }
+
+    private static final class DomesticRule {
+        private final String bankCodeName;
+        private final BankCodeCheck bankCodeCheck;
+        private final int bankCodeLength;
+        private final int accountMinDigits;
+        private final int accountMaxDigits;
+
+        private DomesticRule(String bankCodeName, BankCodeCheck bankCodeCheck, int bankCodeLength,
+                             int accountMinDigits, int accountMaxDigits) {
+            this.bankCodeName = bankCodeName;
+            this.bankCodeCheck = bankCodeCheck;
+            this.bankCodeLength = bankCodeLength;
+            this.accountMinDigits = accountMinDigits;
+            this.accountMaxDigits = accountMaxDigits;
+        }
+
+        String validate(String accountNumber, String bankCode) {
+            String accountError = validateAccount(accountNumber);
+            return accountError != null ? accountError : validateBankCode(bankCode);
+        }
+
+        String validateAccount(String accountNumber) {
+            int digits = countDigitsIgnoringSeparators(accountNumber);
+            if (digits < accountMinDigits || digits > accountMaxDigits) {
+                return accountMinDigits == accountMaxDigits
+                        ? "Invalid account number format. Must be " + accountMinDigits + " digits."
+                        : "Invalid account number format. Must be " + accountMinDigits + "-" + accountMaxDigits + " digits.";
+            }
+            return null;
+        }
+
+        private String validateBankCode(String bankCode) {
+            boolean valid = switch (bankCodeCheck) {
+                case DIGITS -> countDigitsIgnoringSeparators(bankCode) == bankCodeLength;
+                case ABA_ROUTING -> countDigitsIgnoringSeparators(bankCode) == bankCodeLength && abaChecksumValid(bankCode);
+                case IFSC -> isIfsc(bankCode);
+            };
+            return valid ? null : "Invalid " + bankCodeName + ".";
+        }
+    }
+
+    private static void domestic(String country, String bankCodeName, BankCodeCheck check, int bankCodeLength,
+                                 int accountMinDigits, int accountMaxDigits) {
+        DOMESTIC_RULES[countryIndex(country, 0)] =
+                new DomesticRule(bankCodeName, check, bankCodeLength, accountMinDigits, accountMaxDigits);
+    }
+
+    /**
+     * Counts digits, allowing ' ' and '-' as separators; returns -1 if any other character appears.
+     */
+    private static int countDigitsIgnoringSeparators(String value) {
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+            } else if (c != ' ' && c != '-') {
+                return -1;
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * ABA routing number checksum: 3, 7, 1 weights repeated over the nine digits must sum to a multiple of 10.
+     */
+    private static boolean abaChecksumValid(String routingNumber) {
+        int sum = 0;
+        int position = 0;
+        for (int i = 0; i < routingNumber.length(); i++) {
+            char c = routingNumber.charAt(i);
+            if (!isDigit(c)) {
+                continue;
+            }
+            int weight = switch (position++ % 3) {
+                case 0 -> 3;
+                case 1 -> 7;
+                default -> 1;
+            };
+            sum += weight * (c - '0');
+        }
+        return sum % 10 == 0;
+    }
+
+    /**
+     * IFSC: 4 letter bank code, a zero, then a 6 character branch code.
+     */
+    private static boolean isIfsc(String code) {
+        if (code.length() != 11 || code.charAt(4) != '0') {
+            return false;
+        }
+        for (int i = 0; i < 11; i++) {
+            char c = code.charAt(i);
+            if (i < 4 ? !isUpperLetter(c) : !(isUpperLetter(c) || isDigit(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String validateGeneric(String accountNumber, String bankCode) {
+        String accountError = validateGenericAccount(accountNumber);
+        return accountError != null ? accountError : validateGenericBankCode(bankCode);
+    }
+
+    private static String validateGenericAccount(String accountNumber) {
+        int length = accountNumber.length();
+        if (length < 8 || length > 20) {
+            return GENERIC_ACCOUNT_ERROR;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(accountNumber.charAt(i))) {
+                return GENERIC_ACCOUNT_ERROR;
+            }
+        }
+        return null;
+    }
+
+    private static String validateGenericBankCode(String bankCode) {
+        int length = bankCode.length();
+        if (length < 6 || length > 11) {
+            return GENERIC_BANK_CODE_ERROR;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = bankCode.charAt(i);
+            if (!isUpperLetter(c) && !isDigit(c)) {
+                return GENERIC_BANK_CODE_ERROR;
+            }
+        }
+        return null;
+    }
+
+    private static int countryIndex(String value, int offset) {
+        return (Character.toUpperCase(value.charAt(offset)) - 'A') * 26
+                + (Character.toUpperCase(value.charAt(offset + 1)) - 'A');
+    }
+
+    private static boolean isUpperLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,96 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton for finding any of a fixed set of patterns in a text
+ * in a single pass, independent of how many patterns there are. Immutable once built.
+ */
+final class AhoCorasick {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failure;
+    private final String[] matches;
+    private final int patternCount;
+
+    AhoCorasick(Collection<String> patterns) {
+        List<String> terminal = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        terminal.add(null);
+
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = transitions.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(pattern.charAt(i), next);
+                    transitions.add(new HashMap<>());
+                    terminal.add(null);
+                }
+                state = next;
+            }
+            terminal.set(state, pattern);
+        }
+
+        this.patternCount = (int) terminal.stream().filter(p -> p != null).count();
+        this.failure = new int[transitions.size()];
+        this.matches = terminal.toArray(new String[0]);
+        buildFailureLinks();
+    }
+
+    /**
+     * Breadth-first pass setting each state's failure link to the longest proper suffix that is
+     * also a prefix of some pattern, and inheriting that state's match so lookups need no chain walk.
+     */
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(edge.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer target = state == 0 ? null : transitions.get(fallback).get(edge.getKey());
+                failure[child] = target == null ? 0 : target;
+                if (matches[child] == null) {
+                    matches[child] = matches[failure[child]];
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the first pattern found in the text, or null if none occurs.
+     */
+    String findFirst(String text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (state != 0 && !transitions.get(state).containsKey(c)) {
+                state = failure[state];
+            }
+            state = transitions.get(state).getOrDefault(c, 0);
+            if (matches[state] != null) {
+                return matches[state];
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return patternCount;
+    }
+}
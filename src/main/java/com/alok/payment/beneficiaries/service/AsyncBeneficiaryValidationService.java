@@ -0,0 +1,282 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.ValidationRateLimitExceededException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that completes third-party validation for beneficiaries created in
+ * PENDING_VALIDATION status. Validations run on virtual threads, with a semaphore
+ * bounding how many calls are in flight against the third-party service at once.
+ * <p>
+ * Submitted validations are only queued in memory, so a restart loses them. A sweep, run once
+ * the application is ready and then periodically, resubmits beneficiaries that have been pending for longer than
+ * a threshold and are not queued here; otherwise they would stay pending and, through the live
+ * unique index, block the customer from adding the account again. The sweep also retries
+ * bulk-priority validations that found no rate limit capacity, which stay pending rather than
+ * being activated unchecked.
+ */
+@Service
+public class AsyncBeneficiaryValidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBeneficiaryValidationService.class);
+
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final BeneficiaryValidationService validationService;
+    private final BeneficiaryRepository beneficiaryRepository;
+    private final DuplicateClusterService duplicateClusterService;
+    private final BeneficiaryVersionService versionService;
+    private final BeneficiaryOutboxService outboxService;
+    private final BeneficiaryAuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Duration resubmitAfter;
+    private final long sweepIntervalMs;
+    private final ScheduledExecutorService sweeper;
+
+    public AsyncBeneficiaryValidationService(BeneficiaryValidationService validationService,
+                                             BeneficiaryRepository beneficiaryRepository,
+                                             DuplicateClusterService duplicateClusterService,
+                                             BeneficiaryVersionService versionService,
+                                             BeneficiaryOutboxService outboxService,
+                                             BeneficiaryAuditService auditService,
+                                             ApplicationEventPublisher eventPublisher,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${beneficiary.validation.async.max-concurrency:50}") int maxConcurrency,
+                                             @Value("${beneficiary.validation.async.resubmit-after-minutes:10}") long resubmitAfterMinutes,
+                                             @Value("${beneficiary.validation.async.sweep-interval-ms:300000}") long sweepIntervalMs) {
+        this.validationService = validationService;
+        this.beneficiaryRepository = beneficiaryRepository;
+        this.duplicateClusterService = duplicateClusterService;
+        this.versionService = versionService;
+        this.outboxService = outboxService;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.permits = new Semaphore(maxConcurrency);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("beneficiary-validation-", 0).factory());
+        this.resubmitAfter = Duration.ofMinutes(resubmitAfterMinutes);
+        this.sweepIntervalMs = sweepIntervalMs;
+        this.sweeper = sweepIntervalMs <= 0 ? null : Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("beneficiary-validation-sweeper").factory());
+    }
+
+    /**
+     * Starts the periodic sweep once the application is ready, so the first one does not run
+     * against a context that is still starting up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeper() {
+        if (sweeper == null) {
+            log.info("Sweep of stale pending validations is disabled");
+            return;
+        }
+        sweeper.scheduleWithFixedDelay(this::sweep, 0, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules validation of a pending beneficiary. When called inside a transaction the
+     * task is only dispatched after commit, so the worker never sees an uncommitted row.
+     */
+    public void submit(Beneficiary pending, BeneficiaryRequest request) {
+        submit(pending, request, ValidationPriority.INTERACTIVE);
+    }
+
+    /**
+     * Schedules validation of a pending beneficiary with provider calls at the given priority.
+     */
+    public void submit(Beneficiary pending, BeneficiaryRequest request, ValidationPriority priority) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(pending, request, priority);
+                }
+            });
+        } else {
+            dispatch(pending, request, priority);
+        }
+    }
+
+    private void dispatch(Beneficiary pending, BeneficiaryRequest request, ValidationPriority priority) {
+        queued.add(pending.getId());
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Validation of beneficiary {} interrupted before start", pending.getId());
+                queued.remove(pending.getId());
+                return;
+            }
+            try {
+                validatePending(pending, request, priority);
+            } finally {
+                permits.release();
+                queued.remove(pending.getId());
+            }
+        });
+    }
+
+    private void sweep() {
+        try {
+            resubmitStalePending();
+        } catch (RuntimeException e) {
+            log.error("Sweep of stale pending validations failed", e);
+        }
+    }
+
+    /**
+     * Resubmits, at bulk priority, every beneficiary pending validation since before the
+     * threshold that is not already queued on this instance. A beneficiary another instance is
+     * still validating may be validated twice; only the first result is recorded.
+     *
+     * @return the number of beneficiaries resubmitted
+     */
+    public int resubmitStalePending() {
+        LocalDateTime pendingBefore = LocalDateTime.now().minus(resubmitAfter);
+        long afterId = 0;
+        int resubmitted = 0;
+        List<Beneficiary> batch;
+        do {
+            batch = beneficiaryRepository.findPendingValidationAfterId(afterId, pendingBefore, SWEEP_BATCH_SIZE);
+            for (Beneficiary pending : batch) {
+                if (!queued.contains(pending.getId())) {
+                    dispatch(pending, toRequest(pending), ValidationPriority.BULK);
+                    resubmitted++;
+                }
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == SWEEP_BATCH_SIZE);
+
+        if (resubmitted > 0) {
+            log.warn("Resubmitted {} beneficiaries pending validation since before {}", resubmitted, pendingBefore);
+        }
+        return resubmitted;
+    }
+
+    private static BeneficiaryRequest toRequest(Beneficiary beneficiary) {
+        BeneficiaryRequest request = new BeneficiaryRequest();
+        request.setCustomerId(beneficiary.getCustomerId());
+        request.setAccountNumber(beneficiary.getAccountNumber());
+        request.setBeneficiaryName(beneficiary.getBeneficiaryName());
+        request.setBeneficiaryAccountNumber(beneficiary.getBeneficiaryAccountNumber());
+        request.setBeneficiaryBankCode(beneficiary.getBeneficiaryBankCode());
+        request.setBeneficiaryBankName(beneficiary.getBeneficiaryBankName());
+        request.setBeneficiaryType(beneficiary.getBeneficiaryType());
+        request.setBeneficiaryCountry(beneficiary.getBeneficiaryCountry());
+        return request;
+    }
+
+    /**
+     * Runs third-party validation for a pending beneficiary and moves it to ACTIVE or REJECTED.
+     */
+    public void validatePending(Beneficiary pending, BeneficiaryRequest request) {
+        validatePending(pending, request, ValidationPriority.INTERACTIVE);
+    }
+
+    /**
+     * Runs third-party validation at the given priority and moves the beneficiary to ACTIVE or REJECTED.
+     * Below interactive priority, a validation that finds no rate limit capacity leaves the
+     * beneficiary pending for the sweep to resubmit.
+     */
+    public void validatePending(Beneficiary pending, BeneficiaryRequest request, ValidationPriority priority) {
+        log.info("Running asynchronous validation for beneficiary ID: {}", pending.getId());
+
+        String status = "ACTIVE";
+        String failureReason = null;
+        ValidationResult result = null;
+        try {
+            result = validationService.validateWithThirdParty(request, priority);
+        } catch (BeneficiaryValidationException e) {
+            status = "REJECTED";
+            failureReason = e.getMessage();
+        } catch (ValidationRateLimitExceededException e) {
+            log.info("Beneficiary ID: {} left pending validation until the next sweep: {}", pending.getId(), e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            log.error("Unexpected error validating beneficiary ID: {}", pending.getId(), e);
+            status = "REJECTED";
+            failureReason = "Validation could not be completed";
+        }
+
+        complete(pending, status, failureReason, result);
+    }
+
+    private void complete(Beneficiary pending, String status, String failureReason, ValidationResult result) {
+        try {
+            Boolean updated = transactionTemplate.execute(tx -> {
+                int rows = beneficiaryRepository.completePendingValidation(pending.getId(), status, failureReason);
+                if (rows == 1 && "ACTIVE".equals(status)) {
+                    if (result != null) {
+                        beneficiaryRepository.recordValidationResult(pending.getId(), result.getFraudScore(),
+                                result.getAccountStatus(), result.getValidatedAt(),
+                                result.getAccountHolderName(), result.getNameMatch());
+                    }
+                    duplicateClusterService.addToClusters(pending);
+                }
+                if (rows == 1) {
+                    versionService.recordVersion(pending.getId(), "VALIDATION");
+                    outboxService.beneficiariesStatusChanged(pending.getCustomerId(), List.of(pending.getId()), status);
+                }
+                return rows == 1;
+            });
+            if (!Boolean.TRUE.equals(updated)) {
+                log.warn("Beneficiary ID: {} was no longer pending validation", pending.getId());
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record validation result for beneficiary ID: {}", pending.getId(), e);
+            return;
+        }
+
+        log.info("Beneficiary ID: {} validation completed with status: {}", pending.getId(), status);
+        auditService.logBeneficiariesStatusChanged(pending.getCustomerId(), List.of(pending.getId()), status);
+        eventPublisher.publishEvent(new BeneficiaryValidationCompletedEvent(
+                pending.getId(), pending.getCustomerId(), status, failureReason));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Pending beneficiary validations did not finish before shutdown");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and replays the segmented audit log written by {@link AuditLogWriter}.
+ * <p>
+ * Segments are read in sequence order. Reading a segment stops at its first empty or incomplete
+ * record, or at a record whose CRC does not match, as left by a crash mid-write; later segments
+ * are still read.
+ * <p>
+ * Can be run on its own to print matching records as JSON lines, e.g. from the application jar:
+ * <pre>
+ * java -cp beneficiaries.jar -Dloader.main=com.alok.payment.beneficiaries.service.AuditLogReader \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher /var/lib/beneficiaries/audit \
+ *     --customer=CUST001 --from=2026-01-01T00:00:00Z --to=2026-02-01T00:00:00Z
+ * </pre>
+ */
+public final class AuditLogReader {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogReader.class);
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Passes every intact record matching the filters to the consumer, in write order.
+     *
+     * @param customerId only records of this customer, or all when null
+     * @param from       only records that occurred at or after this instant, or all when null
+     * @param to         only records that occurred before this instant, or all when null
+     * @return the number of records passed to the consumer
+     */
+    public static long replay(Path directory, String customerId, Instant from, Instant to,
+                              Consumer<AuditLogRecord> consumer) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(AuditLogWriter::isSegment).sorted().toList();
+        }
+        long matched = 0;
+        for (Path segment : segments) {
+            matched += replaySegment(segment, customerId, from, to, consumer);
+        }
+        return matched;
+    }
+
+    /**
+     * Collects the records matching the filters; see {@link #replay}.
+     */
+    public static List<AuditLogRecord> read(Path directory, String customerId, Instant from, Instant to)
+            throws IOException {
+        List<AuditLogRecord> records = new ArrayList<>();
+        replay(directory, customerId, from, to, records::add);
+        return records;
+    }
+
+    private static long replaySegment(Path path, String customerId, Instant from, Instant to,
+                                      Consumer<AuditLogRecord> consumer) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (segment.remaining() < AuditLogWriter.SEGMENT_HEADER_SIZE
+                || segment.getInt() != AuditLogWriter.MAGIC || segment.getInt() != AuditLogWriter.VERSION) {
+            log.warn("Skipping {}: not an audit log segment", path);
+            return 0;
+        }
+
+        CRC32C crc = new CRC32C();
+        long matched = 0;
+        while (segment.remaining() >= AuditLogWriter.RECORD_HEADER_SIZE) {
+            int position = segment.position();
+            int length = segment.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > segment.remaining() - AuditLogWriter.RECORD_HEADER_SIZE) {
+                log.warn("Truncated record at offset {} of {}; skipping the rest of the segment", position, path);
+                break;
+            }
+            int storedCrc = segment.getInt(position + Integer.BYTES);
+            ByteBuffer payload = segment.slice(position + AuditLogWriter.RECORD_HEADER_SIZE, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != storedCrc) {
+                log.warn("CRC mismatch at offset {} of {}; skipping the rest of the segment", position, path);
+                break;
+            }
+            segment.position(position + AuditLogWriter.RECORD_HEADER_SIZE + length);
+
+            AuditLogRecord record = AuditLogRecord.decode(payload);
+            if (matches(record, customerId, from, to)) {
+                consumer.accept(record);
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static boolean matches(AuditLogRecord record, String customerId, Instant from, Instant to) {
+        return (customerId == null || customerId.equals(record.getCustomerId()))
+                && (from == null || !record.getOccurredAt().isBefore(from))
+                && (to == null || record.getOccurredAt().isBefore(to));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogReader <directory> [--customer=ID] [--from=INSTANT] [--to=INSTANT]");
+            System.exit(2);
+        }
+        String customerId = null;
+        Instant from = null;
+        Instant to = null;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--customer=")) {
+                customerId = arg.substring("--customer=".length());
+            } else if (arg.startsWith("--from=")) {
+                from = Instant.parse(arg.substring("--from=".length()));
+            } else if (arg.startsWith("--to=")) {
+                to = Instant.parse(arg.substring("--to=".length()));
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.exit(2);
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        long matched = replay(Path.of(args[0]), customerId, from, to, record -> {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("occurredAt", record.getOccurredAt().toString());
+            line.put("operation", record.getOperation());
+            line.put("customerId", record.getCustomerId());
+            line.put("beneficiaryId", record.getBeneficiaryId());
+            line.put("accountNumber", record.getAccountNumber());
+            line.put("changes", record.getChanges());
+            try {
+                System.out.println(objectMapper.writeValueAsString(line));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        System.err.println(matched + " records");
+    }
+}
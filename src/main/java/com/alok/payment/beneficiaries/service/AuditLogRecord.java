@@ -0,0 +1,111 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * One beneficiary audit event as stored in the segmented audit log file.
+ * <p>
+ * Encoded as the event time in epoch milliseconds, the beneficiary id ({@link Long#MIN_VALUE}
+ * for none) and the operation, customer id, account number and changes JSON as length-prefixed
+ * UTF-8 strings, with -1 for null.
+ */
+public class AuditLogRecord {
+
+    private static final long NO_ID = Long.MIN_VALUE;
+
+    private final String operation;
+    private final String customerId;
+    private final Long beneficiaryId;
+    private final String accountNumber;
+    private final String changes;
+    private final Instant occurredAt;
+
+    public AuditLogRecord(String operation, String customerId, Long beneficiaryId, String accountNumber,
+                          String changes, Instant occurredAt) {
+        this.operation = operation;
+        this.customerId = customerId;
+        this.beneficiaryId = beneficiaryId;
+        this.accountNumber = accountNumber;
+        this.changes = changes;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public Long getBeneficiaryId() {
+        return beneficiaryId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    byte[] encode() {
+        byte[] operationBytes = utf8(operation);
+        byte[] customerBytes = utf8(customerId);
+        byte[] accountBytes = utf8(accountNumber);
+        byte[] changesBytes = utf8(changes);
+        ByteBuffer out = ByteBuffer.allocate(Long.BYTES * 2 + Integer.BYTES * 4
+                + length(operationBytes) + length(customerBytes) + length(accountBytes) + length(changesBytes));
+        out.putLong(occurredAt.toEpochMilli());
+        out.putLong(beneficiaryId != null ? beneficiaryId : NO_ID);
+        putString(out, operationBytes);
+        putString(out, customerBytes);
+        putString(out, accountBytes);
+        putString(out, changesBytes);
+        return out.array();
+    }
+
+    static AuditLogRecord decode(ByteBuffer in) {
+        Instant occurredAt = Instant.ofEpochMilli(in.getLong());
+        long id = in.getLong();
+        String operation = getString(in);
+        String customerId = getString(in);
+        String accountNumber = getString(in);
+        String changes = getString(in);
+        return new AuditLogRecord(operation, customerId, id != NO_ID ? id : null, accountNumber, changes, occurredAt);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+            return;
+        }
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only audit log made of fixed-size memory-mapped segment files.
+ * <p>
+ * Each segment starts with a magic number and format version, followed by records of a 4-byte
+ * payload length, a 4-byte CRC32C of the payload and the encoded {@link AuditLogRecord}. The
+ * length is written last, so a record is visible to {@link AuditLogReader} only once complete, and
+ * the zero-filled rest of the segment reads as its end. A new segment is started when the current
+ * one cannot fit the next record or has been open longer than the roll interval, and on every
+ * start, so a segment is never reopened for writing.
+ * <p>
+ * Not thread-safe: there must be a single writer thread. Writes land in the page cache;
+ * {@link #force()} makes them durable.
+ */
+final class AuditLogWriter implements Closeable {
+
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final int MAGIC = 0x41554454;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long rollIntervalNanos;
+    private final CRC32C crc = new CRC32C();
+    private long sequence;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long openedNanos;
+    private boolean dirty;
+
+    AuditLogWriter(Path directory, int segmentSize, Duration rollInterval) throws IOException {
+        if (segmentSize <= SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Audit log segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.rollIntervalNanos = rollInterval.toNanos();
+        this.sequence = lastSequence(directory);
+    }
+
+    /**
+     * Appends a record, rolling to a new segment first if needed.
+     *
+     * @throws IllegalArgumentException if the record cannot fit in an empty segment
+     */
+    void append(AuditLogRecord record) throws IOException {
+        byte[] payload = record.encode();
+        int needed = RECORD_HEADER_SIZE + payload.length;
+        if (needed > segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("Audit record of " + payload.length + " bytes exceeds the segment size");
+        }
+        if (segment == null || segment.remaining() < needed || System.nanoTime() - openedNanos >= rollIntervalNanos) {
+            roll();
+        }
+        int position = segment.position();
+        crc.reset();
+        crc.update(payload);
+        segment.put(position + RECORD_HEADER_SIZE, payload);
+        segment.putInt(position + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(position, payload.length);
+        segment.position(position + needed);
+        dirty = true;
+    }
+
+    /**
+     * Flushes records appended since the last call to the storage device.
+     */
+    void force() {
+        if (segment != null && dirty) {
+            segment.force();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    private void roll() throws IOException {
+        closeSegment();
+        sequence++;
+        channel = FileChannel.open(directory.resolve(segmentName(sequence)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.putInt(MAGIC);
+        segment.putInt(VERSION);
+        openedNanos = System.nanoTime();
+        dirty = true;
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment == null) {
+            return;
+        }
+        force();
+        segment = null;
+        channel.close();
+        channel = null;
+    }
+
+    static String segmentName(long sequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                && name.length() == segmentName(0).length();
+    }
+
+    private static long lastSequence(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditLogWriter::isSegment)
+                    .map(path -> path.getFileName().toString())
+                    .mapToLong(name -> Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .max()
+                    .orElse(0);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.alok.payment.beneficiaries.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the monthly partitions of beneficiary_audit_events.
+ * <p>
+ * Partitions are created a few months ahead so inserts never fall through to the default
+ * partition. Partitions whose whole month is older than the retention period are detached rather
+ * than emptied with DELETE: detaching only changes the catalog, leaves no dead tuples to vacuum,
+ * and keeps the data as a standalone table for archiving. Detached tables are dropped only when
+ * configured to. Runs at startup and then daily.
+ */
+@Service
+public class AuditPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionService.class);
+
+    private static final String TABLE = "beneficiary_audit_events";
+
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONED_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?";
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ? AND c.relname LIKE ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropDetached;
+    private final ScheduledExecutorService scheduler;
+
+    public AuditPartitionService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${beneficiary.audit.partitions.enabled:true}") boolean enabled,
+            @Value("${beneficiary.audit.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${beneficiary.audit.partitions.retention-months:84}") int retentionMonths,
+            @Value("${beneficiary.audit.partitions.drop-detached:false}") boolean dropDetached,
+            @Value("${beneficiary.audit.partitions.check-interval-hours:24}") long checkIntervalHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.dropDetached = dropDetached;
+
+        if (!enabled) {
+            log.info("Audit partition maintenance is disabled");
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("audit-partition-maintenance").factory());
+        scheduler.scheduleWithFixedDelay(this::runMaintenance, 0, checkIntervalHours, TimeUnit.HOURS);
+    }
+
+    private void runMaintenance() {
+        try {
+            maintain(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Audit partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Creates missing partitions from this month to {@code months-ahead} months out and detaches
+     * partitions that ended at least {@code retention-months} before this month.
+     *
+     * @return the names of the partitions detached
+     */
+    public List<String> maintain(LocalDate today) {
+        Integer partitioned = jdbcTemplate.queryForObject(PARTITIONED_SQL, Integer.class, TABLE);
+        if (partitioned == null || partitioned == 0) {
+            log.warn("{} is not a partitioned table; migrate it to enable partition maintenance", TABLE);
+            return List.of();
+        }
+
+        YearMonth current = YearMonth.from(today);
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        List<String> detached = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, TABLE, PARTITION_PREFIX + "%")) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                detach(partition);
+                detached.add(partition);
+            }
+        }
+        return detached;
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        } catch (DataAccessException e) {
+            // Typically rows for this month already sit in the default partition
+            log.error("Could not create audit partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    private void detach(String partition) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+        if (dropDetached) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Detached and dropped expired audit partition {}", partition);
+        } else {
+            log.info("Detached expired audit partition {}; it remains as a standalone table for archiving", partition);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.AuditEventResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of the beneficiary audit trail.
+ * <p>
+ * Queries are bounded to one customer and a time range no longer than the configured maximum,
+ * so Postgres only scans the monthly partitions the range overlaps, and each of those through
+ * the (customer_id, occurred_at) index. Results come in occurrence order and are paged with a
+ * keyset cursor on (occurred_at, id), so deep pages cost the same as the first.
+ */
+@Service
+public class AuditQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditQueryService.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final String QUERY_SQL =
+            "SELECT id, operation, customer_id, beneficiary_id, account_number, changes, occurred_at " +
+            "FROM beneficiary_audit_events " +
+            "WHERE customer_id = ? AND occurred_at >= ? AND occurred_at < ? AND (occurred_at, id) > (?, ?) " +
+            "ORDER BY occurred_at, id LIMIT ?";
+
+    private static final TypeReference<Map<String, String>> CHANGES = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration maxRange;
+    private final RowMapper<AuditEventResponse> rowMapper;
+
+    public AuditQueryService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${beneficiary.audit.query.max-range-days:366}") long maxRangeDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.maxRange = Duration.ofDays(maxRangeDays);
+        this.rowMapper = (rs, rowNum) -> new AuditEventResponse(
+                rs.getLong("id"),
+                rs.getString("operation"),
+                rs.getString("customer_id"),
+                rs.getObject("beneficiary_id", Long.class),
+                rs.getString("account_number"),
+                parseChanges(rs.getString("changes")),
+                rs.getTimestamp("occurred_at").toLocalDateTime());
+    }
+
+    /**
+     * Audit events of a customer that occurred in [from, to), oldest first.
+     */
+    public CursorPage<AuditEventResponse> findEvents(String customerId, LocalDateTime from, LocalDateTime to,
+                                                     String cursor, int size) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidRequestException("Audit queries may span at most " + maxRange.toDays() + " days");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // The first page starts just before every event at from
+        LocalDateTime afterTime = from;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                afterTime = LocalDateTime.parse(raw.substring(0, separator));
+                afterId = Long.parseLong(raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new InvalidRequestException("Invalid audit cursor: " + cursor);
+            }
+        }
+
+        List<AuditEventResponse> events = jdbcTemplate.query(QUERY_SQL, rowMapper,
+                customerId, Timestamp.valueOf(from), Timestamp.valueOf(to),
+                Timestamp.valueOf(afterTime), afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            AuditEventResponse last = events.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getOccurredAt(), last.getId());
+        }
+        log.info("Found {} audit events for customer: {} between {} and {} (more: {})",
+                events.size(), customerId, from, to, nextCursor != null);
+        return new CursorPage<>(events, pageSize, nextCursor);
+    }
+
+    private Map<String, String> parseChanges(String changes) {
+        if (changes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(changes, CHANGES);
+        } catch (JsonProcessingException e) {
+            return Map.of("raw", changes);
+        }
+    }
+
+    private String encodeCursor(LocalDateTime occurredAt, Long id) {
+        String raw = occurredAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
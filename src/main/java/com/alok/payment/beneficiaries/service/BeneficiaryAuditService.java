@@ -1,60 +1,430 @@
 package com.alok.payment.beneficiaries.service;
 
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 /**
  * Service for auditing beneficiary operations.
- * Logs all create, update, and delete operations for compliance and tracking.
+ * Records all create, update, and delete operations in the beneficiary_audit_events table
+ * for compliance and tracking.
+ * <p>
+ * Recording never touches the database on the caller's thread: events are offered to a bounded
+ * lock-free ring buffer, after the surrounding transaction commits if there is one, and a single
+ * background writer drains the buffer with JDBC batch inserts. When the buffer is full the caller
+ * waits up to a short bound for the writer to make room, then drops the event rather than stall
+ * the request; a batch of events shares one such bound, and what is left of it once the bound
+ * passes is dropped without waiting. Buffer depth, drops, failed writes and the lag from recording to insert are
+ * published under beneficiary.audit.*. On shutdown the writer drains what is buffered first.
+ * <p>
+ * When beneficiary.audit.log.directory is set, every event is also offered to a second buffer whose
+ * own appender thread writes it to a local segmented, memory-mapped log file ({@link AuditLogWriter})
+ * and forces it to disk. The appender does not wait on the database writer, so the trail survives a
+ * slow or unavailable database even once the database buffer is full and dropping events.
+ * {@link AuditLogReader} replays it. File imports write their audit rows in the import transaction instead, so those do
+ * not appear in the log file.
  */
 @Service
 public class BeneficiaryAuditService {
-    
+
     private static final Logger log = LoggerFactory.getLogger(BeneficiaryAuditService.class);
-    
+
+    private static final String INSERT_SQL =
+            "INSERT INTO beneficiary_audit_events (operation, customer_id, beneficiary_id, account_number, changes, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long BULK_MAX_BLOCK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxBlockNanos;
+    private final long shutdownTimeoutMs;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter backpressured;
+    private final Timer lag;
+    private final AuditLogWriter auditLog;
+    private final RingBuffer<AuditEvent> logBuffer;
+    private final Counter logWritten;
+    private final Counter logFailed;
+    private final Counter logDropped;
+    private final Thread writer;
+    private final Thread logAppender;
+    private volatile boolean closed;
+
+    public BeneficiaryAuditService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.audit.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${beneficiary.audit.batch-size:500}") int batchSize,
+            @Value("${beneficiary.audit.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${beneficiary.audit.max-block-ms:5}") long maxBlockMs,
+            @Value("${beneficiary.audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+            @Value("${beneficiary.audit.log.directory:}") String logDirectory,
+            @Value("${beneficiary.audit.log.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${beneficiary.audit.log.roll-interval-minutes:60}") long rollIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.maxBlockNanos = TimeUnit.MILLISECONDS.toNanos(maxBlockMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        Gauge.builder("beneficiary.audit.buffer.size", buffer, RingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("beneficiary.audit.buffer.capacity", buffer, RingBuffer::capacity)
+                .register(meterRegistry);
+        this.written = eventCounter(meterRegistry, "written");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+        this.failed = eventCounter(meterRegistry, "failed");
+        this.backpressured = Counter.builder("beneficiary.audit.backpressure")
+                .description("Audit events that waited for room in a full buffer")
+                .register(meterRegistry);
+        this.lag = Timer.builder("beneficiary.audit.lag")
+                .description("Time from recording an audit event to its insert")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.logWritten = logCounter(meterRegistry, "written");
+        this.logFailed = logCounter(meterRegistry, "failed");
+        this.logDropped = logCounter(meterRegistry, "dropped");
+
+        if (logDirectory == null || logDirectory.isBlank()) {
+            this.auditLog = null;
+            this.logBuffer = null;
+        } else {
+            try {
+                this.auditLog = new AuditLogWriter(Path.of(logDirectory), segmentSizeMb * 1024 * 1024,
+                        Duration.ofMinutes(rollIntervalMinutes));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open audit log directory " + logDirectory, e);
+            }
+            this.logBuffer = new RingBuffer<>(bufferCapacity);
+            log.info("Writing audit log segments to {}", logDirectory);
+        }
+
+        this.writer = Thread.ofPlatform().daemon().name("beneficiary-audit-writer")
+                .start(() -> runConsumer(buffer, this::write));
+        this.logAppender = auditLog == null ? null : Thread.ofPlatform().daemon().name("beneficiary-audit-log-appender")
+                .start(() -> runConsumer(logBuffer, this::appendToLog));
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("beneficiary.audit.events")
+                .description("Audit events by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter logCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("beneficiary.audit.log.records")
+                .description("Audit events appended to the local audit log by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     /**
      * Logs beneficiary creation event.
      */
     public void logBeneficiaryCreated(String customerId, Long beneficiaryId, String accountNumber) {
-        Map<String, Object> auditData = new HashMap<>();
-        auditData.put("operation", "CREATE");
-        auditData.put("customerId", customerId);
-        auditData.put("beneficiaryId", beneficiaryId);
-        auditData.put("accountNumber", accountNumber);
-        auditData.put("timestamp", LocalDateTime.now());
-        
-        log.info("Beneficiary audit: {}", auditData);
+        record(new AuditEvent("CREATE", customerId, beneficiaryId, accountNumber, null));
+    }
+
+    /**
+     * Logs creation events for beneficiaries created together by a bulk request. A large batch
+     * can fill the buffer by itself, so the batch waits up to a second in total for room rather
+     * than the configured max-block time.
+     */
+    public void logBeneficiariesCreated(List<Beneficiary> beneficiaries) {
+        List<AuditEvent> events = new ArrayList<>(beneficiaries.size());
+        for (Beneficiary beneficiary : beneficiaries) {
+            events.add(new AuditEvent("CREATE", beneficiary.getCustomerId(), beneficiary.getId(),
+                    beneficiary.getBeneficiaryAccountNumber(), null));
+        }
+        record(events, BULK_MAX_BLOCK_NANOS);
     }
-    
+
     /**
      * Logs beneficiary update event.
      */
     public void logBeneficiaryUpdated(String customerId, Long beneficiaryId, Map<String, String> changes) {
-        Map<String, Object> auditData = new HashMap<>();
-        auditData.put("operation", "UPDATE");
-        auditData.put("customerId", customerId);
-        auditData.put("beneficiaryId", beneficiaryId);
-        auditData.put("changes", changes);
-        auditData.put("timestamp", LocalDateTime.now());
-        
-        log.info("Beneficiary audit: {}", auditData);
+        record(new AuditEvent("UPDATE", customerId, beneficiaryId, null, changes));
     }
-    
+
     /**
      * Logs beneficiary deletion event.
      */
     public void logBeneficiaryDeleted(String customerId, Long beneficiaryId) {
-        Map<String, Object> auditData = new HashMap<>();
-        auditData.put("operation", "DELETE");
-        auditData.put("customerId", customerId);
-        auditData.put("beneficiaryId", beneficiaryId);
-        auditData.put("timestamp", LocalDateTime.now());
-        
-        log.info("Beneficiary audit: {}", auditData);
+        record(new AuditEvent("DELETE", customerId, beneficiaryId, null, null));
+    }
+
+    /**
+     * Logs the beneficiaries moved to a new status by one bulk status change, validation or
+     * revalidation as a single batch: DELETE events for a soft delete, otherwise UPDATE events
+     * naming the new status.
+     */
+    public void logBeneficiariesStatusChanged(String customerId, List<Long> beneficiaryIds, String status) {
+        boolean deleted = "DELETED".equals(status);
+        List<AuditEvent> events = new ArrayList<>(beneficiaryIds.size());
+        for (Long beneficiaryId : beneficiaryIds) {
+            events.add(deleted
+                    ? new AuditEvent("DELETE", customerId, beneficiaryId, null, null)
+                    : new AuditEvent("UPDATE", customerId, beneficiaryId, null, Map.of("status", status)));
+        }
+        record(events, BULK_MAX_BLOCK_NANOS);
+    }
+
+    /**
+     * Number of events waiting to be written.
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void record(AuditEvent event) {
+        record(List.of(event), maxBlockNanos);
+    }
+
+    private void record(List<AuditEvent> events, long blockNanos) {
+        // An operation that rolls back did not happen, so only audit it once committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueueAll(events, blockNanos);
+                }
+            });
+        } else {
+            enqueueAll(events, blockNanos);
+        }
+    }
+
+    /**
+     * Offers the events in order under one deadline for the whole batch; once an event misses it,
+     * that event and the rest of the batch are dropped from the database buffer without waiting
+     * again. The local log buffer is offered every event regardless, so a stalled database insert
+     * cannot starve the file.
+     */
+    private void enqueueAll(List<AuditEvent> events, long blockNanos) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (closed) {
+            drop(events.get(events.size() - 1), events.size());
+            return;
+        }
+        long deadline = System.nanoTime() + blockNanos;
+        int missed = 0;
+        for (AuditEvent event : events) {
+            if (logBuffer != null && !offer(logBuffer, logAppender, event, deadline)) {
+                logDropped.increment();
+            }
+            if (missed > 0 || !offer(buffer, writer, event, deadline)) {
+                missed++;
+            }
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        if (logBuffer != null && logBuffer.size() >= batchSize) {
+            LockSupport.unpark(logAppender);
+        }
+        if (missed > 0) {
+            drop(events.get(events.size() - 1), missed);
+        }
+    }
+
+    private boolean offer(RingBuffer<AuditEvent> target, Thread consumer, AuditEvent event, long deadline) {
+        if (target.offer(event)) {
+            return true;
+        }
+        backpressured.increment();
+        LockSupport.unpark(consumer);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            if (target.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drop(AuditEvent last, int count) {
+        long before = (long) dropped.count();
+        dropped.increment(count);
+        long total = before + count;
+        if (before == 0 || total / 1000 > before / 1000) {
+            log.warn("Audit buffer full or closed; dropped {} events so far (last: {} of beneficiary ID {})",
+                    total, last.operation, last.beneficiaryId);
+        }
+    }
+
+    private void runConsumer(RingBuffer<AuditEvent> source, Consumer<List<AuditEvent>> sink) {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            // Read before draining: once closed, an empty drain means nothing more can arrive
+            boolean closing = closed;
+            if (source.drainTo(batch, batchSize) == 0) {
+                if (closing) {
+                    return;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            sink.accept(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.operation);
+                ps.setString(2, event.customerId);
+                ps.setObject(3, event.beneficiaryId, Types.BIGINT);
+                ps.setString(4, event.accountNumber);
+                ps.setString(5, toJson(event.changes));
+                ps.setTimestamp(6, Timestamp.from(event.occurredAt));
+            });
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), e);
+            return;
+        }
+        written.increment(batch.size());
+        long now = System.nanoTime();
+        for (AuditEvent event : batch) {
+            lag.record(now - event.recordedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void appendToLog(List<AuditEvent> batch) {
+        int appended = 0;
+        try {
+            for (AuditEvent event : batch) {
+                try {
+                    auditLog.append(new AuditLogRecord(event.operation, event.customerId, event.beneficiaryId,
+                            event.accountNumber, toJson(event.changes), event.occurredAt));
+                    appended++;
+                } catch (IllegalArgumentException e) {
+                    logFailed.increment();
+                    log.error("Audit event for beneficiary ID {} not logged: {}", event.beneficiaryId, e.getMessage());
+                }
+            }
+            auditLog.force();
+        } catch (IOException | UncheckedIOException e) {
+            logFailed.increment(batch.size() - appended);
+            log.error("Failed to append {} audit events to the audit log", batch.size() - appended, e);
+        }
+        logWritten.increment(appended);
+    }
+
+    private String toJson(Map<String, String> changes) {
+        if (changes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(changes);
+        }
+    }
+
+    /**
+     * Stops accepting events and waits for the writer and the log appender to flush their buffers.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(writer);
+        if (logAppender != null) {
+            LockSupport.unpark(logAppender);
+            logAppender.join(shutdownTimeoutMs);
+            if (logAppender.isAlive()) {
+                log.warn("Audit log appender did not drain within {} ms; {} events not logged",
+                        shutdownTimeoutMs, logBuffer.size());
+            } else {
+                drainRemaining(logBuffer, this::appendToLog);
+                closeAuditLog();
+            }
+        }
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not drain within {} ms; {} events not written", shutdownTimeoutMs, buffer.size());
+            return;
+        }
+        drainRemaining(buffer, this::write);
+    }
+
+    /**
+     * Flushes events offered while a consumer was finishing; it has exited, so this thread is now the consumer.
+     */
+    private void drainRemaining(RingBuffer<AuditEvent> source, Consumer<List<AuditEvent>> sink) {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (source.drainTo(batch, batchSize) > 0) {
+            sink.accept(batch);
+            batch.clear();
+        }
+    }
+
+    private void closeAuditLog() {
+        try {
+            auditLog.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the audit log", e);
+        }
+    }
+
+    private static final class AuditEvent {
+        private final String operation;
+        private final String customerId;
+        private final Long beneficiaryId;
+        private final String accountNumber;
+        private final Map<String, String> changes;
+        private final Instant occurredAt;
+        private final long recordedNanos;
+
+        private AuditEvent(String operation, String customerId, Long beneficiaryId, String accountNumber,
+                           Map<String, String> changes) {
+            this.operation = operation;
+            this.customerId = customerId;
+            this.beneficiaryId = beneficiaryId;
+            this.accountNumber = accountNumber;
+            this.changes = changes;
+            this.occurredAt = Instant.now();
+            this.recordedNanos = System.nanoTime();
+        }
     }
 }
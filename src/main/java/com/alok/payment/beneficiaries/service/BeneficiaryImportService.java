@@ -0,0 +1,503 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.dto.ImportResponse;
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports beneficiary files of any size, such as payee lists migrated from another bank.
+ * <p>
+ * The file is read one CSV record at a time. Each record is validated with the same format
+ * rules as a create and screened against the local sanctions list; valid ones are streamed to a temporary staging table through the COPY
+ * protocol and invalid ones to an error report file, so memory use does not grow with the file.
+ * Once loaded, duplicates within the file and against stored beneficiaries are marked with two
+ * set-based UPDATEs, and the rest are merged into beneficiaries by one INSERT ... SELECT whose
+ * data-modifying CTEs also write the version, audit and outbox rows, and duplicates are then
+ * streamed from staging into the error report. Everything runs in one transaction, so a failed
+ * import leaves nothing behind.
+ * <p>
+ * Duplicate clusters are rebuilt once for each customer that gained beneficiaries, in the
+ * background after the import commits. The rebuild is quadratic in the customer's ACTIVE
+ * beneficiaries, so running it in the import transaction would hold the new rows' locks and the
+ * caller for as long as the largest customer takes; until it finishes, the clusters simply do not
+ * include the imported rows yet.
+ * <p>
+ * The audit rows are inserted in that transaction rather than through
+ * {@link BeneficiaryAuditService}, whose buffer would hold an event per row until commit. They
+ * are therefore not appended to the local audit log file; the import commits them atomically
+ * with the beneficiaries instead.
+ * <p>
+ * Imported beneficiaries are ACTIVE once they pass the local sanctions list, but are not yet
+ * validated against the third-party provider; {@link BeneficiaryRevalidationService} picks them
+ * up in its off-peak window.
+ */
+@Service
+public class BeneficiaryImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BeneficiaryImportService.class);
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+    private static final int REPORT_FETCH_SIZE = 1000;
+
+    private static final List<String> COLUMNS = List.of("customerId", "accountNumber", "beneficiaryName",
+            "beneficiaryAccountNumber", "beneficiaryBankCode", "beneficiaryBankName", "beneficiaryType",
+            "beneficiaryCountry");
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("customerId", "beneficiaryName",
+            "beneficiaryAccountNumber", "beneficiaryBankCode");
+    // Column sizes of the beneficiaries table, checked up front so one long value cannot fail the whole merge
+    private static final Map<String, Integer> MAX_LENGTHS = Map.of("customerId", 50, "accountNumber", 50,
+            "beneficiaryName", 255, "beneficiaryAccountNumber", 50, "beneficiaryBankCode", 20,
+            "beneficiaryBankName", 255);
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE beneficiary_import_staging (" +
+            "line_number BIGINT NOT NULL, customer_id TEXT, account_number TEXT, beneficiary_name TEXT, " +
+            "beneficiary_account_number TEXT, beneficiary_bank_code TEXT, beneficiary_bank_name TEXT, " +
+            "beneficiary_type TEXT, beneficiary_country TEXT, rejection TEXT) ON COMMIT DROP";
+
+    private static final String COPY_SQL =
+            "COPY beneficiary_import_staging (line_number, customer_id, account_number, beneficiary_name, " +
+            "beneficiary_account_number, beneficiary_bank_code, beneficiary_bank_name, beneficiary_type, " +
+            "beneficiary_country) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MARK_FILE_DUPLICATES_SQL =
+            "UPDATE beneficiary_import_staging s SET rejection = 'Same beneficiary as line ' || f.first_line " +
+            "FROM (SELECT line_number, first_value(line_number) OVER " +
+            "(PARTITION BY customer_id, beneficiary_account_number ORDER BY line_number) AS first_line " +
+            "FROM beneficiary_import_staging) f " +
+            "WHERE s.line_number = f.line_number AND f.first_line <> f.line_number";
+
+    private static final String MARK_EXISTING_SQL =
+            "UPDATE beneficiary_import_staging s SET rejection = 'Beneficiary already exists' " +
+            "WHERE s.rejection IS NULL AND EXISTS (SELECT 1 FROM beneficiaries b " +
+            "WHERE b.customer_id = s.customer_id AND b.beneficiary_account_number = s.beneficiary_account_number " +
+            "AND b.status IN ('ACTIVE', 'PENDING_VALIDATION'))";
+
+    private static final String VERSION_COLUMNS =
+            "customer_id, account_number, beneficiary_name, beneficiary_account_number, beneficiary_bank_code, " +
+            "beneficiary_bank_name, beneficiary_type, beneficiary_country, status, account_holder_name, name_match, " +
+            "created_at";
+
+    private static final String MERGE_SQL =
+            "WITH inserted AS (" +
+            "INSERT INTO beneficiaries (customer_id, account_number, beneficiary_name, beneficiary_account_number, " +
+            "beneficiary_bank_code, beneficiary_bank_name, beneficiary_type, beneficiary_country, status, " +
+            "created_at, updated_at) " +
+            "SELECT customer_id, account_number, beneficiary_name, beneficiary_account_number, beneficiary_bank_code, " +
+            "beneficiary_bank_name, COALESCE(beneficiary_type, 'DOMESTIC'), beneficiary_country, 'ACTIVE', ?, ? " +
+            "FROM beneficiary_import_staging WHERE rejection IS NULL ORDER BY line_number " +
+            "ON CONFLICT DO NOTHING RETURNING *), " +
+            // Valid rows the insert skipped lost a race with a concurrent create; mark them for the report
+            "skipped AS (" +
+            "UPDATE beneficiary_import_staging s SET rejection = 'Beneficiary already exists' " +
+            "WHERE s.rejection IS NULL AND NOT EXISTS (SELECT 1 FROM inserted i " +
+            "WHERE i.customer_id = s.customer_id AND i.beneficiary_account_number = s.beneficiary_account_number)), " +
+            "versions AS (" +
+            "INSERT INTO beneficiary_versions (beneficiary_id, operation, valid_from, " + VERSION_COLUMNS + ") " +
+            "SELECT id, 'IMPORT', created_at, " + VERSION_COLUMNS + " FROM inserted), " +
+            "outbox AS (" +
+            "INSERT INTO beneficiary_outbox (event_type, beneficiary_id, customer_id, payload) " +
+            "SELECT '" + BeneficiaryOutboxService.CREATED + "', id, customer_id, json_build_object(" +
+            "'id', id, 'customerId', customer_id, 'accountNumber', account_number, " +
+            "'beneficiaryName', beneficiary_name, 'beneficiaryAccountNumber', beneficiary_account_number, " +
+            "'beneficiaryBankCode', beneficiary_bank_code, 'beneficiaryBankName', beneficiary_bank_name, " +
+            "'beneficiaryType', beneficiary_type, 'beneficiaryCountry', beneficiary_country, 'status', status, " +
+            "'occurredAt', to_char(created_at, 'YYYY-MM-DD\"T\"HH24:MI:SS.US'))::text FROM inserted) " +
+            "INSERT INTO beneficiary_audit_events (operation, customer_id, beneficiary_id, account_number, occurred_at) " +
+            "SELECT 'CREATE', customer_id, id, beneficiary_account_number, created_at FROM inserted";
+
+    private static final String IMPORTED_CUSTOMERS_SQL =
+            "SELECT DISTINCT customer_id FROM beneficiary_import_staging WHERE rejection IS NULL";
+
+    private static final String REJECTIONS_SQL =
+            "SELECT line_number, customer_id, beneficiary_account_number, rejection FROM beneficiary_import_staging " +
+            "WHERE rejection IS NOT NULL ORDER BY line_number";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final BeneficiaryValidationService validationService;
+    private final SanctionsScreeningService sanctionsScreeningService;
+    private final DuplicateClusterService duplicateClusterService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path reportDirectory;
+    private final ExecutorService clusterRebuilder;
+    private final Counter imported;
+    private final Counter invalid;
+    private final Counter duplicate;
+
+    public BeneficiaryImportService(
+            JdbcTemplate jdbcTemplate,
+            Validator validator,
+            BeneficiaryValidationService validationService,
+            SanctionsScreeningService sanctionsScreeningService,
+            DuplicateClusterService duplicateClusterService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.import.report-directory:${java.io.tmpdir}/beneficiary-imports}") String reportDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.validationService = validationService;
+        this.sanctionsScreeningService = sanctionsScreeningService;
+        this.duplicateClusterService = duplicateClusterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportDirectory = Path.of(reportDirectory);
+        this.clusterRebuilder = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("beneficiary-import-clusters").factory());
+        this.imported = rowCounter(meterRegistry, "imported");
+        this.invalid = rowCounter(meterRegistry, "invalid");
+        this.duplicate = rowCounter(meterRegistry, "duplicate");
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("beneficiary.import.rows")
+                .description("Imported file rows by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports a UTF-8 CSV file whose header row names the columns, in any order. customerId,
+     * beneficiaryName, beneficiaryAccountNumber and beneficiaryBankCode are required; the other
+     * BeneficiaryRequest fields are optional.
+     *
+     * @throws InvalidRequestException if the header is missing or the file is not valid CSV
+     */
+    public ImportResponse importCsv(InputStream input) {
+        String importId = UUID.randomUUID().toString();
+        Path report = reportPath(importId);
+        try {
+            Files.createDirectories(reportDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create import report directory " + reportDirectory, e);
+        }
+
+        ImportResponse response;
+        List<String> importedCustomers = new ArrayList<>();
+        try (BufferedWriter reportWriter = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            reportWriter.write("line,customerId,beneficiaryAccountNumber,error");
+            reportWriter.newLine();
+            CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            response = transactionTemplate.execute(tx -> runImport(importId, csv, reportWriter, importedCustomers));
+        } catch (IOException e) {
+            deleteQuietly(report);
+            throw new UncheckedIOException("Could not write import report " + report, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(report);
+            throw e;
+        }
+
+        if (response.getRejected() == 0) {
+            deleteQuietly(report);
+        } else {
+            response.setErrorReport("/api/v1/beneficiaries/imports/" + importId + "/errors");
+        }
+        log.info("Import {} finished: {} rows, {} imported, {} rejected",
+                importId, response.getTotalRows(), response.getImported(), response.getRejected());
+        if (!importedCustomers.isEmpty()) {
+            clusterRebuilder.execute(() -> rebuildClusters(importId, importedCustomers));
+        }
+        return response;
+    }
+
+    private void rebuildClusters(String importId, List<String> customerIds) {
+        for (String customerId : customerIds) {
+            try {
+                duplicateClusterService.rebuildClusters(customerId);
+            } catch (RuntimeException e) {
+                log.error("Could not rebuild duplicate clusters for customer {} after import {}",
+                        customerId, importId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        clusterRebuilder.shutdown();
+        if (!clusterRebuilder.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Duplicate cluster rebuilds after import did not finish before shutdown");
+            clusterRebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * The error report of an import, if it had rejected rows.
+     */
+    public Optional<Path> findErrorReport(String importId) {
+        try {
+            UUID.fromString(importId);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        Path report = reportPath(importId);
+        return Files.isRegularFile(report) ? Optional.of(report) : Optional.empty();
+    }
+
+    private ImportResponse runImport(String importId, CsvReader csv, BufferedWriter reportWriter,
+            List<String> importedCustomers) {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        long[] counts = jdbcTemplate.execute((ConnectionCallback<long[]>) connection ->
+                copyValidRows(connection.unwrap(PGConnection.class), csv, reportWriter));
+        long totalRows = counts[0];
+        long invalidRows = counts[1];
+
+        jdbcTemplate.execute("ANALYZE beneficiary_import_staging");
+        jdbcTemplate.update(MARK_FILE_DUPLICATES_SQL);
+        jdbcTemplate.update(MARK_EXISTING_SQL);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long importedRows = jdbcTemplate.update(MERGE_SQL, now, now);
+        if (importedRows > 0) {
+            // One rebuild per customer instead of one incremental clustering per imported row, run after commit
+            importedCustomers.addAll(jdbcTemplate.queryForList(IMPORTED_CUSTOMERS_SQL, String.class));
+        }
+
+        long[] rejectedRows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REJECTIONS_SQL);
+            statement.setFetchSize(REPORT_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            writeReportLine(reportWriter, rs.getLong("line_number"), rs.getString("customer_id"),
+                    rs.getString("beneficiary_account_number"), rs.getString("rejection"));
+            rejectedRows[0]++;
+        });
+
+        imported.increment(importedRows);
+        invalid.increment(invalidRows);
+        duplicate.increment(rejectedRows[0]);
+        return new ImportResponse(importId, totalRows, importedRows, invalidRows + rejectedRows[0]);
+    }
+
+    private long[] copyValidRows(PGConnection connection, CsvReader csv, BufferedWriter reportWriter)
+            throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            List<String> header = nextRecord(csv);
+            if (header == null) {
+                throw new InvalidRequestException("Import file is empty");
+            }
+            Map<String, Integer> positions = columnPositions(header);
+
+            long totalRows = 0;
+            long invalidRows = 0;
+            StringBuilder chunk = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            List<String> record;
+            while ((record = nextRecord(csv)) != null) {
+                totalRows++;
+                long line = csv.recordLine();
+                BeneficiaryRequest request = toRequest(record, positions);
+                String problem = record.size() != header.size()
+                        ? "Expected " + header.size() + " fields but found " + record.size()
+                        : validate(request);
+                if (problem != null) {
+                    invalidRows++;
+                    writeReportLine(reportWriter, line, request.getCustomerId(),
+                            request.getBeneficiaryAccountNumber(), problem);
+                    continue;
+                }
+                appendCopyRow(chunk, line, request);
+                if (chunk.length() >= COPY_BUFFER_CHARS) {
+                    writeChunk(copy, chunk);
+                }
+            }
+            writeChunk(copy, chunk);
+            copy.endCopy();
+            return new long[] {totalRows, invalidRows};
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read import file", e);
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static List<String> nextRecord(CsvReader csv) throws IOException {
+        try {
+            return csv.next();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Integer> columnPositions(List<String> header) {
+        Map<String, String> known = COLUMNS.stream()
+                .collect(Collectors.toMap(column -> column.toLowerCase(Locale.ROOT), column -> column));
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = known.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column != null) {
+                positions.put(column, i);
+            }
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !positions.containsKey(column))
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidRequestException("Import file header is missing columns: " + String.join(", ", missing));
+        }
+        return positions;
+    }
+
+    private static BeneficiaryRequest toRequest(List<String> record, Map<String, Integer> positions) {
+        BeneficiaryRequest request = new BeneficiaryRequest();
+        request.setCustomerId(field(record, positions, "customerId"));
+        request.setAccountNumber(field(record, positions, "accountNumber"));
+        request.setBeneficiaryName(field(record, positions, "beneficiaryName"));
+        request.setBeneficiaryAccountNumber(field(record, positions, "beneficiaryAccountNumber"));
+        request.setBeneficiaryBankCode(field(record, positions, "beneficiaryBankCode"));
+        request.setBeneficiaryBankName(field(record, positions, "beneficiaryBankName"));
+        request.setBeneficiaryType(field(record, positions, "beneficiaryType"));
+        request.setBeneficiaryCountry(field(record, positions, "beneficiaryCountry"));
+        AccountFormatRules.canonicalize(request);
+        return request;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> positions, String column) {
+        Integer position = positions.get(column);
+        if (position == null || position >= record.size()) {
+            return null;
+        }
+        String value = record.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String validate(BeneficiaryRequest request) {
+        Set<ConstraintViolation<BeneficiaryRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        for (Map.Entry<String, Integer> limit : MAX_LENGTHS.entrySet()) {
+            String value = fieldValue(request, limit.getKey());
+            if (value != null && value.length() > limit.getValue()) {
+                return limit.getKey() + " must be at most " + limit.getValue() + " characters";
+            }
+        }
+        try {
+            validationService.validateFormat(request);
+        } catch (BeneficiaryValidationException e) {
+            return e.getMessage();
+        }
+        Optional<String> sanctionsMatch = sanctionsScreeningService.screen(
+                request.getBeneficiaryName(), request.getBeneficiaryAccountNumber());
+        if (sanctionsMatch.isPresent()) {
+            log.warn("Local sanctions screening matched {} for imported account: {}",
+                    sanctionsMatch.get(), request.getBeneficiaryAccountNumber());
+            return "Beneficiary is on sanctions list and cannot be added.";
+        }
+        return null;
+    }
+
+    private static String fieldValue(BeneficiaryRequest request, String column) {
+        return switch (column) {
+            case "customerId" -> request.getCustomerId();
+            case "accountNumber" -> request.getAccountNumber();
+            case "beneficiaryName" -> request.getBeneficiaryName();
+            case "beneficiaryAccountNumber" -> request.getBeneficiaryAccountNumber();
+            case "beneficiaryBankCode" -> request.getBeneficiaryBankCode();
+            case "beneficiaryBankName" -> request.getBeneficiaryBankName();
+            default -> null;
+        };
+    }
+
+    private static void appendCopyRow(StringBuilder chunk, long line, BeneficiaryRequest request) {
+        chunk.append(line);
+        for (String value : new String[] {request.getCustomerId(), request.getAccountNumber(),
+                request.getBeneficiaryName(), request.getBeneficiaryAccountNumber(),
+                request.getBeneficiaryBankCode(), request.getBeneficiaryBankName(),
+                request.getBeneficiaryType(), request.getBeneficiaryCountry()}) {
+            chunk.append(',');
+            // In COPY csv format an unquoted empty field is NULL
+            if (value != null) {
+                appendQuoted(chunk, value);
+            }
+        }
+        chunk.append('\n');
+    }
+
+    private static void writeChunk(CopyIn copy, StringBuilder chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    private static void writeReportLine(BufferedWriter writer, long line, String customerId,
+                                        String beneficiaryAccountNumber, String error) {
+        StringBuilder row = new StringBuilder().append(line).append(',');
+        appendQuoted(row, customerId == null ? "" : customerId);
+        row.append(',');
+        appendQuoted(row, beneficiaryAccountNumber == null ? "" : beneficiaryAccountNumber);
+        row.append(',');
+        appendQuoted(row, error);
+        try {
+            writer.write(row.toString());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write import report", e);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder out, String value) {
+        out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private Path reportPath(String importId) {
+        return reportDirectory.resolve(importId + "-errors.csv");
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import report {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.alok.payment.beneficiaries.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relays beneficiary change events from the outbox table to a Redis stream.
+ * <p>
+ * A background thread claims the oldest unpublished events with FOR UPDATE SKIP LOCKED, so
+ * several instances can relay side by side without claiming the same rows, publishes them to the
+ * stream in one pipelined round trip and deletes them in the same transaction. If publishing
+ * fails the transaction rolls back and the events are retried on the next poll, so delivery is at
+ * least once: consumers should deduplicate on the eventId field, which is the outbox row id.
+ * While full batches keep coming the relay drains without pausing; otherwise it polls at the
+ * configured interval.
+ */
+@Service
+public class BeneficiaryOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(BeneficiaryOutboxRelay.class);
+
+    private static final String CLAIM_SQL =
+            "SELECT id, event_type, beneficiary_id, customer_id, payload, created_at FROM beneficiary_outbox " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_SQL = "DELETE FROM beneficiary_outbox WHERE id = ?";
+
+    private static final String BACKLOG_SQL = "SELECT COUNT(*) FROM beneficiary_outbox";
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getLong("beneficiary_id"),
+            rs.getString("customer_id"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime().toString());
+
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String streamKey;
+    private final XAddOptions addOptions;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer relayTimer;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Thread relay;
+    private volatile boolean stopping;
+
+    public BeneficiaryOutboxRelay(
+            StringRedisTemplate redisTemplate,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.outbox.relay-enabled:true}") boolean enabled,
+            @Value("${beneficiary.outbox.stream-key:beneficiary-events}") String streamKey,
+            @Value("${beneficiary.outbox.stream-max-length:1000000}") long streamMaxLength,
+            @Value("${beneficiary.outbox.batch-size:200}") int batchSize,
+            @Value("${beneficiary.outbox.poll-interval-ms:200}") long pollIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.streamKey = streamKey;
+        this.addOptions = streamMaxLength > 0
+                ? XAddOptions.maxlen(streamMaxLength).approximateTrimming(true)
+                : XAddOptions.none();
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+
+        this.published = Counter.builder("beneficiary.outbox.published")
+                .description("Outbox events published to the Redis stream")
+                .register(meterRegistry);
+        this.failures = Counter.builder("beneficiary.outbox.failures")
+                .description("Relay batches rolled back for retry")
+                .register(meterRegistry);
+        this.relayTimer = Timer.builder("beneficiary.outbox.relay")
+                .description("Time to claim, publish and delete one batch")
+                .register(meterRegistry);
+        Gauge.builder("beneficiary.outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox events not yet published, as of the last idle poll")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("Outbox relay is disabled; events accumulate in beneficiary_outbox");
+            this.relay = null;
+            return;
+        }
+        this.relay = Thread.ofPlatform().daemon().name("beneficiary-outbox-relay").start(this::runRelay);
+        log.info("Relaying beneficiary change events to Redis stream {}", streamKey);
+    }
+
+    private void runRelay() {
+        long backoffNanos = pollIntervalNanos;
+        while (!stopping) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+                backoffNanos = pollIntervalNanos;
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Outbox relay failed, retrying in {} ms: {}",
+                        TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.getMessage());
+                LockSupport.parkNanos(backoffNanos);
+                backoffNanos = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+                continue;
+            }
+            if (relayed < batchSize) {
+                if (relayed == 0) {
+                    refreshBacklog();
+                }
+                LockSupport.parkNanos(pollIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Publishes and deletes one batch of the oldest outbox events.
+     *
+     * @return the number of events published
+     */
+    public int relayBatch() {
+        long start = System.nanoTime();
+        Integer relayed = transactionTemplate.execute(tx -> {
+            List<OutboxEvent> batch = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            publish(batch);
+            jdbcTemplate.batchUpdate(DELETE_SQL, batch, batch.size(), (ps, event) -> ps.setLong(1, event.id));
+            return batch.size();
+        });
+        int count = relayed != null ? relayed : 0;
+        if (count > 0) {
+            published.increment(count);
+            relayTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return count;
+    }
+
+    private void publish(List<OutboxEvent> batch) {
+        // Pipelined so a batch costs one round trip; any failed XADD fails the whole call
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            for (OutboxEvent event : batch) {
+                commands.xAdd(StreamRecords.string(event.fields()).withStreamKey(streamKey), addOptions);
+            }
+            return null;
+        });
+    }
+
+    private void refreshBacklog() {
+        try {
+            Long count = jdbcTemplate.queryForObject(BACKLOG_SQL, Long.class);
+            backlog.set(count != null ? count : 0);
+        } catch (RuntimeException e) {
+            log.debug("Could not count outbox backlog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the relay after its current batch; unpublished events stay in the outbox.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        if (relay != null) {
+            LockSupport.unpark(relay);
+            relay.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private static final class OutboxEvent {
+        private final long id;
+        private final String eventType;
+        private final long beneficiaryId;
+        private final String customerId;
+        private final String payload;
+        private final String createdAt;
+
+        private OutboxEvent(long id, String eventType, long beneficiaryId, String customerId, String payload,
+                            String createdAt) {
+            this.id = id;
+            this.eventType = eventType;
+            this.beneficiaryId = beneficiaryId;
+            this.customerId = customerId;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+
+        private Map<String, String> fields() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("eventId", Long.toString(id));
+            fields.put("eventType", eventType);
+            fields.put("beneficiaryId", Long.toString(beneficiaryId));
+            fields.put("customerId", customerId);
+            fields.put("createdAt", createdAt);
+            fields.put("payload", payload);
+            return fields;
+        }
+    }
+}
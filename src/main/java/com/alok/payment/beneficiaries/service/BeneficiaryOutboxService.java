@@ -0,0 +1,133 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes beneficiary change events to the beneficiary_outbox table.
+ * <p>
+ * Every method joins the caller's transaction and refuses to run without one, so an event is
+ * stored if and only if the change it describes commits. {@link BeneficiaryOutboxRelay} publishes
+ * the stored events to Redis Streams afterwards.
+ */
+@Service
+public class BeneficiaryOutboxService {
+
+    public static final String CREATED = "BENEFICIARY_CREATED";
+    public static final String UPDATED = "BENEFICIARY_UPDATED";
+    public static final String DELETED = "BENEFICIARY_DELETED";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO beneficiary_outbox (event_type, beneficiary_id, customer_id, payload) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public BeneficiaryOutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beneficiaryCreated(Beneficiary beneficiary) {
+        insert(CREATED, beneficiary.getId(), beneficiary.getCustomerId(), snapshot(beneficiary));
+    }
+
+    /**
+     * Records one created event per beneficiary of a bulk create, inserted as a single batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beneficiariesCreated(List<Beneficiary> beneficiaries) {
+        String occurredAt = LocalDateTime.now().toString();
+        List<Object[]> rows = new ArrayList<>(beneficiaries.size());
+        for (Beneficiary beneficiary : beneficiaries) {
+            Map<String, Object> payload = snapshot(beneficiary);
+            payload.put("occurredAt", occurredAt);
+            rows.add(new Object[] {CREATED, beneficiary.getId(), beneficiary.getCustomerId(), toJson(payload)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Records an update with the new state and the names of the fields that changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beneficiaryUpdated(Beneficiary beneficiary, Iterable<String> changedFields) {
+        Map<String, Object> payload = snapshot(beneficiary);
+        payload.put("changedFields", changedFields);
+        insert(UPDATED, beneficiary.getId(), beneficiary.getCustomerId(), payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beneficiaryDeleted(String customerId, Long beneficiaryId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", beneficiaryId);
+        payload.put("customerId", customerId);
+        payload.put("status", "DELETED");
+        insert(DELETED, beneficiaryId, customerId, payload);
+    }
+
+    /**
+     * Records one event per beneficiary moved to a new status by a bulk change, validation or
+     * revalidation, inserted as a single batch. Soft deletes are DELETED events like a single
+     * delete; other changes are UPDATED events with status as the changed field.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beneficiariesStatusChanged(String customerId, List<Long> beneficiaryIds, String status) {
+        boolean deleted = "DELETED".equals(status);
+        String occurredAt = LocalDateTime.now().toString();
+        List<Object[]> rows = new ArrayList<>(beneficiaryIds.size());
+        for (Long beneficiaryId : beneficiaryIds) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", beneficiaryId);
+            payload.put("customerId", customerId);
+            payload.put("status", status);
+            if (!deleted) {
+                payload.put("changedFields", List.of("status"));
+            }
+            payload.put("occurredAt", occurredAt);
+            rows.add(new Object[] {deleted ? DELETED : UPDATED, beneficiaryId, customerId, toJson(payload)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private void insert(String eventType, Long beneficiaryId, String customerId, Map<String, Object> payload) {
+        payload.put("occurredAt", LocalDateTime.now().toString());
+        jdbcTemplate.update(INSERT_SQL, eventType, beneficiaryId, customerId, toJson(payload));
+    }
+
+    private Map<String, Object> snapshot(Beneficiary beneficiary) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", beneficiary.getId());
+        payload.put("customerId", beneficiary.getCustomerId());
+        payload.put("accountNumber", beneficiary.getAccountNumber());
+        payload.put("beneficiaryName", beneficiary.getBeneficiaryName());
+        payload.put("beneficiaryAccountNumber", beneficiary.getBeneficiaryAccountNumber());
+        payload.put("beneficiaryBankCode", beneficiary.getBeneficiaryBankCode());
+        payload.put("beneficiaryBankName", beneficiary.getBeneficiaryBankName());
+        payload.put("beneficiaryType", beneficiary.getBeneficiaryType());
+        payload.put("beneficiaryCountry", beneficiary.getBeneficiaryCountry());
+        payload.put("status", beneficiary.getStatus());
+        return payload;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            // Failing here rolls back the change, which is better than publishing nothing for it
+            throw new IllegalStateException("Could not serialize outbox event", e);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping stored validation results fresh, so payment-time checks can rely on them
+ * instead of calling the provider synchronously.
+ * <p>
+ * During a configurable off-peak window, a background pass walks ACTIVE beneficiaries whose
+ * last validation is older than the maximum age, in id order with a keyset cursor. Each batch is
+ * revalidated with bounded concurrency, paced to a maximum provider call rate, and its results
+ * are written in one transaction. Beneficiaries whose account is no longer active are moved to
+ * INACTIVE, with a version, an outbox event and an audit event like any other status change.
+ * A pass stops when the window closes or when a whole batch fails, e.g. because the provider is
+ * down; the next window picks up where the stale set stands then.
+ */
+@Service
+public class BeneficiaryRevalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BeneficiaryRevalidationService.class);
+
+    private static final String RECORD_SQL =
+            "UPDATE beneficiaries SET validation_fraud_score = ?, validation_account_status = ?, validated_at = ?, " +
+            "version = version + 1 WHERE id = ? AND status = 'ACTIVE'";
+
+    private static final String DEACTIVATE_SQL =
+            "UPDATE beneficiaries SET status = 'INACTIVE', validation_fraud_score = ?, validation_account_status = ?, " +
+            "validated_at = ?, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND status = 'ACTIVE'";
+
+    private final BeneficiaryRepository beneficiaryRepository;
+    private final BeneficiaryValidationService validationService;
+    private final DuplicateClusterService duplicateClusterService;
+    private final BeneficiaryOutboxService outboxService;
+    private final BeneficiaryVersionService versionService;
+    private final BeneficiaryAuditService auditService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final int concurrency;
+    private final double ratePerSecond;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final ZoneId zone;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public BeneficiaryRevalidationService(
+            BeneficiaryRepository beneficiaryRepository,
+            BeneficiaryValidationService validationService,
+            DuplicateClusterService duplicateClusterService,
+            BeneficiaryOutboxService outboxService,
+            BeneficiaryVersionService versionService,
+            BeneficiaryAuditService auditService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${beneficiary.validation.revalidation.enabled:true}") boolean enabled,
+            @Value("${beneficiary.validation.revalidation.max-age-hours:720}") long maxAgeHours,
+            @Value("${beneficiary.validation.revalidation.batch-size:100}") int batchSize,
+            @Value("${beneficiary.validation.revalidation.concurrency:4}") int concurrency,
+            @Value("${beneficiary.validation.revalidation.rate-per-second:20}") double ratePerSecond,
+            @Value("${beneficiary.validation.revalidation.window-start:01:00}") String windowStart,
+            @Value("${beneficiary.validation.revalidation.window-end:05:00}") String windowEnd,
+            @Value("${beneficiary.validation.revalidation.zone:}") String zone,
+            @Value("${beneficiary.validation.revalidation.check-interval-ms:300000}") long checkIntervalMs) {
+        this.beneficiaryRepository = beneficiaryRepository;
+        this.validationService = validationService;
+        this.duplicateClusterService = duplicateClusterService;
+        this.outboxService = outboxService;
+        this.versionService = versionService;
+        this.auditService = auditService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = Duration.ofHours(maxAgeHours);
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.ratePerSecond = ratePerSecond;
+        this.windowStart = LocalTime.parse(windowStart);
+        this.windowEnd = LocalTime.parse(windowEnd);
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.workers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("beneficiary-revalidation-", 0).factory());
+
+        if (!enabled) {
+            log.info("Background revalidation is disabled");
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("beneficiary-revalidation-scheduler").factory());
+        scheduler.scheduleWithFixedDelay(this::runIfInWindow, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Background revalidation scheduled between {} and {} ({}) for results older than {} hours",
+                this.windowStart, this.windowEnd, this.zone, maxAgeHours);
+    }
+
+    /**
+     * Whether the off-peak window is open at the given time. A window whose end is before its
+     * start spans midnight; equal start and end mean always open.
+     */
+    public boolean isWithinWindow(LocalTime time) {
+        if (windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+
+    private void runIfInWindow() {
+        if (!isWithinWindow(LocalTime.now(zone)) || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            revalidateStale(() -> isWithinWindow(LocalTime.now(zone)));
+        } catch (RuntimeException e) {
+            log.error("Background revalidation pass failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Revalidates every stale ACTIVE beneficiary once, regardless of the window.
+     *
+     * @return the number of beneficiaries whose result was refreshed
+     */
+    public int revalidateStale() {
+        return revalidateStale(() -> true);
+    }
+
+    private int revalidateStale(BooleanSupplier keepGoing) {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(maxAge);
+        long afterId = 0;
+        int refreshed = 0;
+        int deactivated = 0;
+
+        while (!stopping && keepGoing.getAsBoolean()) {
+            List<Beneficiary> batch = beneficiaryRepository.findStaleActiveAfterId(afterId, staleBefore, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            long startNanos = System.nanoTime();
+
+            List<Revalidated> results = revalidateBatch(batch);
+            if (results.isEmpty()) {
+                log.warn("Revalidation of {} beneficiaries after ID {} all failed; ending pass", batch.size(), afterId);
+                break;
+            }
+            deactivated += record(results);
+            refreshed += results.size();
+            afterId = batch.get(batch.size() - 1).getId();
+
+            pace(batch.size(), startNanos);
+        }
+
+        log.info("Revalidation pass refreshed {} beneficiaries, {} moved to INACTIVE", refreshed, deactivated);
+        return refreshed;
+    }
+
+    /**
+     * Revalidates a batch with at most {@code concurrency} calls in flight, leaving the
+     * rest of the provider bulkhead to live traffic. Failed items are skipped and stay stale.
+     */
+    private List<Revalidated> revalidateBatch(List<Beneficiary> batch) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<Revalidated>> futures = new ArrayList<>(batch.size());
+        for (Beneficiary beneficiary : batch) {
+            futures.add(workers.submit(() -> {
+                permits.acquire();
+                try {
+                    ValidationResult result = validationService.revalidate(beneficiary);
+                    return result != null ? new Revalidated(beneficiary, result) : null;
+                } catch (RuntimeException e) {
+                    log.debug("Revalidation of beneficiary ID {} failed: {}", beneficiary.getId(), e.getMessage());
+                    return null;
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<Revalidated> results = new ArrayList<>(batch.size());
+        for (Future<Revalidated> future : futures) {
+            try {
+                Revalidated revalidated = future.get();
+                if (revalidated != null) {
+                    results.add(revalidated);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+                break;
+            } catch (ExecutionException e) {
+                log.debug("Revalidation task failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Writes a batch of results in one transaction.
+     *
+     * @return the number of beneficiaries moved to INACTIVE
+     */
+    private int record(List<Revalidated> results) {
+        List<Revalidated> active = new ArrayList<>(results.size());
+        List<Revalidated> inactive = new ArrayList<>();
+        for (Revalidated revalidated : results) {
+            String accountStatus = revalidated.result.getAccountStatus();
+            if (accountStatus != null && !"ACTIVE".equalsIgnoreCase(accountStatus)) {
+                inactive.add(revalidated);
+            } else {
+                active.add(revalidated);
+            }
+        }
+
+        List<Revalidated> deactivated = new ArrayList<>(inactive.size());
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!inactive.isEmpty()) {
+                // Before any row lock, so a concurrent cluster change of one of these customers cannot deadlock with us
+                duplicateClusterService.lockClusters(
+                        inactive.stream().map(r -> r.beneficiary.getCustomerId()).toList());
+            }
+            if (!active.isEmpty()) {
+                jdbcTemplate.batchUpdate(RECORD_SQL, active, active.size(), (ps, r) -> {
+                    ps.setObject(1, r.result.getFraudScore(), Types.DOUBLE);
+                    ps.setString(2, r.result.getAccountStatus());
+                    ps.setTimestamp(3, Timestamp.valueOf(r.result.getValidatedAt()));
+                    ps.setLong(4, r.beneficiary.getId());
+                });
+            }
+            if (!inactive.isEmpty()) {
+                int[][] counts = jdbcTemplate.batchUpdate(DEACTIVATE_SQL, inactive, inactive.size(), (ps, r) -> {
+                    ps.setObject(1, r.result.getFraudScore(), Types.DOUBLE);
+                    ps.setString(2, r.result.getAccountStatus());
+                    ps.setTimestamp(3, Timestamp.valueOf(r.result.getValidatedAt()));
+                    ps.setLong(4, r.beneficiary.getId());
+                });
+                // A beneficiary changed since it was read is no longer ACTIVE and is left alone
+                for (int i = 0; i < inactive.size(); i++) {
+                    if (counts[0][i] == 1) {
+                        deactivated.add(inactive.get(i));
+                    }
+                }
+                if (!deactivated.isEmpty()) {
+                    for (Revalidated r : deactivated) {
+                        duplicateClusterService.removeFromClusters(
+                                r.beneficiary.getId(), r.beneficiary.getCustomerId());
+                    }
+                    versionService.recordVersions(
+                            deactivated.stream().map(r -> r.beneficiary.getId()).toList(), "STATUS");
+                    idsByCustomer(deactivated).forEach((customerId, ids) ->
+                            outboxService.beneficiariesStatusChanged(customerId, ids, "INACTIVE"));
+                }
+            }
+        });
+
+        for (Revalidated r : deactivated) {
+            log.warn("Beneficiary ID {} moved to INACTIVE: account status {}",
+                    r.beneficiary.getId(), r.result.getAccountStatus());
+        }
+        idsByCustomer(deactivated).forEach((customerId, ids) ->
+                auditService.logBeneficiariesStatusChanged(customerId, ids, "INACTIVE"));
+        return deactivated.size();
+    }
+
+    private static Map<String, List<Long>> idsByCustomer(List<Revalidated> revalidated) {
+        return revalidated.stream().collect(Collectors.groupingBy(r -> r.beneficiary.getCustomerId(),
+                LinkedHashMap::new, Collectors.mapping(r -> r.beneficiary.getId(), Collectors.toList())));
+    }
+
+    /**
+     * Sleeps as needed so the batch took at least as long as the rate limit allows.
+     */
+    private void pace(int calls, long startNanos) {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long minNanos = (long) (calls / ratePerSecond * 1_000_000_000L);
+        long remainingNanos = minNanos - (System.nanoTime() - startNanos);
+        if (remainingNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopping = true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Revalidation pass did not finish its batch before shutdown");
+                scheduler.shutdownNow();
+            }
+        }
+        workers.shutdownNow();
+    }
+
+    private static final class Revalidated {
+        private final Beneficiary beneficiary;
+        private final ValidationResult result;
+
+        private Revalidated(Beneficiary beneficiary, ValidationResult result) {
+            this.beneficiary = beneficiary;
+            this.result = result;
+        }
+    }
+}
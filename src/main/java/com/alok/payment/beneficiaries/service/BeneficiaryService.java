@@ -1,21 +1,39 @@
 package com.alok.payment.beneficiaries.service;
 
 import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.dto.BeneficiaryResponse;
+import com.alok.payment.beneficiaries.dto.BeneficiaryVersionResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.dto.DuplicateClusterResponse;
+import com.alok.payment.beneficiaries.dto.DuplicatePairResponse;
 import com.alok.payment.beneficiaries.dto.BeneficiarySearchCriteria;
 import com.alok.payment.beneficiaries.dto.PagedResponse;
 import com.alok.payment.beneficiaries.exception.BeneficiaryNotFoundException;
+import com.alok.payment.beneficiaries.exception.BeneficiaryVersionConflictException;
 import com.alok.payment.beneficiaries.exception.DuplicateBeneficiaryException;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
 import com.alok.payment.beneficiaries.model.Beneficiary;
 import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.repository.BeneficiaryUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,87 +41,152 @@ public class BeneficiaryService {
     
     private static final Logger log = LoggerFactory.getLogger(BeneficiaryService.class);
     
+    private static final int MAX_DUPLICATE_PAGE_SIZE = 500;
+    
     private final BeneficiaryRepository beneficiaryRepository;
     private final BeneficiaryValidationService validationService;
+    private final DuplicateClusterService duplicateClusterService;
+    private final AsyncBeneficiaryValidationService asyncValidationService;
+    private final BeneficiaryAuditService auditService;
+    private final BeneficiaryOutboxService outboxService;
+    private final BeneficiaryVersionService versionService;
+    private final TransactionTemplate transactionTemplate;
 
     public BeneficiaryService(BeneficiaryRepository beneficiaryRepository,
-                             BeneficiaryValidationService validationService) {
+                             BeneficiaryValidationService validationService,
+                             DuplicateClusterService duplicateClusterService,
+                             AsyncBeneficiaryValidationService asyncValidationService,
+                             BeneficiaryAuditService auditService,
+                             BeneficiaryOutboxService outboxService,
+                             BeneficiaryVersionService versionService,
+                             PlatformTransactionManager transactionManager) {
         this.beneficiaryRepository = beneficiaryRepository;
         this.validationService = validationService;
+        this.duplicateClusterService = duplicateClusterService;
+        this.asyncValidationService = asyncValidationService;
+        this.auditService = auditService;
+        this.outboxService = outboxService;
+        this.versionService = versionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
-    @Transactional
+    /**
+     * Creates an ACTIVE beneficiary once third-party validation has passed.
+     * <p>
+     * Validation runs before any transaction is opened, so a slow provider never pins a pooled
+     * connection; the transaction covers only the insert and clustering. Duplicates are rejected
+     * by the insert itself rather than a prior check, so concurrent creates cannot both succeed.
+     * Not annotated with {@code @Transactional} for that reason.
+     */
     public Beneficiary createBeneficiary(BeneficiaryRequest request) {
         log.info("Creating beneficiary for customer: {}", request.getCustomerId());
+        AccountFormatRules.canonicalize(request);
         
         // Validate beneficiary with third-party service
-        validationService.validateBeneficiary(request);
-        
-        // Check for duplicate beneficiary account number
-        beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(
-                request.getCustomerId(), 
-                request.getBeneficiaryAccountNumber()
-        ).ifPresent(existing -> {
-            throw new DuplicateBeneficiaryException(
-                    "Beneficiary with account number " + request.getBeneficiaryAccountNumber() + 
-                    " already exists for customer " + request.getCustomerId()
-            );
+        ValidationResult validationResult = validationService.validateBeneficiary(request);
+        
+        Beneficiary saved = transactionTemplate.execute(tx -> {
+            Beneficiary beneficiary = newBeneficiary(request, "ACTIVE");
+            if (validationResult != null) {
+                beneficiary.setValidationFraudScore(validationResult.getFraudScore());
+                beneficiary.setValidationAccountStatus(validationResult.getAccountStatus());
+                beneficiary.setValidatedAt(validationResult.getValidatedAt());
+                beneficiary.setAccountHolderName(validationResult.getAccountHolderName());
+                beneficiary.setNameMatch(validationResult.getNameMatch());
+            }
+            Beneficiary inserted = insertIfAbsent(beneficiary);
+            duplicateClusterService.addToClusters(inserted);
+            versionService.recordVersion(inserted.getId(), "CREATE");
+            outboxService.beneficiaryCreated(inserted);
+            return inserted;
         });
-        
-        Beneficiary beneficiary = new Beneficiary();
-        beneficiary.setCustomerId(request.getCustomerId());
-        beneficiary.setAccountNumber(request.getAccountNumber());
-        beneficiary.setBeneficiaryName(request.getBeneficiaryName());
-        beneficiary.setBeneficiaryAccountNumber(request.getBeneficiaryAccountNumber());
-        beneficiary.setBeneficiaryBankCode(request.getBeneficiaryBankCode());
-        beneficiary.setBeneficiaryBankName(request.getBeneficiaryBankName());
-        beneficiary.setBeneficiaryType(request.getBeneficiaryType() != null ? request.getBeneficiaryType() : "DOMESTIC");
-        beneficiary.setStatus("ACTIVE");
-        beneficiary.setCreatedAt(LocalDateTime.now());
-        beneficiary.setUpdatedAt(LocalDateTime.now());
-        
-        Beneficiary saved = beneficiaryRepository.save(beneficiary);
+        auditService.logBeneficiaryCreated(saved.getCustomerId(), saved.getId(), saved.getBeneficiaryAccountNumber());
         log.info("Beneficiary created with ID: {}", saved.getId());
         return saved;
     }
     
+    /**
+     * Creates a beneficiary in PENDING_VALIDATION status and hands the third-party
+     * validation to a background worker, so the caller does not wait on the provider.
+     * Format and duplicate checks still run synchronously.
+     */
+    @Transactional
+    public Beneficiary createBeneficiaryAsync(BeneficiaryRequest request) {
+        log.info("Creating beneficiary asynchronously for customer: {}", request.getCustomerId());
+        AccountFormatRules.canonicalize(request);
+        
+        validationService.validateFormat(request);
+        
+        Beneficiary saved = insertIfAbsent(newBeneficiary(request, "PENDING_VALIDATION"));
+        versionService.recordVersion(saved.getId(), "CREATE");
+        outboxService.beneficiaryCreated(saved);
+        asyncValidationService.submit(saved, request);
+        auditService.logBeneficiaryCreated(saved.getCustomerId(), saved.getId(), saved.getBeneficiaryAccountNumber());
+        log.info("Beneficiary created with ID: {} pending validation", saved.getId());
+        return saved;
+    }
+    
     @Transactional
     public Beneficiary updateBeneficiary(Long id, String customerId, BeneficiaryRequest request) {
-        log.info("Updating beneficiary ID: {} for customer: {}", id, customerId);
+        return updateBeneficiary(id, customerId, request, null);
+    }
+    
+    /**
+     * Updates a beneficiary with one conditional UPDATE ... RETURNING. When expectedVersion is
+     * given, the update only applies if nobody else changed the beneficiary since that version.
+     * 
+     * @throws BeneficiaryVersionConflictException if the beneficiary has moved past expectedVersion
+     * @throws DuplicateBeneficiaryException if another live beneficiary has the new account number
+     */
+    @Transactional
+    public Beneficiary updateBeneficiary(Long id, String customerId, BeneficiaryRequest request, Long expectedVersion) {
+        log.info("Updating beneficiary ID: {} for customer: {} (expected version: {})", id, customerId, expectedVersion);
+        AccountFormatRules.canonicalize(request);
+        
+        BeneficiaryUpdate update;
+        try {
+            update = beneficiaryRepository.updateIfVersionMatches(id, customerId,
+                    request.getAccountNumber(),
+                    request.getBeneficiaryName(),
+                    request.getBeneficiaryAccountNumber(),
+                    request.getBeneficiaryBankCode(),
+                    request.getBeneficiaryBankName(),
+                    request.getBeneficiaryType(),
+                    request.getBeneficiaryCountry(),
+                    LocalDateTime.now(),
+                    expectedVersion
+            ).orElse(null);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateBeneficiaryException(
+                    "Beneficiary with account number " + request.getBeneficiaryAccountNumber() + 
+                    " already exists for customer " + customerId
+            );
+        }
+        if (update == null) {
+            // Only a failed update pays for a read, to tell a missing beneficiary from a stale version
+            Beneficiary current = beneficiaryRepository.findByIdAndCustomerId(id, customerId)
+                    .orElseThrow(() -> new BeneficiaryNotFoundException(
+                            "Beneficiary not found with ID: " + id + " for customer: " + customerId
+                    ));
+            throw new BeneficiaryVersionConflictException(
+                    "Beneficiary ID: " + id + " is at version " + current.getVersion() + 
+                    ", not the expected version " + expectedVersion
+            );
+        }
         
-        Beneficiary existing = beneficiaryRepository.findByIdAndCustomerId(id, customerId)
-                .orElseThrow(() -> new BeneficiaryNotFoundException(
-                        "Beneficiary not found with ID: " + id + " for customer: " + customerId
-                ));
+        Beneficiary previous = update.getPrevious();
+        Beneficiary saved = update.getUpdated();
         
-        // Check if updating to a different beneficiary account number that already exists
-        if (!existing.getBeneficiaryAccountNumber().equals(request.getBeneficiaryAccountNumber())) {
-            beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(
-                    customerId, 
-                    request.getBeneficiaryAccountNumber()
-            ).ifPresent(duplicate -> {
-                throw new DuplicateBeneficiaryException(
-                        "Beneficiary with account number " + request.getBeneficiaryAccountNumber() + 
-                        " already exists for customer " + customerId
-                );
-            });
+        // A rename can both leave the old cluster and join others
+        if (!Objects.equals(previous.getBeneficiaryName(), saved.getBeneficiaryName())) {
+            duplicateClusterService.removeFromClusters(saved.getId(), customerId);
+            duplicateClusterService.addToClusters(saved);
         }
-        
-        Beneficiary updated = new Beneficiary();
-        updated.setId(existing.getId());
-        updated.setCustomerId(customerId);
-        updated.setAccountNumber(request.getAccountNumber());
-        updated.setBeneficiaryName(request.getBeneficiaryName());
-        updated.setBeneficiaryAccountNumber(request.getBeneficiaryAccountNumber());
-        updated.setBeneficiaryBankCode(request.getBeneficiaryBankCode());
-        updated.setBeneficiaryBankName(request.getBeneficiaryBankName());
-        updated.setBeneficiaryType(request.getBeneficiaryType() != null ? request.getBeneficiaryType() : existing.getBeneficiaryType());
-        updated.setStatus(existing.getStatus());
-        updated.setCreatedAt(existing.getCreatedAt());
-        updated.setUpdatedAt(LocalDateTime.now());
-        
-        Beneficiary saved = beneficiaryRepository.save(updated);
-        log.info("Beneficiary updated with ID: {}", saved.getId());
+        Map<String, String> changes = changedFields(previous, saved);
+        versionService.recordVersion(saved.getId(), "UPDATE");
+        outboxService.beneficiaryUpdated(saved, changes.keySet());
+        auditService.logBeneficiaryUpdated(customerId, saved.getId(), changes);
+        log.info("Beneficiary updated with ID: {} to version {}", saved.getId(), saved.getVersion());
         return saved;
     }
     
@@ -117,10 +200,36 @@ public class BeneficiaryService {
                     "Beneficiary not found with ID: " + id + " for customer: " + customerId
             );
         }
+        duplicateClusterService.removeFromClusters(id, customerId);
+        versionService.recordVersion(id, "DELETE");
+        outboxService.beneficiaryDeleted(customerId, id);
+        auditService.logBeneficiaryDeleted(customerId, id);
         
         log.info("Beneficiary soft deleted with ID: {}", id);
     }
     
+    /**
+     * New values of the customer-editable fields an update changed, keyed by field name.
+     */
+    private Map<String, String> changedFields(Beneficiary before, Beneficiary after) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        putIfChanged(changes, "accountNumber", before.getAccountNumber(), after.getAccountNumber());
+        putIfChanged(changes, "beneficiaryName", before.getBeneficiaryName(), after.getBeneficiaryName());
+        putIfChanged(changes, "beneficiaryAccountNumber",
+                before.getBeneficiaryAccountNumber(), after.getBeneficiaryAccountNumber());
+        putIfChanged(changes, "beneficiaryBankCode", before.getBeneficiaryBankCode(), after.getBeneficiaryBankCode());
+        putIfChanged(changes, "beneficiaryBankName", before.getBeneficiaryBankName(), after.getBeneficiaryBankName());
+        putIfChanged(changes, "beneficiaryType", before.getBeneficiaryType(), after.getBeneficiaryType());
+        putIfChanged(changes, "beneficiaryCountry", before.getBeneficiaryCountry(), after.getBeneficiaryCountry());
+        return changes;
+    }
+    
+    private static void putIfChanged(Map<String, String> changes, String field, String before, String after) {
+        if (!Objects.equals(before, after)) {
+            changes.put(field, after);
+        }
+    }
+    
     @Transactional(readOnly = true)
     public Beneficiary getBeneficiary(Long id, String customerId) {
         log.info("Fetching beneficiary ID: {} for customer: {}", id, customerId);
@@ -131,6 +240,54 @@ public class BeneficiaryService {
                 ));
     }
     
+    /**
+     * Fetches a beneficiary in any status, so clients can poll the outcome of an asynchronous create.
+     */
+    @Transactional(readOnly = true)
+    public Beneficiary getBeneficiaryStatus(Long id, String customerId) {
+        log.info("Fetching status of beneficiary ID: {} for customer: {}", id, customerId);
+        
+        return beneficiaryRepository.findAnyStatusByIdAndCustomerId(id, customerId)
+                .orElseThrow(() -> new BeneficiaryNotFoundException(
+                        "Beneficiary not found with ID: " + id + " for customer: " + customerId
+                ));
+    }
+    
+    /**
+     * The beneficiary as it was at the given time, from its version history. A beneficiary with
+     * no versions has not changed since history began, so its current row holds from its last update.
+     */
+    @Transactional(readOnly = true)
+    public BeneficiaryVersionResponse getBeneficiaryAsOf(Long id, String customerId, LocalDateTime asOf) {
+        log.info("Fetching beneficiary ID: {} for customer: {} as of {}", id, customerId, asOf);
+        
+        return versionService.findAsOf(id, customerId, asOf)
+                .or(() -> versionService.hasVersions(id)
+                        ? Optional.empty()
+                        : beneficiaryRepository.findAnyStatusByIdAndCustomerId(id, customerId)
+                                .filter(current -> !asOf.isBefore(current.getUpdatedAt()))
+                                .map(current -> new BeneficiaryVersionResponse(null, "UNVERSIONED",
+                                        current.getUpdatedAt(), BeneficiaryResponse.from(current))))
+                .orElseThrow(() -> new BeneficiaryNotFoundException(
+                        "No version of beneficiary ID: " + id + " for customer: " + customerId + " as of " + asOf
+                ));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BeneficiaryVersionResponse> getBeneficiaryHistory(Long id, String customerId) {
+        log.info("Fetching version history of beneficiary ID: {} for customer: {}", id, customerId);
+        
+        List<BeneficiaryVersionResponse> versions = versionService.findVersions(id, customerId);
+        if (versions.isEmpty()) {
+            // Distinguish an unknown beneficiary from one with no recorded changes
+            beneficiaryRepository.findAnyStatusByIdAndCustomerId(id, customerId)
+                    .orElseThrow(() -> new BeneficiaryNotFoundException(
+                            "Beneficiary not found with ID: " + id + " for customer: " + customerId
+                    ));
+        }
+        return versions;
+    }
+    
     @Transactional(readOnly = true)
     public List<Beneficiary> getBeneficiaries(String customerId, String accountNumber) {
         log.info("Fetching beneficiaries for customer: {}, account: {}", customerId, accountNumber);
@@ -236,36 +393,86 @@ public class BeneficiaryService {
     
     /**
      * NEW: Get list of potentially duplicate beneficiaries
-     * Helps identify beneficiaries that might be duplicates based on name similarity
+     * Helps identify beneficiaries that might be duplicates based on name similarity.
+     * Each unordered pair is returned once, ordered by (beneficiary1Id, beneficiary2Id),
+     * and results are paged with an opaque cursor so large customers stay bounded. A page
+     * only loads and compares beneficiaries from the cursor's first id on, so later pages do
+     * not rescan pairs that earlier pages covered.
      */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> findPotentialDuplicates(String customerId) {
+    public CursorPage<DuplicatePairResponse> findPotentialDuplicates(String customerId, String cursor, int size) {
         log.info("Searching for potential duplicate beneficiaries for customer: {}", customerId);
         
-        List<Beneficiary> beneficiaries = beneficiaryRepository.findAllByCustomerId(customerId);
+        int pageSize = Math.max(1, Math.min(size, MAX_DUPLICATE_PAGE_SIZE));
+        long[] after = decodeDuplicateCursor(cursor);
         
-        List<Map<String, Object>> duplicates = beneficiaries.stream()
-                .flatMap(b1 -> beneficiaries.stream()
-                        .filter(b2 -> !b1.getId().equals(b2.getId()))
-                        .filter(b2 -> areSimilarNames(b1.getBeneficiaryName(), b2.getBeneficiaryName()))
-                        .map(b2 -> {
-                            Map<String, Object> duplicate = new HashMap<>();
-                            duplicate.put("beneficiary1Id", b1.getId());
-                            duplicate.put("beneficiary1Name", b1.getBeneficiaryName());
-                            duplicate.put("beneficiary1Account", b1.getBeneficiaryAccountNumber());
-                            duplicate.put("beneficiary2Id", b2.getId());
-                            duplicate.put("beneficiary2Name", b2.getBeneficiaryName());
-                            duplicate.put("beneficiary2Account", b2.getBeneficiaryAccountNumber());
-                            duplicate.put("similarity", "HIGH");
-                            return duplicate;
-                        })
-                )
-                .distinct()
-                .collect(Collectors.toList());
+        // Every remaining pair has both ids at or above the cursor's first id
+        List<Beneficiary> beneficiaries = new ArrayList<>(
+                beneficiaryRepository.findAllByCustomerIdFromId(customerId, after != null ? after[0] : 0));
+        beneficiaries.sort(Comparator.comparing(Beneficiary::getId));
         
-        log.info("Found {} potential duplicate pairs for customer: {}", duplicates.size(), customerId);
+        // Normalize each name once rather than once per comparison
+        String[] normalizedNames = new String[beneficiaries.size()];
+        for (int i = 0; i < normalizedNames.length; i++) {
+            normalizedNames[i] = NameSimilarity.normalize(beneficiaries.get(i).getBeneficiaryName());
+        }
         
-        return duplicates;
+        List<DuplicatePairResponse> duplicates = new ArrayList<>();
+        boolean hasMore = false;
+        
+        outer:
+        for (int i = 0; i < beneficiaries.size(); i++) {
+            Beneficiary b1 = beneficiaries.get(i);
+            int from = i + 1;
+            if (after != null && b1.getId() == after[0]) {
+                // Resume after the last pair returned
+                while (from < beneficiaries.size() && beneficiaries.get(from).getId() <= after[1]) {
+                    from++;
+                }
+            }
+            for (int j = from; j < beneficiaries.size(); j++) {
+                Beneficiary b2 = beneficiaries.get(j);
+                if (!NameSimilarity.areSimilar(normalizedNames[i], normalizedNames[j])) {
+                    continue;
+                }
+                if (duplicates.size() == pageSize) {
+                    hasMore = true;
+                    break outer;
+                }
+                duplicates.add(DuplicatePairResponse.of(b1, b2,
+                        NameSimilarity.score(normalizedNames[i], normalizedNames[j])));
+            }
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            DuplicatePairResponse last = duplicates.get(duplicates.size() - 1);
+            nextCursor = encodeDuplicateCursor(last.getBeneficiary1Id(), last.getBeneficiary2Id());
+        }
+        
+        log.info("Found {} potential duplicate pairs for customer: {} (more: {})", 
+                duplicates.size(), customerId, hasMore);
+        
+        return new CursorPage<>(duplicates, pageSize, nextCursor);
+    }
+    
+    /**
+     * Get the current duplicate clusters for a customer.
+     * Clusters are maintained on every write, so this is a read of the stored clusters.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateClusterResponse> getDuplicateClusters(String customerId) {
+        log.info("Fetching duplicate clusters for customer: {}", customerId);
+        return duplicateClusterService.getClusters(customerId);
+    }
+    
+    /**
+     * Recompute duplicate clusters for a customer, e.g. for beneficiaries that predate clustering.
+     */
+    @Transactional
+    public List<DuplicateClusterResponse> rebuildDuplicateClusters(String customerId) {
+        duplicateClusterService.rebuildClusters(customerId);
+        return duplicateClusterService.getClusters(customerId);
     }
     
     /**
@@ -317,48 +524,48 @@ public class BeneficiaryService {
         return report;
     }
     
-    /**
-     * Helper method to check name similarity
-     */
-    private boolean areSimilarNames(String name1, String name2) {
-        if (name1 == null || name2 == null) {
-            return false;
-        }
-        
-        String normalized1 = name1.toLowerCase().replaceAll("\\s+", "");
-        String normalized2 = name2.toLowerCase().replaceAll("\\s+", "");
-        
-        // Check if names are very similar (allowing for minor variations)
-        return normalized1.equals(normalized2) || 
-               normalized1.contains(normalized2) || 
-               normalized2.contains(normalized1) ||
-               calculateLevenshteinDistance(normalized1, normalized2) <= 2;
+    private Beneficiary insertIfAbsent(Beneficiary beneficiary) {
+        return beneficiaryRepository.insertIfAbsent(beneficiary).orElseThrow(() ->
+                new DuplicateBeneficiaryException(
+                        "Beneficiary with account number " + beneficiary.getBeneficiaryAccountNumber() + 
+                        " already exists for customer " + beneficiary.getCustomerId()
+                ));
     }
     
-    /**
-     * Calculate Levenshtein distance between two strings
-     */
-    private int calculateLevenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-        
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
+    private Beneficiary newBeneficiary(BeneficiaryRequest request, String status) {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setCustomerId(request.getCustomerId());
+        beneficiary.setAccountNumber(request.getAccountNumber());
+        beneficiary.setBeneficiaryName(request.getBeneficiaryName());
+        beneficiary.setBeneficiaryAccountNumber(request.getBeneficiaryAccountNumber());
+        beneficiary.setBeneficiaryBankCode(request.getBeneficiaryBankCode());
+        beneficiary.setBeneficiaryBankName(request.getBeneficiaryBankName());
+        beneficiary.setBeneficiaryType(request.getBeneficiaryType() != null ? request.getBeneficiaryType() : "DOMESTIC");
+        beneficiary.setBeneficiaryCountry(request.getBeneficiaryCountry());
+        beneficiary.setStatus(status);
+        beneficiary.setCreatedAt(LocalDateTime.now());
+        beneficiary.setUpdatedAt(LocalDateTime.now());
+        return beneficiary;
+    }
+    
+    private String encodeDuplicateCursor(Long beneficiary1Id, Long beneficiary2Id) {
+        String raw = beneficiary1Id + ":" + beneficiary2Id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private long[] decodeDuplicateCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
         }
-        
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(
-                        dp[i - 1][j] + 1,
-                        dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost
-                );
-            }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new long[] {
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            };
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid duplicate cursor: " + cursor);
         }
-        
-        return dp[s1.length()][s2.length()];
     }
 }
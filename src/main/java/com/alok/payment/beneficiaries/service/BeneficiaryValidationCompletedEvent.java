@@ -0,0 +1,37 @@
+package com.alok.payment.beneficiaries.service;
+
+/**
+ * Application event published when an asynchronously validated beneficiary
+ * leaves PENDING_VALIDATION, so listeners can notify the customer.
+ */
+public class BeneficiaryValidationCompletedEvent {
+    
+    private final Long beneficiaryId;
+    private final String customerId;
+    private final String status;
+    private final String failureReason;
+    
+    public BeneficiaryValidationCompletedEvent(Long beneficiaryId, String customerId, 
+                                               String status, String failureReason) {
+        this.beneficiaryId = beneficiaryId;
+        this.customerId = customerId;
+        this.status = status;
+        this.failureReason = failureReason;
+    }
+    
+    public Long getBeneficiaryId() {
+        return beneficiaryId;
+    }
+    
+    public String getCustomerId() {
+        return customerId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+}
@@ -2,12 +2,25 @@ package com.alok.payment.beneficiaries.service;
 
 import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
 import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import com.alok.payment.beneficiaries.exception.ValidationRateLimitExceededException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.regex.Pattern;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service for validating beneficiaries against third-party services.
@@ -18,9 +31,6 @@ public class BeneficiaryValidationService {
     
     private static final Logger log = LoggerFactory.getLogger(BeneficiaryValidationService.class);
     
-    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^[0-9]{8,20}$");
-    private static final Pattern BANK_CODE_PATTERN = Pattern.compile("^[A-Z0-9]{6,11}$");
-    
     @Value("${beneficiary.validation.enabled:true}")
     private boolean validationEnabled;
     
@@ -28,21 +38,61 @@ public class BeneficiaryValidationService {
     private boolean strictMode;
     
     private final ThirdPartyValidationClient validationClient;
+    private final ThirdPartyValidationGuard validationGuard;
+    private final ValidationRateLimiter rateLimiter;
+    private final SanctionsScreeningService sanctionsScreeningService;
+    private final LocalFraudScreeningService localFraudScreeningService;
+    private final ThirdPartyValidationBatcher batcher;
+    private final long batchTimeoutMs;
+    private final ExecutorService checkExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("validation-check-", 0).factory());
     
-    public BeneficiaryValidationService(ThirdPartyValidationClient validationClient) {
+    public BeneficiaryValidationService(
+            ThirdPartyValidationClient validationClient,
+            ThirdPartyValidationGuard validationGuard,
+            ValidationRateLimiter rateLimiter,
+            SanctionsScreeningService sanctionsScreeningService,
+            LocalFraudScreeningService localFraudScreeningService,
+            @Value("${beneficiary.validation.batch.enabled:false}") boolean batchEnabled,
+            @Value("${beneficiary.validation.batch.max-size:50}") int batchMaxSize,
+            @Value("${beneficiary.validation.batch.max-wait-ms:10}") long batchMaxWaitMs) {
         this.validationClient = validationClient;
+        this.validationGuard = validationGuard;
+        this.rateLimiter = rateLimiter;
+        this.sanctionsScreeningService = sanctionsScreeningService;
+        this.localFraudScreeningService = localFraudScreeningService;
+        // Each batch is one guarded provider call: it takes one bulkhead permit and is timed as a whole
+        this.batcher = batchEnabled
+                ? new ThirdPartyValidationBatcher(
+                        requests -> validationGuard.call(() -> validationClient.validateBeneficiaries(requests)),
+                        batchMaxSize, Duration.ofMillis(batchMaxWaitMs))
+                : null;
+        this.batchTimeoutMs = batchEnabled ? batchMaxWaitMs + validationGuard.getTimeout().toMillis() : 0;
+    }
+    
+    /**
+     * Validates a beneficiary request against third-party services at interactive priority.
+     * 
+     * @param request The beneficiary request to validate
+     * @return the provider's outcome, or null if the provider was not consulted
+     * @throws BeneficiaryValidationException if validation fails
+     */
+    public ValidationResult validateBeneficiary(BeneficiaryRequest request) {
+        return validateBeneficiary(request, ValidationPriority.INTERACTIVE);
     }
     
     /**
      * Validates a beneficiary request against third-party services.
      * 
      * @param request The beneficiary request to validate
+     * @param priority The priority of the provider calls under the rate limit
+     * @return the provider's outcome, or null if the provider was not consulted
      * @throws BeneficiaryValidationException if validation fails
      */
-    public void validateBeneficiary(BeneficiaryRequest request) {
+    public ValidationResult validateBeneficiary(BeneficiaryRequest request, ValidationPriority priority) {
         if (!validationEnabled) {
             log.debug("Beneficiary validation is disabled");
-            return;
+            return null;
         }
         
         log.info("Validating beneficiary: {} for account: {}", 
@@ -53,28 +103,109 @@ public class BeneficiaryValidationService {
         validateAccountFormat(request);
         
         // Step 2: Third-party validation
-        performThirdPartyValidation(request);
+        ValidationResult result = performThirdPartyValidation(request, priority);
         
         log.info("Beneficiary validation successful for account: {}", 
                 request.getBeneficiaryAccountNumber());
+        return result;
     }
     
     /**
-     * Validates basic account format and bank code.
+     * Performs only the local format checks. Used by the asynchronous create flow,
+     * which rejects malformed requests up front and defers the third-party call.
+     * 
+     * @param request The beneficiary request to validate
+     * @throws BeneficiaryValidationException if the format is invalid
      */
-    private void validateAccountFormat(BeneficiaryRequest request) {
-        // Validate account number format
-        if (request.getBeneficiaryAccountNumber() == null || 
-            !ACCOUNT_NUMBER_PATTERN.matcher(request.getBeneficiaryAccountNumber()).matches()) {
-            throw new BeneficiaryValidationException(
-                    "Invalid account number format. Must be 8-20 digits.");
+    public void validateFormat(BeneficiaryRequest request) {
+        if (!validationEnabled) {
+            log.debug("Beneficiary validation is disabled");
+            return;
         }
         
-        // Validate bank code format
-        if (request.getBeneficiaryBankCode() == null || 
-            !BANK_CODE_PATTERN.matcher(request.getBeneficiaryBankCode()).matches()) {
-            throw new BeneficiaryValidationException(
-                    "Invalid bank code format. Must be 6-11 alphanumeric characters.");
+        validateAccountFormat(request);
+    }
+    
+    /**
+     * Performs only the third-party checks for a request whose format was already validated,
+     * at interactive priority.
+     * 
+     * @param request The beneficiary request to validate
+     * @return the provider's outcome, or null if the provider was not consulted
+     * @throws BeneficiaryValidationException if validation fails
+     */
+    public ValidationResult validateWithThirdParty(BeneficiaryRequest request) {
+        return validateWithThirdParty(request, ValidationPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Performs only the third-party checks for a request whose format was already validated.
+     * 
+     * @param request The beneficiary request to validate
+     * @param priority The priority of the provider calls under the rate limit
+     * @return the provider's outcome, or null if the provider was not consulted
+     * @throws BeneficiaryValidationException if validation fails
+     * @throws ValidationRateLimitExceededException if a non-interactive call found no rate limit
+     *         capacity in time, so the caller should retry later rather than proceed unvalidated
+     */
+    public ValidationResult validateWithThirdParty(BeneficiaryRequest request, ValidationPriority priority) {
+        if (!validationEnabled) {
+            log.debug("Beneficiary validation is disabled");
+            return null;
+        }
+        
+        ValidationResult result = performThirdPartyValidation(request, priority);
+        
+        log.info("Beneficiary third-party validation successful for account: {}", 
+                request.getBeneficiaryAccountNumber());
+        return result;
+    }
+    
+    /**
+     * Re-checks an existing beneficiary's account status and fraud score with the provider.
+     * Unlike creation, a closed account or high fraud score is reported rather than rejected,
+     * so the caller can record it; sanctions are covered by the rescreening job. Calls are made
+     * at background priority.
+     * 
+     * @return the provider's outcome, or null if validation is disabled
+     * @throws RuntimeException if the provider cannot be reached or fails
+     */
+    public ValidationResult revalidate(Beneficiary beneficiary) {
+        if (!validationEnabled) {
+            return null;
+        }
+        
+        String accountNumber = beneficiary.getBeneficiaryAccountNumber();
+        ValidationResult result = new ValidationResult();
+        rateLimiter.acquire(ValidationPriority.BACKGROUND, 2);
+        validationGuard.call(() -> {
+            ParallelChecks.runAll(checkExecutor, List.of(
+                    () -> result.setAccountStatus(validationClient
+                            .checkAccount(accountNumber, beneficiary.getBeneficiaryBankCode(),
+                                    beneficiary.getBeneficiaryName())
+                            .getAccountStatus()),
+                    () -> result.setFraudScore(validationClient
+                            .screenFraud(accountNumber, beneficiary.getBeneficiaryName(), beneficiary.getBeneficiaryType())
+                            .getFraudScore())
+            ));
+            return null;
+        });
+        result.setValidatedAt(LocalDateTime.now());
+        return result;
+    }
+    
+    /**
+     * Validates account number, bank code and name format.
+     */
+    private void validateAccountFormat(BeneficiaryRequest request) {
+        // Validate account number and bank code against the rules for the type and country
+        String formatError = AccountFormatRules.validate(
+                request.getBeneficiaryType(),
+                request.getBeneficiaryCountry(),
+                request.getBeneficiaryAccountNumber(),
+                request.getBeneficiaryBankCode());
+        if (formatError != null) {
+            throw new BeneficiaryValidationException(formatError);
         }
         
         // Validate beneficiary name
@@ -96,63 +227,209 @@ public class BeneficiaryValidationService {
     /**
      * Performs validation against third-party services including:
      * - Account existence verification
-     * - Fraud screening
-     * - Sanctions list checking
+     * - Fraud screening, remotely only when the local pre-screening score is ambiguous
+     * - Sanctions list checking, against the local list and then the remote service
      */
-    private void performThirdPartyValidation(BeneficiaryRequest request) {
-        try {
-            // Call third-party validation service
-            ThirdPartyValidationResponse response = validationClient.validateBeneficiary(
-                    request.getBeneficiaryAccountNumber(),
-                    request.getBeneficiaryBankCode(),
-                    request.getBeneficiaryName(),
-                    request.getBeneficiaryType()
-            );
-            
-            // Check validation result
-            if (!response.isValid()) {
-                String reason = response.getFailureReason() != null 
-                        ? response.getFailureReason() 
-                        : "Account validation failed";
-                throw new BeneficiaryValidationException(
-                        "Third-party validation failed: " + reason);
-            }
-            
-            // Check fraud score
-            if (response.getFraudScore() != null && response.getFraudScore() > 0.7) {
-                if (strictMode) {
+    private ValidationResult performThirdPartyValidation(BeneficiaryRequest request, ValidationPriority priority) {
+        // Local list first: a hit is rejected in microseconds without calling the provider
+        sanctionsScreeningService.screen(request.getBeneficiaryName(), request.getBeneficiaryAccountNumber())
+                .ifPresent(match -> {
+                    log.warn("Local sanctions screening matched {} for account: {}",
+                            match, request.getBeneficiaryAccountNumber());
                     throw new BeneficiaryValidationException(
-                            "High fraud risk detected. Beneficiary cannot be added.");
-                } else {
-                    log.warn("High fraud score detected for beneficiary: {} (score: {})", 
-                            request.getBeneficiaryAccountNumber(), 
-                            response.getFraudScore());
-                }
-            }
-            
-            // Check sanctions screening
-            if (response.isSanctioned()) {
-                throw new BeneficiaryValidationException(
-                        "Beneficiary is on sanctions list and cannot be added.");
-            }
-            
-            // Check account status
-            if (response.getAccountStatus() != null && 
-                !response.getAccountStatus().equalsIgnoreCase("ACTIVE")) {
-                throw new BeneficiaryValidationException(
-                        "Beneficiary account is not active: " + response.getAccountStatus());
+                            "Beneficiary is on sanctions list and cannot be added.");
+                });
+        
+        try {
+            // The batch endpoint scores fraud anyway, so only pre-screen when the checks are separate calls
+            Double localFraudScore = batcher == null
+                    ? localFraudScreeningService.score(request.getCustomerId(),
+                            request.getBeneficiaryAccountNumber(), request.getBeneficiaryBankCode())
+                    : null;
+            boolean remoteFraud = !localFraudScreeningService.isLowRisk(localFraudScore)
+                    && !localFraudScreeningService.isHighRisk(localFraudScore);
+            if (localFraudScreeningService.isHighRisk(localFraudScore)) {
+                // Rejected in strict mode before spending any provider calls
+                handleHighFraudScore(request, localFraudScore);
             }
             
+            // Wait for rate limit tokens before the guard, so queueing does not count against its timeout
+            rateLimiter.acquire(priority, batcher != null ? 1 : remoteFraud ? 3 : 2);
+            ValidationResult result = batcher == null
+                    ? validationGuard.call(() -> runChecksConcurrently(request, remoteFraud ? null : localFraudScore))
+                    : evaluateCombined(request, sendBatched(request));
+            result.setValidatedAt(LocalDateTime.now());
+            return result;
         } catch (BeneficiaryValidationException e) {
             throw e;
+        } catch (ValidationRateLimitExceededException e) {
+            if (priority != ValidationPriority.INTERACTIVE) {
+                // Our own quota being busy says nothing about the beneficiary, so never let it skip validation
+                log.info("No {} validation capacity; deferring: {}", priority, e.getMessage());
+                throw e;
+            }
+            return unavailable(e);
         } catch (Exception e) {
+            return unavailable(e);
+        }
+    }
+    
+    /**
+     * Handles a provider that could not be consulted: rejected in strict mode, otherwise skipped.
+     */
+    private ValidationResult unavailable(Exception e) {
+        if (e instanceof ThirdPartyServiceUnavailableException) {
+            log.warn("Third-party validation unavailable: {}", e.getMessage());
+        } else {
             log.error("Error during third-party validation", e);
-            if (strictMode) {
-                throw new BeneficiaryValidationException(
-                        "Unable to validate beneficiary with third-party service: " + e.getMessage());
-            } else {
-                log.warn("Third-party validation failed but continuing in non-strict mode");
-            }
         }
+        if (strictMode) {
+            throw new BeneficiaryValidationException(
+                    "Unable to validate beneficiary with third-party service: " + e.getMessage());
+        } else {
+            log.warn("Third-party validation failed but continuing in non-strict mode");
+        }
+        return null;
+    }
+    
+    /**
+     * Calls the account, fraud and sanctions services concurrently.
+     * The first hard failure, such as a sanctions hit, cancels the checks still in flight.
+     * 
+     * @param localFraudScore a conclusive local fraud score to use instead of the fraud service, or null
+     */
+    private ValidationResult runChecksConcurrently(BeneficiaryRequest request, Double localFraudScore) {
+        String accountNumber = request.getBeneficiaryAccountNumber();
+        NameMatcher.Normalized enteredName = NameMatcher.normalize(request.getBeneficiaryName());
+        ValidationResult result = new ValidationResult();
+        List<Runnable> checks = new ArrayList<>(3);
+        checks.add(() -> {
+            ThirdPartyValidationResponse account = validationClient.checkAccount(
+                    accountNumber, request.getBeneficiaryBankCode(), request.getBeneficiaryName());
+            requireValid(account);
+            requireActiveAccount(account);
+            result.setAccountStatus(account.getAccountStatus());
+            confirmPayee(result, enteredName, accountNumber, account.getAccountHolderName());
+        });
+        if (localFraudScore == null) {
+            checks.add(() -> {
+                ThirdPartyValidationResponse fraud = validationClient.screenFraud(
+                        accountNumber, request.getBeneficiaryName(), request.getBeneficiaryType());
+                checkFraudScore(request, fraud.getFraudScore());
+                result.setFraudScore(fraud.getFraudScore());
+            });
+        } else {
+            result.setFraudScore(localFraudScore);
+        }
+        checks.add(() -> requireNotSanctioned(validationClient.screenSanctions(
+                accountNumber, request.getBeneficiaryName())));
+        ParallelChecks.runAll(checkExecutor, checks);
+        return result;
+    }
+    
+    /**
+     * Evaluates a combined response from the batch endpoint, which covers all three checks.
+     */
+    private ValidationResult evaluateCombined(BeneficiaryRequest request, ThirdPartyValidationResponse response) {
+        requireValid(response);
+        checkFraudScore(request, response.getFraudScore());
+        requireNotSanctioned(response);
+        requireActiveAccount(response);
+        ValidationResult result = new ValidationResult(response.getFraudScore(), response.getAccountStatus(), null);
+        confirmPayee(result, NameMatcher.normalize(request.getBeneficiaryName()),
+                request.getBeneficiaryAccountNumber(), response.getAccountHolderName());
+        return result;
+    }
+    
+    /**
+     * Records the account holder name and how closely the entered name matches it.
+     * A mismatch is reported to the caller rather than rejected.
+     */
+    private void confirmPayee(ValidationResult result, NameMatcher.Normalized enteredName,
+                              String accountNumber, String holderName) {
+        if (holderName == null) {
+            return;
+        }
+        NameMatch match = NameMatcher.match(enteredName, NameMatcher.normalize(holderName));
+        result.setAccountHolderName(holderName);
+        result.setNameMatch(match.name());
+        if (match == NameMatch.NO_MATCH) {
+            log.warn("Beneficiary name does not match the account holder for account: {}", accountNumber);
+        }
+    }
+    
+    private void requireValid(ThirdPartyValidationResponse response) {
+        if (!response.isValid()) {
+            String reason = response.getFailureReason() != null 
+                    ? response.getFailureReason() 
+                    : "Account validation failed";
+            throw new BeneficiaryValidationException(
+                    "Third-party validation failed: " + reason);
+        }
+    }
+    
+    private void checkFraudScore(BeneficiaryRequest request, Double fraudScore) {
+        if (fraudScore != null && fraudScore > 0.7) {
+            handleHighFraudScore(request, fraudScore);
+        }
+    }
+    
+    private void handleHighFraudScore(BeneficiaryRequest request, Double fraudScore) {
+        if (strictMode) {
+            throw new BeneficiaryValidationException(
+                    "High fraud risk detected. Beneficiary cannot be added.");
+        } else {
+            log.warn("High fraud score detected for beneficiary: {} (score: {})", 
+                    request.getBeneficiaryAccountNumber(), 
+                    fraudScore);
+        }
+    }
+    
+    private void requireNotSanctioned(ThirdPartyValidationResponse response) {
+        if (response.isSanctioned()) {
+            throw new BeneficiaryValidationException(
+                    "Beneficiary is on sanctions list and cannot be added.");
+        }
+    }
+    
+    private void requireActiveAccount(ThirdPartyValidationResponse response) {
+        if (response.getAccountStatus() != null && 
+            !response.getAccountStatus().equalsIgnoreCase("ACTIVE")) {
+            throw new BeneficiaryValidationException(
+                    "Beneficiary account is not active: " + response.getAccountStatus());
+        }
+    }
+    
+    /**
+     * Sends the request through the micro-batcher. The batch itself runs under the guard; the caller
+     * waits at most the batch's max wait plus the guard's timeout, and stops waiting if interrupted.
+     */
+    private ThirdPartyValidationResponse sendBatched(BeneficiaryRequest request) {
+        CompletableFuture<ThirdPartyValidationResponse> response = batcher.submit(new ThirdPartyValidationRequest(
+                request.getBeneficiaryAccountNumber(),
+                request.getBeneficiaryBankCode(),
+                request.getBeneficiaryName(),
+                request.getBeneficiaryType()
+        ));
+        try {
+            return response.get(batchTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause
+                    : new ThirdPartyServiceUnavailableException("Batched validation failed: " + e.getCause(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new ThirdPartyServiceUnavailableException(
+                    "Batched third-party validation timed out after " + batchTimeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ThirdPartyServiceUnavailableException("Interrupted waiting for batched third-party validation", e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        checkExecutor.shutdownNow();
     }
 }
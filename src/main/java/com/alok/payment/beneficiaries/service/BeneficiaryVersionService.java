@@ -0,0 +1,133 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryResponse;
+import com.alok.payment.beneficiaries.dto.BeneficiaryVersionResponse;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Version history of beneficiaries, for reading a beneficiary as it was at a point in time.
+ * <p>
+ * Every change stores a full snapshot of the row as it stands after the change, copied with
+ * INSERT ... SELECT in the same transaction, so a version is never lost or left behind by a
+ * rollback. Reading as of a timestamp is then one lookup of the latest version at or before it
+ * through the (beneficiary_id, valid_from) index, with no replay of diffs.
+ */
+@Service
+public class BeneficiaryVersionService {
+
+    private static final String COLUMNS =
+            "customer_id, account_number, beneficiary_name, beneficiary_account_number, beneficiary_bank_code, " +
+            "beneficiary_bank_name, beneficiary_type, beneficiary_country, status, account_holder_name, name_match, " +
+            "created_at";
+
+    private static final String RECORD_SQL =
+            "INSERT INTO beneficiary_versions (beneficiary_id, operation, valid_from, " + COLUMNS + ") " +
+            "SELECT id, ?, ?, " + COLUMNS + " FROM beneficiaries WHERE id = ?";
+
+    private static final String RECORD_ALL_SQL =
+            "INSERT INTO beneficiary_versions (beneficiary_id, operation, valid_from, " + COLUMNS + ") " +
+            "SELECT id, ?, ?, " + COLUMNS + " FROM beneficiaries WHERE id = ANY (?)";
+
+    private static final String AS_OF_SQL =
+            "SELECT * FROM beneficiary_versions WHERE beneficiary_id = ? AND customer_id = ? AND valid_from <= ? " +
+            "ORDER BY valid_from DESC, id DESC LIMIT 1";
+
+    private static final String HAS_VERSIONS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM beneficiary_versions WHERE beneficiary_id = ?)";
+
+    private static final String HISTORY_SQL =
+            "SELECT * FROM beneficiary_versions WHERE beneficiary_id = ? AND customer_id = ? " +
+            "ORDER BY valid_from, id";
+
+    private static final RowMapper<BeneficiaryVersionResponse> ROW_MAPPER = (rs, rowNum) -> {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(rs.getLong("beneficiary_id"));
+        beneficiary.setCustomerId(rs.getString("customer_id"));
+        beneficiary.setAccountNumber(rs.getString("account_number"));
+        beneficiary.setBeneficiaryName(rs.getString("beneficiary_name"));
+        beneficiary.setBeneficiaryAccountNumber(rs.getString("beneficiary_account_number"));
+        beneficiary.setBeneficiaryBankCode(rs.getString("beneficiary_bank_code"));
+        beneficiary.setBeneficiaryBankName(rs.getString("beneficiary_bank_name"));
+        beneficiary.setBeneficiaryType(rs.getString("beneficiary_type"));
+        beneficiary.setBeneficiaryCountry(rs.getString("beneficiary_country"));
+        beneficiary.setStatus(rs.getString("status"));
+        beneficiary.setAccountHolderName(rs.getString("account_holder_name"));
+        beneficiary.setNameMatch(rs.getString("name_match"));
+        beneficiary.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        LocalDateTime validFrom = rs.getTimestamp("valid_from").toLocalDateTime();
+        beneficiary.setUpdatedAt(validFrom);
+        return new BeneficiaryVersionResponse(rs.getLong("id"), rs.getString("operation"), validFrom,
+                BeneficiaryResponse.from(beneficiary));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BeneficiaryVersionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stores the beneficiary's current row as a new version. Must run in the transaction that
+     * made the change, after the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVersion(Long beneficiaryId, String operation) {
+        jdbcTemplate.update(RECORD_SQL, operation, Timestamp.valueOf(LocalDateTime.now()), beneficiaryId);
+    }
+
+    /**
+     * Stores the current rows of several beneficiaries as new versions with one INSERT ... SELECT.
+     * Must run in the transaction that made the changes, after them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVersions(List<Long> beneficiaryIds, String operation) {
+        if (beneficiaryIds.isEmpty()) {
+            return;
+        }
+        Timestamp validFrom = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECORD_ALL_SQL);
+            statement.setString(1, operation);
+            statement.setTimestamp(2, validFrom);
+            statement.setArray(3, connection.createArrayOf("bigint", beneficiaryIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * The version in effect at the given time, if the beneficiary existed then.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BeneficiaryVersionResponse> findAsOf(Long beneficiaryId, String customerId, LocalDateTime asOf) {
+        List<BeneficiaryVersionResponse> versions = jdbcTemplate.query(AS_OF_SQL, ROW_MAPPER,
+                beneficiaryId, customerId, Timestamp.valueOf(asOf));
+        return versions.stream().findFirst();
+    }
+
+    /**
+     * Whether any version has been recorded; beneficiaries unchanged since history began have none.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasVersions(Long beneficiaryId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_VERSIONS_SQL, Boolean.class, beneficiaryId));
+    }
+
+    /**
+     * All recorded versions of a beneficiary, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<BeneficiaryVersionResponse> findVersions(Long beneficiaryId, String customerId) {
+        return jdbcTemplate.query(HISTORY_SQL, ROW_MAPPER, beneficiaryId, customerId);
+    }
+}
@@ -0,0 +1,318 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.dto.BulkCreateItemResult;
+import com.alok.payment.beneficiaries.dto.BulkCreateResponse;
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many beneficiaries in one request.
+ * <p>
+ * The work per item is kept to what cannot be shared: the format checks run in one pass over
+ * the request, then duplicates are found for the whole batch with one = ANY(array) query per
+ * customer instead of one lookup per item, and the surviving rows are inserted with one
+ * INSERT ... SELECT FROM unnest(arrays) per chunk. Ids are drawn from the sequence up front, so
+ * versions and outbox events are written set-based in the same transaction. The insert skips
+ * rows another request made live since the lookup (ON CONFLICT DO NOTHING) and returns the ids
+ * it did insert; the skipped items are reported as duplicates instead of failing the batch.
+ * <p>
+ * Created beneficiaries start in PENDING_VALIDATION; the third-party checks run afterwards
+ * through {@link AsyncBeneficiaryValidationService} at BULK priority, behind interactive calls.
+ */
+@Service
+public class BulkBeneficiaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkBeneficiaryService.class);
+
+    private static final String DUPLICATES_SQL =
+            "SELECT beneficiary_account_number FROM beneficiaries " +
+            "WHERE customer_id = ? AND beneficiary_account_number = ANY (?) " +
+            "AND status IN ('ACTIVE', 'PENDING_VALIDATION')";
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('beneficiaries', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO beneficiaries (id, customer_id, account_number, beneficiary_name, beneficiary_account_number, " +
+            "beneficiary_bank_code, beneficiary_bank_name, beneficiary_type, beneficiary_country, status, " +
+            "created_at, updated_at) " +
+            "SELECT u.*, 'PENDING_VALIDATION', ?, ? FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], " +
+            "?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[]) AS u " +
+            "ON CONFLICT (customer_id, beneficiary_account_number) " +
+            "WHERE status IN ('ACTIVE', 'PENDING_VALIDATION') DO NOTHING RETURNING id";
+
+    private static final List<Function<Beneficiary, String>> INSERT_COLUMNS = List.of(
+            Beneficiary::getCustomerId, Beneficiary::getAccountNumber, Beneficiary::getBeneficiaryName,
+            Beneficiary::getBeneficiaryAccountNumber, Beneficiary::getBeneficiaryBankCode,
+            Beneficiary::getBeneficiaryBankName, Beneficiary::getBeneficiaryType, Beneficiary::getBeneficiaryCountry);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final BeneficiaryValidationService validationService;
+    private final AsyncBeneficiaryValidationService asyncValidationService;
+    private final BeneficiaryAuditService auditService;
+    private final BeneficiaryOutboxService outboxService;
+    private final BeneficiaryVersionService versionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final int insertBatchSize;
+    private final Counter created;
+    private final Counter invalid;
+    private final Counter duplicate;
+    private final Timer duration;
+
+    public BulkBeneficiaryService(
+            JdbcTemplate jdbcTemplate,
+            Validator validator,
+            BeneficiaryValidationService validationService,
+            AsyncBeneficiaryValidationService asyncValidationService,
+            BeneficiaryAuditService auditService,
+            BeneficiaryOutboxService outboxService,
+            BeneficiaryVersionService versionService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.bulk.max-items:10000}") int maxItems,
+            @Value("${beneficiary.bulk.insert-batch-size:1000}") int insertBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.validationService = validationService;
+        this.asyncValidationService = asyncValidationService;
+        this.auditService = auditService;
+        this.outboxService = outboxService;
+        this.versionService = versionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.insertBatchSize = insertBatchSize;
+        this.created = itemCounter(meterRegistry, "created");
+        this.invalid = itemCounter(meterRegistry, "invalid");
+        this.duplicate = itemCounter(meterRegistry, "duplicate");
+        this.duration = Timer.builder("beneficiary.bulk.create")
+                .description("Time to process a bulk create request")
+                .register(meterRegistry);
+    }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("beneficiary.bulk.items")
+                .description("Bulk create items by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the valid, non-duplicate beneficiaries of the request and reports on every item.
+     * Items that fail are skipped without affecting the others.
+     */
+    public BulkCreateResponse createBeneficiaries(List<BeneficiaryRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidRequestException("Bulk create needs at least one beneficiary");
+        }
+        if (requests.size() > maxItems) {
+            throw new InvalidRequestException("Bulk create accepts at most " + maxItems + " beneficiaries");
+        }
+        return duration.record(() -> create(requests));
+    }
+
+    private BulkCreateResponse create(List<BeneficiaryRequest> requests) {
+        BulkCreateItemResult[] results = new BulkCreateItemResult[requests.size()];
+
+        // Single pass: format checks, and duplicates within the request itself
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        Map<String, List<Integer>> candidatesByCustomer = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BeneficiaryRequest request = requests.get(i);
+            String problem = validate(request);
+            if (problem != null) {
+                results[i] = new BulkCreateItemResult(i, "INVALID", null, problem);
+                continue;
+            }
+            Integer first = firstIndexByKey.putIfAbsent(key(request), i);
+            if (first != null) {
+                results[i] = new BulkCreateItemResult(i, "DUPLICATE", null, "Same beneficiary as item " + first);
+                continue;
+            }
+            candidatesByCustomer.computeIfAbsent(request.getCustomerId(), customerId -> new ArrayList<>()).add(i);
+        }
+
+        // One set-based lookup per customer against the stored beneficiaries
+        List<Integer> toCreate = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : candidatesByCustomer.entrySet()) {
+            String customerId = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+            Set<String> existing = findExisting(customerId, indexes.stream()
+                    .map(i -> requests.get(i).getBeneficiaryAccountNumber())
+                    .toArray(String[]::new));
+            for (int i : indexes) {
+                String accountNumber = requests.get(i).getBeneficiaryAccountNumber();
+                if (existing.contains(accountNumber)) {
+                    results[i] = new BulkCreateItemResult(i, "DUPLICATE", null,
+                            "Beneficiary with account number " + accountNumber +
+                            " already exists for customer " + customerId);
+                } else {
+                    toCreate.add(i);
+                }
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            List<Beneficiary> beneficiaries = insert(requests, toCreate);
+            for (int j = 0; j < toCreate.size(); j++) {
+                int i = toCreate.get(j);
+                Beneficiary beneficiary = beneficiaries.get(j);
+                if (beneficiary != null) {
+                    results[i] = new BulkCreateItemResult(i, "CREATED", beneficiary.getId(), null);
+                } else {
+                    // Another request created it since the lookup
+                    BeneficiaryRequest request = requests.get(i);
+                    results[i] = new BulkCreateItemResult(i, "DUPLICATE", null,
+                            "Beneficiary with account number " + request.getBeneficiaryAccountNumber() +
+                            " already exists for customer " + request.getCustomerId());
+                }
+            }
+        }
+
+        BulkCreateResponse response = new BulkCreateResponse(Arrays.asList(results));
+        long duplicates = response.getResults().stream().filter(r -> "DUPLICATE".equals(r.getStatus())).count();
+        created.increment(response.getCreated());
+        duplicate.increment(duplicates);
+        invalid.increment(response.getFailed() - duplicates);
+        log.info("Bulk create processed {} beneficiaries: {} created, {} failed",
+                response.getTotal(), response.getCreated(), response.getFailed());
+        return response;
+    }
+
+    private String validate(BeneficiaryRequest request) {
+        if (request == null) {
+            return "Beneficiary is required";
+        }
+        AccountFormatRules.canonicalize(request);
+        Set<ConstraintViolation<BeneficiaryRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            validationService.validateFormat(request);
+            return null;
+        } catch (BeneficiaryValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private Set<String> findExisting(String customerId, String[] accountNumbers) {
+        List<String> existing = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DUPLICATES_SQL);
+            statement.setString(1, customerId);
+            statement.setArray(2, connection.createArrayOf("varchar", accountNumbers));
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(existing);
+    }
+
+    /**
+     * Inserts the items at the given indexes.
+     *
+     * @return the created beneficiary for each index, or null where the insert skipped a conflict
+     */
+    private List<Beneficiary> insert(List<BeneficiaryRequest> requests, List<Integer> toCreate) {
+        return transactionTemplate.execute(tx -> {
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, toCreate.size());
+            LocalDateTime now = LocalDateTime.now();
+            List<Beneficiary> rows = new ArrayList<>(toCreate.size());
+            for (int j = 0; j < toCreate.size(); j++) {
+                rows.add(newBeneficiary(ids.get(j), requests.get(toCreate.get(j)), now));
+            }
+
+            Set<Long> insertedIds = new HashSet<>(rows.size());
+            for (int from = 0; from < rows.size(); from += insertBatchSize) {
+                insertedIds.addAll(insertChunk(rows.subList(from, Math.min(from + insertBatchSize, rows.size())), now));
+            }
+            List<Beneficiary> inserted = new ArrayList<>(insertedIds.size());
+            for (int j = 0; j < rows.size(); j++) {
+                if (insertedIds.contains(rows.get(j).getId())) {
+                    inserted.add(rows.get(j));
+                } else {
+                    rows.set(j, null);
+                }
+            }
+            if (inserted.isEmpty()) {
+                return rows;
+            }
+            versionService.recordVersions(inserted.stream().map(Beneficiary::getId).toList(), "CREATE");
+            outboxService.beneficiariesCreated(inserted);
+
+            // Both only act once the transaction commits
+            auditService.logBeneficiariesCreated(inserted);
+            for (int j = 0; j < rows.size(); j++) {
+                if (rows.get(j) != null) {
+                    asyncValidationService.submit(rows.get(j), requests.get(toCreate.get(j)), ValidationPriority.BULK);
+                }
+            }
+            return rows;
+        });
+    }
+
+    private List<Long> insertChunk(List<Beneficiary> chunk, LocalDateTime now) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setTimestamp(2, Timestamp.valueOf(now));
+            statement.setArray(3, connection.createArrayOf("bigint", chunk.stream().map(Beneficiary::getId).toArray()));
+            for (int c = 0; c < INSERT_COLUMNS.size(); c++) {
+                statement.setArray(4 + c, connection.createArrayOf("varchar",
+                        chunk.stream().map(INSERT_COLUMNS.get(c)).toArray()));
+            }
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private Beneficiary newBeneficiary(Long id, BeneficiaryRequest request, LocalDateTime now) {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(id);
+        beneficiary.setCustomerId(request.getCustomerId());
+        beneficiary.setAccountNumber(request.getAccountNumber());
+        beneficiary.setBeneficiaryName(request.getBeneficiaryName());
+        beneficiary.setBeneficiaryAccountNumber(request.getBeneficiaryAccountNumber());
+        beneficiary.setBeneficiaryBankCode(request.getBeneficiaryBankCode());
+        beneficiary.setBeneficiaryBankName(request.getBeneficiaryBankName());
+        beneficiary.setBeneficiaryType(request.getBeneficiaryType() != null ? request.getBeneficiaryType() : "DOMESTIC");
+        beneficiary.setBeneficiaryCountry(request.getBeneficiaryCountry());
+        beneficiary.setStatus("PENDING_VALIDATION");
+        beneficiary.setCreatedAt(now);
+        beneficiary.setUpdatedAt(now);
+        return beneficiary;
+    }
+
+    private static String key(BeneficiaryRequest request) {
+        return request.getCustomerId() + '\u0000' + request.getBeneficiaryAccountNumber();
+    }
+}
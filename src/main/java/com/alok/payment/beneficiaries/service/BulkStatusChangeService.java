@@ -0,0 +1,296 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeItemResult;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeRequest;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeResponse;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves many of a customer's beneficiaries to a new status in one request, either a list of ids
+ * or every beneficiary matching a filter.
+ * <p>
+ * The work is done in chunks, each one set-based UPDATE ... RETURNING in its own short
+ * transaction together with the version rows and outbox events for the rows it changed, so a
+ * large change never holds locks on the whole set. The audit events of all chunks are logged as
+ * one batch once the chunks are done, and each duplicate cluster the changed rows were in is
+ * re-split once instead of once per beneficiary.
+ * <p>
+ * Only DELETED (a soft delete, from any other status) and INACTIVE (from ACTIVE) are allowed.
+ * Reactivation is not: an INACTIVE beneficiary was deactivated because validation found its
+ * account unusable, so it has to be created again and go through validation.
+ */
+@Service
+public class BulkStatusChangeService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkStatusChangeService.class);
+
+    private static final Map<String, String[]> SOURCE_STATUSES = Map.of(
+            "DELETED", new String[] {"ACTIVE", "PENDING_VALIDATION", "INACTIVE", "REJECTED"},
+            "INACTIVE", new String[] {"ACTIVE"});
+
+    private static final String UPDATE_BY_IDS_SQL =
+            "UPDATE beneficiaries SET status = ?, updated_at = ?, version = version + 1 " +
+            "WHERE customer_id = ? AND id = ANY (?) AND status = ANY (?) " +
+            "RETURNING id, duplicate_cluster_id";
+
+    private static final String UPDATE_BY_FILTER_SQL =
+            "UPDATE beneficiaries SET status = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id IN (SELECT id FROM beneficiaries WHERE customer_id = ? AND status = ANY (?) AND id > ? " +
+            "AND (?::varchar IS NULL OR account_number = ?) " +
+            "AND (?::varchar IS NULL OR beneficiary_bank_code = ?) " +
+            "AND (?::varchar IS NULL OR beneficiary_type = ?) " +
+            "ORDER BY id LIMIT ? FOR UPDATE) " +
+            "RETURNING id, duplicate_cluster_id";
+
+    private static final String CURRENT_STATUS_SQL =
+            "SELECT id, status FROM beneficiaries WHERE customer_id = ? AND id = ANY (?)";
+
+    private static final RowMapper<Beneficiary> CHANGED_ROW_MAPPER = (rs, rowNum) -> {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(rs.getLong("id"));
+        beneficiary.setDuplicateClusterId(rs.getObject("duplicate_cluster_id", Long.class));
+        return beneficiary;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DuplicateClusterService duplicateClusterService;
+    private final BeneficiaryAuditService auditService;
+    private final BeneficiaryOutboxService outboxService;
+    private final BeneficiaryVersionService versionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final int chunkSize;
+    private final Counter updated;
+    private final Counter unchanged;
+    private final Counter notFound;
+    private final Timer duration;
+
+    public BulkStatusChangeService(
+            JdbcTemplate jdbcTemplate,
+            DuplicateClusterService duplicateClusterService,
+            BeneficiaryAuditService auditService,
+            BeneficiaryOutboxService outboxService,
+            BeneficiaryVersionService versionService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.bulk.max-items:10000}") int maxItems,
+            @Value("${beneficiary.bulk.status-chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.duplicateClusterService = duplicateClusterService;
+        this.auditService = auditService;
+        this.outboxService = outboxService;
+        this.versionService = versionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+        this.updated = itemCounter(meterRegistry, "updated");
+        this.unchanged = itemCounter(meterRegistry, "unchanged");
+        this.notFound = itemCounter(meterRegistry, "not_found");
+        this.duration = Timer.builder("beneficiary.bulk.status")
+                .description("Time to process a bulk status change request")
+                .register(meterRegistry);
+    }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("beneficiary.bulk.status.items")
+                .description("Bulk status change items by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the status change and reports on every beneficiary it was asked about. Chunks that
+     * completed stay applied, and audited, if a later chunk fails.
+     */
+    public BulkStatusChangeResponse changeStatus(BulkStatusChangeRequest request) {
+        String[] sourceStatuses = SOURCE_STATUSES.get(request.getStatus());
+        if (sourceStatuses == null) {
+            throw new InvalidRequestException("Status must be DELETED or INACTIVE");
+        }
+        List<Long> ids = request.getBeneficiaryIds();
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (byIds == request.hasFilter()) {
+            throw new InvalidRequestException("Give either beneficiary ids or a filter, not both or neither");
+        }
+        if (byIds && ids.size() > maxItems) {
+            throw new InvalidRequestException("Bulk status change accepts at most " + maxItems + " beneficiaries");
+        }
+        return duration.record(() -> byIds
+                ? changeByIds(request, new ArrayList<>(new LinkedHashSet<>(ids)), sourceStatuses)
+                : changeByFilter(request, sourceStatuses));
+    }
+
+    private BulkStatusChangeResponse changeByIds(BulkStatusChangeRequest request, List<Long> ids,
+                                                 String[] sourceStatuses) {
+        String customerId = request.getCustomerId();
+        Map<Long, BulkStatusChangeItemResult> resultsById = new HashMap<>();
+        List<Long> changedIds = new ArrayList<>();
+        List<Beneficiary> clustered = new ArrayList<>();
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                List<Beneficiary> changed = transactionTemplate.execute(tx -> {
+                    List<Beneficiary> rows = jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(UPDATE_BY_IDS_SQL);
+                        statement.setString(1, request.getStatus());
+                        statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                        statement.setString(3, customerId);
+                        statement.setArray(4, connection.createArrayOf("bigint", chunk.toArray()));
+                        statement.setArray(5, connection.createArrayOf("varchar", sourceStatuses));
+                        return statement;
+                    }, CHANGED_ROW_MAPPER);
+                    recordChanges(customerId, rows, request.getStatus());
+                    return rows;
+                });
+                for (Beneficiary row : changed) {
+                    changedIds.add(row.getId());
+                    if (row.getDuplicateClusterId() != null) {
+                        clustered.add(row);
+                    }
+                    resultsById.put(row.getId(), new BulkStatusChangeItemResult(row.getId(), "UPDATED", null));
+                }
+                if (changed.size() < chunk.size()) {
+                    explainUnchanged(customerId, chunk, resultsById);
+                }
+            }
+        } finally {
+            finish(customerId, changedIds, request.getStatus(), clustered);
+        }
+
+        List<BulkStatusChangeItemResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(resultsById.get(id));
+        }
+        return respond(request, results);
+    }
+
+    private BulkStatusChangeResponse changeByFilter(BulkStatusChangeRequest request, String[] sourceStatuses) {
+        String customerId = request.getCustomerId();
+        List<Long> changedIds = new ArrayList<>();
+        List<Beneficiary> clustered = new ArrayList<>();
+        try {
+            // Keyset over id: every chunk starts after the highest id the previous one changed
+            long afterId = 0;
+            while (true) {
+                long lowerBound = afterId;
+                List<Beneficiary> changed = transactionTemplate.execute(tx -> {
+                    List<Beneficiary> rows = jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(UPDATE_BY_FILTER_SQL);
+                        statement.setString(1, request.getStatus());
+                        statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                        statement.setString(3, customerId);
+                        statement.setArray(4, connection.createArrayOf("varchar", sourceStatuses));
+                        statement.setLong(5, lowerBound);
+                        statement.setString(6, request.getAccountNumber());
+                        statement.setString(7, request.getAccountNumber());
+                        statement.setString(8, request.getBeneficiaryBankCode());
+                        statement.setString(9, request.getBeneficiaryBankCode());
+                        statement.setString(10, request.getBeneficiaryType());
+                        statement.setString(11, request.getBeneficiaryType());
+                        statement.setInt(12, chunkSize);
+                        return statement;
+                    }, CHANGED_ROW_MAPPER);
+                    recordChanges(customerId, rows, request.getStatus());
+                    return rows;
+                });
+                if (changed.isEmpty()) {
+                    break;
+                }
+                for (Beneficiary row : changed) {
+                    changedIds.add(row.getId());
+                    if (row.getDuplicateClusterId() != null) {
+                        clustered.add(row);
+                    }
+                    afterId = Math.max(afterId, row.getId());
+                }
+            }
+        } finally {
+            finish(customerId, changedIds, request.getStatus(), clustered);
+        }
+
+        List<BulkStatusChangeItemResult> results = changedIds.stream()
+                .sorted()
+                .map(id -> new BulkStatusChangeItemResult(id, "UPDATED", null))
+                .toList();
+        return respond(request, results);
+    }
+
+    private void recordChanges(String customerId, List<Beneficiary> rows, String status) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids = rows.stream().map(Beneficiary::getId).toList();
+        versionService.recordVersions(ids, "DELETED".equals(status) ? "DELETE" : "STATUS");
+        outboxService.beneficiariesStatusChanged(customerId, ids, status);
+    }
+
+    /**
+     * Tells apart the ids of a chunk that the customer does not have from those whose current
+     * status does not allow the change, with one lookup for the whole chunk.
+     */
+    private void explainUnchanged(String customerId, List<Long> chunk,
+                                  Map<Long, BulkStatusChangeItemResult> resultsById) {
+        Object[] unchangedIds = chunk.stream().filter(id -> !resultsById.containsKey(id)).toArray();
+        Map<Long, String> currentStatus = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CURRENT_STATUS_SQL);
+            statement.setString(1, customerId);
+            statement.setArray(2, connection.createArrayOf("bigint", unchangedIds));
+            return statement;
+        }, rs -> {
+            currentStatus.put(rs.getLong("id"), rs.getString("status"));
+        });
+        for (Object unchangedId : unchangedIds) {
+            Long id = (Long) unchangedId;
+            String status = currentStatus.get(id);
+            resultsById.put(id, status == null
+                    ? new BulkStatusChangeItemResult(id, "NOT_FOUND",
+                            "Beneficiary not found with ID: " + id + " for customer: " + customerId)
+                    : new BulkStatusChangeItemResult(id, "UNCHANGED", "Beneficiary is " + status));
+        }
+    }
+
+    private void finish(String customerId, List<Long> changedIds, String status, List<Beneficiary> clustered) {
+        if (changedIds.isEmpty()) {
+            return;
+        }
+        auditService.logBeneficiariesStatusChanged(customerId, changedIds, status);
+        if (!clustered.isEmpty()) {
+            // Clusters only hold ACTIVE beneficiaries; re-split just the clusters the changed members were in
+            duplicateClusterService.removeAllFromClusters(customerId, clustered);
+        }
+    }
+
+    private BulkStatusChangeResponse respond(BulkStatusChangeRequest request, List<BulkStatusChangeItemResult> results) {
+        BulkStatusChangeResponse response = new BulkStatusChangeResponse(request.getStatus(), results);
+        long missing = results.stream().filter(result -> "NOT_FOUND".equals(result.getStatus())).count();
+        updated.increment(response.getUpdated());
+        notFound.increment(missing);
+        unchanged.increment(response.getFailed() - missing);
+        log.info("Bulk status change to {} for customer {} processed {} beneficiaries: {} updated, {} not updated",
+                request.getStatus(), request.getCustomerId(), response.getTotal(), response.getUpdated(),
+                response.getFailed());
+        return response;
+    }
+}
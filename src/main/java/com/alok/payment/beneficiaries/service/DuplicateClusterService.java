@@ -0,0 +1,230 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryResponse;
+import com.alok.payment.beneficiaries.dto.DuplicateClusterResponse;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service maintaining per-customer clusters of potentially duplicate beneficiaries.
+ * Clusters are a persisted union-find: each member stores its cluster root id, so a
+ * write only compares the changed beneficiary and reading the clusters needs no comparisons.
+ * <p>
+ * Every change first takes a transaction-scoped advisory lock on the customer. Two concurrent
+ * writes would otherwise each read the clusters before the other's update and root their
+ * merges differently, splitting what should be one cluster. The lock is released when the
+ * caller's transaction ends, so callers that change several customers in one transaction must
+ * call {@link #lockClusters} for all of them, in customer id order, before updating any of their
+ * beneficiaries.
+ */
+@Service
+public class DuplicateClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateClusterService.class);
+
+    private static final int CLEAR_CHUNK_SIZE = 1000;
+
+    private final BeneficiaryRepository beneficiaryRepository;
+
+    public DuplicateClusterService(BeneficiaryRepository beneficiaryRepository) {
+        this.beneficiaryRepository = beneficiaryRepository;
+    }
+
+    /**
+     * Adds a newly created or renamed beneficiary to the customer's clusters,
+     * merging every cluster that contains a similarly named beneficiary.
+     */
+    @Transactional
+    public void addToClusters(Beneficiary beneficiary) {
+        beneficiaryRepository.lockDuplicateClusters(beneficiary.getCustomerId());
+        String normalized = NameSimilarity.normalize(beneficiary.getBeneficiaryName());
+        Set<Long> memberIds = new HashSet<>();
+        Set<Long> clusterIds = new HashSet<>();
+
+        for (Beneficiary candidate : beneficiaryRepository.findByCustomerId(beneficiary.getCustomerId())) {
+            if (candidate.getId().equals(beneficiary.getId()) ||
+                !NameSimilarity.areSimilar(normalized, NameSimilarity.normalize(candidate.getBeneficiaryName()))) {
+                continue;
+            }
+            memberIds.add(candidate.getId());
+            if (candidate.getDuplicateClusterId() != null) {
+                clusterIds.add(candidate.getDuplicateClusterId());
+            }
+        }
+
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        memberIds.add(beneficiary.getId());
+
+        long root = Math.min(Collections.min(memberIds), clusterIds.isEmpty() ? Long.MAX_VALUE : Collections.min(clusterIds));
+        if (clusterIds.isEmpty()) {
+            beneficiaryRepository.assignDuplicateCluster(beneficiary.getCustomerId(), root, memberIds);
+        } else {
+            beneficiaryRepository.mergeDuplicateClusters(beneficiary.getCustomerId(), root, memberIds, clusterIds);
+        }
+
+        log.debug("Beneficiary {} joined duplicate cluster {} ({} clusters merged)",
+                beneficiary.getId(), root, clusterIds.size());
+    }
+
+    /**
+     * Removes a deleted or renamed beneficiary from its cluster. A union cannot be undone,
+     * so the remaining members of that one cluster are re-split among themselves.
+     */
+    @Transactional
+    public void removeFromClusters(Long beneficiaryId, String customerId) {
+        beneficiaryRepository.lockDuplicateClusters(customerId);
+        Beneficiary beneficiary = beneficiaryRepository.findById(beneficiaryId)
+                .filter(b -> customerId.equals(b.getCustomerId()))
+                .orElse(null);
+        if (beneficiary == null || beneficiary.getDuplicateClusterId() == null) {
+            return;
+        }
+
+        Long clusterId = beneficiary.getDuplicateClusterId();
+        beneficiaryRepository.clearDuplicateCluster(customerId, List.of(beneficiaryId));
+
+        List<Beneficiary> remaining = beneficiaryRepository.findByDuplicateClusterId(customerId, clusterId).stream()
+                .filter(b -> !b.getId().equals(beneficiaryId))
+                .toList();
+        reassignClusters(customerId, remaining);
+
+        log.debug("Beneficiary {} left duplicate cluster {}", beneficiaryId, clusterId);
+    }
+
+    /**
+     * Removes beneficiaries that left ACTIVE together, e.g. in a bulk status change. Each affected
+     * cluster is re-split once among its remaining members, so the cost depends on the size of those
+     * clusters rather than on all of the customer's beneficiaries.
+     *
+     * @param removed the removed beneficiaries with the cluster they were in, if any
+     */
+    @Transactional
+    public void removeAllFromClusters(String customerId, List<Beneficiary> removed) {
+        List<Long> memberIds = new ArrayList<>();
+        Set<Long> clusterIds = new LinkedHashSet<>();
+        for (Beneficiary beneficiary : removed) {
+            if (beneficiary.getDuplicateClusterId() != null) {
+                memberIds.add(beneficiary.getId());
+                clusterIds.add(beneficiary.getDuplicateClusterId());
+            }
+        }
+        if (memberIds.isEmpty()) {
+            return;
+        }
+
+        beneficiaryRepository.lockDuplicateClusters(customerId);
+        for (int from = 0; from < memberIds.size(); from += CLEAR_CHUNK_SIZE) {
+            beneficiaryRepository.clearDuplicateCluster(customerId,
+                    memberIds.subList(from, Math.min(from + CLEAR_CHUNK_SIZE, memberIds.size())));
+        }
+        for (Long clusterId : clusterIds) {
+            reassignClusters(customerId, beneficiaryRepository.findByDuplicateClusterId(customerId, clusterId));
+        }
+
+        log.debug("{} beneficiaries left {} duplicate clusters for customer: {}",
+                memberIds.size(), clusterIds.size(), customerId);
+    }
+
+    /**
+     * Recomputes all clusters for a customer from scratch.
+     * Used to backfill beneficiaries created before clusters were maintained.
+     *
+     * @return the number of clusters found
+     */
+    @Transactional
+    public int rebuildClusters(String customerId) {
+        log.info("Rebuilding duplicate clusters for customer: {}", customerId);
+
+        beneficiaryRepository.lockDuplicateClusters(customerId);
+        beneficiaryRepository.clearDuplicateClustersByCustomerId(customerId);
+        int clusters = reassignClusters(customerId, beneficiaryRepository.findByCustomerId(customerId));
+
+        log.info("Rebuilt {} duplicate clusters for customer: {}", clusters, customerId);
+        return clusters;
+    }
+
+    /**
+     * Takes the cluster locks of several customers up front, in a fixed order, so a transaction that
+     * changes many customers cannot deadlock with one that changes a single customer.
+     */
+    @Transactional
+    public void lockClusters(Collection<String> customerIds) {
+        customerIds.stream().distinct().sorted().forEach(beneficiaryRepository::lockDuplicateClusters);
+    }
+
+    /**
+     * Reads the current clusters for a customer without comparing any names.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateClusterResponse> getClusters(String customerId) {
+        Map<Long, List<BeneficiaryResponse>> byCluster = new LinkedHashMap<>();
+        for (Beneficiary member : beneficiaryRepository.findClusteredByCustomerId(customerId)) {
+            byCluster.computeIfAbsent(member.getDuplicateClusterId(), id -> new ArrayList<>())
+                    .add(BeneficiaryResponse.from(member));
+        }
+
+        List<DuplicateClusterResponse> clusters = new ArrayList<>();
+        byCluster.forEach((clusterId, members) -> {
+            if (members.size() > 1) {
+                clusters.add(new DuplicateClusterResponse(clusterId, members));
+            }
+        });
+        return clusters;
+    }
+
+    /**
+     * Partitions the given beneficiaries into clusters and persists them, rooted at the lowest id.
+     * Assumes the beneficiaries currently carry no cluster other than the one being replaced.
+     */
+    private int reassignClusters(String customerId, List<Beneficiary> beneficiaries) {
+        int n = beneficiaries.size();
+        String[] normalizedNames = new String[n];
+        for (int i = 0; i < n; i++) {
+            normalizedNames[i] = NameSimilarity.normalize(beneficiaries.get(i).getBeneficiaryName());
+        }
+
+        UnionFind unionFind = new UnionFind(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (NameSimilarity.areSimilar(normalizedNames[i], normalizedNames[j])) {
+                    unionFind.union(i, j);
+                }
+            }
+        }
+
+        Map<Integer, List<Long>> components = new LinkedHashMap<>();
+        List<Long> singletons = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Long id = beneficiaries.get(i).getId();
+            if (unionFind.sizeOf(i) > 1) {
+                components.computeIfAbsent(unionFind.find(i), root -> new ArrayList<>()).add(id);
+            } else if (beneficiaries.get(i).getDuplicateClusterId() != null) {
+                singletons.add(id);
+            }
+        }
+
+        if (!singletons.isEmpty()) {
+            beneficiaryRepository.clearDuplicateCluster(customerId, singletons);
+        }
+        for (List<Long> memberIds : components.values()) {
+            beneficiaryRepository.assignDuplicateCluster(customerId, Collections.min(memberIds), memberIds);
+        }
+        return components.size();
+    }
+}
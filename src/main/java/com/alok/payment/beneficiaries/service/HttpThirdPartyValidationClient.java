@@ -0,0 +1,129 @@
+package com.alok.payment.beneficiaries.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client for the third-party beneficiary validation service.
+ * <p>
+ * One JDK HttpClient is shared by all calls: HTTP/1.1 connections are kept alive and pooled
+ * between requests, and with HTTP/2 enabled, calls to an https provider that negotiates it are
+ * multiplexed over a single connection, falling back to HTTP/1.1 otherwise. Plain http URLs always
+ * use HTTP/1.1, since the cleartext h2c upgrade stalls on servers that ignore it. The read timeout should
+ * stay below the resilience guard's timeout so slow responses fail here first.
+ * Non-2xx responses surface as RestClientException.
+ */
+@Component
+@ConditionalOnProperty(name = "beneficiary.validation.provider.type", havingValue = "http")
+public class HttpThirdPartyValidationClient implements ThirdPartyValidationClient {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpThirdPartyValidationClient.class);
+
+    private static final ParameterizedTypeReference<List<ThirdPartyValidationResponse>> RESPONSE_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ExecutorService httpExecutor;
+    private final HttpClient httpClient;
+    private final RestClient restClient;
+
+    public HttpThirdPartyValidationClient(
+            RestClient.Builder restClientBuilder,
+            @Value("${beneficiary.validation.provider.base-url}") String baseUrl,
+            @Value("${beneficiary.validation.provider.http2:true}") boolean http2,
+            @Value("${beneficiary.validation.provider.connect-timeout-ms:500}") long connectTimeoutMs,
+            @Value("${beneficiary.validation.provider.read-timeout-ms:1500}") long readTimeoutMs) {
+        boolean useHttp2 = http2 && baseUrl.regionMatches(true, 0, "https:", 0, 6);
+        // Platform threads: the JDK client's internals block inside synchronized blocks, which would pin virtual threads
+        this.httpExecutor = Executors.newCachedThreadPool(
+                Thread.ofPlatform().daemon().name("validation-http-", 0).factory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(useHttp2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(httpExecutor)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        log.info("Third-party validation provider at {} (HTTP/2 {})", baseUrl, useHttp2 ? "enabled" : "disabled");
+    }
+
+    @Override
+    public ThirdPartyValidationResponse validateBeneficiary(
+            String accountNumber,
+            String bankCode,
+            String beneficiaryName,
+            String beneficiaryType) {
+        return post("/v1/validations",
+                new ThirdPartyValidationRequest(accountNumber, bankCode, beneficiaryName, beneficiaryType));
+    }
+
+    @Override
+    public ThirdPartyValidationResponse checkAccount(String accountNumber, String bankCode, String beneficiaryName) {
+        return post("/v1/accounts/verify",
+                new ThirdPartyValidationRequest(accountNumber, bankCode, beneficiaryName, null));
+    }
+
+    @Override
+    public ThirdPartyValidationResponse screenFraud(String accountNumber, String beneficiaryName, String beneficiaryType) {
+        return post("/v1/fraud/score",
+                new ThirdPartyValidationRequest(accountNumber, null, beneficiaryName, beneficiaryType));
+    }
+
+    @Override
+    public ThirdPartyValidationResponse screenSanctions(String accountNumber, String beneficiaryName) {
+        return post("/v1/sanctions/screen", new ThirdPartyValidationRequest(accountNumber, null, beneficiaryName, null));
+    }
+
+    @Override
+    public List<ThirdPartyValidationResponse> validateBeneficiaries(List<ThirdPartyValidationRequest> requests) {
+        List<ThirdPartyValidationResponse> responses = restClient.post()
+                .uri("/v1/validations/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requests)
+                .retrieve()
+                .body(RESPONSE_LIST);
+        if (responses == null) {
+            throw new IllegalStateException("Empty response from validation provider batch endpoint");
+        }
+        return responses;
+    }
+
+    private ThirdPartyValidationResponse post(String path, ThirdPartyValidationRequest request) {
+        ThirdPartyValidationResponse response = restClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(ThirdPartyValidationResponse.class);
+        if (response == null) {
+            throw new IllegalStateException("Empty response from validation provider " + path);
+        }
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.close();
+        httpExecutor.shutdownNow();
+    }
+}
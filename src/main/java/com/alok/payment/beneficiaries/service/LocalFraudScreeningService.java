@@ -0,0 +1,152 @@
+package com.alok.payment.beneficiaries.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * In-process fraud pre-screening from signals already in the beneficiaries table, so the remote
+ * fraud service is only consulted when the local picture is ambiguous.
+ * <p>
+ * Three signals are read in one query and combined into a score between 0.0 and 1.0:
+ * <ul>
+ *   <li>velocity: beneficiaries the customer added within the window, relative to the limit</li>
+ *   <li>account reuse: other customers that already pay the same account</li>
+ *   <li>new bank: an established customer adding a first beneficiary at this bank code</li>
+ * </ul>
+ * A score below the low-risk threshold or at or above the high-risk threshold is conclusive;
+ * anything between, or no score because the lookup failed or the tier is disabled, needs the
+ * remote score. A customer without ACTIVE beneficiaries has no history for the new-bank signal to
+ * compare against, so their score is only used when it is already high risk; otherwise there is
+ * no score, rather than a low one that would skip remote scoring for a brand-new customer. Decisions are counted under beneficiary.validation.local.fraud.
+ */
+@Service
+public class LocalFraudScreeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFraudScreeningService.class);
+
+    private static final double VELOCITY_WEIGHT = 0.4;
+    private static final double ACCOUNT_REUSE_WEIGHT = 0.4;
+    private static final double NEW_BANK_WEIGHT = 0.2;
+    private static final int ACCOUNT_REUSE_SATURATION = 2;
+
+    // Velocity counts every add, including rejected and deleted ones; the other signals only live beneficiaries
+    private static final String SIGNALS_SQL =
+            "SELECT " +
+            "COUNT(*) FILTER (WHERE customer_id = ? AND created_at >= ?) AS recent_adds, " +
+            "COUNT(*) FILTER (WHERE customer_id = ? AND status = 'ACTIVE') AS customer_beneficiaries, " +
+            "COUNT(*) FILTER (WHERE customer_id = ? AND status = 'ACTIVE' AND beneficiary_bank_code = ?) AS same_bank, " +
+            "COUNT(DISTINCT customer_id) FILTER (WHERE beneficiary_account_number = ? AND customer_id <> ? " +
+            "AND status = 'ACTIVE') AS other_customers " +
+            "FROM beneficiaries WHERE customer_id = ? OR beneficiary_account_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration velocityWindow;
+    private final int velocityLimit;
+    private final double lowRiskThreshold;
+    private final double highRiskThreshold;
+    private final Counter lowRisk;
+    private final Counter highRisk;
+    private final Counter ambiguous;
+
+    public LocalFraudScreeningService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.validation.local-fraud.enabled:true}") boolean enabled,
+            @Value("${beneficiary.validation.local-fraud.velocity-window-hours:24}") long velocityWindowHours,
+            @Value("${beneficiary.validation.local-fraud.velocity-limit:5}") int velocityLimit,
+            @Value("${beneficiary.validation.local-fraud.low-risk-threshold:0.2}") double lowRiskThreshold,
+            @Value("${beneficiary.validation.local-fraud.high-risk-threshold:0.7}") double highRiskThreshold) {
+        if (lowRiskThreshold > highRiskThreshold) {
+            throw new IllegalArgumentException("Local fraud low-risk threshold " + lowRiskThreshold
+                    + " must not exceed the high-risk threshold " + highRiskThreshold);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.velocityWindow = Duration.ofHours(velocityWindowHours);
+        this.velocityLimit = Math.max(1, velocityLimit);
+        this.lowRiskThreshold = lowRiskThreshold;
+        this.highRiskThreshold = highRiskThreshold;
+        this.lowRisk = decisionCounter(meterRegistry, "low");
+        this.highRisk = decisionCounter(meterRegistry, "high");
+        this.ambiguous = decisionCounter(meterRegistry, "ambiguous");
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("beneficiary.validation.local.fraud")
+                .description("Local fraud pre-screening decisions")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scores a prospective beneficiary from local signals.
+     *
+     * @return the local score, or null if the tier is disabled, the signals could not be read or the
+     *         customer has no history and the score is not high risk
+     */
+    public Double score(String customerId, String beneficiaryAccountNumber, String beneficiaryBankCode) {
+        if (!enabled) {
+            return null;
+        }
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minus(velocityWindow));
+        Double score;
+        try {
+            score = jdbcTemplate.queryForObject(SIGNALS_SQL, (rs, rowNum) -> score(
+                            rs.getLong("recent_adds"),
+                            rs.getLong("customer_beneficiaries"),
+                            rs.getLong("same_bank"),
+                            rs.getLong("other_customers")),
+                    customerId, since, customerId, customerId, beneficiaryBankCode,
+                    beneficiaryAccountNumber, customerId, customerId, beneficiaryAccountNumber);
+        } catch (DataAccessException e) {
+            log.warn("Local fraud signals unavailable, deferring to remote scoring: {}", e.getMessage());
+            score = null;
+        }
+
+        if (isLowRisk(score)) {
+            lowRisk.increment();
+        } else if (isHighRisk(score)) {
+            highRisk.increment();
+        } else {
+            ambiguous.increment();
+        }
+        return score;
+    }
+
+    private Double score(long recentAdds, long customerBeneficiaries, long sameBank, long otherCustomers) {
+        double velocity = Math.min(1.0, (double) recentAdds / velocityLimit);
+        double accountReuse = Math.min(1.0, (double) otherCustomers / ACCOUNT_REUSE_SATURATION);
+        double newBank = customerBeneficiaries > 0 && sameBank == 0 ? 1.0 : 0.0;
+        double score = Math.round((VELOCITY_WEIGHT * velocity + ACCOUNT_REUSE_WEIGHT * accountReuse
+                + NEW_BANK_WEIGHT * newBank) * 1000.0) / 1000.0;
+        if (customerBeneficiaries == 0 && !isHighRisk(score)) {
+            return null;
+        }
+        return score;
+    }
+
+    /**
+     * Whether the score is low enough to skip remote fraud scoring.
+     */
+    public boolean isLowRisk(Double score) {
+        return score != null && score < lowRiskThreshold;
+    }
+
+    /**
+     * Whether the score is high enough to treat the beneficiary as high fraud risk without remote scoring.
+     */
+    public boolean isHighRisk(Double score) {
+        return score != null && score >= highRiskThreshold;
+    }
+}
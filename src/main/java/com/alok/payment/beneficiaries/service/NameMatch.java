@@ -0,0 +1,17 @@
+package com.alok.payment.beneficiaries.service;
+
+/**
+ * Confirmation-of-payee outcome: how closely the name the customer entered matches the
+ * name the account is held in.
+ */
+public enum NameMatch {
+
+    /** Same name once case, accents, punctuation, titles, legal suffixes and word order are ignored. */
+    MATCH,
+
+    /** Likely the same payee, e.g. a typo, an initial or a missing middle name. */
+    CLOSE_MATCH,
+
+    /** A different name. */
+    NO_MATCH
+}
@@ -0,0 +1,175 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Confirmation-of-payee matching of an entered beneficiary name against the account holder name.
+ * <p>
+ * Both names are first reduced to a {@link Normalized} form: accents stripped, lower-cased,
+ * punctuation removed, and titles and legal-form suffixes dropped. Identical token sets are a
+ * {@link NameMatch#MATCH}. Otherwise every token of the shorter name is paired with its closest
+ * token in the longer one by Jaro-Winkler similarity, with a single letter matching a name it is
+ * the initial of; if even the weakest pairing is close, or the names are near-identical with the
+ * spaces removed, the result is a {@link NameMatch#CLOSE_MATCH}. Normalizing once and comparing
+ * short tokens keeps a match to a few microseconds.
+ */
+final class NameMatcher {
+    
+    static final double CLOSE_TOKEN_THRESHOLD = 0.88;
+    static final double CLOSE_COMPACT_THRESHOLD = 0.95;
+    private static final double INITIAL_SIMILARITY = 0.9;
+    private static final double WINKLER_PREFIX_SCALE = 0.1;
+    private static final int WINKLER_MAX_PREFIX = 4;
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> IGNORED_TOKENS = Set.of(
+            "mr", "mrs", "ms", "miss", "dr", "prof", "sir",
+            "ltd", "limited", "plc", "llc", "llp", "inc", "incorporated", "corp", "corporation",
+            "co", "company", "gmbh", "ag", "sa", "bv", "nv");
+    
+    private NameMatcher() {
+    }
+    
+    /**
+     * Name reduced to the forms matching compares; build once per name and reuse.
+     */
+    static final class Normalized {
+        private final String[] tokens;
+        private final String[] sortedTokens;
+        private final String compact;
+        
+        private Normalized(String[] tokens) {
+            this.tokens = tokens;
+            this.sortedTokens = tokens.clone();
+            Arrays.sort(sortedTokens);
+            this.compact = String.join("", tokens);
+        }
+        
+        boolean isEmpty() {
+            return tokens.length == 0;
+        }
+    }
+    
+    static Normalized normalize(String name) {
+        if (name == null) {
+            return new Normalized(new String[0]);
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        String[] parts = NON_ALPHANUMERIC.split(folded.toLowerCase());
+        List<String> tokens = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            if (!part.isEmpty() && !IGNORED_TOKENS.contains(part)) {
+                tokens.add(part);
+            }
+        }
+        return new Normalized(tokens.toArray(new String[0]));
+    }
+    
+    static NameMatch match(String enteredName, String holderName) {
+        return match(normalize(enteredName), normalize(holderName));
+    }
+    
+    static NameMatch match(Normalized entered, Normalized holder) {
+        if (entered.isEmpty() || holder.isEmpty()) {
+            return NameMatch.NO_MATCH;
+        }
+        if (entered.compact.equals(holder.compact) || Arrays.equals(entered.sortedTokens, holder.sortedTokens)) {
+            return NameMatch.MATCH;
+        }
+        if (tokenSetScore(entered, holder) >= CLOSE_TOKEN_THRESHOLD
+                || jaroWinkler(entered.compact, holder.compact) >= CLOSE_COMPACT_THRESHOLD) {
+            return NameMatch.CLOSE_MATCH;
+        }
+        return NameMatch.NO_MATCH;
+    }
+    
+    /**
+     * The weakest best-pairing similarity of the shorter name's tokens against the longer name's,
+     * so one wrong given name is not averaged away by a matching surname.
+     */
+    static double tokenSetScore(Normalized a, Normalized b) {
+        String[] shorter = a.tokens.length <= b.tokens.length ? a.tokens : b.tokens;
+        String[] longer = shorter == a.tokens ? b.tokens : a.tokens;
+        double weakest = 1.0;
+        for (String token : shorter) {
+            double best = 0.0;
+            for (String candidate : longer) {
+                best = Math.max(best, tokenSimilarity(token, candidate));
+                if (best == 1.0) {
+                    break;
+                }
+            }
+            weakest = Math.min(weakest, best);
+        }
+        return weakest;
+    }
+    
+    private static double tokenSimilarity(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if ((a.length() == 1 || b.length() == 1) && a.charAt(0) == b.charAt(0)) {
+            return INITIAL_SIMILARITY;
+        }
+        return jaroWinkler(a, b);
+    }
+    
+    /**
+     * Jaro-Winkler similarity between 0.0 and 1.0, boosting strings that share a prefix.
+     */
+    static double jaroWinkler(String s1, String s2) {
+        int length1 = s1.length();
+        int length2 = s2.length();
+        if (length1 == 0 || length2 == 0) {
+            return length1 == length2 ? 1.0 : 0.0;
+        }
+        
+        int window = Math.max(0, Math.max(length1, length2) / 2 - 1);
+        boolean[] matched1 = new boolean[length1];
+        boolean[] matched2 = new boolean[length2];
+        int matches = 0;
+        for (int i = 0; i < length1; i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(length2 - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matched2[j] && s1.charAt(i) == s2.charAt(j)) {
+                    matched1[i] = true;
+                    matched2[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < length1; i++) {
+            if (matched1[i]) {
+                while (!matched2[j]) {
+                    j++;
+                }
+                if (s1.charAt(i) != s2.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / length1 + m / length2 + (m - transpositions / 2.0) / m) / 3.0;
+        
+        int prefix = 0;
+        int maxPrefix = Math.min(WINKLER_MAX_PREFIX, Math.min(length1, length2));
+        while (prefix < maxPrefix && s1.charAt(prefix) == s2.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * WINKLER_PREFIX_SCALE * (1.0 - jaro);
+    }
+}
@@ -0,0 +1,87 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Name similarity rules shared by duplicate detection and duplicate clustering.
+ * All comparisons operate on names already passed through {@link #normalize(String)}.
+ */
+final class NameSimilarity {
+    
+    private static final int MAX_NAME_EDIT_DISTANCE = 2;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private NameSimilarity() {
+    }
+    
+    /**
+     * Lower-cases a name and strips all whitespace.
+     */
+    static String normalize(String name) {
+        return name == null ? null : WHITESPACE.matcher(name.toLowerCase()).replaceAll("");
+    }
+    
+    /**
+     * Checks whether two normalized names are similar enough to be potential duplicates.
+     */
+    static boolean areSimilar(String normalized1, String normalized2) {
+        if (normalized1 == null || normalized2 == null) {
+            return false;
+        }
+        
+        // Check if names are very similar (allowing for minor variations).
+        // The length difference is a lower bound on the edit distance, so skip the DP when it is too large.
+        return normalized1.equals(normalized2) || 
+               normalized1.contains(normalized2) || 
+               normalized2.contains(normalized1) ||
+               (Math.abs(normalized1.length() - normalized2.length()) <= MAX_NAME_EDIT_DISTANCE
+                       && levenshteinDistance(normalized1, normalized2) <= MAX_NAME_EDIT_DISTANCE);
+    }
+    
+    /**
+     * Scores the similarity of two normalized names between 0.0 and 1.0.
+     */
+    static double score(String normalized1, String normalized2) {
+        int longest = Math.max(normalized1.length(), normalized2.length());
+        if (longest == 0 || normalized1.equals(normalized2)) {
+            return 1.0;
+        }
+        
+        double score;
+        if (normalized1.contains(normalized2) || normalized2.contains(normalized1)) {
+            score = (double) Math.min(normalized1.length(), normalized2.length()) / longest;
+        } else {
+            score = 1.0 - (double) levenshteinDistance(normalized1, normalized2) / longest;
+        }
+        return Math.round(score * 1000.0) / 1000.0;
+    }
+    
+    /**
+     * Calculate Levenshtein distance between two strings using two rolling rows.
+     */
+    static int levenshteinDistance(String s1, String s2) {
+        int[] previous = new int[s2.length() + 1];
+        int[] current = new int[s2.length() + 1];
+        
+        for (int j = 0; j <= s2.length(); j++) {
+            previous[j] = j;
+        }
+        
+        for (int i = 1; i <= s1.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(
+                        previous[j] + 1,
+                        current[j - 1] + 1),
+                        previous[j - 1] + cost
+                );
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        
+        return previous[s2.length()];
+    }
+}
@@ -0,0 +1,56 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent checks concurrently and waits for all of them, in the style of a
+ * shutdown-on-failure task scope: the first check to fail interrupts the ones still
+ * running and its exception is rethrown. Total latency is that of the slowest check,
+ * or of the first failure, rather than the sum of all checks.
+ */
+final class ParallelChecks {
+
+    private ParallelChecks() {
+    }
+
+    static void runAll(ExecutorService executor, List<Runnable> checks) {
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> futures = new ArrayList<>(checks.size());
+        try {
+            for (Runnable check : checks) {
+                futures.add(completionService.submit(check, null));
+            }
+            for (int i = 0; i < checks.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ThirdPartyServiceUnavailableException("Interrupted while waiting for validation checks", e);
+        } finally {
+            // No-op for completed checks; interrupts any still running after a failure
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new ThirdPartyServiceUnavailableException("Validation check failed: " + cause.getMessage(), cause);
+    }
+}
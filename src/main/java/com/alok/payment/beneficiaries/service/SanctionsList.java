@@ -0,0 +1,100 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable snapshot of a sanctions list: an Aho-Corasick automaton over sanctioned names
+ * and a hash set of sanctioned account identifiers.
+ * <p>
+ * List format, one entry per line; blank lines and lines starting with '#' are ignored:
+ * <pre>
+ * NAME|Jane Doe
+ * ACCOUNT|99912345678
+ * </pre>
+ */
+final class SanctionsList {
+
+    static final SanctionsList EMPTY = new SanctionsList(List.of(), Set.of());
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AhoCorasick names;
+    private final Set<String> accounts;
+
+    private SanctionsList(List<String> normalizedNames, Set<String> normalizedAccounts) {
+        this.names = new AhoCorasick(normalizedNames);
+        this.accounts = normalizedAccounts;
+    }
+
+    /**
+     * Parses a sanctions list.
+     *
+     * @throws IllegalArgumentException if a line is not a valid entry
+     */
+    static SanctionsList parse(List<String> lines) {
+        List<String> names = new ArrayList<>();
+        Set<String> accounts = new HashSet<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('|');
+            String value = separator < 0 ? "" : line.substring(separator + 1).trim();
+            if (normalizeName(value).isBlank()) {
+                throw new IllegalArgumentException("Invalid sanctions list entry on line " + (i + 1));
+            }
+            switch (line.substring(0, separator).trim().toUpperCase()) {
+                case "NAME" -> names.add(normalizeName(value));
+                case "ACCOUNT" -> accounts.add(normalizeAccount(value));
+                default -> throw new IllegalArgumentException("Unknown sanctions list entry type on line " + (i + 1));
+            }
+        }
+        return new SanctionsList(names, Set.copyOf(accounts));
+    }
+
+    /**
+     * Screens a beneficiary. A name matches when a sanctioned name appears in it as whole words,
+     * so "Jane Doe" matches "Mrs Jane Doe" but not "Janet Doering".
+     *
+     * @return a description of the matched entry, or empty if there is no match
+     */
+    Optional<String> match(String beneficiaryName, String accountNumber) {
+        if (accountNumber != null && accounts.contains(normalizeAccount(accountNumber))) {
+            return Optional.of("sanctioned account " + accountNumber);
+        }
+        if (beneficiaryName != null) {
+            String name = names.findFirst(normalizeName(beneficiaryName));
+            if (name != null) {
+                return Optional.of("sanctioned name '" + name.trim() + "'");
+            }
+        }
+        return Optional.empty();
+    }
+
+    int nameCount() {
+        return names.size();
+    }
+
+    int accountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Lower-cases, reduces punctuation to spaces and pads with spaces to mark word boundaries.
+     */
+    private static String normalizeName(String name) {
+        return " " + NON_ALPHANUMERIC.matcher(name.toLowerCase()).replaceAll(" ").trim() + " ";
+    }
+
+    private static String normalizeAccount(String account) {
+        return AccountFormatRules.canonical(WHITESPACE.matcher(account).replaceAll(""));
+    }
+}
@@ -0,0 +1,275 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.exception.SanctionsRescreenInProgressException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.model.SanctionsRescreenJob;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.repository.SanctionsRescreenJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Service rescreening every ACTIVE beneficiary against the local sanctions list, e.g. after a list update.
+ * <p>
+ * A job walks the table in id order with a keyset cursor, screens each chunk in parallel against one
+ * pinned list snapshot, flags hits with a batched update and clears stale flags on scanned rows that no
+ * longer match. The flags and the job's checkpoint are committed together per chunk, so an interrupted or
+ * failed job resumes after the last committed chunk. Only the job's runner thread touches the job; the
+ * match pool just returns each chunk's hits.
+ * Chunks are short independent reads and writes, optionally paced, to stay out of the way of OLTP traffic.
+ */
+@Service
+public class SanctionsRescreeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(SanctionsRescreeningService.class);
+
+    private static final String FLAG_SQL =
+            "UPDATE beneficiaries SET sanctions_match = ?, sanctions_flagged_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND status = 'ACTIVE'";
+
+    private static final String CLEAR_SQL =
+            "UPDATE beneficiaries SET sanctions_match = NULL, sanctions_flagged_at = NULL " +
+            "WHERE id = ANY(?) AND sanctions_match IS NOT NULL";
+
+    private final BeneficiaryRepository beneficiaryRepository;
+    private final SanctionsRescreenJobRepository jobRepository;
+    private final SanctionsScreeningService screeningService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final ForkJoinPool matchPool;
+    private final ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public SanctionsRescreeningService(BeneficiaryRepository beneficiaryRepository,
+                                       SanctionsRescreenJobRepository jobRepository,
+                                       SanctionsScreeningService screeningService,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${beneficiary.sanctions.rescreen.chunk-size:5000}") int chunkSize,
+                                       @Value("${beneficiary.sanctions.rescreen.parallelism:0}") int parallelism,
+                                       @Value("${beneficiary.sanctions.rescreen.pause-ms:0}") long pauseMs) {
+        this.beneficiaryRepository = beneficiaryRepository;
+        this.jobRepository = jobRepository;
+        this.screeningService = screeningService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.matchPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.runner = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("sanctions-rescreen").factory());
+    }
+
+    /**
+     * Starts a new rescreening job in the background.
+     *
+     * @throws SanctionsRescreenInProgressException if a job is already running
+     */
+    public SanctionsRescreenJob startJob() {
+        claimRunner();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            SanctionsRescreenJob job = jobRepository.save(
+                    new SanctionsRescreenJob(null, "RUNNING", 0, 0, 0, null, now, now, null));
+            log.info("Starting sanctions rescreen job {}", job.getId());
+            runner.execute(() -> runClaimed(job));
+            return job;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Resumes an interrupted or failed job from its last checkpoint, against the current list.
+     *
+     * @throws InvalidRequestException if the job does not exist or has already completed
+     * @throws SanctionsRescreenInProgressException if a job is already running
+     */
+    public SanctionsRescreenJob resumeJob(Long jobId) {
+        SanctionsRescreenJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new InvalidRequestException("Sanctions rescreen job not found: " + jobId));
+        if ("COMPLETED".equals(job.getStatus())) {
+            throw new InvalidRequestException("Sanctions rescreen job " + jobId + " has already completed");
+        }
+
+        claimRunner();
+        try {
+            job.setStatus("RUNNING");
+            job.setFailureReason(null);
+            job.setUpdatedAt(LocalDateTime.now());
+            SanctionsRescreenJob resumed = jobRepository.save(job);
+            log.info("Resuming sanctions rescreen job {} after beneficiary ID {}", jobId, job.getLastBeneficiaryId());
+            runner.execute(() -> runClaimed(resumed));
+            return resumed;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public Optional<SanctionsRescreenJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    private void claimRunner() {
+        if (!running.compareAndSet(false, true)) {
+            throw new SanctionsRescreenInProgressException("A sanctions rescreen job is already running");
+        }
+    }
+
+    private void runClaimed(SanctionsRescreenJob job) {
+        try {
+            runJob(job);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Runs a job on the calling thread until the table is exhausted, the service shuts down or a chunk fails.
+     */
+    public void runJob(SanctionsRescreenJob job) {
+        SanctionsList sanctionsList = screeningService.currentList();
+        // Committed progress; the job is only advanced from these once a chunk's transaction succeeds
+        long lastId = job.getLastBeneficiaryId();
+        long scanned = job.getScannedCount();
+        long flagged = job.getFlaggedCount();
+        try {
+            while (!stopping) {
+                List<Beneficiary> chunk = beneficiaryRepository.findActiveAfterId(lastId, chunkSize);
+                if (chunk.isEmpty()) {
+                    finish(job, "COMPLETED", null);
+                    log.info("Sanctions rescreen job {} completed: {} scanned, {} flagged",
+                            job.getId(), job.getScannedCount(), job.getFlaggedCount());
+                    return;
+                }
+
+                List<Hit> hits = matchPool.submit(() -> chunk.parallelStream()
+                        .map(b -> sanctionsList.match(b.getBeneficiaryName(), b.getBeneficiaryAccountNumber())
+                                .map(match -> new Hit(b.getId(), match))
+                                .orElse(null))
+                        .filter(Objects::nonNull)
+                        .toList()).join();
+
+                long chunkLastId = chunk.get(chunk.size() - 1).getId();
+                commitChunk(job, chunk, hits, chunkLastId, scanned + chunk.size(), flagged + hits.size());
+                lastId = chunkLastId;
+                scanned += chunk.size();
+                flagged += hits.size();
+                pause();
+            }
+            finish(job, "INTERRUPTED", null);
+            log.info("Sanctions rescreen job {} interrupted after beneficiary ID {}", job.getId(), lastId);
+        } catch (RuntimeException e) {
+            log.error("Sanctions rescreen job {} failed after beneficiary ID {}", job.getId(), lastId, e);
+            // A rolled-back chunk must not leak its checkpoint into the FAILED save
+            job.setLastBeneficiaryId(lastId);
+            job.setScannedCount(scanned);
+            job.setFlaggedCount(flagged);
+            finish(job, "FAILED", e.getMessage());
+        }
+    }
+
+    /**
+     * Flags the chunk's hits, clears stale flags on the rest of the chunk and advances the checkpoint in one
+     * transaction.
+     */
+    private void commitChunk(SanctionsRescreenJob job, List<Beneficiary> chunk, List<Hit> hits,
+                             long lastId, long scanned, long flagged) {
+        Set<Long> hitIds = hits.stream().map(hit -> hit.beneficiaryId).collect(Collectors.toSet());
+        Object[] clearIds = chunk.stream().map(Beneficiary::getId).filter(id -> !hitIds.contains(id)).toArray();
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!hits.isEmpty()) {
+                jdbcTemplate.batchUpdate(FLAG_SQL, hits, hits.size(), (ps, hit) -> {
+                    ps.setString(1, hit.match);
+                    ps.setLong(2, hit.beneficiaryId);
+                });
+            }
+            if (clearIds.length > 0) {
+                int cleared = jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(CLEAR_SQL);
+                    statement.setArray(1, connection.createArrayOf("bigint", clearIds));
+                    return statement;
+                });
+                if (cleared > 0) {
+                    log.info("Sanctions rescreen job {} cleared {} stale flags up to ID {}", job.getId(), cleared, lastId);
+                }
+            }
+            job.setLastBeneficiaryId(lastId);
+            job.setScannedCount(scanned);
+            job.setFlaggedCount(flagged);
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+        if (!hits.isEmpty()) {
+            log.warn("Sanctions rescreen job {} flagged {} beneficiaries up to ID {}", job.getId(), hits.size(), lastId);
+        }
+    }
+
+    private void finish(SanctionsRescreenJob job, String status, String failureReason) {
+        job.setStatus(status);
+        job.setFailureReason(failureReason);
+        job.setUpdatedAt(LocalDateTime.now());
+        if ("COMPLETED".equals(status)) {
+            job.setCompletedAt(job.getUpdatedAt());
+        }
+        jobRepository.save(job);
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopping = true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        runner.shutdown();
+        if (!runner.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Sanctions rescreen job did not reach a checkpoint before shutdown");
+            runner.shutdownNow();
+        }
+        matchPool.shutdownNow();
+    }
+
+    private static final class Hit {
+        private final long beneficiaryId;
+        private final String match;
+
+        private Hit(long beneficiaryId, String match) {
+            this.beneficiaryId = beneficiaryId;
+            this.match = match;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.alok.payment.beneficiaries.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service screening beneficiaries against a local sanctions list held in memory.
+ * The list file is polled for changes and reloaded in the background; a new snapshot is
+ * built off to the side and swapped in atomically, so screening never waits on a reload.
+ * If a reload fails the previous snapshot stays in use.
+ */
+@Service
+public class SanctionsScreeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(SanctionsScreeningService.class);
+
+    private final Path listFile;
+    private final ScheduledExecutorService reloader;
+    private volatile SanctionsList sanctionsList = SanctionsList.EMPTY;
+    private FileTime loadedModifiedTime;
+    private long loadedSize = -1;
+
+    public SanctionsScreeningService(
+            @Value("${beneficiary.sanctions.list-file:}") String listFile,
+            @Value("${beneficiary.sanctions.reload-interval-ms:30000}") long reloadIntervalMs) {
+        if (listFile == null || listFile.isBlank()) {
+            log.info("No sanctions list file configured; local sanctions screening is disabled");
+            this.listFile = null;
+            this.reloader = null;
+            return;
+        }
+
+        this.listFile = Path.of(listFile);
+        reloadIfChanged();
+        this.reloader = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("sanctions-list-reloader").factory());
+        reloader.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Screens a beneficiary against the current sanctions list.
+     *
+     * @return a description of the matched entry, or empty if there is no match
+     */
+    public Optional<String> screen(String beneficiaryName, String accountNumber) {
+        return sanctionsList.match(beneficiaryName, accountNumber);
+    }
+
+    /**
+     * The current list snapshot, for callers that must screen many rows against one list version.
+     */
+    SanctionsList currentList() {
+        return sanctionsList;
+    }
+
+    /**
+     * Reloads the list file if its modification time or size changed since the last load.
+     *
+     * @return true if a new list was loaded
+     */
+    public synchronized boolean reloadIfChanged() {
+        if (listFile == null) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(listFile, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().equals(loadedModifiedTime) && attributes.size() == loadedSize) {
+                return false;
+            }
+
+            SanctionsList loaded = SanctionsList.parse(Files.readAllLines(listFile, StandardCharsets.UTF_8));
+            sanctionsList = loaded;
+            loadedModifiedTime = attributes.lastModifiedTime();
+            loadedSize = attributes.size();
+
+            log.info("Loaded sanctions list from {}: {} names, {} accounts",
+                    listFile, loaded.nameCount(), loaded.accountCount());
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to load sanctions list from {}; keeping the previous list", listFile, e);
+            return false;
+        }
+    }
+
+    public int getNameCount() {
+        return sanctionsList.nameCount();
+    }
+
+    public int getAccountCount() {
+        return sanctionsList.accountCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mock client for third-party beneficiary validation service.
+ * Decides outcomes from account number prefixes; used unless an HTTP provider is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "beneficiary.validation.provider.type", havingValue = "stub", matchIfMissing = true)
+public class StubThirdPartyValidationClient implements ThirdPartyValidationClient {
+    
+    private volatile long latencyMs;
+    private volatile double failureRate;
+    
+    /**
+     * Adds a fixed delay to every call, to simulate a slow provider.
+     */
+    @Value("${beneficiary.validation.stub.latency-ms:0}")
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+    
+    /**
+     * Fails the given fraction of calls (0.0 - 1.0), to simulate a degraded provider.
+     */
+    @Value("${beneficiary.validation.stub.failure-rate:0.0}")
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+    
+    @Override
+    public ThirdPartyValidationResponse validateBeneficiary(
+            String accountNumber,
+            String bankCode,
+            String beneficiaryName,
+            String beneficiaryType) {
+        
+        injectLatency();
+        return evaluate(accountNumber, bankCode, beneficiaryName, beneficiaryType);
+    }
+    
+    private ThirdPartyValidationResponse evaluate(
+            String accountNumber,
+            String bankCode,
+            String beneficiaryName,
+            String beneficiaryType) {
+        
+        injectFailure();
+        
+        // Mock validation logic
+        ThirdPartyValidationResponse response = new ThirdPartyValidationResponse();
+        
+        // Simulate different validation scenarios based on account number patterns
+        if (accountNumber.startsWith("999")) {
+            // Simulate sanctioned account
+            response.setValid(false);
+            response.setSanctioned(true);
+            response.setFailureReason("Account is on sanctions list");
+            return response;
+        }
+        
+        if (accountNumber.startsWith("888")) {
+            // Simulate high fraud risk
+            response.setValid(true);
+            response.setSanctioned(false);
+            response.setFraudScore(0.85);
+            response.setAccountStatus("ACTIVE");
+            return response;
+        }
+        
+        if (accountNumber.startsWith("777")) {
+            // Simulate inactive account
+            response.setValid(false);
+            response.setSanctioned(false);
+            response.setAccountStatus("CLOSED");
+            response.setFailureReason("Account is closed");
+            return response;
+        }
+        
+        if (accountNumber.startsWith("666")) {
+            // Simulate validation service error
+            throw new RuntimeException("Third-party service temporarily unavailable");
+        }
+        
+        // Default: valid account
+        response.setValid(true);
+        response.setSanctioned(false);
+        response.setFraudScore(0.1);
+        response.setAccountStatus("ACTIVE");
+        response.setAccountHolderName(holderName(accountNumber, beneficiaryName));
+        
+        return response;
+    }
+    
+    @Override
+    public ThirdPartyValidationResponse checkAccount(String accountNumber, String bankCode, String beneficiaryName) {
+        injectLatency();
+        injectFailure();
+        
+        ThirdPartyValidationResponse response = new ThirdPartyValidationResponse();
+        
+        if (accountNumber.startsWith("777")) {
+            // Simulate inactive account
+            response.setValid(false);
+            response.setAccountStatus("CLOSED");
+            response.setFailureReason("Account is closed");
+            return response;
+        }
+        
+        if (accountNumber.startsWith("666")) {
+            // Simulate validation service error
+            throw new RuntimeException("Third-party service temporarily unavailable");
+        }
+        
+        response.setValid(true);
+        response.setAccountStatus("ACTIVE");
+        response.setAccountHolderName(holderName(accountNumber, beneficiaryName));
+        return response;
+    }
+    
+    /**
+     * The holder is whoever the customer named, except for the confirmation-of-payee test prefixes.
+     */
+    private String holderName(String accountNumber, String beneficiaryName) {
+        if (accountNumber.startsWith("555")) {
+            // Simulate an account held by someone else
+            return "Northwind Trading Ltd";
+        }
+        if (accountNumber.startsWith("554") && beneficiaryName != null) {
+            // Simulate a holder registered under an initial, e.g. "J Smith"
+            String[] parts = beneficiaryName.trim().split("\\s+", 2);
+            return parts.length == 2 ? parts[0].charAt(0) + " " + parts[1] : beneficiaryName;
+        }
+        return beneficiaryName;
+    }
+    
+    @Override
+    public ThirdPartyValidationResponse screenFraud(String accountNumber, String beneficiaryName, String beneficiaryType) {
+        injectLatency();
+        injectFailure();
+        
+        ThirdPartyValidationResponse response = new ThirdPartyValidationResponse();
+        response.setValid(true);
+        // Simulate high fraud risk
+        response.setFraudScore(accountNumber.startsWith("888") ? 0.85 : 0.1);
+        return response;
+    }
+    
+    @Override
+    public ThirdPartyValidationResponse screenSanctions(String accountNumber, String beneficiaryName) {
+        injectLatency();
+        injectFailure();
+        
+        ThirdPartyValidationResponse response = new ThirdPartyValidationResponse();
+        response.setValid(true);
+        if (accountNumber.startsWith("999")) {
+            // Simulate sanctioned account
+            response.setSanctioned(true);
+            response.setFailureReason("Account is on sanctions list");
+        }
+        return response;
+    }
+    
+    @Override
+    public List<ThirdPartyValidationResponse> validateBeneficiaries(List<ThirdPartyValidationRequest> requests) {
+        injectLatency();
+        
+        List<ThirdPartyValidationResponse> responses = new ArrayList<>(requests.size());
+        for (ThirdPartyValidationRequest request : requests) {
+            try {
+                responses.add(evaluate(
+                        request.getAccountNumber(),
+                        request.getBankCode(),
+                        request.getBeneficiaryName(),
+                        request.getBeneficiaryType()));
+            } catch (RuntimeException e) {
+                ThirdPartyValidationResponse error = new ThirdPartyValidationResponse();
+                error.setServiceError(e.getMessage());
+                responses.add(error);
+            }
+        }
+        return responses;
+    }
+    
+    private void injectLatency() {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Third-party call interrupted", e);
+            }
+        }
+    }
+    
+    private void injectFailure() {
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new RuntimeException("Third-party service failed (injected)");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Micro-batching aggregator for third-party validation calls.
+ * Concurrent callers enqueue single validations; a collector thread groups them into batches
+ * of up to maxBatchSize items, waiting at most maxWait after the first item, sends each batch
+ * in one call and completes every caller's future with its own response. The batch call can be
+ * wrapped, e.g. in the {@link ThirdPartyValidationGuard}, so that limits apply per batch.
+ */
+class ThirdPartyValidationBatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ThirdPartyValidationBatcher.class);
+
+    private final Function<List<ThirdPartyValidationRequest>, List<ThirdPartyValidationResponse>> batchCall;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingValidation> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService senders;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    ThirdPartyValidationBatcher(ThirdPartyValidationClient validationClient, int maxBatchSize, Duration maxWait) {
+        this(validationClient::validateBeneficiaries, maxBatchSize, maxWait);
+    }
+
+    ThirdPartyValidationBatcher(Function<List<ThirdPartyValidationRequest>, List<ThirdPartyValidationResponse>> batchCall,
+                                int maxBatchSize, Duration maxWait) {
+        this.batchCall = batchCall;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.senders = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("validation-batch-", 0).factory());
+        this.collector = Thread.ofPlatform().daemon().name("validation-batch-collector").start(this::collect);
+    }
+
+    /**
+     * Queues a validation for the next batch.
+     */
+    CompletableFuture<ThirdPartyValidationResponse> submit(ThirdPartyValidationRequest request) {
+        PendingValidation pending = new PendingValidation(request);
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("Validation batcher is shut down"));
+            return pending.future;
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void collect() {
+        while (running || !queue.isEmpty()) {
+            PendingValidation first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Woken by close(); the loop flushes whatever is still queued and then exits
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<PendingValidation> batch = new ArrayList<>(maxBatchSize);
+            batch.add(first);
+            fillBatch(batch);
+            senders.execute(() -> send(batch));
+        }
+        drain();
+    }
+
+    private void fillBatch(List<PendingValidation> batch) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        try {
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                PendingValidation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            // Woken by close(); send what has been collected so far
+        }
+    }
+
+    private void send(List<PendingValidation> batch) {
+        List<ThirdPartyValidationRequest> requests = new ArrayList<>(batch.size());
+        for (PendingValidation pending : batch) {
+            requests.add(pending.request);
+        }
+
+        try {
+            List<ThirdPartyValidationResponse> responses = batchCall.apply(requests);
+            if (responses.size() != batch.size()) {
+                throw new IllegalStateException("Batch validation returned " + responses.size()
+                        + " responses for " + batch.size() + " requests");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                ThirdPartyValidationResponse response = responses.get(i);
+                if (response.getServiceError() != null) {
+                    batch.get(i).future.completeExceptionally(new RuntimeException(response.getServiceError()));
+                } else {
+                    batch.get(i).future.complete(response);
+                }
+            }
+            log.debug("Sent validation batch of {} items", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Batch validation of {} items failed", batch.size(), e);
+            for (PendingValidation pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void drain() {
+        List<PendingValidation> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        for (PendingValidation pending : leftover) {
+            pending.future.completeExceptionally(new IllegalStateException("Validation batcher is shut down"));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        collector.interrupt();
+        try {
+            collector.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdown();
+    }
+
+    private static final class PendingValidation {
+        private final ThirdPartyValidationRequest request;
+        private final CompletableFuture<ThirdPartyValidationResponse> future = new CompletableFuture<>();
+
+        private PendingValidation(ThirdPartyValidationRequest request) {
+            this.request = request;
+        }
+    }
+}
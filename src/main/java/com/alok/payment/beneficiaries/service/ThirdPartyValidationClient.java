@@ -1,65 +1,45 @@
 package com.alok.payment.beneficiaries.service;
 
-import org.springframework.stereotype.Component;
+import java.util.List;
 
 /**
- * Mock client for third-party beneficiary validation service.
- * In production, this would call an external API for validation.
+ * Client for the third-party beneficiary validation service.
+ * Implementations throw a RuntimeException when the service cannot be reached or fails.
  */
-@Component
-public class ThirdPartyValidationClient {
-    
+public interface ThirdPartyValidationClient {
+
     /**
-     * Validates beneficiary details with external service.
-     * This is a mock implementation that simulates third-party API responses.
+     * Validates beneficiary details with the external service in one call,
+     * covering account verification, fraud scoring and sanctions screening.
      */
-    public ThirdPartyValidationResponse validateBeneficiary(
+    ThirdPartyValidationResponse validateBeneficiary(
             String accountNumber,
             String bankCode,
             String beneficiaryName,
-            String beneficiaryType) {
-        
-        // Mock validation logic
-        ThirdPartyValidationResponse response = new ThirdPartyValidationResponse();
-        
-        // Simulate different validation scenarios based on account number patterns
-        if (accountNumber.startsWith("999")) {
-            // Simulate sanctioned account
-            response.setValid(false);
-            response.setSanctioned(true);
-            response.setFailureReason("Account is on sanctions list");
-            return response;
-        }
-        
-        if (accountNumber.startsWith("888")) {
-            // Simulate high fraud risk
-            response.setValid(true);
-            response.setSanctioned(false);
-            response.setFraudScore(0.85);
-            response.setAccountStatus("ACTIVE");
-            return response;
-        }
-        
-        if (accountNumber.startsWith("777")) {
-            // Simulate inactive account
-            response.setValid(false);
-            response.setSanctioned(false);
-            response.setAccountStatus("CLOSED");
-            response.setFailureReason("Account is closed");
-            return response;
-        }
-        
-        if (accountNumber.startsWith("666")) {
-            // Simulate validation service error
-            throw new RuntimeException("Third-party service temporarily unavailable");
-        }
-        
-        // Default: valid account
-        response.setValid(true);
-        response.setSanctioned(false);
-        response.setFraudScore(0.1);
-        response.setAccountStatus("ACTIVE");
-        
-        return response;
-    }
+            String beneficiaryType);
+
+    /**
+     * Verifies that the account exists and is open (account verification service), passing the
+     * name the customer entered for confirmation of payee.
+     * Only valid, accountStatus, accountHolderName and failureReason are populated.
+     */
+    ThirdPartyValidationResponse checkAccount(String accountNumber, String bankCode, String beneficiaryName);
+
+    /**
+     * Scores the beneficiary for fraud risk (fraud screening service).
+     * Only fraudScore is populated.
+     */
+    ThirdPartyValidationResponse screenFraud(String accountNumber, String beneficiaryName, String beneficiaryType);
+
+    /**
+     * Screens the beneficiary against sanctions lists (sanctions screening service).
+     * Only sanctioned and failureReason are populated.
+     */
+    ThirdPartyValidationResponse screenSanctions(String accountNumber, String beneficiaryName);
+
+    /**
+     * Validates several beneficiaries in one call. Responses are returned in request order;
+     * an item the service could not evaluate carries a serviceError instead of failing the batch.
+     */
+    List<ThirdPartyValidationResponse> validateBeneficiaries(List<ThirdPartyValidationRequest> requests);
 }
@@ -0,0 +1,136 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Protects callers from a slow or failing third-party validation provider.
+ * Each call runs on a virtual thread and is interrupted when its timeout expires; a bulkhead
+ * bounds how many provider calls are in flight, and a circuit breaker rejects calls
+ * immediately while the provider is failing. State and call outcomes are
+ * published to Micrometer under the resilience4j.* meters with name "thirdPartyValidation".
+ */
+@Component
+public class ThirdPartyValidationGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(ThirdPartyValidationGuard.class);
+    private static final String NAME = "thirdPartyValidation";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService executor;
+
+    public ThirdPartyValidationGuard(
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.validation.resilience.timeout-ms:2000}") long timeoutMs,
+            @Value("${beneficiary.validation.resilience.bulkhead.max-concurrent-calls:25}") int maxConcurrentCalls,
+            @Value("${beneficiary.validation.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${beneficiary.validation.resilience.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${beneficiary.validation.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${beneficiary.validation.resilience.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                // Local back-pressure and business rejections are not provider failures
+                .ignoreExceptions(BulkheadFullException.class, BeneficiaryValidationException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(timeoutMs))
+                .cancelRunningFuture(true)
+                .build());
+
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(NAME);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("third-party-validation-", 0).factory());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiterRegistry).bindTo(meterRegistry);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Third-party validation circuit {}", event.getStateTransition()));
+    }
+
+    /**
+     * Runs a provider call under the timeout, bulkhead and circuit breaker.
+     *
+     * @throws ThirdPartyServiceUnavailableException if the call was rejected or timed out
+     */
+    public <T> T call(Supplier<T> providerCall) {
+        Supplier<T> bounded = Bulkhead.decorateSupplier(bulkhead, providerCall);
+        Callable<T> timed = TimeLimiter.decorateFutureSupplier(timeLimiter,
+                () -> executor.submit(bounded::get));
+        Callable<T> guarded = CircuitBreaker.decorateCallable(circuitBreaker, timed);
+
+        try {
+            return guarded.call();
+        } catch (CallNotPermittedException e) {
+            throw new ThirdPartyServiceUnavailableException("Third-party validation circuit is open", e);
+        } catch (BulkheadFullException e) {
+            throw new ThirdPartyServiceUnavailableException("Too many concurrent third-party validation calls", e);
+        } catch (TimeoutException e) {
+            throw new ThirdPartyServiceUnavailableException("Third-party validation timed out after "
+                    + timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis() + " ms", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ThirdPartyServiceUnavailableException("Third-party validation failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Timeout applied to each guarded call.
+     */
+    public Duration getTimeout() {
+        return timeLimiter.getTimeLimiterConfig().getTimeoutDuration();
+    }
+
+    /**
+     * Current circuit breaker state, e.g. CLOSED, OPEN or HALF_OPEN.
+     */
+    public String getCircuitState() {
+        return circuitBreaker.getState().name();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,55 @@
+package com.alok.payment.beneficiaries.service;
+
+/**
+ * Single item of a batch request to the third-party beneficiary validation service.
+ */
+public class ThirdPartyValidationRequest {
+    
+    private String accountNumber;
+    private String bankCode;
+    private String beneficiaryName;
+    private String beneficiaryType;
+    
+    public ThirdPartyValidationRequest() {
+    }
+    
+    public ThirdPartyValidationRequest(String accountNumber, String bankCode, 
+                                       String beneficiaryName, String beneficiaryType) {
+        this.accountNumber = accountNumber;
+        this.bankCode = bankCode;
+        this.beneficiaryName = beneficiaryName;
+        this.beneficiaryType = beneficiaryType;
+    }
+    
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+    
+    public String getBankCode() {
+        return bankCode;
+    }
+    
+    public void setBankCode(String bankCode) {
+        this.bankCode = bankCode;
+    }
+    
+    public String getBeneficiaryName() {
+        return beneficiaryName;
+    }
+    
+    public void setBeneficiaryName(String beneficiaryName) {
+        this.beneficiaryName = beneficiaryName;
+    }
+    
+    public String getBeneficiaryType() {
+        return beneficiaryType;
+    }
+    
+    public void setBeneficiaryType(String beneficiaryType) {
+        this.beneficiaryType = beneficiaryType;
+    }
+}
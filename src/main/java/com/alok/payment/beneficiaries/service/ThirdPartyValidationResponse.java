@@ -9,7 +9,9 @@ public class ThirdPartyValidationResponse {
     private boolean sanctioned;
     private Double fraudScore;
     private String accountStatus;
+    private String accountHolderName;
     private String failureReason;
+    private String serviceError;
     
     public ThirdPartyValidationResponse() {
     }
@@ -46,6 +48,18 @@ public class ThirdPartyValidationResponse {
         this.accountStatus = accountStatus;
     }
     
+    /**
+     * Name the account is held in, as registered with the account's bank.
+     * Null when the provider did not verify the account.
+     */
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+    
+    public void setAccountHolderName(String accountHolderName) {
+        this.accountHolderName = accountHolderName;
+    }
+    
     public String getFailureReason() {
         return failureReason;
     }
@@ -53,4 +67,16 @@ public class ThirdPartyValidationResponse {
     public void setFailureReason(String failureReason) {
         this.failureReason = failureReason;
     }
+    
+    /**
+     * Set when the service could not evaluate this item of a batch.
+     * The other fields are then meaningless.
+     */
+    public String getServiceError() {
+        return serviceError;
+    }
+    
+    public void setServiceError(String serviceError) {
+        this.serviceError = serviceError;
+    }
 }
@@ -0,0 +1,46 @@
+package com.alok.payment.beneficiaries.service;
+
+/**
+ * Disjoint-set forest over the indices 0..n-1 with union by size and path halving.
+ */
+final class UnionFind {
+    
+    private final int[] parent;
+    private final int[] size;
+    
+    UnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+    
+    int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+    
+    void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+    
+    int sizeOf(int x) {
+        return size[find(x)];
+    }
+}
@@ -0,0 +1,17 @@
+package com.alok.payment.beneficiaries.service;
+
+/**
+ * Priority of a third-party validation call when competing for the provider's rate limit.
+ * Declared highest first: a waiting call is only served once no higher-priority call is queued.
+ */
+public enum ValidationPriority {
+
+    /** Customer-facing creates and updates, synchronous or asynchronous. */
+    INTERACTIVE,
+
+    /** Bulk creates and imports. */
+    BULK,
+
+    /** Background revalidation of stored results. */
+    BACKGROUND
+}
@@ -0,0 +1,208 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import com.alok.payment.beneficiaries.exception.ValidationRateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token-bucket rate limiter shared by every caller of the third-party validation provider,
+ * keeping the combined call rate under the provider's quota.
+ * <p>
+ * Tokens refill continuously at the configured rate up to the burst size, one token per provider
+ * call. Callers wait in a FIFO queue per {@link ValidationPriority} and are served strictly by
+ * priority: a bulk or background call only takes tokens while no interactive call is queued, and
+ * never dips into the interactive reserve, so a burst of customer creates always finds tokens
+ * waiting even when background work has been saturating the quota. Each priority has its own
+ * maximum wait; a call that cannot be served in time is rejected rather than queued indefinitely.
+ * <p>
+ * Queue depth, wait time and rejections are published per priority under
+ * beneficiary.validation.ratelimit.*. A rate of zero or less disables the limiter.
+ */
+@Component
+public class ValidationRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidationRateLimiter.class);
+
+    private final double ratePerNano;
+    private final double burst;
+    private final double interactiveReserve;
+    private final Map<ValidationPriority, Long> maxWaitNanos = new EnumMap<>(ValidationPriority.class);
+    private final Map<ValidationPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(ValidationPriority.class);
+    private final Map<ValidationPriority, Timer> waitTimers = new EnumMap<>(ValidationPriority.class);
+    private final Map<ValidationPriority, Counter> rejections = new EnumMap<>(ValidationPriority.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double tokens;
+    private long refilledAtNanos;
+
+    public ValidationRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${beneficiary.validation.rate-limit.rate-per-second:50}") double ratePerSecond,
+            @Value("${beneficiary.validation.rate-limit.burst:50}") int burst,
+            @Value("${beneficiary.validation.rate-limit.interactive-reserve:15}") int interactiveReserve,
+            @Value("${beneficiary.validation.rate-limit.max-wait-ms.interactive:250}") long interactiveMaxWaitMs,
+            @Value("${beneficiary.validation.rate-limit.max-wait-ms.bulk:10000}") long bulkMaxWaitMs,
+            @Value("${beneficiary.validation.rate-limit.max-wait-ms.background:60000}") long backgroundMaxWaitMs) {
+        if (interactiveReserve >= burst && ratePerSecond > 0) {
+            throw new IllegalArgumentException("Interactive reserve " + interactiveReserve
+                    + " must be below the burst size " + burst);
+        }
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.interactiveReserve = interactiveReserve;
+        this.tokens = burst;
+        this.refilledAtNanos = System.nanoTime();
+        maxWaitNanos.put(ValidationPriority.INTERACTIVE, TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMs));
+        maxWaitNanos.put(ValidationPriority.BULK, TimeUnit.MILLISECONDS.toNanos(bulkMaxWaitMs));
+        maxWaitNanos.put(ValidationPriority.BACKGROUND, TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMs));
+
+        for (ValidationPriority priority : ValidationPriority.values()) {
+            ArrayDeque<Waiter> queue = new ArrayDeque<>();
+            queues.put(priority, queue);
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("beneficiary.validation.ratelimit.queue.depth", this, limiter -> limiter.queueDepth(priority))
+                    .description("Validation calls waiting for a rate limit token")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("beneficiary.validation.ratelimit.wait")
+                    .description("Time validation calls waited for rate limit tokens")
+                    .tag("priority", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+            rejections.put(priority, Counter.builder("beneficiary.validation.ratelimit.rejected")
+                    .description("Validation calls rejected after waiting too long for tokens")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("beneficiary.validation.ratelimit.tokens", this, ValidationRateLimiter::availableTokens)
+                .description("Rate limit tokens currently available")
+                .register(meterRegistry);
+
+        if (ratePerSecond > 0) {
+            log.info("Validation rate limit {} calls/s, burst {}, {} reserved for interactive calls",
+                    ratePerSecond, burst, interactiveReserve);
+        } else {
+            log.info("Validation rate limit is disabled");
+        }
+    }
+
+    /**
+     * Blocks until the given number of provider calls may be made at the given priority.
+     *
+     * @throws ValidationRateLimitExceededException if the tokens were not available within the
+     *         priority's maximum wait
+     * @throws ThirdPartyServiceUnavailableException if the caller was interrupted while waiting
+     */
+    public void acquire(ValidationPriority priority, int permits) {
+        if (ratePerNano <= 0) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + maxWaitNanos.get(priority);
+        ArrayDeque<Waiter> queue = queues.get(priority);
+        Waiter waiter = new Waiter();
+        // A call needing more than the bucket holds waits for a full bucket and then runs into debt
+        double needed = Math.min(permits + floor(priority), burst);
+
+        lock.lock();
+        try {
+            queue.addLast(waiter);
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                boolean next = queue.peekFirst() == waiter && !higherPriorityWaiting(priority);
+                if (next && tokens >= needed) {
+                    tokens -= permits;
+                    queue.pollFirst();
+                    changed.signalAll();
+                    waitTimers.get(priority).record(now - startNanos, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                long remainingNanos = deadlineNanos - now;
+                if (remainingNanos <= 0) {
+                    queue.remove(waiter);
+                    changed.signalAll();
+                    rejections.get(priority).increment();
+                    throw new ValidationRateLimitExceededException("Third-party validation rate limit exceeded: no "
+                            + priority.name().toLowerCase() + " capacity within "
+                            + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get(priority)) + " ms");
+                }
+                long awaitNanos = next
+                        ? Math.min(remainingNanos, (long) Math.ceil((needed - tokens) / ratePerNano))
+                        : remainingNanos;
+                changed.awaitNanos(Math.max(awaitNanos, 1));
+            }
+        } catch (InterruptedException e) {
+            queue.remove(waiter);
+            changed.signalAll();
+            Thread.currentThread().interrupt();
+            throw new ThirdPartyServiceUnavailableException("Interrupted waiting for third-party validation capacity", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of calls currently waiting at the given priority.
+     */
+    public int queueDepth(ValidationPriority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double availableTokens() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double floor(ValidationPriority priority) {
+        return priority == ValidationPriority.INTERACTIVE ? 0 : interactiveReserve;
+    }
+
+    private boolean higherPriorityWaiting(ValidationPriority priority) {
+        for (ValidationPriority higher : ValidationPriority.values()) {
+            if (higher == priority) {
+                return false;
+            }
+            if (!queues.get(higher).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAtNanos) * ratePerNano);
+        refilledAtNanos = now;
+    }
+
+    /**
+     * Queue entry identifying one waiting call.
+     */
+    private static final class Waiter {
+    }
+}
@@ -0,0 +1,69 @@
+package com.alok.payment.beneficiaries.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a third-party validation that is stored with the beneficiary,
+ * so later checks can rely on it while it is fresh instead of calling the provider again.
+ */
+public class ValidationResult {
+    
+    private Double fraudScore;
+    private String accountStatus;
+    private LocalDateTime validatedAt;
+    private String accountHolderName;
+    private String nameMatch;
+    
+    public ValidationResult() {
+    }
+    
+    public ValidationResult(Double fraudScore, String accountStatus, LocalDateTime validatedAt) {
+        this.fraudScore = fraudScore;
+        this.accountStatus = accountStatus;
+        this.validatedAt = validatedAt;
+    }
+    
+    public Double getFraudScore() {
+        return fraudScore;
+    }
+    
+    public void setFraudScore(Double fraudScore) {
+        this.fraudScore = fraudScore;
+    }
+    
+    public String getAccountStatus() {
+        return accountStatus;
+    }
+    
+    public void setAccountStatus(String accountStatus) {
+        this.accountStatus = accountStatus;
+    }
+    
+    public LocalDateTime getValidatedAt() {
+        return validatedAt;
+    }
+    
+    public void setValidatedAt(LocalDateTime validatedAt) {
+        this.validatedAt = validatedAt;
+    }
+    
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+    
+    public void setAccountHolderName(String accountHolderName) {
+        this.accountHolderName = accountHolderName;
+    }
+    
+    /**
+     * Confirmation-of-payee outcome, a {@link NameMatch} name; null when the provider
+     * returned no holder name.
+     */
+    public String getNameMatch() {
+        return nameMatch;
+    }
+    
+    public void setNameMatch(String nameMatch) {
+        this.nameMatch = nameMatch;
+    }
+}
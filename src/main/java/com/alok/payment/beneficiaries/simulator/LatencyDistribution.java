@@ -0,0 +1,68 @@
+package com.alok.payment.beneficiaries.simulator;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Response latency model for the validation provider simulator, described by a floor,
+ * a median and a 99th percentile so that different shapes can be compared like for like.
+ * <ul>
+ *   <li>FIXED: always the median</li>
+ *   <li>UNIFORM: evenly spread between the floor and twice the median minus the floor</li>
+ *   <li>EXPONENTIAL: floor plus an exponential tail with the given median</li>
+ *   <li>LOG_NORMAL: floor plus a log-normal tail fitted to the median and p99, the usual shape of real provider latency</li>
+ * </ul>
+ */
+final class LatencyDistribution {
+
+    enum Shape { FIXED, UNIFORM, EXPONENTIAL, LOG_NORMAL }
+
+    /** Standard normal quantile at 0.99. */
+    private static final double Z_99 = 2.3263478740408408;
+
+    private final Shape shape;
+    private final long minMs;
+    private final long medianMs;
+    private final double mu;
+    private final double sigma;
+
+    LatencyDistribution(Shape shape, long minMs, long medianMs, long p99Ms) {
+        if (minMs < 0 || medianMs < minMs || p99Ms < medianMs) {
+            throw new IllegalArgumentException(
+                    "Latency must satisfy 0 <= min <= median <= p99, got " + minMs + "/" + medianMs + "/" + p99Ms);
+        }
+        this.shape = shape;
+        this.minMs = minMs;
+        this.medianMs = medianMs;
+        long excessMedian = medianMs - minMs;
+        this.mu = excessMedian > 0 ? Math.log(excessMedian) : 0;
+        this.sigma = excessMedian > 0 ? Math.log((double) (p99Ms - minMs) / excessMedian) / Z_99 : 0;
+    }
+
+    static LatencyDistribution of(String shape, long minMs, long medianMs, long p99Ms) {
+        return new LatencyDistribution(Shape.valueOf(shape.trim().toUpperCase(Locale.ROOT).replace('-', '_')),
+                minMs, medianMs, p99Ms);
+    }
+
+    /**
+     * Draws one latency in milliseconds.
+     */
+    long sampleMs(Random random) {
+        long excessMedian = medianMs - minMs;
+        if (shape == Shape.FIXED || excessMedian == 0) {
+            return medianMs;
+        }
+        double excess = switch (shape) {
+            case UNIFORM -> random.nextDouble() * 2 * excessMedian;
+            case EXPONENTIAL -> -Math.log(1 - random.nextDouble()) * excessMedian / Math.log(2);
+            case LOG_NORMAL -> Math.exp(mu + sigma * random.nextGaussian());
+            case FIXED -> 0;
+        };
+        return minMs + Math.round(excess);
+    }
+
+    @Override
+    public String toString() {
+        return shape + "(min=" + minMs + "ms, median=" + medianMs + "ms, sigma=" + String.format(Locale.ROOT, "%.2f", sigma) + ")";
+    }
+}
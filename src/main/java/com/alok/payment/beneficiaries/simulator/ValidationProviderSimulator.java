@@ -0,0 +1,174 @@
+package com.alok.payment.beneficiaries.simulator;
+
+import com.alok.payment.beneficiaries.service.StubThirdPartyValidationClient;
+import com.alok.payment.beneficiaries.service.ThirdPartyValidationRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local HTTP server imitating the third-party validation provider, for load testing and tuning
+ * the create path without the real provider. It serves the endpoints HttpThirdPartyValidationClient
+ * calls, decides outcomes with the same account-number rules as the stub client, and adds a
+ * configurable latency distribution, error rate (HTTP 503) and timeout rate (requests that hang).
+ * <p>
+ * Enabled with beneficiary.validation.simulator.enabled=true; point the HTTP client at it with
+ * beneficiary.validation.provider.type=http and base-url=http://localhost:{port}.
+ */
+@Component
+@ConditionalOnProperty(name = "beneficiary.validation.simulator.enabled", havingValue = "true")
+public class ValidationProviderSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidationProviderSimulator.class);
+
+    private static final TypeReference<List<ThirdPartyValidationRequest>> REQUEST_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final StubThirdPartyValidationClient rules = new StubThirdPartyValidationClient();
+    private final int port;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final long hangMs;
+    private HttpServer server;
+    private ExecutorService handlers;
+
+    public ValidationProviderSimulator(
+            ObjectMapper objectMapper,
+            @Value("${beneficiary.validation.simulator.port:9099}") int port,
+            @Value("${beneficiary.validation.simulator.latency.distribution:LOG_NORMAL}") String distribution,
+            @Value("${beneficiary.validation.simulator.latency.min-ms:20}") long minLatencyMs,
+            @Value("${beneficiary.validation.simulator.latency.median-ms:80}") long medianLatencyMs,
+            @Value("${beneficiary.validation.simulator.latency.p99-ms:400}") long p99LatencyMs,
+            @Value("${beneficiary.validation.simulator.error-rate:0.0}") double errorRate,
+            @Value("${beneficiary.validation.simulator.timeout-rate:0.0}") double timeoutRate,
+            @Value("${beneficiary.validation.simulator.hang-ms:30000}") long hangMs) {
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.latency = LatencyDistribution.of(distribution, minLatencyMs, medianLatencyMs, p99LatencyMs);
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.hangMs = hangMs;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        // Without TCP_NODELAY, Nagle plus delayed ACKs add ~40 ms to every keep-alive response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        // Platform threads: HttpServer's exchange handling synchronizes internally, which would pin virtual threads
+        handlers = Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("provider-simulator-", 0).factory());
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        server.setExecutor(handlers);
+        server.createContext("/v1/validations/batch", exchange -> handle(exchange,
+                body -> rules.validateBeneficiaries(objectMapper.readValue(body, REQUEST_LIST))));
+        server.createContext("/v1/validations", exchange -> handle(exchange, body -> {
+            ThirdPartyValidationRequest request = objectMapper.readValue(body, ThirdPartyValidationRequest.class);
+            return rules.validateBeneficiary(request.getAccountNumber(), request.getBankCode(),
+                    request.getBeneficiaryName(), request.getBeneficiaryType());
+        }));
+        server.createContext("/v1/accounts/verify", exchange -> handle(exchange, body -> {
+            ThirdPartyValidationRequest request = objectMapper.readValue(body, ThirdPartyValidationRequest.class);
+            return rules.checkAccount(request.getAccountNumber(), request.getBankCode(), request.getBeneficiaryName());
+        }));
+        server.createContext("/v1/fraud/score", exchange -> handle(exchange, body -> {
+            ThirdPartyValidationRequest request = objectMapper.readValue(body, ThirdPartyValidationRequest.class);
+            return rules.screenFraud(request.getAccountNumber(), request.getBeneficiaryName(), request.getBeneficiaryType());
+        }));
+        server.createContext("/v1/sanctions/screen", exchange -> handle(exchange, body -> {
+            ThirdPartyValidationRequest request = objectMapper.readValue(body, ThirdPartyValidationRequest.class);
+            return rules.screenSanctions(request.getAccountNumber(), request.getBeneficiaryName());
+        }));
+        server.start();
+        log.info("Validation provider simulator listening on port {} with latency {}, error rate {}, timeout rate {}",
+                getPort(), latency, errorRate, timeoutRate);
+    }
+
+    /**
+     * The port actually bound, which differs from the configured one when that is 0.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange, RequestHandler handler) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, Map.of("error", "Method not allowed"));
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < timeoutRate) {
+                Thread.sleep(hangMs);
+                respond(exchange, 504, Map.of("error", "Provider timed out (simulated)"));
+                return;
+            }
+            Thread.sleep(latency.sampleMs(random));
+            if (roll < timeoutRate + errorRate) {
+                respond(exchange, 503, Map.of("error", "Provider unavailable (simulated)"));
+                return;
+            }
+
+            Object response;
+            try {
+                response = handler.handle(body);
+            } catch (RuntimeException e) {
+                respond(exchange, 503, Map.of("error", String.valueOf(e.getMessage())));
+                return;
+            }
+            respond(exchange, 200, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (handlers != null) {
+            handlers.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+        Object handle(byte[] body) throws IOException;
+    }
+}
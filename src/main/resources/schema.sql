@@ -9,10 +9,115 @@ CREATE TABLE IF NOT EXISTS beneficiaries (
     beneficiary_type VARCHAR(20) NOT NULL DEFAULT 'DOMESTIC',
     status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT uk_customer_beneficiary_account UNIQUE (customer_id, beneficiary_account_number, status)
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE INDEX IF NOT EXISTS idx_beneficiaries_customer_id ON beneficiaries(customer_id);
 CREATE INDEX IF NOT EXISTS idx_beneficiaries_customer_account ON beneficiaries(customer_id, account_number);
 CREATE INDEX IF NOT EXISTS idx_beneficiaries_status ON beneficiaries(status);
+
+-- Duplicate clusters are maintained incrementally; every member points directly at its cluster root id
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS duplicate_cluster_id BIGINT;
+CREATE INDEX IF NOT EXISTS idx_beneficiaries_customer_cluster ON beneficiaries(customer_id, duplicate_cluster_id)
+    WHERE duplicate_cluster_id IS NOT NULL;
+
+-- Reason recorded when asynchronous validation moves a PENDING_VALIDATION beneficiary to REJECTED
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS validation_failure_reason VARCHAR(500);
+
+-- Set by the bulk sanctions rescreening job when an ACTIVE beneficiary matches the sanctions list
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS sanctions_match VARCHAR(500);
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS sanctions_flagged_at TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_beneficiaries_sanctions_flagged ON beneficiaries(sanctions_flagged_at)
+    WHERE sanctions_flagged_at IS NOT NULL;
+
+-- Progress of bulk sanctions rescreening jobs; last_beneficiary_id is the resume checkpoint
+CREATE TABLE IF NOT EXISTS sanctions_rescreen_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_beneficiary_id BIGINT NOT NULL DEFAULT 0,
+    scanned_count BIGINT NOT NULL DEFAULT 0,
+    flagged_count BIGINT NOT NULL DEFAULT 0,
+    failure_reason VARCHAR(500),
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- ISO 3166 alpha-2 country of the beneficiary's bank; selects the per-country account format rules
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS beneficiary_country VARCHAR(2);
+
+-- Outcome of the last third-party validation; refreshed by the background revalidation scheduler
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS validation_fraud_score DOUBLE PRECISION;
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS validation_account_status VARCHAR(20);
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS validated_at TIMESTAMP;
+
+-- Confirmation of payee: the account holder name returned by the provider and how the entered name matched it
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS account_holder_name VARCHAR(140);
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS name_match VARCHAR(20);
+
+-- Local fraud pre-screening counts the other customers paying the same account
+CREATE INDEX IF NOT EXISTS idx_beneficiaries_beneficiary_account ON beneficiaries(beneficiary_account_number);
+
+-- Audit trail of beneficiary creates, updates and deletes, written in batches by BeneficiaryAuditService.
+-- Range-partitioned by month; AuditPartitionService creates upcoming partitions and detaches expired ones.
+-- The default partition only catches events outside the created months.
+CREATE TABLE IF NOT EXISTS beneficiary_audit_events (
+    id BIGSERIAL,
+    operation VARCHAR(20) NOT NULL,
+    customer_id VARCHAR(50),
+    beneficiary_id BIGINT,
+    account_number VARCHAR(50),
+    changes TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+CREATE TABLE IF NOT EXISTS beneficiary_audit_events_default PARTITION OF beneficiary_audit_events DEFAULT;
+CREATE INDEX IF NOT EXISTS idx_beneficiary_audit_events_beneficiary ON beneficiary_audit_events(beneficiary_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_beneficiary_audit_events_customer ON beneficiary_audit_events(customer_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_beneficiary_audit_events_occurred_at ON beneficiary_audit_events USING BRIN (occurred_at);
+
+-- Transactional outbox: change events written with each create, update and delete, relayed to Redis Streams
+CREATE TABLE IF NOT EXISTS beneficiary_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(30) NOT NULL,
+    beneficiary_id BIGINT NOT NULL,
+    customer_id VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Version history: a full snapshot of the beneficiary after every change, for as-of reads
+CREATE TABLE IF NOT EXISTS beneficiary_versions (
+    id BIGSERIAL PRIMARY KEY,
+    beneficiary_id BIGINT NOT NULL,
+    operation VARCHAR(20) NOT NULL,
+    customer_id VARCHAR(50) NOT NULL,
+    account_number VARCHAR(50),
+    beneficiary_name VARCHAR(255) NOT NULL,
+    beneficiary_account_number VARCHAR(50) NOT NULL,
+    beneficiary_bank_code VARCHAR(20) NOT NULL,
+    beneficiary_bank_name VARCHAR(255),
+    beneficiary_type VARCHAR(20) NOT NULL,
+    beneficiary_country VARCHAR(2),
+    status VARCHAR(20) NOT NULL,
+    account_holder_name VARCHAR(140),
+    name_match VARCHAR(20),
+    created_at TIMESTAMP NOT NULL,
+    valid_from TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_beneficiary_versions_beneficiary_valid_from ON beneficiary_versions(beneficiary_id, valid_from);
+
+-- Optimistic concurrency: bumped by every change a client can see, exposed as the ETag
+ALTER TABLE beneficiaries ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- At most one live beneficiary per customer and account; creates and updates rely on this instead of a pre-check
+CREATE UNIQUE INDEX IF NOT EXISTS uk_beneficiaries_customer_account_live
+    ON beneficiaries(customer_id, beneficiary_account_number)
+    WHERE status IN ('ACTIVE', 'PENDING_VALIDATION');
+
+-- Superseded by uk_beneficiaries_customer_account_live; including status made a second soft delete of the same account fail
+ALTER TABLE beneficiaries DROP CONSTRAINT IF EXISTS uk_customer_beneficiary_account;
+
+-- Lets the sweep of lost asynchronous validations find pending beneficiaries without scanning the table
+CREATE INDEX IF NOT EXISTS idx_beneficiaries_pending_validation ON beneficiaries(id)
+    WHERE status = 'PENDING_VALIDATION';
@@ -54,15 +54,17 @@ public class AnalyticsSteps {
                     "/api/v1/beneficiaries/duplicates?customerId=" + customerId;
         
         try {
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
+                    new ParameterizedTypeReference<Map<String, Object>>() {}
             );
             testContext.setLastResponse(response);
             if (response.getBody() != null) {
-                testContext.setDuplicatesData(response.getBody());
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().get("content");
+                testContext.setDuplicatesData(content);
             }
         } catch (Exception e) {
             testContext.setLastException(e);
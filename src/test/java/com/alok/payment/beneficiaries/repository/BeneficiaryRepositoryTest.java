@@ -17,6 +17,7 @@ import org.testcontainers.utility.DockerImageName;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -160,6 +161,74 @@ class BeneficiaryRepositoryTest {
         assertThat(activeBeneficiaries).isEmpty();
     }
 
+    @Test
+    @DisplayName("updateIfVersionMatches should bump the version and return the previous row")
+    void testUpdateIfVersionMatches() {
+        // Given: An active beneficiary at version 0
+        Beneficiary saved = beneficiaryRepository.save(
+                createBeneficiary("CUST_VERSION", "ACC001", "Old Name", "333333", "ACTIVE"));
+        
+        // When: Update with the current version
+        Optional<BeneficiaryUpdate> update = beneficiaryRepository.updateIfVersionMatches(saved.getId(),
+                "CUST_VERSION", "ACC001", "New Name", "333333", "BANK001", "Test Bank", null, null,
+                LocalDateTime.now(), 0L);
+        
+        // Then: The previous and updated rows are returned and the version advances
+        assertThat(update).isPresent();
+        assertThat(update.get().getPrevious().getBeneficiaryName()).isEqualTo("Old Name");
+        assertThat(update.get().getPrevious().getVersion()).isZero();
+        assertThat(update.get().getUpdated().getBeneficiaryName()).isEqualTo("New Name");
+        assertThat(update.get().getUpdated().getBeneficiaryType()).isEqualTo("DOMESTIC");
+        assertThat(update.get().getUpdated().getVersion()).isEqualTo(1L);
+        
+        // And: A second update with the stale version changes nothing
+        assertThat(beneficiaryRepository.updateIfVersionMatches(saved.getId(), "CUST_VERSION", "ACC001",
+                "Other Name", "333333", "BANK001", "Test Bank", null, null, LocalDateTime.now(), 0L)).isEmpty();
+        assertThat(beneficiaryRepository.findById(saved.getId()))
+                .hasValueSatisfying(b -> assertThat(b.getBeneficiaryName()).isEqualTo("New Name"));
+    }
+
+    @Test
+    @DisplayName("insertIfAbsent should skip a live duplicate but allow repeated deleted rows")
+    void testInsertIfAbsent() {
+        // Given: The same account deleted twice
+        String customerId = "CUST_INSERT";
+        beneficiaryRepository.save(createBeneficiary(customerId, "ACC001", "Deleted 1", "444444", "DELETED"));
+        beneficiaryRepository.save(createBeneficiary(customerId, "ACC001", "Deleted 2", "444444", "DELETED"));
+        
+        // When: Insert it as a live beneficiary, then insert it again
+        Optional<Beneficiary> first = beneficiaryRepository.insertIfAbsent(
+                createBeneficiary(customerId, "ACC001", "Live", "444444", "ACTIVE"));
+        Optional<Beneficiary> second = beneficiaryRepository.insertIfAbsent(
+                createBeneficiary(customerId, "ACC001", "Live Again", "444444", "PENDING_VALIDATION"));
+        
+        // Then: Only the first insert returns a row
+        assertThat(first).hasValueSatisfying(b -> {
+            assertThat(b.getId()).isNotNull();
+            assertThat(b.getBeneficiaryName()).isEqualTo("Live");
+        });
+        assertThat(second).isEmpty();
+        assertThat(beneficiaryRepository.findAllByCustomerId(customerId)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("softDeleteByIdAndCustomerId should not delete an already deleted beneficiary")
+    void testSoftDeleteOnlyOnce() {
+        // Given: An active beneficiary
+        Beneficiary saved = beneficiaryRepository.save(
+                createBeneficiary("CUST_SOFT_DELETE", "ACC001", "Delete Me", "555555", "ACTIVE"));
+        
+        // When: Delete it twice
+        int first = beneficiaryRepository.softDeleteByIdAndCustomerId(saved.getId(), "CUST_SOFT_DELETE");
+        int second = beneficiaryRepository.softDeleteByIdAndCustomerId(saved.getId(), "CUST_SOFT_DELETE");
+        
+        // Then: Only the first delete changes the row
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(beneficiaryRepository.findById(saved.getId()))
+                .hasValueSatisfying(b -> assertThat(b.getVersion()).isEqualTo(saved.getVersion() + 1));
+    }
+
     private Beneficiary createBeneficiary(String customerId, String accountNumber, 
                                          String name, String beneficiaryAccountNumber, 
                                          String status) {
@@ -0,0 +1,130 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AccountFormatRules Tests")
+class AccountFormatRulesTest {
+
+    @Test
+    @DisplayName("Should keep the generic rules when no country is given")
+    void shouldApplyGenericRulesWithoutCountry() {
+        assertThat(AccountFormatRules.validate("DOMESTIC", null, "12345678", "BANK001")).isNull();
+        assertThat(AccountFormatRules.validate("DOMESTIC", null, "1234567", "BANK001"))
+                .isEqualTo("Invalid account number format. Must be 8-20 digits.");
+        assertThat(AccountFormatRules.validate("DOMESTIC", null, "12345678", "bank001"))
+                .isEqualTo("Invalid bank code format. Must be 6-11 alphanumeric characters.");
+        assertThat(AccountFormatRules.validate(null, null, "12345678", "BANK"))
+                .isEqualTo("Invalid bank code format. Must be 6-11 alphanumeric characters.");
+    }
+
+    @Test
+    @DisplayName("Should give every accepted spelling of an account one canonical form")
+    void shouldCanonicalizeAccountsAndBankCodes() {
+        assertThat(AccountFormatRules.canonical("GB82 WEST 1234 5698 7654 32")).isEqualTo("GB82WEST12345698765432");
+        assertThat(AccountFormatRules.canonical("gb82west12345698765432")).isEqualTo("GB82WEST12345698765432");
+        assertThat(AccountFormatRules.canonical("40-47-84")).isEqualTo("404784");
+        assertThat(AccountFormatRules.canonical("westgb22")).isEqualTo("WESTGB22");
+        assertThat(AccountFormatRules.canonical(null)).isNull();
+
+        String canonical = "DE89370400440532013000";
+        assertThat(AccountFormatRules.canonical(canonical)).isSameAs(canonical);
+    }
+
+    @Test
+    @DisplayName("Should accept valid IBANs with or without spaces")
+    void shouldAcceptValidIbans() {
+        assertThat(AccountFormatRules.validateIban("GB82WEST12345698765432", -1)).isNull();
+        assertThat(AccountFormatRules.validateIban("DE89 3704 0044 0532 0130 00", -1)).isNull();
+        assertThat(AccountFormatRules.validateIban("fr1420041010050500013m02606", -1)).isNull();
+        assertThat(AccountFormatRules.validateIban("NL91ABNA0417164300", -1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject IBANs with a bad checksum, length, country or format")
+    void shouldRejectInvalidIbans() {
+        assertThat(AccountFormatRules.validateIban("GB82WEST12345698765433", -1)).isEqualTo("Invalid IBAN checksum.");
+        assertThat(AccountFormatRules.validateIban("GB82WEST1234569876543", -1)).contains("Must be 22 characters");
+        assertThat(AccountFormatRules.validateIban("ZZ82WEST12345698765432", -1)).contains("not supported");
+        assertThat(AccountFormatRules.validateIban("GB8XWEST12345698765432", -1)).isEqualTo("Invalid IBAN format.");
+        assertThat(AccountFormatRules.validateIban("GB82-WEST-1234", -1)).isEqualTo("Invalid IBAN format.");
+    }
+
+    @Test
+    @DisplayName("Should recognise an IBAN even when no country is given")
+    void shouldAcceptIbanWithoutCountry() {
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", null, "DE89370400440532013000", "DEUTDEFF")).isNull();
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", null, "DE89370400440532013001", "DEUTDEFF"))
+                .isEqualTo("Invalid IBAN checksum.");
+    }
+
+    @Test
+    @DisplayName("Should require an IBAN and matching BIC for international payments to IBAN countries")
+    void shouldValidateInternationalIbanCountry() {
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "FR", "FR1420041010050500013M02606", "BNPAFRPPXXX")).isNull();
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "FR", "12345678", "BNPAFRPPXXX"))
+                .isEqualTo("Invalid IBAN format.");
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "FR", "DE89370400440532013000", "BNPAFRPP"))
+                .isEqualTo("IBAN country does not match beneficiary country.");
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "FR", "FR1420041010050500013M02606", "DEUTDEFF"))
+                .isEqualTo("BIC country does not match beneficiary country.");
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "FR", "FR1420041010050500013M02606", "BNPAFRP"))
+                .isEqualTo("Invalid BIC format. Must be 8 or 11 characters.");
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "FR", "FR1420041010050500013M02606", "BNP1FRPP"))
+                .isEqualTo("Invalid BIC format.");
+    }
+
+    @Test
+    @DisplayName("Should use domestic account rules and a BIC for international payments to non-IBAN countries")
+    void shouldValidateInternationalNonIbanCountry() {
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "US", "123456789012", "CHASUS33")).isNull();
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "US", "123", "CHASUS33"))
+                .isEqualTo("Invalid account number format. Must be 4-17 digits.");
+        assertThat(AccountFormatRules.validate("INTERNATIONAL", "US", "123456789012", "021000021"))
+                .isEqualTo("Invalid BIC format. Must be 8 or 11 characters.");
+    }
+
+    @Test
+    @DisplayName("Should validate UK sort codes and account numbers")
+    void shouldValidateUkDomestic() {
+        assertThat(AccountFormatRules.validate("DOMESTIC", "GB", "12345678", "40-47-84")).isNull();
+        assertThat(AccountFormatRules.validate("DOMESTIC", "GB", "1234567", "404784"))
+                .isEqualTo("Invalid account number format. Must be 8 digits.");
+        assertThat(AccountFormatRules.validate("DOMESTIC", "GB", "12345678", "4047841"))
+                .isEqualTo("Invalid sort code.");
+        assertThat(AccountFormatRules.validate("DOMESTIC", "GB", "GB82WEST12345698765432", "WESTGB22")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should validate US routing number checksums")
+    void shouldValidateUsRoutingNumbers() {
+        assertThat(AccountFormatRules.validate("DOMESTIC", "US", "000123456789", "021000021")).isNull();
+        assertThat(AccountFormatRules.validate("DOMESTIC", "US", "000123456789", "011000015")).isNull();
+        assertThat(AccountFormatRules.validate("DOMESTIC", "US", "000123456789", "021000022"))
+                .isEqualTo("Invalid routing number.");
+        assertThat(AccountFormatRules.validate("DOMESTIC", "US", "000123456789", "02100002"))
+                .isEqualTo("Invalid routing number.");
+    }
+
+    @Test
+    @DisplayName("Should validate Indian IFSC codes")
+    void shouldValidateIfsc() {
+        assertThat(AccountFormatRules.validate("DOMESTIC", "IN", "123456789012", "SBIN0001234")).isNull();
+        assertThat(AccountFormatRules.validate("DOMESTIC", "IN", "123456789012", "SBIN1001234"))
+                .isEqualTo("Invalid IFSC code.");
+        assertThat(AccountFormatRules.validate("DOMESTIC", "IN", "123456789012", "SB1N0001234"))
+                .isEqualTo("Invalid IFSC code.");
+    }
+
+    @Test
+    @DisplayName("Should fall back to generic rules for countries without a domestic rule")
+    void shouldFallBackForUnknownCountry() {
+        assertThat(AccountFormatRules.validate("DOMESTIC", "JP", "12345678", "BANK001")).isNull();
+        assertThat(AccountFormatRules.validate("DOMESTIC", "JP", "1234", "BANK001"))
+                .isEqualTo("Invalid account number format. Must be 8-20 digits.");
+        assertThat(AccountFormatRules.validate("DOMESTIC", "gb", "12345678", "404784"))
+                .isEqualTo("Invalid beneficiary country. Must be an ISO 3166 alpha-2 code.");
+    }
+}
@@ -0,0 +1,101 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AuditLogWriter Tests")
+class AuditLogWriterTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should roll segments by size and replay records in order with filters")
+    void shouldRollBySizeAndReplayWithFilters() throws IOException {
+        // Given: segments that hold only a few records each
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 256, Duration.ofHours(1))) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(record(i % 2 == 0 ? "CUST001" : "CUST002", i, T0.plusSeconds(i)));
+            }
+        }
+
+        // When
+        List<AuditLogRecord> all = AuditLogReader.read(directory, null, null, null);
+        List<AuditLogRecord> filtered = AuditLogReader.read(directory, "CUST001", T0.plusSeconds(2), T0.plusSeconds(8));
+
+        // Then
+        assertThat(segments()).hasSizeGreaterThan(2);
+        assertThat(all).extracting(AuditLogRecord::getBeneficiaryId).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(filtered).extracting(AuditLogRecord::getBeneficiaryId).containsExactly(2L, 4L, 6L);
+        assertThat(all.get(0).getOccurredAt()).isEqualTo(T0);
+        assertThat(all.get(0).getAccountNumber()).isNull();
+        assertThat(all.get(1).getChanges()).isEqualTo("{\"beneficiaryName\":\"Zoë\"}");
+    }
+
+    @Test
+    @DisplayName("Should roll to a new segment once the roll interval has passed")
+    void shouldRollByTime() throws IOException {
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 1024 * 1024, Duration.ZERO)) {
+            writer.append(record("CUST001", 1, T0));
+            writer.append(record("CUST001", 2, T0));
+        }
+
+        assertThat(segments()).hasSize(2);
+        assertThat(AuditLogReader.read(directory, null, null, null)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should stop a segment at a corrupt record and continue with the next segment after a restart")
+    void shouldSkipCorruptTail() throws IOException {
+        // Given: two records, the second damaged, then a restart that writes a third
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 4096, Duration.ofHours(1))) {
+            writer.append(record("CUST001", 1, T0));
+            writer.append(record("CUST001", 2, T0));
+        }
+        Path first = segments().get(0);
+        try (FileChannel channel = FileChannel.open(first, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer lengthBytes = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(lengthBytes, AuditLogWriter.SEGMENT_HEADER_SIZE);
+            long second = AuditLogWriter.SEGMENT_HEADER_SIZE + AuditLogWriter.RECORD_HEADER_SIZE + lengthBytes.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), second + AuditLogWriter.RECORD_HEADER_SIZE + 3);
+        }
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 4096, Duration.ofHours(1))) {
+            writer.append(record("CUST001", 3, T0));
+        }
+
+        // When
+        List<AuditLogRecord> records = AuditLogReader.read(directory, null, null, null);
+
+        // Then
+        assertThat(segments()).hasSize(2);
+        assertThat(records).extracting(AuditLogRecord::getBeneficiaryId).containsExactly(1L, 3L);
+    }
+
+    private AuditLogRecord record(String customerId, long beneficiaryId, Instant occurredAt) {
+        String account = beneficiaryId == 0 ? null : "1234567" + beneficiaryId;
+        return new AuditLogRecord("UPDATE", customerId, beneficiaryId, account,
+                "{\"beneficiaryName\":\"Zoë\"}", occurredAt);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditLogWriter::isSegment).sorted().toList();
+        }
+    }
+}
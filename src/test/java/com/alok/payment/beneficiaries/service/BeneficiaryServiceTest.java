@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -29,11 +30,30 @@ class BeneficiaryServiceTest {
     @Mock
     private BeneficiaryValidationService validationService;
 
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+
+    @Mock
+    private AsyncBeneficiaryValidationService asyncValidationService;
+
+    @Mock
+    private BeneficiaryAuditService auditService;
+
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+
+    @Mock
+    private BeneficiaryVersionService versionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private BeneficiaryService beneficiaryService;
 
     @BeforeEach
     void setUp() {
-        beneficiaryService = new BeneficiaryService(beneficiaryRepository, validationService);
+        beneficiaryService = new BeneficiaryService(beneficiaryRepository, validationService, duplicateClusterService,
+                asyncValidationService, auditService, outboxService, versionService, transactionManager);
     }
 
     @Test
@@ -0,0 +1,66 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CsvReader Tests")
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should read plain records, skipping blank lines and handling CRLF")
+    void shouldReadPlainRecords() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b,c\r\n\r\n1,,3\n"));
+
+        assertThat(csv.next()).containsExactly("a", "b", "c");
+        assertThat(csv.recordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("1", "", "3");
+        assertThat(csv.recordLine()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read quoted fields with separators, doubled quotes and line breaks")
+    void shouldReadQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"Doe, John\",\"say \"\"hi\"\"\",\"two\nlines\"\nlast,\"\""));
+
+        assertThat(csv.next()).containsExactly("Doe, John", "say \"hi\"", "two\nlines");
+        assertThat(csv.next()).containsExactly("last", "");
+        assertThat(csv.recordLine()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an unterminated quoted field")
+    void shouldRejectUnterminatedQuote() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("ok\n\"never closed,\n"));
+
+        assertThat(csv.next()).containsExactly("ok");
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    @DisplayName("Should read a large input record by record")
+    void shouldReadLargeInputIncrementally() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append("CUST").append(i).append(",BEN").append(i).append('\n');
+        }
+        CsvReader csv = new CsvReader(new StringReader(input.toString()));
+
+        int records = 0;
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            assertThat(record).containsExactly("CUST" + records, "BEN" + records);
+            records++;
+        }
+        assertThat(records).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,65 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of confirmation-of-payee matching per create, which must stay under 50 µs.
+ * {@code match} includes normalizing both names, as on the create path; {@code matchNormalized}
+ * isolates the scoring. Not run by the test suite; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.alok.payment.beneficiaries.service.NameMatcherBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameMatcherBenchmark {
+
+    @Param({"John Smith|JOHN SMITH", "Jon Smith|John Michael Smith", "Mrs. Mary-Jane Watson|Northwind Trading Ltd"})
+    private String pair;
+
+    private String entered;
+    private String holder;
+    private NameMatcher.Normalized normalizedEntered;
+    private NameMatcher.Normalized normalizedHolder;
+
+    @Setup
+    public void setUp() {
+        String[] names = pair.split("\\|");
+        entered = names[0];
+        holder = names[1];
+        normalizedEntered = NameMatcher.normalize(entered);
+        normalizedHolder = NameMatcher.normalize(holder);
+    }
+
+    @Benchmark
+    public NameMatch match() {
+        return NameMatcher.match(entered, holder);
+    }
+
+    @Benchmark
+    public NameMatch matchNormalized() {
+        return NameMatcher.match(normalizedEntered, normalizedHolder);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NameMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
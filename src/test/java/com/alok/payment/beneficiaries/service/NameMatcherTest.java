@@ -0,0 +1,50 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NameMatcher Tests")
+class NameMatcherTest {
+
+    @Test
+    @DisplayName("Should match names differing only in case, accents, punctuation, titles or word order")
+    void shouldMatchEquivalentNames() {
+        assertThat(NameMatcher.match("John Smith", "JOHN SMITH")).isEqualTo(NameMatch.MATCH);
+        assertThat(NameMatcher.match("Mr. John Smith", "Smith, John")).isEqualTo(NameMatch.MATCH);
+        assertThat(NameMatcher.match("José Álvarez", "Jose Alvarez")).isEqualTo(NameMatch.MATCH);
+        assertThat(NameMatcher.match("Acme Trading Limited", "ACME TRADING LTD")).isEqualTo(NameMatch.MATCH);
+        assertThat(NameMatcher.match("Mary-Jane Watson", "Mary Jane Watson")).isEqualTo(NameMatch.MATCH);
+    }
+
+    @Test
+    @DisplayName("Should report typos, initials and missing middle names as a close match")
+    void shouldReportCloseMatches() {
+        assertThat(NameMatcher.match("Jon Smith", "John Smith")).isEqualTo(NameMatch.CLOSE_MATCH);
+        assertThat(NameMatcher.match("J Smith", "John Smith")).isEqualTo(NameMatch.CLOSE_MATCH);
+        assertThat(NameMatcher.match("John Smith", "John Michael Smith")).isEqualTo(NameMatch.CLOSE_MATCH);
+        assertThat(NameMatcher.match("Jonh Smtih", "John Smith")).isEqualTo(NameMatch.CLOSE_MATCH);
+        assertThat(NameMatcher.match("Mac Donald Farms", "MacDonald Farms")).isEqualTo(NameMatch.MATCH);
+    }
+
+    @Test
+    @DisplayName("Should not match a different payee")
+    void shouldRejectDifferentNames() {
+        assertThat(NameMatcher.match("Jane Smith", "John Smith")).isEqualTo(NameMatch.NO_MATCH);
+        assertThat(NameMatcher.match("John Smith", "Northwind Trading Ltd")).isEqualTo(NameMatch.NO_MATCH);
+        assertThat(NameMatcher.match("Robert Brown", "Richard Brown")).isEqualTo(NameMatch.NO_MATCH);
+        assertThat(NameMatcher.match("Mr", "John Smith")).isEqualTo(NameMatch.NO_MATCH);
+        assertThat(NameMatcher.match(null, "John Smith")).isEqualTo(NameMatch.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("Should compute Jaro-Winkler similarity")
+    void shouldComputeJaroWinkler() {
+        assertThat(NameMatcher.jaroWinkler("martha", "marhta")).isCloseTo(0.961, within(0.001));
+        assertThat(NameMatcher.jaroWinkler("dwayne", "duane")).isCloseTo(0.84, within(0.001));
+        assertThat(NameMatcher.jaroWinkler("dixon", "dicksonx")).isCloseTo(0.813, within(0.001));
+        assertThat(NameMatcher.jaroWinkler("abc", "xyz")).isZero();
+        assertThat(NameMatcher.jaroWinkler("same", "same")).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ParallelChecks Tests")
+class ParallelChecksTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should take as long as the slowest check rather than the sum")
+    void shouldRunChecksConcurrently() {
+        // Given
+        AtomicInteger completed = new AtomicInteger();
+        Runnable check = () -> {
+            sleep(300);
+            completed.incrementAndGet();
+        };
+
+        // When
+        long start = System.nanoTime();
+        ParallelChecks.runAll(executor, List.of(check, check, check));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(completed.get()).isEqualTo(3);
+        assertThat(elapsedMs).isLessThan(800);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the first failure and cancel checks still running")
+    void shouldShortCircuitOnFirstFailure() throws InterruptedException {
+        // Given
+        CountDownLatch slowCheckInterrupted = new CountDownLatch(1);
+        AtomicBoolean slowCheckFinished = new AtomicBoolean();
+        Runnable slowCheck = () -> {
+            try {
+                Thread.sleep(5000);
+                slowCheckFinished.set(true);
+            } catch (InterruptedException e) {
+                slowCheckInterrupted.countDown();
+            }
+        };
+        Runnable sanctionsHit = () -> {
+            throw new BeneficiaryValidationException("Beneficiary is on sanctions list and cannot be added.");
+        };
+
+        // When / Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> ParallelChecks.runAll(executor, List.of(slowCheck, sanctionsHit)))
+                .isInstanceOf(BeneficiaryValidationException.class)
+                .hasMessageContaining("sanctions");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(slowCheckInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowCheckFinished).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should complete without error when every check passes")
+    void shouldPassWhenAllChecksPass() {
+        // Given
+        AtomicInteger completed = new AtomicInteger();
+
+        // When
+        ParallelChecks.runAll(executor, List.of(completed::incrementAndGet, completed::incrementAndGet));
+
+        // Then
+        assertThat(completed.get()).isEqualTo(2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
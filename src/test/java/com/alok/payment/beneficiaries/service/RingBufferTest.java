@@ -0,0 +1,86 @@
+package com.alok.payment.beneficiaries.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RingBuffer Tests")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two and reject offers when full")
+    void shouldRejectWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drain in order, up to the limit, and reuse slots across laps")
+    void shouldDrainInOrderAcrossLaps() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                buffer.offer(lap * 4 + i);
+            }
+            assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+            assertThat(buffer.drainTo(drained, 10)).isEqualTo(1);
+        }
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drainTo(drained, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver every element from concurrent producers exactly once")
+    void shouldDeliverConcurrentOffersExactlyOnce() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (drained.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (buffer.drainTo(drained, 32) == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        executor.shutdownNow();
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        Set<Integer> unique = new HashSet<>(drained);
+        assertThat(drained).hasSize(producers * perProducer);
+        assertThat(unique).hasSize(producers * perProducer);
+    }
+}
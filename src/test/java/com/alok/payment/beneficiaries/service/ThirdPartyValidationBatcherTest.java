@@ -0,0 +1,167 @@
+package com.alok.payment.beneficiaries.service;
+
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ThirdPartyValidationBatcher Tests")
+class ThirdPartyValidationBatcherTest {
+
+    private final RecordingClient client = new RecordingClient();
+    private ThirdPartyValidationBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send queued validations as one batch once max size is reached")
+    void shouldBatchUpToMaxSize() {
+        // Given
+        batcher = new ThirdPartyValidationBatcher(client, 3, Duration.ofSeconds(5));
+
+        // When
+        List<CompletableFuture<ThirdPartyValidationResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(batcher.submit(request("12345678" + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(2, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(client.batchSizes).containsExactly(3);
+        assertThat(futures).allSatisfy(f -> assertThat(f.join().isValid()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Should send a partial batch once max wait elapses")
+    void shouldFlushPartialBatchAfterMaxWait() {
+        // Given
+        batcher = new ThirdPartyValidationBatcher(client, 50, Duration.ofMillis(20));
+
+        // When
+        ThirdPartyValidationResponse response = batcher.submit(request("123456789"))
+                .orTimeout(2, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(response.isValid()).isTrue();
+        assertThat(client.batchSizes).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should route each response back to its own caller")
+    void shouldRouteResponsesToCallers() {
+        // Given
+        batcher = new ThirdPartyValidationBatcher(client, 2, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<ThirdPartyValidationResponse> valid = batcher.submit(request("123456789"));
+        CompletableFuture<ThirdPartyValidationResponse> sanctioned = batcher.submit(request("999456789"));
+
+        // Then
+        assertThat(valid.orTimeout(2, TimeUnit.SECONDS).join().isSanctioned()).isFalse();
+        assertThat(sanctioned.orTimeout(2, TimeUnit.SECONDS).join().isSanctioned()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail only the item the service could not evaluate")
+    void shouldFailOnlyErroredItem() {
+        // Given
+        batcher = new ThirdPartyValidationBatcher(client, 2, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<ThirdPartyValidationResponse> valid = batcher.submit(request("123456789"));
+        CompletableFuture<ThirdPartyValidationResponse> errored = batcher.submit(request("666456789"));
+
+        // Then
+        assertThat(valid.orTimeout(2, TimeUnit.SECONDS).join().isValid()).isTrue();
+        assertThatThrownBy(() -> errored.orTimeout(2, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(RuntimeException.class)
+                .hasRootCauseMessage("Third-party service temporarily unavailable");
+    }
+
+    @Test
+    @DisplayName("Should take one guard permit per batch rather than per caller")
+    void shouldGuardEachBatchAsOneCall() {
+        // Given: a bulkhead of one, smaller than the batch
+        ThirdPartyValidationGuard guard = new ThirdPartyValidationGuard(new SimpleMeterRegistry(), 2000, 1, 50, 20, 10, 30000);
+        batcher = new ThirdPartyValidationBatcher(
+                requests -> guard.call(() -> client.validateBeneficiaries(requests)), 3, Duration.ofSeconds(5));
+
+        // When
+        List<CompletableFuture<ThirdPartyValidationResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(batcher.submit(request("12345678" + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(2, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(client.batchSizes).containsExactly(3);
+        guard.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of a batch that exceeds the guard timeout")
+    void shouldFailBatchOnGuardTimeout() {
+        // Given
+        ThirdPartyValidationGuard guard = new ThirdPartyValidationGuard(new SimpleMeterRegistry(), 50, 1, 50, 20, 10, 30000);
+        batcher = new ThirdPartyValidationBatcher(requests -> guard.call(() -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return client.validateBeneficiaries(requests);
+        }), 2, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<ThirdPartyValidationResponse> first = batcher.submit(request("123456789"));
+        CompletableFuture<ThirdPartyValidationResponse> second = batcher.submit(request("223456789"));
+
+        // Then
+        assertThatThrownBy(() -> first.orTimeout(2, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(ThirdPartyServiceUnavailableException.class);
+        assertThatThrownBy(() -> second.orTimeout(2, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(ThirdPartyServiceUnavailableException.class);
+        guard.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject submissions after close")
+    void shouldRejectAfterClose() {
+        // Given
+        batcher = new ThirdPartyValidationBatcher(client, 2, Duration.ofMillis(10));
+        batcher.close();
+
+        // When / Then
+        assertThatThrownBy(() -> batcher.submit(request("123456789")).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private ThirdPartyValidationRequest request(String accountNumber) {
+        return new ThirdPartyValidationRequest(accountNumber, "BANK001", "John Doe", "INDIVIDUAL");
+    }
+
+    private static class RecordingClient extends StubThirdPartyValidationClient {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<ThirdPartyValidationResponse> validateBeneficiaries(List<ThirdPartyValidationRequest> requests) {
+            batchSizes.add(requests.size());
+            return super.validateBeneficiaries(requests);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.alok.payment.beneficiaries.simulator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LatencyDistribution Tests")
+class LatencyDistributionTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    @DisplayName("Should always return the median for a fixed distribution")
+    void shouldReturnMedianWhenFixed() {
+        LatencyDistribution distribution = LatencyDistribution.of("fixed", 10, 50, 200);
+
+        assertThat(distribution.sampleMs(new Random(1))).isEqualTo(50);
+        assertThat(distribution.sampleMs(new Random(2))).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should keep uniform samples between the floor and twice the median")
+    void shouldBoundUniformSamples() {
+        long[] samples = sample(LatencyDistribution.of("UNIFORM", 20, 60, 100));
+
+        assertThat(samples[0]).isGreaterThanOrEqualTo(20);
+        assertThat(samples[SAMPLES - 1]).isLessThanOrEqualTo(100);
+        assertThat(samples[SAMPLES / 2]).isBetween(57L, 63L);
+    }
+
+    @Test
+    @DisplayName("Should fit a log-normal distribution to the median and p99")
+    void shouldFitLogNormalPercentiles() {
+        long[] samples = sample(LatencyDistribution.of("log-normal", 20, 80, 400));
+
+        assertThat(samples[0]).isGreaterThanOrEqualTo(20);
+        assertThat(samples[SAMPLES / 2]).isBetween(76L, 84L);
+        assertThat(samples[SAMPLES * 99 / 100]).isBetween(360L, 440L);
+    }
+
+    @Test
+    @DisplayName("Should match the median of an exponential distribution")
+    void shouldMatchExponentialMedian() {
+        long[] samples = sample(LatencyDistribution.of("EXPONENTIAL", 10, 50, 500));
+
+        assertThat(samples[0]).isGreaterThanOrEqualTo(10);
+        assertThat(samples[SAMPLES / 2]).isBetween(47L, 53L);
+    }
+
+    @Test
+    @DisplayName("Should reject percentiles out of order")
+    void shouldRejectInvalidPercentiles() {
+        assertThatThrownBy(() -> LatencyDistribution.of("LOG_NORMAL", 50, 20, 400))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyDistribution.of("GAMMA", 0, 20, 400))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long[] sample(LatencyDistribution distribution) {
+        Random random = new Random(42);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = distribution.sampleMs(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+}
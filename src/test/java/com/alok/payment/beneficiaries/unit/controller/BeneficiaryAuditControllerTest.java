@@ -0,0 +1,87 @@
+package com.alok.payment.beneficiaries.unit.controller;
+
+import com.alok.payment.beneficiaries.controller.BeneficiaryAuditController;
+import com.alok.payment.beneficiaries.dto.AuditEventResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.service.AuditQueryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BeneficiaryAuditController.class)
+@DisplayName("BeneficiaryAuditController Unit Tests")
+class BeneficiaryAuditControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuditQueryService auditQueryService;
+
+    @Test
+    @DisplayName("Should return a page of audit events for a customer and time range")
+    void shouldReturnAuditEvents() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 4, 1, 0, 0);
+        AuditEventResponse event = new AuditEventResponse(11L, "UPDATE", "CUST001", 1L, null,
+                Map.of("beneficiaryName", "Jane Smith"), from.plusDays(1));
+        when(auditQueryService.findEvents("CUST001", from, to, null, 100))
+                .thenReturn(new CursorPage<>(List.of(event), 100, "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/audit-events")
+                        .param("customerId", "CUST001")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-04-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(11))
+                .andExpect(jsonPath("$.content[0].changes.beneficiaryName").value("Jane Smith"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid range")
+    void shouldRejectInvalidRange() throws Exception {
+        // Given
+        when(auditQueryService.findEvents(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), any(), anyInt()))
+                .thenThrow(new InvalidRequestException("from must be before to"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/audit-events")
+                        .param("customerId", "CUST001")
+                        .param("from", "2026-04-01T00:00:00")
+                        .param("to", "2026-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should not expose an internal IllegalArgumentException as a bad request")
+    void shouldHideInternalIllegalArgument() throws Exception {
+        // Given
+        when(auditQueryService.findEvents(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Unknown column partition_key"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/audit-events")
+                        .param("customerId", "CUST001")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-04-01T00:00:00"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
+    }
+}
@@ -2,10 +2,22 @@ package com.alok.payment.beneficiaries.unit.controller;
 
 import com.alok.payment.beneficiaries.controller.BeneficiaryController;
 import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.dto.BeneficiaryResponse;
+import com.alok.payment.beneficiaries.dto.BeneficiaryVersionResponse;
+import com.alok.payment.beneficiaries.dto.BulkCreateItemResult;
+import com.alok.payment.beneficiaries.dto.BulkCreateResponse;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeItemResult;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeRequest;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.dto.DuplicatePairResponse;
 import com.alok.payment.beneficiaries.exception.BeneficiaryNotFoundException;
+import com.alok.payment.beneficiaries.exception.BeneficiaryVersionConflictException;
 import com.alok.payment.beneficiaries.exception.DuplicateBeneficiaryException;
 import com.alok.payment.beneficiaries.model.Beneficiary;
 import com.alok.payment.beneficiaries.service.BeneficiaryService;
+import com.alok.payment.beneficiaries.service.BulkBeneficiaryService;
+import com.alok.payment.beneficiaries.service.BulkStatusChangeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -38,6 +50,12 @@ class BeneficiaryControllerTest {
     @MockitoBean
     private BeneficiaryService beneficiaryService;
     
+    @MockitoBean
+    private BulkBeneficiaryService bulkBeneficiaryService;
+    
+    @MockitoBean
+    private BulkStatusChangeService bulkStatusChangeService;
+    
     private BeneficiaryRequest beneficiaryRequest;
     private Beneficiary beneficiary;
     
@@ -86,6 +104,73 @@ class BeneficiaryControllerTest {
         verify(beneficiaryService).createBeneficiary(any(BeneficiaryRequest.class));
     }
     
+    @Test
+    @DisplayName("Should bulk create beneficiaries and report each item")
+    void shouldBulkCreateBeneficiaries() throws Exception {
+        // Given
+        BulkCreateResponse response = new BulkCreateResponse(List.of(
+                new BulkCreateItemResult(0, "CREATED", 1L, null),
+                new BulkCreateItemResult(1, "DUPLICATE", null, "Same beneficiary as item 0")));
+        when(bulkBeneficiaryService.createBeneficiaries(anyList())).thenReturn(response);
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/beneficiaries/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(beneficiaryRequest, beneficiaryRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].beneficiaryId").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"));
+        
+        verify(bulkBeneficiaryService).createBeneficiaries(argThat(requests -> requests.size() == 2));
+    }
+    
+    @Test
+    @DisplayName("Should bulk delete beneficiaries and report each id")
+    void shouldBulkChangeBeneficiaryStatuses() throws Exception {
+        // Given
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setCustomerId("CUST001");
+        request.setStatus("DELETED");
+        request.setBeneficiaryIds(List.of(1L, 2L));
+        BulkStatusChangeResponse response = new BulkStatusChangeResponse("DELETED", List.of(
+                new BulkStatusChangeItemResult(1L, "UPDATED", null),
+                new BulkStatusChangeItemResult(2L, "NOT_FOUND", "Beneficiary not found with ID: 2 for customer: CUST001")));
+        when(bulkStatusChangeService.changeStatus(any(BulkStatusChangeRequest.class))).thenReturn(response);
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/beneficiaries/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DELETED"))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+        
+        verify(bulkStatusChangeService).changeStatus(argThat(r -> r.getBeneficiaryIds().equals(List.of(1L, 2L))));
+    }
+    
+    @Test
+    @DisplayName("Should return 400 for a bulk status change to an unsupported status")
+    void shouldReturn400ForUnsupportedBulkStatus() throws Exception {
+        // Given
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setCustomerId("CUST001");
+        request.setStatus("ACTIVE");
+        request.setBeneficiaryIds(List.of(1L));
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/beneficiaries/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        
+        verifyNoInteractions(bulkStatusChangeService);
+    }
+    
     @Test
     @DisplayName("Should return 400 when request has validation errors")
     void shouldReturn400WhenRequestHasValidationErrors() throws Exception {
@@ -152,7 +237,7 @@ class BeneficiaryControllerTest {
     @DisplayName("Should update beneficiary successfully")
     void shouldUpdateBeneficiarySuccessfully() throws Exception {
         // Given
-        when(beneficiaryService.updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class)))
+        when(beneficiaryService.updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), isNull()))
                 .thenReturn(beneficiary);
         
         // When & Then
@@ -164,14 +249,14 @@ class BeneficiaryControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.beneficiaryName").value("John Doe"));
         
-        verify(beneficiaryService).updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class));
+        verify(beneficiaryService).updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), isNull());
     }
     
     @Test
     @DisplayName("Should return 404 when updating non-existent beneficiary")
     void shouldReturn404WhenUpdatingNonExistentBeneficiary() throws Exception {
         // Given
-        when(beneficiaryService.updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class)))
+        when(beneficiaryService.updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), isNull()))
                 .thenThrow(new BeneficiaryNotFoundException("Beneficiary not found"));
         
         // When & Then
@@ -182,7 +267,58 @@ class BeneficiaryControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists());
         
-        verify(beneficiaryService).updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class));
+        verify(beneficiaryService).updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), isNull());
+    }
+    
+    @Test
+    @DisplayName("Should pass If-Match version to update and return new ETag")
+    void shouldUpdateBeneficiaryWithIfMatch() throws Exception {
+        // Given
+        beneficiary.setVersion(4L);
+        when(beneficiaryService.updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), eq(3L)))
+                .thenReturn(beneficiary);
+        
+        // When & Then
+        mockMvc.perform(put("/api/v1/beneficiaries/{id}", 1L)
+                        .param("customerId", "CUST001")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(beneficiaryRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+        
+        verify(beneficiaryService).updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), eq(3L));
+    }
+    
+    @Test
+    @DisplayName("Should return 412 when If-Match version is stale")
+    void shouldReturn412WhenIfMatchIsStale() throws Exception {
+        // Given
+        when(beneficiaryService.updateBeneficiary(eq(1L), eq("CUST001"), any(BeneficiaryRequest.class), eq(2L)))
+                .thenThrow(new BeneficiaryVersionConflictException("Beneficiary ID: 1 is at version 3, not the expected version 2"));
+        
+        // When & Then
+        mockMvc.perform(put("/api/v1/beneficiaries/{id}", 1L)
+                        .param("customerId", "CUST001")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(beneficiaryRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").exists());
+    }
+    
+    @Test
+    @DisplayName("Should return 400 when If-Match is not a version tag")
+    void shouldReturn400WhenIfMatchIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/v1/beneficiaries/{id}", 1L)
+                        .param("customerId", "CUST001")
+                        .header("If-Match", "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(beneficiaryRequest)))
+                .andExpect(status().isBadRequest());
+        
+        verifyNoInteractions(beneficiaryService);
     }
     
     @Test
@@ -226,6 +362,7 @@ class BeneficiaryControllerTest {
         mockMvc.perform(get("/api/v1/beneficiaries/{id}", 1L)
                         .param("customerId", "CUST001"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.beneficiaryName").value("John Doe"));
         
@@ -283,4 +420,84 @@ class BeneficiaryControllerTest {
         
         verify(beneficiaryService).getBeneficiaries("CUST001", "ACC001");
     }
+    
+    @Test
+    @DisplayName("Should return cursor page of duplicate pairs")
+    void shouldReturnCursorPageOfDuplicatePairs() throws Exception {
+        // Given
+        DuplicatePairResponse pair = new DuplicatePairResponse(
+                1L, "John Doe", "BEN001", 2L, "JohnDoe", "BEN002", 1.0);
+        when(beneficiaryService.findPotentialDuplicates("CUST001", "abc", 10))
+                .thenReturn(new CursorPage<>(List.of(pair), 10, "next"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/duplicates")
+                        .param("customerId", "CUST001")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].beneficiary1Id").value(1))
+                .andExpect(jsonPath("$.content[0].similarity").value(1.0))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+        
+        verify(beneficiaryService).findPotentialDuplicates("CUST001", "abc", 10);
+    }
+    
+    @Test
+    @DisplayName("Should accept async create and point to status resource")
+    void shouldAcceptAsyncCreate() throws Exception {
+        // Given
+        beneficiary.setStatus("PENDING_VALIDATION");
+        when(beneficiaryService.createBeneficiaryAsync(any(BeneficiaryRequest.class)))
+                .thenReturn(beneficiary);
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/beneficiaries")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(beneficiaryRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location",
+                        "http://localhost/api/v1/beneficiaries/1/status?customerId=CUST001"))
+                .andExpect(jsonPath("$.status").value("PENDING_VALIDATION"));
+        
+        verify(beneficiaryService, never()).createBeneficiary(any());
+    }
+    
+    @Test
+    @DisplayName("Should get beneficiary status")
+    void shouldGetBeneficiaryStatus() throws Exception {
+        // Given
+        beneficiary.setStatus("REJECTED");
+        beneficiary.setValidationFailureReason("Account is closed");
+        when(beneficiaryService.getBeneficiaryStatus(1L, "CUST001")).thenReturn(beneficiary);
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/{id}/status", 1L)
+                        .param("customerId", "CUST001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.validationFailureReason").value("Account is closed"));
+    }
+    
+    @Test
+    @DisplayName("Should get beneficiary as of a timestamp")
+    void shouldGetBeneficiaryAsOf() throws Exception {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2026, 3, 15, 12, 0);
+        beneficiary.setBeneficiaryName("John Doe Senior");
+        when(beneficiaryService.getBeneficiaryAsOf(1L, "CUST001", asOf)).thenReturn(
+                new BeneficiaryVersionResponse(7L, "UPDATE", asOf.minusDays(1), BeneficiaryResponse.from(beneficiary)));
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/{id}/as-of", 1L)
+                        .param("customerId", "CUST001")
+                        .param("timestamp", "2026-03-15T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versionId").value(7))
+                .andExpect(jsonPath("$.operation").value("UPDATE"))
+                .andExpect(jsonPath("$.beneficiary.beneficiaryName").value("John Doe Senior"));
+    }
 }
@@ -0,0 +1,82 @@
+package com.alok.payment.beneficiaries.unit.controller;
+
+import com.alok.payment.beneficiaries.controller.BeneficiaryImportController;
+import com.alok.payment.beneficiaries.dto.ImportResponse;
+import com.alok.payment.beneficiaries.service.BeneficiaryImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BeneficiaryImportController.class)
+@DisplayName("BeneficiaryImportController Unit Tests")
+class BeneficiaryImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BeneficiaryImportService importService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should import an uploaded file and return the outcome")
+    void shouldImportUploadedFile() throws Exception {
+        // Given
+        ImportResponse response = new ImportResponse("3f1c", 2, 1, 1);
+        response.setErrorReport("/api/v1/beneficiaries/imports/3f1c/errors");
+        when(importService.importCsv(any())).thenReturn(response);
+        MockMultipartFile file = new MockMultipartFile("file", "payees.csv", "text/csv",
+                "customerId,beneficiaryName\n".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/v1/beneficiaries/imports").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errorReport").value("/api/v1/beneficiaries/imports/3f1c/errors"));
+    }
+
+    @Test
+    @DisplayName("Should download the error report as CSV")
+    void shouldDownloadErrorReport() throws Exception {
+        // Given
+        Path report = Files.writeString(tempDir.resolve("report.csv"), "line,customerId,beneficiaryAccountNumber,error\n");
+        when(importService.findErrorReport("3f1c")).thenReturn(Optional.of(report));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/imports/3f1c/errors"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"3f1c-errors.csv\""))
+                .andExpect(content().string("line,customerId,beneficiaryAccountNumber,error\n"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown import")
+    void shouldReturn404ForUnknownImport() throws Exception {
+        // Given
+        when(importService.findErrorReport("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/beneficiaries/imports/missing/errors"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,93 @@
+package com.alok.payment.beneficiaries.unit.controller;
+
+import com.alok.payment.beneficiaries.controller.SanctionsRescreenController;
+import com.alok.payment.beneficiaries.exception.SanctionsRescreenInProgressException;
+import com.alok.payment.beneficiaries.model.SanctionsRescreenJob;
+import com.alok.payment.beneficiaries.service.SanctionsRescreeningService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SanctionsRescreenController.class)
+@DisplayName("SanctionsRescreenController Unit Tests")
+class SanctionsRescreenControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SanctionsRescreeningService rescreeningService;
+
+    private SanctionsRescreenJob job;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        job = new SanctionsRescreenJob(7L, "RUNNING", 5000, 5000, 2, null, now, now, null);
+    }
+
+    @Test
+    @DisplayName("Should start a rescreen job and return 202 with its location")
+    void shouldStartJob() throws Exception {
+        // Given
+        when(rescreeningService.startJob()).thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/sanctions/rescreen-jobs"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/sanctions/rescreen-jobs/7"))
+                .andExpect(jsonPath("$.jobId").value(7))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    @DisplayName("Should return 409 when a job is already running")
+    void shouldReturnConflictWhenJobRunning() throws Exception {
+        // Given
+        when(rescreeningService.startJob())
+                .thenThrow(new SanctionsRescreenInProgressException("A sanctions rescreen job is already running"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/sanctions/rescreen-jobs"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should resume a rescreen job")
+    void shouldResumeJob() throws Exception {
+        // Given
+        when(rescreeningService.resumeJob(7L)).thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/sanctions/rescreen-jobs/7/resume"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.lastBeneficiaryId").value(5000));
+    }
+
+    @Test
+    @DisplayName("Should return job progress or 404")
+    void shouldGetJob() throws Exception {
+        // Given
+        when(rescreeningService.getJob(7L)).thenReturn(Optional.of(job));
+        when(rescreeningService.getJob(8L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/sanctions/rescreen-jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scannedCount").value(5000))
+                .andExpect(jsonPath("$.flaggedCount").value(2));
+        mockMvc.perform(get("/api/v1/sanctions/rescreen-jobs/8"))
+                .andExpect(status().isNotFound());
+    }
+}
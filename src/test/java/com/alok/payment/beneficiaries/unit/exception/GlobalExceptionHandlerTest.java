@@ -87,6 +87,25 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getError()).isEqualTo("Validation Failed");
     }
     
+    @Test
+    @DisplayName("Should handle InvalidRequestException as bad request")
+    void shouldHandleInvalidRequestException() {
+        // Given
+        InvalidRequestException exception = new InvalidRequestException("Invalid duplicate cursor: abc");
+        when(webRequest.getDescription(false)).thenReturn("uri=/api/v1/beneficiaries/duplicates");
+        
+        // When
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+                .handleInvalidRequestException(exception, webRequest);
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(400);
+        assertThat(response.getBody().getMessage()).isEqualTo("Invalid duplicate cursor: abc");
+        assertThat(response.getBody().getPath()).isEqualTo("/api/v1/beneficiaries/duplicates");
+    }
+    
     @Test
     @DisplayName("Should handle generic Exception")
     void shouldHandleGenericException() {
@@ -0,0 +1,249 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.ValidationRateLimitExceededException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.AsyncBeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
+import com.alok.payment.beneficiaries.service.BeneficiaryValidationCompletedEvent;
+import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
+import com.alok.payment.beneficiaries.service.ValidationPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncBeneficiaryValidationService Tests")
+class AsyncBeneficiaryValidationServiceTest {
+    
+    @Mock
+    private BeneficiaryValidationService validationService;
+    
+    @Mock
+    private BeneficiaryRepository beneficiaryRepository;
+    
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+    
+    @Mock
+    private BeneficiaryVersionService versionService;
+    
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+    
+    @Mock
+    private BeneficiaryAuditService auditService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private AsyncBeneficiaryValidationService asyncValidationService;
+    private Beneficiary pending;
+    private BeneficiaryRequest request;
+    
+    @BeforeEach
+    void setUp() {
+        asyncValidationService = new AsyncBeneficiaryValidationService(validationService, beneficiaryRepository,
+                duplicateClusterService, versionService, outboxService, auditService, eventPublisher, transactionManager, 2, 10, 0);
+        
+        pending = new Beneficiary();
+        pending.setId(1L);
+        pending.setCustomerId("CUST001");
+        pending.setBeneficiaryName("John Doe");
+        pending.setStatus("PENDING_VALIDATION");
+        
+        request = new BeneficiaryRequest();
+        request.setCustomerId("CUST001");
+        request.setBeneficiaryName("John Doe");
+        request.setBeneficiaryAccountNumber("12345678");
+        request.setBeneficiaryBankCode("BANK001");
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncValidationService.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should activate beneficiary when third-party validation passes")
+    void shouldActivateWhenValidationPasses() {
+        // Given
+        when(beneficiaryRepository.completePendingValidation(1L, "ACTIVE", null)).thenReturn(1);
+        
+        // When
+        asyncValidationService.validatePending(pending, request);
+        
+        // Then
+        verify(duplicateClusterService).addToClusters(pending);
+        verify(versionService).recordVersion(1L, "VALIDATION");
+        verify(outboxService).beneficiariesStatusChanged("CUST001", List.of(1L), "ACTIVE");
+        verify(auditService).logBeneficiariesStatusChanged("CUST001", List.of(1L), "ACTIVE");
+        ArgumentCaptor<BeneficiaryValidationCompletedEvent> captor =
+                ArgumentCaptor.forClass(BeneficiaryValidationCompletedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo("ACTIVE");
+        assertThat(captor.getValue().getBeneficiaryId()).isEqualTo(1L);
+    }
+    
+    @Test
+    @DisplayName("Should reject beneficiary with reason when validation fails")
+    void shouldRejectWhenValidationFails() {
+        // Given
+        doThrow(new BeneficiaryValidationException("Beneficiary account is not active: CLOSED"))
+                .when(validationService).validateWithThirdParty(request, ValidationPriority.INTERACTIVE);
+        when(beneficiaryRepository.completePendingValidation(1L, "REJECTED",
+                "Beneficiary account is not active: CLOSED")).thenReturn(1);
+        
+        // When
+        asyncValidationService.validatePending(pending, request);
+        
+        // Then
+        verify(duplicateClusterService, never()).addToClusters(any());
+        verify(outboxService).beneficiariesStatusChanged("CUST001", List.of(1L), "REJECTED");
+        verify(eventPublisher).publishEvent(any(BeneficiaryValidationCompletedEvent.class));
+    }
+    
+    @Test
+    @DisplayName("Should leave a bulk beneficiary pending when the rate limit has no capacity")
+    void shouldLeavePendingWhenRateLimited() {
+        // Given
+        doThrow(new ValidationRateLimitExceededException("Third-party validation rate limit exceeded"))
+                .when(validationService).validateWithThirdParty(request, ValidationPriority.BULK);
+        
+        // When
+        asyncValidationService.validatePending(pending, request, ValidationPriority.BULK);
+        
+        // Then
+        verify(beneficiaryRepository, never()).completePendingValidation(anyLong(), anyString(), any());
+        verifyNoInteractions(duplicateClusterService, outboxService, auditService, eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("Should not publish when beneficiary is no longer pending")
+    void shouldNotPublishWhenNoLongerPending() {
+        // Given
+        when(beneficiaryRepository.completePendingValidation(1L, "ACTIVE", null)).thenReturn(0);
+        
+        // When
+        asyncValidationService.validatePending(pending, request);
+        
+        // Then
+        verify(duplicateClusterService, never()).addToClusters(any());
+        verifyNoInteractions(outboxService, auditService, eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("Should run submitted validations in the background with bounded concurrency")
+    void shouldBoundConcurrency() throws InterruptedException {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            done.countDown();
+            return null;
+        }).when(validationService).validateWithThirdParty(request, ValidationPriority.INTERACTIVE);
+        when(beneficiaryRepository.completePendingValidation(anyLong(), eq("ACTIVE"), isNull())).thenReturn(1);
+        
+        // When
+        for (int i = 0; i < 6; i++) {
+            asyncValidationService.submit(pending, request);
+        }
+        
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        verify(eventPublisher, timeout(1000).times(6)).publishEvent(any(BeneficiaryValidationCompletedEvent.class));
+    }
+    
+    @Test
+    @DisplayName("Should not sweep until the application is ready")
+    void shouldStartSweepWhenApplicationIsReady() throws InterruptedException {
+        // Given
+        AsyncBeneficiaryValidationService sweeping = new AsyncBeneficiaryValidationService(validationService,
+                beneficiaryRepository, duplicateClusterService, versionService, outboxService, auditService,
+                eventPublisher, transactionManager, 2, 10, 10);
+        try {
+            verify(beneficiaryRepository, after(100).never()).findPendingValidationAfterId(anyLong(), any(), anyInt());
+            
+            // When
+            sweeping.startSweeper();
+            
+            // Then
+            verify(beneficiaryRepository, timeout(1000).atLeastOnce())
+                    .findPendingValidationAfterId(eq(0L), any(), anyInt());
+        } finally {
+            sweeping.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should resubmit beneficiaries left pending by a lost validation at bulk priority")
+    void shouldResubmitStalePending() {
+        // Given
+        pending.setBeneficiaryAccountNumber("12345678");
+        pending.setBeneficiaryBankCode("BANK001");
+        when(beneficiaryRepository.findPendingValidationAfterId(eq(0L), any(), anyInt())).thenReturn(List.of(pending));
+        when(beneficiaryRepository.completePendingValidation(1L, "ACTIVE", null)).thenReturn(1);
+        
+        // When
+        int resubmitted = asyncValidationService.resubmitStalePending();
+        
+        // Then
+        assertThat(resubmitted).isEqualTo(1);
+        verify(validationService, timeout(1000)).validateWithThirdParty(
+                argThat(r -> "12345678".equals(r.getBeneficiaryAccountNumber()) && "BANK001".equals(r.getBeneficiaryBankCode())),
+                eq(ValidationPriority.BULK));
+        verify(eventPublisher, timeout(1000)).publishEvent(any(BeneficiaryValidationCompletedEvent.class));
+    }
+    
+    @Test
+    @DisplayName("Should not resubmit a beneficiary whose validation is still queued")
+    void shouldNotResubmitQueuedValidation() throws InterruptedException {
+        // Given - the submitted validation blocks in the provider call
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(validationService).validateWithThirdParty(request, ValidationPriority.INTERACTIVE);
+        when(beneficiaryRepository.findPendingValidationAfterId(eq(0L), any(), anyInt())).thenReturn(List.of(pending));
+        asyncValidationService.submit(pending, request);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        // When
+        int resubmitted = asyncValidationService.resubmitStalePending();
+        release.countDown();
+        
+        // Then
+        assertThat(resubmitted).isZero();
+    }
+}
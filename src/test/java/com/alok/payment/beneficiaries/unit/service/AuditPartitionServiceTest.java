@@ -0,0 +1,63 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.service.AuditPartitionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditPartitionService Tests")
+class AuditPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should create upcoming monthly partitions and detach expired ones without deleting rows")
+    void shouldCreateAndDetachPartitions() {
+        // Given: partitions from late 2018 to now, with an 84-month retention
+        AuditPartitionService partitionService = new AuditPartitionService(jdbcTemplate, false, 2, 84, false, 24);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("beneficiary_audit_events"))).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("beneficiary_audit_events"), anyString()))
+                .thenReturn(List.of("beneficiary_audit_events_p201811", "beneficiary_audit_events_p201903",
+                        "beneficiary_audit_events_p201904", "beneficiary_audit_events_p202604"));
+
+        // When
+        List<String> detached = partitionService.maintain(LocalDate.of(2026, 4, 15));
+
+        // Then
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS beneficiary_audit_events_p202604 PARTITION OF " +
+                "beneficiary_audit_events FOR VALUES FROM ('2026-04-01') TO ('2026-05-01')");
+        verify(jdbcTemplate).execute(contains("beneficiary_audit_events_p202605 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("beneficiary_audit_events_p202606 PARTITION OF"));
+        assertThat(detached).containsExactly("beneficiary_audit_events_p201811", "beneficiary_audit_events_p201903");
+        verify(jdbcTemplate).execute("ALTER TABLE beneficiary_audit_events DETACH PARTITION beneficiary_audit_events_p201811");
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should leave a table that is not partitioned alone")
+    void shouldSkipUnpartitionedTable() {
+        // Given
+        AuditPartitionService partitionService = new AuditPartitionService(jdbcTemplate, false, 2, 84, true, 24);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("beneficiary_audit_events"))).thenReturn(0);
+
+        // When
+        List<String> detached = partitionService.maintain(LocalDate.of(2026, 4, 15));
+
+        // Then
+        assertThat(detached).isEmpty();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
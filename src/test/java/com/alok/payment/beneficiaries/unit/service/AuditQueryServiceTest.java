@@ -0,0 +1,116 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.AuditEventResponse;
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.service.AuditQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditQueryService Tests")
+class AuditQueryServiceTest {
+
+    private static final LocalDateTime MARCH = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime APRIL = LocalDateTime.of(2026, 4, 1, 0, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        queryService = new AuditQueryService(jdbcTemplate, new ObjectMapper(), 366);
+    }
+
+    @Test
+    @DisplayName("Should page through a customer's events with a keyset cursor")
+    @SuppressWarnings("unchecked")
+    void shouldPageWithKeysetCursor() throws SQLException {
+        // Given: three events in March and a page size of two
+        givenRows(row(11L, MARCH.plusDays(1), "{\"beneficiaryName\":\"Jane Smith\"}"),
+                row(12L, MARCH.plusDays(2), null),
+                row(13L, MARCH.plusDays(3), null));
+
+        // When
+        CursorPage<AuditEventResponse> page = queryService.findEvents("CUST001", MARCH, APRIL, null, 2);
+
+        // Then
+        assertThat(page.getContent()).extracting(AuditEventResponse::getId).containsExactly(11L, 12L);
+        assertThat(page.getContent().get(0).getChanges()).isEqualTo(Map.of("beneficiaryName", "Jane Smith"));
+        assertThat(page.isHasMore()).isTrue();
+
+        // When: the next page starts after the last event returned
+        givenRows(row(13L, MARCH.plusDays(3), null));
+        CursorPage<AuditEventResponse> next = queryService.findEvents("CUST001", MARCH, APRIL, page.getNextCursor(), 2);
+
+        // Then
+        assertThat(next.getContent()).extracting(AuditEventResponse::getId).containsExactly(13L);
+        assertThat(next.isHasMore()).isFalse();
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), args.capture(), args.capture(),
+                args.capture(), args.capture(), args.capture(), args.capture());
+        assertThat(args.getAllValues().subList(6, 12)).containsExactly("CUST001", Timestamp.valueOf(MARCH),
+                Timestamp.valueOf(APRIL), Timestamp.valueOf(MARCH.plusDays(2)), 12L, 3);
+    }
+
+    @Test
+    @DisplayName("Should reject empty, reversed or over-long ranges and bad cursors")
+    void shouldRejectInvalidQueries() {
+        assertThatThrownBy(() -> queryService.findEvents("CUST001", APRIL, MARCH, null, 50))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> queryService.findEvents("CUST001", MARCH, MARCH.plusYears(2), null, 50))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("366 days");
+        assertThatThrownBy(() -> queryService.findEvents("CUST001", MARCH, APRIL, "not-a-cursor", 50))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Invalid audit cursor");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(ResultSet... rows) {
+        when(jdbcTemplate.query(startsWith("SELECT id, operation"), any(RowMapper.class), any(), any(), any(), any(),
+                any(), any())).thenAnswer(invocation -> {
+                    RowMapper<AuditEventResponse> mapper = invocation.getArgument(1);
+                    List<AuditEventResponse> events = new ArrayList<>();
+                    for (int i = 0; i < rows.length; i++) {
+                        events.add(mapper.mapRow(rows[i], i));
+                    }
+                    return events;
+                });
+    }
+
+    private ResultSet row(Long id, LocalDateTime occurredAt, String changes) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("operation")).thenReturn(changes != null ? "UPDATE" : "CREATE");
+        when(rs.getString("customer_id")).thenReturn("CUST001");
+        when(rs.getObject("beneficiary_id", Long.class)).thenReturn(1L);
+        when(rs.getString("account_number")).thenReturn(null);
+        when(rs.getString("changes")).thenReturn(changes);
+        when(rs.getTimestamp("occurred_at")).thenReturn(Timestamp.valueOf(occurredAt));
+        return rs;
+    }
+}
@@ -1,26 +1,58 @@
 package com.alok.payment.beneficiaries.unit.service;
 
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.service.AuditLogReader;
+import com.alok.payment.beneficiaries.service.AuditLogRecord;
 import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("BeneficiaryAuditService Tests")
 class BeneficiaryAuditServiceTest {
     
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private SimpleMeterRegistry meterRegistry;
     private BeneficiaryAuditService auditService;
     
     @BeforeEach
     void setUp() {
-        auditService = new BeneficiaryAuditService();
+        meterRegistry = new SimpleMeterRegistry();
+        auditService = newAuditService(64, 500);
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditService.shutdown();
     }
     
     @Test
@@ -102,4 +134,221 @@ class BeneficiaryAuditServiceTest {
             auditService.logBeneficiaryCreated("CUST001", 1L, null)
         ).doesNotThrowAnyException();
     }
+    
+    @Test
+    @DisplayName("Should write buffered events with batch inserts and drain them on shutdown")
+    @SuppressWarnings("unchecked")
+    void shouldBatchInsertAndDrainOnShutdown() throws InterruptedException {
+        // Given: the writer reuses its batch list, so count rows as they are inserted
+        AtomicInteger inserted = new AtomicInteger();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO beneficiary_audit_events"), any(Collection.class),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    inserted.addAndGet(invocation.<Collection<?>>getArgument(1).size());
+                    return new int[0][];
+                });
+        
+        // When
+        auditService.logBeneficiaryCreated("CUST001", 1L, "12345678");
+        auditService.logBeneficiaryUpdated("CUST001", 1L, Map.of("beneficiaryName", "Jane Smith"));
+        auditService.logBeneficiaryDeleted("CUST001", 1L);
+        auditService.shutdown();
+        
+        // Then
+        assertThat(inserted).hasValue(3);
+        assertThat(auditService.getPendingCount()).isZero();
+        assertThat(meterRegistry.get("beneficiary.audit.events").tag("result", "written").counter().count())
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.get("beneficiary.audit.lag").timer().count()).isEqualTo(3);
+    }
+    
+    @Test
+    @DisplayName("Should drop events once a full buffer stays full past the block limit")
+    @SuppressWarnings("unchecked")
+    void shouldDropWhenBufferStaysFull() throws InterruptedException {
+        // Given: a writer stuck on a slow insert and a buffer of two
+        auditService.shutdown();
+        auditService = newAuditService(2, 1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    writing.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new int[0][];
+                });
+        auditService.logBeneficiaryCreated("CUST001", 1L, "12345678");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        // When
+        auditService.logBeneficiaryCreated("CUST001", 2L, "23456789");
+        auditService.logBeneficiaryCreated("CUST001", 3L, "34567890");
+        long start = System.nanoTime();
+        auditService.logBeneficiaryCreated("CUST001", 4L, "45678901");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+        auditService.shutdown();
+        
+        // Then
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(meterRegistry.get("beneficiary.audit.events").tag("result", "dropped").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("beneficiary.audit.backpressure").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("beneficiary.audit.events").tag("result", "written").counter().count())
+                .isEqualTo(3.0);
+    }
+    
+    @Test
+    @DisplayName("Should wait once for the whole batch and drop the rest of it when the buffer stays full")
+    @SuppressWarnings("unchecked")
+    void shouldBoundBulkWaitPerBatch() throws InterruptedException {
+        // Given: a writer stuck on a slow insert and a buffer of two
+        auditService.shutdown();
+        auditService = newAuditService(2, 1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    writing.countDown();
+                    release.await(30, TimeUnit.SECONDS);
+                    return new int[0][];
+                });
+        auditService.logBeneficiaryDeleted("CUST001", 1L);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 2; id <= 21; id++) {
+            ids.add(id);
+        }
+        
+        // When
+        long start = System.nanoTime();
+        auditService.logBeneficiariesStatusChanged("CUST001", ids, "INACTIVE");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+        auditService.shutdown();
+        
+        // Then: two fit, the third waits out the one-second bound and the other 17 are dropped at once
+        assertThat(elapsedMs).isLessThan(5000);
+        assertThat(meterRegistry.get("beneficiary.audit.events").tag("result", "dropped").counter().count())
+                .isEqualTo(18.0);
+        assertThat(meterRegistry.get("beneficiary.audit.backpressure").counter().count()).isEqualTo(1.0);
+    }
+    
+    @Test
+    @DisplayName("Should append events to the local audit log even when the database insert fails")
+    @SuppressWarnings("unchecked")
+    void shouldAppendToAuditLogWhenDatabaseFails(@TempDir Path logDirectory) throws Exception {
+        // Given
+        auditService.shutdown();
+        auditService = newAuditService(64, 500, logDirectory.toString());
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"));
+        
+        // When
+        auditService.logBeneficiaryCreated("CUST001", 1L, "12345678");
+        auditService.logBeneficiaryUpdated("CUST002", 2L, Map.of("beneficiaryName", "Jane Smith"));
+        auditService.shutdown();
+        
+        // Then
+        List<AuditLogRecord> records = AuditLogReader.read(logDirectory, null, null, null);
+        assertThat(records).extracting(AuditLogRecord::getOperation).containsExactly("CREATE", "UPDATE");
+        assertThat(records.get(1).getChanges()).isEqualTo("{\"beneficiaryName\":\"Jane Smith\"}");
+        assertThat(meterRegistry.get("beneficiary.audit.log.records").tag("result", "written").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("beneficiary.audit.events").tag("result", "failed").counter().count())
+                .isEqualTo(2.0);
+    }
+    
+    @Test
+    @DisplayName("Should keep appending to the local audit log while the database writer is stuck")
+    @SuppressWarnings("unchecked")
+    void shouldAppendToAuditLogWhileDatabaseWriterIsStuck(@TempDir Path logDirectory) throws Exception {
+        // Given: a database writer stuck on a slow insert behind a buffer of eight
+        auditService.shutdown();
+        auditService = new BeneficiaryAuditService(jdbcTemplate, new ObjectMapper(), meterRegistry,
+                8, 1, 10000, 5, 5000, logDirectory.toString(), 1, 60);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    writing.countDown();
+                    release.await(30, TimeUnit.SECONDS);
+                    return new int[0][];
+                });
+        auditService.logBeneficiaryDeleted("CUST001", 0L);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        // When
+        for (long id = 1; id <= 20; id++) {
+            auditService.logBeneficiaryDeleted("CUST001", id);
+        }
+        release.countDown();
+        auditService.shutdown();
+        
+        // Then: the database path could carry at most the stuck event and a full buffer, nine in all
+        assertThat(meterRegistry.get("beneficiary.audit.events").tag("result", "dropped").counter().count())
+                .isPositive();
+        List<AuditLogRecord> records = AuditLogReader.read(logDirectory, null, null, null);
+        double logDropped = meterRegistry.get("beneficiary.audit.log.records").tag("result", "dropped").counter().count();
+        assertThat(records.size() + logDropped).isEqualTo(21.0);
+        assertThat(records.size()).isGreaterThan(15);
+    }
+    
+    @Test
+    @DisplayName("Should record bulk creates by beneficiary account number like a single create")
+    @SuppressWarnings("unchecked")
+    void shouldLogBulkCreatesByBeneficiaryAccount(@TempDir Path logDirectory) throws Exception {
+        // Given
+        auditService.shutdown();
+        auditService = newAuditService(64, 500, logDirectory.toString());
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[0][]);
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(1L);
+        beneficiary.setCustomerId("CUST001");
+        beneficiary.setAccountNumber("ACC001");
+        beneficiary.setBeneficiaryAccountNumber("12345678");
+        
+        // When
+        auditService.logBeneficiariesCreated(List.of(beneficiary));
+        auditService.shutdown();
+        
+        // Then
+        List<AuditLogRecord> records = AuditLogReader.read(logDirectory, null, null, null);
+        assertThat(records).extracting(AuditLogRecord::getAccountNumber).containsExactly("12345678");
+    }
+    
+    @Test
+    @DisplayName("Should only buffer an event once the surrounding transaction commits")
+    void shouldBufferAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Given
+            auditService.shutdown();
+            auditService = newAuditService(64, 500);
+            
+            // When
+            auditService.logBeneficiaryDeleted("CUST001", 1L);
+            
+            // Then
+            assertThat(auditService.getPendingCount()).isZero();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+            assertThat(auditService.getPendingCount()).isEqualTo(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    private BeneficiaryAuditService newAuditService(int capacity, int batchSize) {
+        return newAuditService(capacity, batchSize, "");
+    }
+    
+    private BeneficiaryAuditService newAuditService(int capacity, int batchSize, String logDirectory) {
+        return new BeneficiaryAuditService(jdbcTemplate, new ObjectMapper(), meterRegistry,
+                capacity, batchSize, 10000, 5, 5000, logDirectory, 1, 60);
+    }
 }
@@ -0,0 +1,194 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.AsyncBeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
+import com.alok.payment.beneficiaries.service.BeneficiaryService;
+import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Load test for the create flow against a connection pool much smaller than the number of
+ * concurrent requests. If third-party validation held a connection, throughput would be capped
+ * at pool size / provider latency; with validation outside the transaction it is not. This is
+ * asserted through connection usage rather than wall-clock time, which is flaky on loaded CI hosts.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BeneficiaryService Create Load Tests")
+class BeneficiaryCreateLoadTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int CONCURRENT_REQUESTS = 40;
+    private static final long PROVIDER_LATENCY_MS = 200;
+
+    @Mock
+    private BeneficiaryRepository beneficiaryRepository;
+
+    @Mock
+    private BeneficiaryValidationService validationService;
+
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+
+    @Mock
+    private AsyncBeneficiaryValidationService asyncValidationService;
+
+    @Mock
+    private BeneficiaryAuditService auditService;
+
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+
+    @Mock
+    private BeneficiaryVersionService versionService;
+
+    private PooledTransactionManager transactionManager;
+    private BeneficiaryService beneficiaryService;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new PooledTransactionManager(POOL_SIZE);
+        beneficiaryService = new BeneficiaryService(beneficiaryRepository, validationService,
+                duplicateClusterService, asyncValidationService, auditService, outboxService, versionService,
+                transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should not cap create throughput at pool size times provider latency")
+    void shouldNotCapThroughputAtPoolSize() throws Exception {
+        // Given
+        AtomicInteger validationsHoldingConnection = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (transactionManager.holdsConnection()) {
+                validationsHoldingConnection.incrementAndGet();
+            }
+            Thread.sleep(PROVIDER_LATENCY_MS);
+            return null;
+        }).when(validationService).validateBeneficiary(any(BeneficiaryRequest.class));
+        AtomicLong ids = new AtomicLong();
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class))).thenAnswer(invocation -> {
+            Beneficiary saved = invocation.getArgument(0);
+            saved.setId(ids.incrementAndGet());
+            return Optional.of(saved);
+        });
+
+        // When
+        List<Future<Beneficiary>> results = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                BeneficiaryRequest request = request(i);
+                results.add(clients.submit(() -> beneficiaryService.createBeneficiary(request)));
+            }
+        }
+
+        // Then
+        for (Future<Beneficiary> result : results) {
+            assertThat(result.get().getStatus()).isEqualTo("ACTIVE");
+        }
+        assertThat(validationsHoldingConnection).hasValue(0);
+        assertThat(transactionManager.peakConnections()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(transactionManager.inUse()).isZero();
+    }
+
+    private BeneficiaryRequest request(int i) {
+        BeneficiaryRequest request = new BeneficiaryRequest();
+        request.setCustomerId("CUST" + i);
+        request.setAccountNumber("ACC001");
+        request.setBeneficiaryName("Load Test " + i);
+        request.setBeneficiaryAccountNumber(String.format("%08d", i));
+        request.setBeneficiaryBankCode("BANK001");
+        request.setBeneficiaryType("DOMESTIC");
+        return request;
+    }
+
+    /**
+     * Transaction manager standing in for a Hikari-backed one: each transaction borrows one of a
+     * fixed number of connections and fails if none frees up within the connection timeout.
+     */
+    private static final class PooledTransactionManager implements PlatformTransactionManager {
+
+        private final Semaphore connections;
+        private final int poolSize;
+        private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> false);
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private PooledTransactionManager(int poolSize) {
+            this.poolSize = poolSize;
+            this.connections = new Semaphore(poolSize);
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            try {
+                if (!connections.tryAcquire(5, TimeUnit.SECONDS)) {
+                    throw new CannotCreateTransactionException("Connection is not available, request timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("Interrupted while waiting for a connection", e);
+            }
+            holding.set(true);
+            peak.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            release();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            release();
+        }
+
+        private void release() {
+            holding.set(false);
+            inUse.decrementAndGet();
+            connections.release();
+        }
+
+        boolean holdsConnection() {
+            return holding.get();
+        }
+
+        int peakConnections() {
+            return peak.get();
+        }
+
+        int inUse() {
+            return poolSize - connections.availablePermits();
+        }
+    }
+}
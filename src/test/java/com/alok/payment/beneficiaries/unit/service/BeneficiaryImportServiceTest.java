@@ -0,0 +1,272 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.ImportResponse;
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.service.BeneficiaryImportService;
+import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
+import com.alok.payment.beneficiaries.service.SanctionsScreeningService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BeneficiaryImportService Tests")
+class BeneficiaryImportServiceTest {
+
+    private static final String HEADER =
+            "customerId,beneficiaryName,beneficiaryAccountNumber,beneficiaryBankCode,beneficiaryType\n";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BeneficiaryValidationService validationService;
+
+    @Mock
+    private SanctionsScreeningService sanctionsScreeningService;
+
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    @TempDir
+    Path reportDirectory;
+
+    private BeneficiaryImportService importService;
+    private StringBuilder copied;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BeneficiaryImportService(jdbcTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), validationService, sanctionsScreeningService,
+                duplicateClusterService, transactionManager, new SimpleMeterRegistry(), reportDirectory.toString());
+        copied = new StringBuilder();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should copy valid rows to staging, merge them and report rejected rows")
+    void shouldImportValidRowsAndReportRejections() throws Exception {
+        // Given
+        givenCopy();
+        lenient().doThrow(new BeneficiaryValidationException("Invalid account number format"))
+                .when(validationService).validateFormat(argThat(request -> "BAD".equals(request.getBeneficiaryAccountNumber())));
+        givenStoredDuplicate(5, "CUST001", "BEN002", "Beneficiary already exists");
+        lenient().when(jdbcTemplate.update(startsWith("WITH inserted"), any(Object[].class))).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("CUST001"));
+        String file = HEADER +
+                "CUST001,\"Doe, John\",BEN001,BANK001,DOMESTIC\n" +
+                "CUST001,,BEN003,BANK001,\n" +
+                "CUST001,Jane Roe,BAD,BANK001,\n" +
+                "CUST001,Jane Roe,BEN002,BANK001,\n";
+
+        // When
+        ImportResponse response = importService.importCsv(input(file));
+
+        // Then
+        assertThat(response.getTotalRows()).isEqualTo(4);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertThat(response.getErrorReport()).isEqualTo("/api/v1/beneficiaries/imports/" + response.getImportId() + "/errors");
+
+        assertThat(copied.toString()).isEqualTo(
+                "2,\"CUST001\",,\"Doe, John\",\"BEN001\",\"BANK001\",,\"DOMESTIC\",\n" +
+                "5,\"CUST001\",,\"Jane Roe\",\"BEN002\",\"BANK001\",,,\n");
+        verify(copyIn).endCopy();
+        // Clusters are rebuilt in the background once the import has committed
+        InOrder afterCommit = inOrder(transactionManager, duplicateClusterService);
+        afterCommit.verify(transactionManager).commit(any());
+        afterCommit.verify(duplicateClusterService, timeout(1000)).rebuildClusters("CUST001");
+        // Audit rows record the beneficiary's account, as a single create does, not the customer's own
+        verify(jdbcTemplate).update(contains("SELECT 'CREATE', customer_id, id, beneficiary_account_number"),
+                any(Object[].class));
+
+        Path report = importService.findErrorReport(response.getImportId()).orElseThrow();
+        assertThat(Files.readAllLines(report)).containsExactly(
+                "line,customerId,beneficiaryAccountNumber,error",
+                "3,\"CUST001\",\"BEN003\",\"Beneficiary name is required\"",
+                "4,\"CUST001\",\"BAD\",\"Invalid account number format\"",
+                "5,\"CUST001\",\"BEN002\",\"Beneficiary already exists\"");
+    }
+
+    @Test
+    @DisplayName("Should reject rows on the local sanctions list without copying them")
+    void shouldRejectSanctionedRows() throws Exception {
+        // Given
+        givenCopy();
+        when(sanctionsScreeningService.screen(anyString(), anyString())).thenReturn(Optional.empty());
+        when(sanctionsScreeningService.screen("Ivan Sanctioned", "BEN002")).thenReturn(Optional.of("name 'ivan sanctioned'"));
+        lenient().when(jdbcTemplate.update(startsWith("WITH inserted"), any(Object[].class))).thenReturn(1);
+        String file = HEADER +
+                "CUST001,John Doe,BEN001,BANK001,\n" +
+                "CUST001,Ivan Sanctioned,BEN002,BANK001,\n";
+
+        // When
+        ImportResponse response = importService.importCsv(input(file));
+
+        // Then
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(copied.toString()).isEqualTo("2,\"CUST001\",,\"John Doe\",\"BEN001\",\"BANK001\",,,\n");
+        Path report = importService.findErrorReport(response.getImportId()).orElseThrow();
+        assertThat(Files.readAllLines(report)).containsExactly(
+                "line,customerId,beneficiaryAccountNumber,error",
+                "3,\"CUST001\",\"BEN002\",\"Beneficiary is on sanctions list and cannot be added.\"");
+    }
+
+    @Test
+    @DisplayName("Should report valid rows that a concurrent create made the merge skip")
+    void shouldReportRowsSkippedByConcurrentCreate() throws Exception {
+        // Given - BEN002 was created by another request after staging was marked
+        givenCopy();
+        givenStoredDuplicate(3, "CUST001", "BEN002", "Beneficiary already exists");
+        lenient().when(jdbcTemplate.update(startsWith("WITH inserted"), any(Object[].class))).thenReturn(1);
+        String file = HEADER +
+                "CUST001,John Doe,BEN001,BANK001,\n" +
+                "CUST001,Jane Roe,BEN002,BANK001,\n";
+
+        // When
+        ImportResponse response = importService.importCsv(input(file));
+
+        // Then
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+        verify(jdbcTemplate).update(contains("skipped AS (UPDATE beneficiary_import_staging s SET rejection"),
+                any(Object[].class));
+        Path report = importService.findErrorReport(response.getImportId()).orElseThrow();
+        assertThat(Files.readAllLines(report)).containsExactly(
+                "line,customerId,beneficiaryAccountNumber,error",
+                "3,\"CUST001\",\"BEN002\",\"Beneficiary already exists\"");
+    }
+
+    @Test
+    @DisplayName("Should not keep an error report when every row is imported")
+    void shouldNotKeepEmptyReport() throws Exception {
+        // Given
+        givenCopy();
+        lenient().when(jdbcTemplate.update(startsWith("WITH inserted"), any(Object[].class))).thenReturn(1);
+
+        // When
+        ImportResponse response = importService.importCsv(input(HEADER + "CUST001,John Doe,BEN001,BANK001,\n"));
+
+        // Then
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getRejected()).isZero();
+        assertThat(response.getErrorReport()).isNull();
+        assertThat(importService.findErrorReport(response.getImportId())).isEmpty();
+        try (var files = Files.list(reportDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file whose header lacks required columns and cancel the copy")
+    void shouldRejectMissingColumns() throws Exception {
+        // Given
+        givenCopy();
+        when(copyIn.isActive()).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> importService.importCsv(input("customerId,beneficiaryName\nCUST001,John Doe\n")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Import file header is missing columns: beneficiaryAccountNumber, beneficiaryBankCode");
+        verify(copyIn).cancelCopy();
+        verify(jdbcTemplate, never()).update(startsWith("WITH inserted"), any(Object[].class));
+        try (var files = Files.list(reportDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should only look up error reports by import id")
+    void shouldRejectReportPathsThatAreNotImportIds() {
+        assertThat(importService.findErrorReport("../../etc/passwd")).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenCopy() throws SQLException {
+        // Lenient: the other execute and update overloads run the staging DDL and marking statements
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+            ConnectionCallback<Object> callback = invocation.getArgument(0);
+            return callback.doInConnection(connection);
+        });
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        lenient().doAnswer(invocation -> {
+            byte[] bytes = invocation.getArgument(0);
+            copied.append(new String(bytes, invocation.<Integer>getArgument(1), invocation.<Integer>getArgument(2),
+                    StandardCharsets.UTF_8));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    private void givenStoredDuplicate(long line, String customerId, String accountNumber, String rejection)
+            throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("line_number")).thenReturn(line);
+        when(rs.getString("customer_id")).thenReturn(customerId);
+        when(rs.getString("beneficiary_account_number")).thenReturn(accountNumber);
+        when(rs.getString("rejection")).thenReturn(rejection);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,148 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StringRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BeneficiaryOutboxRelay Tests")
+class BeneficiaryOutboxRelayTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BeneficiaryOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new BeneficiaryOutboxRelay(redisTemplate, jdbcTemplate, transactionManager, meterRegistry,
+                false, "beneficiary-events", 1000, 100, 200);
+    }
+
+    @Test
+    @DisplayName("Should publish claimed events to the stream and delete them")
+    @SuppressWarnings("unchecked")
+    void shouldPublishAndDeleteBatch() throws SQLException {
+        // Given
+        givenOutbox(event(1L, "BENEFICIARY_CREATED"), event(2L, "BENEFICIARY_DELETED"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<Object> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        ArgumentCaptor<StringRecord> records = ArgumentCaptor.forClass(StringRecord.class);
+        verify(connection, times(2)).xAdd(records.capture(), any(XAddOptions.class));
+        assertThat(records.getAllValues()).allSatisfy(record ->
+                assertThat(record.getStream()).isEqualTo("beneficiary-events"));
+        assertThat(records.getAllValues().get(0).getValue())
+                .containsEntry("eventId", "1")
+                .containsEntry("eventType", "BENEFICIARY_CREATED")
+                .containsEntry("customerId", "CUST001")
+                .containsEntry("payload", "{\"id\":10}");
+        ArgumentCaptor<Collection<Object>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM beneficiary_outbox"), deleted.capture(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(deleted.getValue()).hasSize(2);
+        assertThat(meterRegistry.get("beneficiary.outbox.published").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep events in the outbox when publishing fails")
+    @SuppressWarnings("unchecked")
+    void shouldKeepEventsWhenPublishFails() throws SQLException {
+        // Given
+        givenOutbox(event(1L, "BENEFICIARY_UPDATED"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // When / Then
+        assertThatThrownBy(() -> relay.relayBatch()).isInstanceOf(RedisConnectionFailureException.class);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.get("beneficiary.outbox.published").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not call Redis when the outbox is empty")
+    void shouldSkipEmptyOutbox() throws SQLException {
+        // Given
+        givenOutbox();
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertThat(relayed).isZero();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenOutbox(ResultSet... rows) throws SQLException {
+        when(jdbcTemplate.query(startsWith("SELECT id, event_type"), any(RowMapper.class), eq(100)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    List<Object> events = new ArrayList<>();
+                    for (int i = 0; i < rows.length; i++) {
+                        events.add(mapper.mapRow(rows[i], i));
+                    }
+                    return events;
+                });
+    }
+
+    private ResultSet event(long id, String eventType) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("event_type")).thenReturn(eventType);
+        when(rs.getLong("beneficiary_id")).thenReturn(10L);
+        when(rs.getString("customer_id")).thenReturn("CUST001");
+        when(rs.getString("payload")).thenReturn("{\"id\":10}");
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        return rs;
+    }
+}
@@ -0,0 +1,188 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
+import com.alok.payment.beneficiaries.service.BeneficiaryRevalidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
+import com.alok.payment.beneficiaries.service.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BeneficiaryRevalidationService Tests")
+class BeneficiaryRevalidationServiceTest {
+
+    @Mock
+    private BeneficiaryRepository beneficiaryRepository;
+
+    @Mock
+    private BeneficiaryValidationService validationService;
+
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+
+    @Mock
+    private BeneficiaryVersionService versionService;
+
+    @Mock
+    private BeneficiaryAuditService auditService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BeneficiaryRevalidationService revalidationService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (revalidationService != null) {
+            revalidationService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should record fresh results and move closed accounts to INACTIVE")
+    @SuppressWarnings("unchecked")
+    void shouldRecordResultsAndDeactivateClosedAccounts() {
+        // Given
+        revalidationService = newService(0, "01:00", "05:00");
+        Beneficiary open = beneficiary(1L, "12345678");
+        Beneficiary closed = beneficiary(2L, "77712345");
+        when(beneficiaryRepository.findStaleActiveAfterId(eq(0L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(open, closed));
+        when(beneficiaryRepository.findStaleActiveAfterId(eq(2L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of());
+        when(validationService.revalidate(open)).thenReturn(new ValidationResult(0.1, "ACTIVE", LocalDateTime.now()));
+        when(validationService.revalidate(closed)).thenReturn(new ValidationResult(0.2, "CLOSED", LocalDateTime.now()));
+        // Lenient: the other batchUpdate call records the ACTIVE results
+        lenient().when(jdbcTemplate.batchUpdate(startsWith("UPDATE beneficiaries SET status = 'INACTIVE'"),
+                anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][] {{1}});
+
+        // When
+        int refreshed = revalidationService.revalidateStale();
+
+        // Then
+        assertThat(refreshed).isEqualTo(2);
+        ArgumentCaptor<Collection<Object>> recorded = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE beneficiaries SET validation_fraud_score"),
+                recorded.capture(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        ArgumentCaptor<Collection<Object>> deactivated = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE beneficiaries SET status = 'INACTIVE'"),
+                deactivated.capture(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(recorded.getValue()).hasSize(1);
+        assertThat(deactivated.getValue()).hasSize(1);
+        verify(duplicateClusterService).lockClusters(List.of("CUST001"));
+        verify(duplicateClusterService).removeFromClusters(2L, "CUST001");
+        verify(duplicateClusterService, never()).removeFromClusters(eq(1L), anyString());
+        verify(outboxService).beneficiariesStatusChanged("CUST001", List.of(2L), "INACTIVE");
+        verify(versionService).recordVersions(List.of(2L), "STATUS");
+        verify(auditService).logBeneficiariesStatusChanged("CUST001", List.of(2L), "INACTIVE");
+    }
+
+    @Test
+    @DisplayName("Should skip failed items and end the pass when a whole batch fails")
+    void shouldEndPassWhenBatchFails() {
+        // Given
+        revalidationService = newService(0, "01:00", "05:00");
+        Beneficiary first = beneficiary(1L, "12345678");
+        Beneficiary second = beneficiary(2L, "23456789");
+        when(beneficiaryRepository.findStaleActiveAfterId(eq(0L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(first, second));
+        when(validationService.revalidate(any(Beneficiary.class)))
+                .thenThrow(new ThirdPartyServiceUnavailableException("Circuit open"));
+
+        // When
+        int refreshed = revalidationService.revalidateStale();
+
+        // Then
+        assertThat(refreshed).isZero();
+        verify(beneficiaryRepository, times(1)).findStaleActiveAfterId(anyLong(), any(LocalDateTime.class), anyInt());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should pace batches to the configured call rate")
+    void shouldPaceBatchesToRate() {
+        // Given
+        revalidationService = newService(20, "01:00", "05:00");
+        when(beneficiaryRepository.findStaleActiveAfterId(eq(0L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(beneficiary(1L, "12345678"), beneficiary(2L, "23456789")));
+        when(beneficiaryRepository.findStaleActiveAfterId(eq(2L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(beneficiary(3L, "34567890"), beneficiary(4L, "45678901")));
+        when(beneficiaryRepository.findStaleActiveAfterId(eq(4L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of());
+        when(validationService.revalidate(any(Beneficiary.class)))
+                .thenAnswer(invocation -> new ValidationResult(0.1, "ACTIVE", LocalDateTime.now()));
+
+        // When
+        long start = System.nanoTime();
+        int refreshed = revalidationService.revalidateStale();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then: 4 calls at 20 per second take at least 200 ms
+        assertThat(refreshed).isEqualTo(4);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(190);
+    }
+
+    @Test
+    @DisplayName("Should open the window between start and end, including across midnight")
+    void shouldEvaluateWindow() {
+        revalidationService = newService(0, "01:00", "05:00");
+        assertThat(revalidationService.isWithinWindow(LocalTime.of(1, 0))).isTrue();
+        assertThat(revalidationService.isWithinWindow(LocalTime.of(4, 59))).isTrue();
+        assertThat(revalidationService.isWithinWindow(LocalTime.of(5, 0))).isFalse();
+        assertThat(revalidationService.isWithinWindow(LocalTime.of(12, 0))).isFalse();
+
+        BeneficiaryRevalidationService overnight = newService(0, "22:00", "04:00");
+        try {
+            assertThat(overnight.isWithinWindow(LocalTime.of(23, 30))).isTrue();
+            assertThat(overnight.isWithinWindow(LocalTime.of(3, 0))).isTrue();
+            assertThat(overnight.isWithinWindow(LocalTime.of(12, 0))).isFalse();
+        } finally {
+            assertThatCode(overnight::shutdown).doesNotThrowAnyException();
+        }
+    }
+
+    private BeneficiaryRevalidationService newService(double ratePerSecond, String windowStart, String windowEnd) {
+        return new BeneficiaryRevalidationService(beneficiaryRepository, validationService, duplicateClusterService,
+                outboxService, versionService, auditService, jdbcTemplate, transactionManager, false, 720, 2, 2, ratePerSecond, windowStart, windowEnd, "UTC", 60000);
+    }
+
+    private Beneficiary beneficiary(Long id, String accountNumber) {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(id);
+        beneficiary.setCustomerId("CUST001");
+        beneficiary.setBeneficiaryName("John Smith");
+        beneficiary.setBeneficiaryAccountNumber(accountNumber);
+        beneficiary.setBeneficiaryBankCode("BANK001");
+        beneficiary.setStatus("ACTIVE");
+        return beneficiary;
+    }
+}
@@ -1,9 +1,17 @@
 package com.alok.payment.beneficiaries.unit.service;
 
+import com.alok.payment.beneficiaries.dto.CursorPage;
+import com.alok.payment.beneficiaries.dto.DuplicatePairResponse;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
 import com.alok.payment.beneficiaries.model.Beneficiary;
 import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.AsyncBeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
 import com.alok.payment.beneficiaries.service.BeneficiaryService;
 import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -30,6 +39,24 @@ class BeneficiaryServiceAnalyticsTest {
     @Mock
     private BeneficiaryValidationService validationService;
     
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+    
+    @Mock
+    private AsyncBeneficiaryValidationService asyncValidationService;
+    
+    @Mock
+    private BeneficiaryAuditService auditService;
+    
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+    
+    @Mock
+    private BeneficiaryVersionService versionService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
     @InjectMocks
     private BeneficiaryService beneficiaryService;
     
@@ -173,17 +200,86 @@ class BeneficiaryServiceAnalyticsTest {
         ben2.setBeneficiaryName("JohnDoe");
         ben2.setBeneficiaryAccountNumber("ACC002");
         
-        when(beneficiaryRepository.findAllByCustomerId("CUST001"))
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 0L))
                 .thenReturn(Arrays.asList(ben1, ben2));
         
         // When
-        List<Map<String, Object>> duplicates = beneficiaryService.findPotentialDuplicates("CUST001");
+        List<DuplicatePairResponse> duplicates = beneficiaryService
+                .findPotentialDuplicates("CUST001", null, 50).getContent();
+        
+        // Then
+        assertThat(duplicates).hasSize(1);
+        assertThat(duplicates.get(0).getBeneficiary1Name()).isEqualTo("John Doe");
+        assertThat(duplicates.get(0).getBeneficiary2Name()).isEqualTo("JohnDoe");
+        assertThat(duplicates.get(0).getSimilarity()).isEqualTo(1.0);
+    }
+    
+    @Test
+    @DisplayName("Should report each duplicate pair once regardless of order")
+    void shouldReportEachDuplicatePairOnce() {
+        // Given
+        Beneficiary ben1 = new Beneficiary();
+        ben1.setId(3L);
+        ben1.setBeneficiaryName("John Doe");
+        
+        Beneficiary ben2 = new Beneficiary();
+        ben2.setId(1L);
+        ben2.setBeneficiaryName("John Doe");
+        
+        Beneficiary ben3 = new Beneficiary();
+        ben3.setId(2L);
+        ben3.setBeneficiaryName("Jon Doe");
+        
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 0L))
+                .thenReturn(Arrays.asList(ben1, ben2, ben3));
+        
+        // When
+        CursorPage<DuplicatePairResponse> page = beneficiaryService.findPotentialDuplicates("CUST001", null, 50);
         
         // Then
-        assertThat(duplicates).isNotEmpty();
-        assertThat(duplicates.get(0).get("beneficiary1Name")).isEqualTo("John Doe");
-        assertThat(duplicates.get(0).get("beneficiary2Name")).isEqualTo("JohnDoe");
-        assertThat(duplicates.get(0).get("similarity")).isEqualTo("HIGH");
+        assertThat(page.getContent())
+                .extracting(DuplicatePairResponse::getBeneficiary1Id, DuplicatePairResponse::getBeneficiary2Id)
+                .containsExactly(tuple(1L, 2L), tuple(1L, 3L), tuple(2L, 3L));
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should page duplicate pairs with a cursor")
+    void shouldPageDuplicatePairsWithCursor() {
+        // Given
+        List<Beneficiary> sameNames = new java.util.ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            Beneficiary ben = new Beneficiary();
+            ben.setId(id);
+            ben.setBeneficiaryName("John Doe");
+            sameNames.add(ben);
+        }
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 0L)).thenReturn(sameNames);
+        // The second page resumes at beneficiary 2 and does not load beneficiary 1
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 2L)).thenReturn(sameNames.subList(1, 4));
+        
+        // When
+        CursorPage<DuplicatePairResponse> first = beneficiaryService.findPotentialDuplicates("CUST001", null, 4);
+        CursorPage<DuplicatePairResponse> second = beneficiaryService.findPotentialDuplicates(
+                "CUST001", first.getNextCursor(), 4);
+        
+        // Then - 4 beneficiaries give 6 unordered pairs
+        assertThat(first.getContent()).hasSize(4);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getContent())
+                .extracting(DuplicatePairResponse::getBeneficiary1Id, DuplicatePairResponse::getBeneficiary2Id)
+                .containsExactly(tuple(2L, 4L), tuple(3L, 4L));
+        assertThat(second.isHasMore()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should reject malformed duplicate cursor")
+    void shouldRejectMalformedDuplicateCursor() {
+        // When & Then
+        assertThatThrownBy(() -> beneficiaryService.findPotentialDuplicates("CUST001", "not-a-cursor", 50))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Invalid duplicate cursor");
     }
     
     @Test
@@ -198,11 +294,12 @@ class BeneficiaryServiceAnalyticsTest {
         ben2.setId(2L);
         ben2.setBeneficiaryName("Jane Smith");
         
-        when(beneficiaryRepository.findAllByCustomerId("CUST001"))
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 0L))
                 .thenReturn(Arrays.asList(ben1, ben2));
         
         // When
-        List<Map<String, Object>> duplicates = beneficiaryService.findPotentialDuplicates("CUST001");
+        List<DuplicatePairResponse> duplicates = beneficiaryService
+                .findPotentialDuplicates("CUST001", null, 50).getContent();
         
         // Then
         assertThat(duplicates).isEmpty();
@@ -220,11 +317,12 @@ class BeneficiaryServiceAnalyticsTest {
         ben2.setId(2L);
         ben2.setBeneficiaryName("Jane Smith");
         
-        when(beneficiaryRepository.findAllByCustomerId("CUST001"))
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 0L))
                 .thenReturn(Arrays.asList(ben1, ben2));
         
         // When
-        List<Map<String, Object>> duplicates = beneficiaryService.findPotentialDuplicates("CUST001");
+        List<DuplicatePairResponse> duplicates = beneficiaryService
+                .findPotentialDuplicates("CUST001", null, 50).getContent();
         
         // Then
         assertThat(duplicates).isEmpty();
@@ -331,14 +429,16 @@ class BeneficiaryServiceAnalyticsTest {
         ben2.setBeneficiaryName("Jon Doe");  // 1 character difference
         ben2.setBeneficiaryAccountNumber("ACC002");
         
-        when(beneficiaryRepository.findAllByCustomerId("CUST001"))
+        when(beneficiaryRepository.findAllByCustomerIdFromId("CUST001", 0L))
                 .thenReturn(Arrays.asList(ben1, ben2));
         
         // When
-        List<Map<String, Object>> duplicates = beneficiaryService.findPotentialDuplicates("CUST001");
+        List<DuplicatePairResponse> duplicates = beneficiaryService
+                .findPotentialDuplicates("CUST001", null, 50).getContent();
         
         // Then
-        assertThat(duplicates).isNotEmpty();
+        assertThat(duplicates).hasSize(1);
+        assertThat(duplicates.get(0).getSimilarity()).isEqualTo(0.857);
     }
     
     @Test
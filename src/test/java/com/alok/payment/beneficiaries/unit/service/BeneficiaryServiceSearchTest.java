@@ -4,14 +4,20 @@ import com.alok.payment.beneficiaries.dto.BeneficiarySearchCriteria;
 import com.alok.payment.beneficiaries.dto.PagedResponse;
 import com.alok.payment.beneficiaries.model.Beneficiary;
 import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.AsyncBeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
 import com.alok.payment.beneficiaries.service.BeneficiaryService;
 import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +36,24 @@ class BeneficiaryServiceSearchTest {
 
     @Mock
     private BeneficiaryValidationService validationService;
+    
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+    
+    @Mock
+    private AsyncBeneficiaryValidationService asyncValidationService;
+    
+    @Mock
+    private BeneficiaryAuditService auditService;
+    
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+    
+    @Mock
+    private BeneficiaryVersionService versionService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private BeneficiaryService beneficiaryService;
@@ -4,8 +4,13 @@ import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
 import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
 import com.alok.payment.beneficiaries.model.Beneficiary;
 import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.AsyncBeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
 import com.alok.payment.beneficiaries.service.BeneficiaryService;
 import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 
@@ -34,6 +40,24 @@ class BeneficiaryServiceValidationTest {
     @Mock
     private BeneficiaryValidationService validationService;
     
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+    
+    @Mock
+    private AsyncBeneficiaryValidationService asyncValidationService;
+    
+    @Mock
+    private BeneficiaryAuditService auditService;
+    
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+    
+    @Mock
+    private BeneficiaryVersionService versionService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
     @InjectMocks
     private BeneficiaryService beneficiaryService;
     
@@ -55,13 +79,11 @@ class BeneficiaryServiceValidationTest {
     @DisplayName("Should call validation service before creating beneficiary")
     void shouldCallValidationServiceBeforeCreating() {
         // Given
-        when(beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString()))
-                .thenReturn(Optional.empty());
-        when(beneficiaryRepository.save(any(Beneficiary.class)))
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class)))
                 .thenAnswer(invocation -> {
                     Beneficiary b = invocation.getArgument(0);
                     b.setId(1L);
-                    return b;
+                    return Optional.of(b);
                 });
         
         // When
@@ -69,7 +91,7 @@ class BeneficiaryServiceValidationTest {
         
         // Then
         verify(validationService, times(1)).validateBeneficiary(validRequest);
-        verify(beneficiaryRepository, times(1)).save(any(Beneficiary.class));
+        verify(beneficiaryRepository, times(1)).insertIfAbsent(any(Beneficiary.class));
     }
     
     @Test
@@ -85,8 +107,7 @@ class BeneficiaryServiceValidationTest {
                 .hasMessageContaining("Invalid account number");
         
         verify(validationService, times(1)).validateBeneficiary(validRequest);
-        verify(beneficiaryRepository, never()).save(any(Beneficiary.class));
-        verify(beneficiaryRepository, never()).findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString());
+        verify(beneficiaryRepository, never()).insertIfAbsent(any(Beneficiary.class));
     }
     
     @Test
@@ -100,9 +121,9 @@ class BeneficiaryServiceValidationTest {
         assertThatThrownBy(() -> beneficiaryService.createBeneficiary(validRequest))
                 .isInstanceOf(BeneficiaryValidationException.class);
         
-        // Verify validation was called but duplicate check was not
+        // Verify validation was called but the duplicate-checking insert was not
         verify(validationService).validateBeneficiary(validRequest);
-        verify(beneficiaryRepository, never()).findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString());
+        verify(beneficiaryRepository, never()).insertIfAbsent(any(Beneficiary.class));
     }
     
     @Test
@@ -132,21 +153,19 @@ class BeneficiaryServiceValidationTest {
                 .hasMessageContaining("Unexpected error");
         
         verify(validationService).validateBeneficiary(validRequest);
-        verify(beneficiaryRepository, never()).save(any(Beneficiary.class));
+        verify(beneficiaryRepository, never()).insertIfAbsent(any(Beneficiary.class));
     }
     
     @Test
     @DisplayName("Should successfully create when validation passes and no duplicates")
     void shouldSuccessfullyCreateWhenValidationPassesAndNoDuplicates() {
         // Given
-        doNothing().when(validationService).validateBeneficiary(any(BeneficiaryRequest.class));
-        when(beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString()))
-                .thenReturn(Optional.empty());
-        when(beneficiaryRepository.save(any(Beneficiary.class)))
+        when(validationService.validateBeneficiary(any(BeneficiaryRequest.class))).thenReturn(null);
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class)))
                 .thenAnswer(invocation -> {
                     Beneficiary b = invocation.getArgument(0);
                     b.setId(1L);
-                    return b;
+                    return Optional.of(b);
                 });
         
         // When
@@ -156,8 +175,7 @@ class BeneficiaryServiceValidationTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         verify(validationService).validateBeneficiary(validRequest);
-        verify(beneficiaryRepository).findByCustomerIdAndBeneficiaryAccountNumber("CUST001", "12345678");
-        verify(beneficiaryRepository).save(any(Beneficiary.class));
+        verify(beneficiaryRepository).insertIfAbsent(any(Beneficiary.class));
     }
     
     @Test
@@ -165,11 +183,9 @@ class BeneficiaryServiceValidationTest {
     void shouldHandleNullBeneficiaryTypeDuringValidation() {
         // Given
         validRequest.setBeneficiaryType(null);
-        doNothing().when(validationService).validateBeneficiary(any(BeneficiaryRequest.class));
-        when(beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString()))
-                .thenReturn(Optional.empty());
-        when(beneficiaryRepository.save(any(Beneficiary.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(validationService.validateBeneficiary(any(BeneficiaryRequest.class))).thenReturn(null);
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
         
         // When
         Beneficiary result = beneficiaryService.createBeneficiary(validRequest);
@@ -183,10 +199,8 @@ class BeneficiaryServiceValidationTest {
     @DisplayName("Should pass correct request to validation service")
     void shouldPassCorrectRequestToValidationService() {
         // Given
-        when(beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString()))
-                .thenReturn(Optional.empty());
-        when(beneficiaryRepository.save(any(Beneficiary.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
         
         // When
         beneficiaryService.createBeneficiary(validRequest);
@@ -200,14 +214,12 @@ class BeneficiaryServiceValidationTest {
     void shouldValidateInternationalBeneficiaryType() {
         // Given
         validRequest.setBeneficiaryType("INTERNATIONAL");
-        doNothing().when(validationService).validateBeneficiary(any(BeneficiaryRequest.class));
-        when(beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString()))
-                .thenReturn(Optional.empty());
-        when(beneficiaryRepository.save(any(Beneficiary.class)))
+        when(validationService.validateBeneficiary(any(BeneficiaryRequest.class))).thenReturn(null);
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class)))
                 .thenAnswer(invocation -> {
                     Beneficiary b = invocation.getArgument(0);
                     b.setId(1L);
-                    return b;
+                    return Optional.of(b);
                 });
         
         // When
@@ -264,11 +276,9 @@ class BeneficiaryServiceValidationTest {
     @DisplayName("Should verify validation service is called exactly once per create attempt")
     void shouldVerifyValidationServiceCalledExactlyOnce() {
         // Given
-        doNothing().when(validationService).validateBeneficiary(any(BeneficiaryRequest.class));
-        when(beneficiaryRepository.findByCustomerIdAndBeneficiaryAccountNumber(anyString(), anyString()))
-                .thenReturn(Optional.empty());
-        when(beneficiaryRepository.save(any(Beneficiary.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(validationService.validateBeneficiary(any(BeneficiaryRequest.class))).thenReturn(null);
+        when(beneficiaryRepository.insertIfAbsent(any(Beneficiary.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
         
         // When
         beneficiaryService.createBeneficiary(validRequest);
@@ -0,0 +1,227 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.BeneficiaryRequest;
+import com.alok.payment.beneficiaries.dto.BulkCreateItemResult;
+import com.alok.payment.beneficiaries.dto.BulkCreateResponse;
+import com.alok.payment.beneficiaries.exception.BeneficiaryValidationException;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.service.AsyncBeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
+import com.alok.payment.beneficiaries.service.BeneficiaryValidationService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.BulkBeneficiaryService;
+import com.alok.payment.beneficiaries.service.ValidationPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkBeneficiaryService Tests")
+class BulkBeneficiaryServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BeneficiaryValidationService validationService;
+
+    @Mock
+    private AsyncBeneficiaryValidationService asyncValidationService;
+
+    @Mock
+    private BeneficiaryAuditService auditService;
+
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+
+    @Mock
+    private BeneficiaryVersionService versionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkBeneficiaryService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new BulkBeneficiaryService(jdbcTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), validationService,
+                asyncValidationService, auditService, outboxService, versionService, transactionManager,
+                new SimpleMeterRegistry(), 3, 1000);
+    }
+
+    @Test
+    @DisplayName("Should create valid items and report invalid and repeated ones per item")
+    @SuppressWarnings("unchecked")
+    void shouldCreateValidItemsAndReportFailures() {
+        // Given
+        BeneficiaryRequest first = request("CUST001", "BEN001");
+        BeneficiaryRequest missingName = request("CUST001", "BEN002");
+        missingName.setBeneficiaryName(null);
+        BeneficiaryRequest repeated = request("CUST001", "BEN001");
+        givenStoredAndInserted(List.of(), List.of(101L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(101L));
+
+        // When
+        BulkCreateResponse response = bulkService.createBeneficiaries(List.of(first, missingName, repeated));
+
+        // Then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BulkCreateItemResult::getStatus)
+                .containsExactly("CREATED", "INVALID", "DUPLICATE");
+        assertThat(response.getResults().get(0).getBeneficiaryId()).isEqualTo(101L);
+        assertThat(response.getResults().get(1).getMessage()).isEqualTo("Beneficiary name is required");
+        assertThat(response.getResults().get(2).getMessage()).isEqualTo("Same beneficiary as item 0");
+
+        ArgumentCaptor<List<Beneficiary>> rows = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).beneficiariesCreated(rows.capture());
+        assertThat(rows.getValue()).singleElement().satisfies(beneficiary -> {
+            assertThat(beneficiary.getId()).isEqualTo(101L);
+            assertThat(beneficiary.getStatus()).isEqualTo("PENDING_VALIDATION");
+        });
+        verify(versionService).recordVersions(List.of(101L), "CREATE");
+        verify(auditService).logBeneficiariesCreated(rows.getValue());
+        verify(asyncValidationService).submit(any(Beneficiary.class), eq(first), eq(ValidationPriority.BULK));
+    }
+
+    @Test
+    @DisplayName("Should check stored duplicates with one query per customer and skip them")
+    @SuppressWarnings("unchecked")
+    void shouldSkipStoredDuplicates() {
+        // Given
+        BeneficiaryRequest existing = request("CUST001", "BEN001");
+        BeneficiaryRequest fresh = request("CUST001", "BEN002");
+        givenStoredAndInserted(List.of("BEN001"), List.of(102L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(102L));
+
+        // When
+        BulkCreateResponse response = bulkService.createBeneficiaries(List.of(existing, fresh));
+
+        // Then
+        assertThat(response.getResults()).extracting(BulkCreateItemResult::getStatus)
+                .containsExactly("DUPLICATE", "CREATED");
+        assertThat(response.getResults().get(1).getBeneficiaryId()).isEqualTo(102L);
+        // One duplicate lookup and one insert
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should report format failures without touching the database when nothing is valid")
+    void shouldNotInsertWhenNothingIsValid() {
+        // Given
+        BeneficiaryRequest malformed = request("CUST001", "X");
+        doThrow(new BeneficiaryValidationException("Invalid account number format"))
+                .when(validationService).validateFormat(malformed);
+
+        // When
+        BulkCreateResponse response = bulkService.createBeneficiaries(List.of(malformed));
+
+        // Then
+        assertThat(response.getResults()).singleElement().satisfies(result -> {
+            assertThat(result.getStatus()).isEqualTo("INVALID");
+            assertThat(result.getMessage()).isEqualTo("Invalid account number format");
+        });
+        verifyNoInteractions(jdbcTemplate, versionService, outboxService, auditService, asyncValidationService);
+    }
+
+    @Test
+    @DisplayName("Should reject requests above the item limit")
+    void shouldRejectTooManyItems() {
+        // Given
+        List<BeneficiaryRequest> requests = List.of(request("CUST001", "BEN001"), request("CUST001", "BEN002"),
+                request("CUST001", "BEN003"), request("CUST001", "BEN004"));
+
+        // When / Then
+        assertThatThrownBy(() -> bulkService.createBeneficiaries(requests))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("at most 3");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should report an item created concurrently as a duplicate and create the rest")
+    void shouldReportConcurrentDuplicate() {
+        // Given - BEN002 became live between the lookup and the insert, which skips it
+        BeneficiaryRequest fresh = request("CUST001", "BEN001");
+        BeneficiaryRequest raced = request("CUST001", "BEN002");
+        givenStoredAndInserted(List.of(), List.of(103L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(List.of(103L, 104L));
+
+        // When
+        BulkCreateResponse response = bulkService.createBeneficiaries(List.of(fresh, raced));
+
+        // Then
+        assertThat(response.getResults()).extracting(BulkCreateItemResult::getStatus)
+                .containsExactly("CREATED", "DUPLICATE");
+        assertThat(response.getResults().get(1).getMessage())
+                .isEqualTo("Beneficiary with account number BEN002 already exists for customer CUST001");
+        verify(versionService).recordVersions(List.of(103L), "CREATE");
+        verify(asyncValidationService).submit(any(Beneficiary.class), eq(fresh), eq(ValidationPriority.BULK));
+        verify(asyncValidationService, never()).submit(any(Beneficiary.class), eq(raced), any(ValidationPriority.class));
+    }
+
+    @Test
+    @DisplayName("Should treat spellings of one IBAN as the same account")
+    @SuppressWarnings("unchecked")
+    void shouldCollideSpellingsOfOneIban() {
+        // Given
+        BeneficiaryRequest plain = request("CUST001", "GB82WEST12345698765432");
+        BeneficiaryRequest spaced = request("CUST001", "GB82 WEST 1234 5698 7654 32");
+        BeneficiaryRequest lowercase = request("CUST001", "gb82west12345698765432");
+        lowercase.setBeneficiaryBankCode("bank001");
+        givenStoredAndInserted(List.of(), List.of(104L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(104L));
+
+        // When
+        BulkCreateResponse response = bulkService.createBeneficiaries(List.of(plain, spaced, lowercase));
+
+        // Then
+        assertThat(response.getResults()).extracting(BulkCreateItemResult::getStatus)
+                .containsExactly("CREATED", "DUPLICATE", "DUPLICATE");
+        assertThat(response.getResults()).extracting(BulkCreateItemResult::getMessage)
+                .containsExactly(null, "Same beneficiary as item 0", "Same beneficiary as item 0");
+        assertThat(spaced.getBeneficiaryAccountNumber()).isEqualTo("GB82WEST12345698765432");
+        assertThat(lowercase.getBeneficiaryAccountNumber()).isEqualTo("GB82WEST12345698765432");
+        assertThat(lowercase.getBeneficiaryBankCode()).isEqualTo("BANK001");
+    }
+
+    /**
+     * Stubs the duplicate lookup, then the insert returning the ids it inserted.
+     */
+    @SuppressWarnings("unchecked")
+    private void givenStoredAndInserted(List<String> stored, List<Long> insertedIds) {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn((List) stored, (List) insertedIds);
+    }
+
+    private BeneficiaryRequest request(String customerId, String beneficiaryAccountNumber) {
+        BeneficiaryRequest request = new BeneficiaryRequest();
+        request.setCustomerId(customerId);
+        request.setAccountNumber("ACC001");
+        request.setBeneficiaryName("John Doe");
+        request.setBeneficiaryAccountNumber(beneficiaryAccountNumber);
+        request.setBeneficiaryBankCode("BANK001");
+        request.setBeneficiaryType("DOMESTIC");
+        return request;
+    }
+}
@@ -0,0 +1,176 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeItemResult;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeRequest;
+import com.alok.payment.beneficiaries.dto.BulkStatusChangeResponse;
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.service.BeneficiaryAuditService;
+import com.alok.payment.beneficiaries.service.BeneficiaryOutboxService;
+import com.alok.payment.beneficiaries.service.BeneficiaryVersionService;
+import com.alok.payment.beneficiaries.service.BulkStatusChangeService;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkStatusChangeService Tests")
+class BulkStatusChangeServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DuplicateClusterService duplicateClusterService;
+
+    @Mock
+    private BeneficiaryAuditService auditService;
+
+    @Mock
+    private BeneficiaryOutboxService outboxService;
+
+    @Mock
+    private BeneficiaryVersionService versionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkStatusChangeService bulkStatusService;
+
+    @BeforeEach
+    void setUp() {
+        bulkStatusService = new BulkStatusChangeService(jdbcTemplate, duplicateClusterService, auditService,
+                outboxService, versionService, transactionManager, new SimpleMeterRegistry(), 10, 2);
+    }
+
+    @Test
+    @DisplayName("Should update listed ids in chunks and report each id in request order")
+    @SuppressWarnings("unchecked")
+    void shouldChangeStatusByIds() throws Exception {
+        // Given - 3 is unknown and 4 is already deleted
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(changed(1L, 7L), changed(2L, null)), List.of());
+        givenCurrentStatus(4L, "DELETED");
+
+        // When
+        BulkStatusChangeResponse response = bulkStatusService.changeStatus(request(List.of(1L, 2L, 3L, 4L, 1L)));
+
+        // Then
+        assertThat(response.getTotal()).isEqualTo(4);
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BulkStatusChangeItemResult::getStatus)
+                .containsExactly("UPDATED", "UPDATED", "NOT_FOUND", "UNCHANGED");
+        assertThat(response.getResults().get(3).getMessage()).isEqualTo("Beneficiary is DELETED");
+
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        verify(versionService).recordVersions(List.of(1L, 2L), "DELETE");
+        verify(outboxService).beneficiariesStatusChanged("CUST001", List.of(1L, 2L), "DELETED");
+        verify(auditService).logBeneficiariesStatusChanged("CUST001", List.of(1L, 2L), "DELETED");
+        verify(duplicateClusterService).removeAllFromClusters(eq("CUST001"),
+                argThat(rows -> rows.size() == 1 && rows.get(0).getId() == 1L
+                        && rows.get(0).getDuplicateClusterId() == 7L));
+    }
+
+    @Test
+    @DisplayName("Should update filtered beneficiaries chunk by chunk until none are left")
+    @SuppressWarnings("unchecked")
+    void shouldChangeStatusByFilter() {
+        // Given
+        BulkStatusChangeRequest request = request(null);
+        request.setStatus("INACTIVE");
+        request.setBeneficiaryBankCode("BANK001");
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(changed(6L, null), changed(5L, null)), List.of(changed(9L, null)), List.of());
+
+        // When
+        BulkStatusChangeResponse response = bulkStatusService.changeStatus(request);
+
+        // Then
+        assertThat(response.getResults()).extracting(BulkStatusChangeItemResult::getBeneficiaryId)
+                .containsExactly(5L, 6L, 9L);
+        assertThat(response.getUpdated()).isEqualTo(3);
+        verify(jdbcTemplate, times(3)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        verify(versionService).recordVersions(List.of(6L, 5L), "STATUS");
+        verify(versionService).recordVersions(List.of(9L), "STATUS");
+        verify(auditService, times(1)).logBeneficiariesStatusChanged("CUST001", List.of(6L, 5L, 9L), "INACTIVE");
+        verifyNoInteractions(duplicateClusterService);
+    }
+
+    @Test
+    @DisplayName("Should audit the chunks that committed when a later chunk fails")
+    @SuppressWarnings("unchecked")
+    void shouldAuditCommittedChunksOnFailure() {
+        // Given
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(changed(1L, null), changed(2L, null)))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        // When / Then
+        assertThatThrownBy(() -> bulkStatusService.changeStatus(request(List.of(1L, 2L, 3L))))
+                .isInstanceOf(QueryTimeoutException.class);
+        verify(auditService).logBeneficiariesStatusChanged("CUST001", List.of(1L, 2L), "DELETED");
+    }
+
+    @Test
+    @DisplayName("Should require either ids or a filter")
+    void shouldRequireIdsOrFilter() {
+        // Given
+        BulkStatusChangeRequest both = request(List.of(1L));
+        both.setBeneficiaryType("DOMESTIC");
+
+        // When / Then
+        assertThatThrownBy(() -> bulkStatusService.changeStatus(request(null)))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> bulkStatusService.changeStatus(both))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> bulkStatusService.changeStatus(
+                request(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("at most 10");
+        verifyNoInteractions(jdbcTemplate, auditService);
+    }
+
+    private void givenCurrentStatus(long id, String status) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("status")).thenReturn(status);
+        lenient().doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private Beneficiary changed(Long id, Long clusterId) {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(id);
+        beneficiary.setDuplicateClusterId(clusterId);
+        return beneficiary;
+    }
+
+    private BulkStatusChangeRequest request(List<Long> ids) {
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setCustomerId("CUST001");
+        request.setStatus("DELETED");
+        request.setBeneficiaryIds(ids);
+        return request;
+    }
+}
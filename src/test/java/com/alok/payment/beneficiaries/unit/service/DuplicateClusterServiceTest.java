@@ -0,0 +1,195 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.dto.DuplicateClusterResponse;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.service.DuplicateClusterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateClusterService Tests")
+class DuplicateClusterServiceTest {
+    
+    @Mock
+    private BeneficiaryRepository beneficiaryRepository;
+    
+    @InjectMocks
+    private DuplicateClusterService duplicateClusterService;
+    
+    private Beneficiary beneficiary(Long id, String name, Long clusterId) {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(id);
+        beneficiary.setCustomerId("CUST001");
+        beneficiary.setBeneficiaryName(name);
+        beneficiary.setStatus("ACTIVE");
+        beneficiary.setDuplicateClusterId(clusterId);
+        return beneficiary;
+    }
+    
+    @Test
+    @DisplayName("Should not touch clusters when new beneficiary has no similar names")
+    void shouldNotTouchClustersWhenNoSimilarNames() {
+        // Given
+        Beneficiary created = beneficiary(3L, "Alice Anderson", null);
+        when(beneficiaryRepository.findByCustomerId("CUST001"))
+                .thenReturn(List.of(beneficiary(1L, "Bob Baker", null), created));
+        
+        // When
+        duplicateClusterService.addToClusters(created);
+        
+        // Then
+        verify(beneficiaryRepository, never()).assignDuplicateCluster(any(), any(), any());
+        verify(beneficiaryRepository, never()).mergeDuplicateClusters(any(), any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should start a cluster rooted at the lowest id")
+    void shouldStartClusterRootedAtLowestId() {
+        // Given
+        Beneficiary created = beneficiary(5L, "Jon Doe", null);
+        when(beneficiaryRepository.findByCustomerId("CUST001"))
+                .thenReturn(List.of(beneficiary(2L, "John Doe", null), beneficiary(3L, "Bob Baker", null)));
+        
+        // When
+        duplicateClusterService.addToClusters(created);
+        
+        // Then - the customer's clusters are locked before they are read
+        InOrder inOrder = inOrder(beneficiaryRepository);
+        inOrder.verify(beneficiaryRepository).lockDuplicateClusters("CUST001");
+        inOrder.verify(beneficiaryRepository).findByCustomerId("CUST001");
+        inOrder.verify(beneficiaryRepository).assignDuplicateCluster("CUST001", 2L, Set.of(2L, 5L));
+    }
+    
+    @Test
+    @DisplayName("Should merge every cluster the new beneficiary bridges")
+    void shouldMergeBridgedClusters() {
+        // Given - "John Do" is similar to members of two existing clusters
+        Beneficiary created = beneficiary(9L, "John Do", null);
+        when(beneficiaryRepository.findByCustomerId("CUST001"))
+                .thenReturn(List.of(beneficiary(4L, "John Doe", 4L), beneficiary(6L, "Johnn Do", 6L)));
+        
+        // When
+        duplicateClusterService.addToClusters(created);
+        
+        // Then
+        verify(beneficiaryRepository).mergeDuplicateClusters("CUST001", 4L, Set.of(4L, 6L, 9L), Set.of(4L, 6L));
+    }
+    
+    @Test
+    @DisplayName("Should re-split the remaining members when a bridging beneficiary leaves")
+    void shouldResplitClusterOnRemoval() {
+        // Given - 2 only linked 1 and 3 together
+        when(beneficiaryRepository.findById(2L)).thenReturn(Optional.of(beneficiary(2L, "Mary Ann", 1L)));
+        when(beneficiaryRepository.findByDuplicateClusterId("CUST001", 1L))
+                .thenReturn(List.of(beneficiary(1L, "Mary", 1L), beneficiary(3L, "Ann", 1L),
+                        beneficiary(4L, "Mari", 1L)));
+        
+        // When
+        duplicateClusterService.removeFromClusters(2L, "CUST001");
+        
+        // Then - Mary and Mari stay together, Ann becomes a singleton
+        verify(beneficiaryRepository).clearDuplicateCluster("CUST001", List.of(2L));
+        verify(beneficiaryRepository).clearDuplicateCluster("CUST001", List.of(3L));
+        verify(beneficiaryRepository).assignDuplicateCluster("CUST001", 1L, List.of(1L, 4L));
+    }
+    
+    @Test
+    @DisplayName("Should ignore removal of unclustered beneficiary")
+    void shouldIgnoreRemovalOfUnclusteredBeneficiary() {
+        // Given
+        when(beneficiaryRepository.findById(2L)).thenReturn(Optional.of(beneficiary(2L, "Ann Lee", null)));
+        
+        // When
+        duplicateClusterService.removeFromClusters(2L, "CUST001");
+        
+        // Then
+        verify(beneficiaryRepository, never()).clearDuplicateCluster(any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should re-split each affected cluster once when several members leave together")
+    void shouldResplitEachClusterOnceOnBulkRemoval() {
+        // Given - 2 and 5 leave cluster 1, 8 leaves cluster 8, 9 was never clustered
+        when(beneficiaryRepository.findByDuplicateClusterId("CUST001", 1L))
+                .thenReturn(List.of(beneficiary(1L, "Mary", 1L), beneficiary(3L, "Ann", 1L),
+                        beneficiary(4L, "Mari", 1L)));
+        when(beneficiaryRepository.findByDuplicateClusterId("CUST001", 8L))
+                .thenReturn(List.of(beneficiary(11L, "Tom Hardy", 8L)));
+        
+        // When
+        duplicateClusterService.removeAllFromClusters("CUST001", List.of(beneficiary(2L, "Mary Ann", 1L),
+                beneficiary(5L, "Ann Mary", 1L), beneficiary(8L, "Tom Hardie", 8L), beneficiary(9L, "Bob", null)));
+        
+        // Then
+        verify(beneficiaryRepository).clearDuplicateCluster("CUST001", List.of(2L, 5L, 8L));
+        verify(beneficiaryRepository, times(1)).findByDuplicateClusterId("CUST001", 1L);
+        verify(beneficiaryRepository).assignDuplicateCluster("CUST001", 1L, List.of(1L, 4L));
+        verify(beneficiaryRepository).clearDuplicateCluster("CUST001", List.of(3L));
+        verify(beneficiaryRepository).clearDuplicateCluster("CUST001", List.of(11L));
+        verify(beneficiaryRepository, never()).findByCustomerId(anyString());
+    }
+    
+    @Test
+    @DisplayName("Should lock each customer once in customer id order")
+    void shouldLockCustomersInOrder() {
+        // When
+        duplicateClusterService.lockClusters(List.of("CUST002", "CUST001", "CUST002"));
+        
+        // Then
+        InOrder inOrder = inOrder(beneficiaryRepository);
+        inOrder.verify(beneficiaryRepository).lockDuplicateClusters("CUST001");
+        inOrder.verify(beneficiaryRepository).lockDuplicateClusters("CUST002");
+        verifyNoMoreInteractions(beneficiaryRepository);
+    }
+    
+    @Test
+    @DisplayName("Should group stored clusters and skip stale singletons")
+    void shouldGroupStoredClusters() {
+        // Given
+        when(beneficiaryRepository.findClusteredByCustomerId("CUST001"))
+                .thenReturn(List.of(beneficiary(1L, "John Doe", 1L), beneficiary(2L, "JohnDoe", 1L),
+                        beneficiary(7L, "Jane Smith", 7L)));
+        
+        // When
+        List<DuplicateClusterResponse> clusters = duplicateClusterService.getClusters("CUST001");
+        
+        // Then
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).getClusterId()).isEqualTo(1L);
+        assertThat(clusters.get(0).getSize()).isEqualTo(2);
+        assertThat(clusters.get(0).getMembers()).extracting("id").containsExactly(1L, 2L);
+        verify(beneficiaryRepository, never()).findByCustomerId(anyString());
+    }
+    
+    @Test
+    @DisplayName("Should rebuild all clusters for a customer")
+    void shouldRebuildAllClusters() {
+        // Given
+        when(beneficiaryRepository.findByCustomerId("CUST001"))
+                .thenReturn(List.of(beneficiary(1L, "John Doe", null), beneficiary(2L, "Jane Smith", null),
+                        beneficiary(3L, "Jon Doe", null), beneficiary(4L, "Jane Smyth", null)));
+        
+        // When
+        int clusters = duplicateClusterService.rebuildClusters("CUST001");
+        
+        // Then
+        assertThat(clusters).isEqualTo(2);
+        verify(beneficiaryRepository).clearDuplicateClustersByCustomerId("CUST001");
+        verify(beneficiaryRepository).assignDuplicateCluster("CUST001", 1L, List.of(1L, 3L));
+        verify(beneficiaryRepository).assignDuplicateCluster("CUST001", 2L, List.of(2L, 4L));
+    }
+}
@@ -0,0 +1,126 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.service.HttpThirdPartyValidationClient;
+import com.alok.payment.beneficiaries.service.ThirdPartyValidationRequest;
+import com.alok.payment.beneficiaries.service.ThirdPartyValidationResponse;
+import com.alok.payment.beneficiaries.simulator.ValidationProviderSimulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HttpThirdPartyValidationClient Tests")
+class HttpThirdPartyValidationClientTest {
+
+    private ValidationProviderSimulator simulator;
+    private HttpThirdPartyValidationClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        if (simulator != null) {
+            simulator.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate a beneficiary against the simulator")
+    void shouldValidateBeneficiary() throws IOException {
+        // Given
+        startSimulator(0.0, 0.0, 0, 5000);
+
+        // When
+        ThirdPartyValidationResponse response = client.validateBeneficiary("123456789", "BANK001", "John Doe", "INDIVIDUAL");
+
+        // Then
+        assertThat(response.isValid()).isTrue();
+        assertThat(response.isSanctioned()).isFalse();
+        assertThat(response.getFraudScore()).isEqualTo(0.1);
+        assertThat(response.getAccountStatus()).isEqualTo("ACTIVE");
+        assertThat(response.getAccountHolderName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    @DisplayName("Should call the separate account, fraud and sanctions endpoints")
+    void shouldCallSeparateCheckEndpoints() throws IOException {
+        // Given
+        startSimulator(0.0, 0.0, 0, 5000);
+
+        // When
+        ThirdPartyValidationResponse account = client.checkAccount("777123456", "BANK001", "John Doe");
+        ThirdPartyValidationResponse fraud = client.screenFraud("888123456", "John Doe", "INDIVIDUAL");
+        ThirdPartyValidationResponse sanctions = client.screenSanctions("999123456", "John Doe");
+
+        // Then
+        assertThat(account.isValid()).isFalse();
+        assertThat(account.getAccountStatus()).isEqualTo("CLOSED");
+        assertThat(fraud.getFraudScore()).isEqualTo(0.85);
+        assertThat(sanctions.isSanctioned()).isTrue();
+        assertThat(sanctions.getFailureReason()).isEqualTo("Account is on sanctions list");
+    }
+
+    @Test
+    @DisplayName("Should return batch responses in request order with per-item service errors")
+    void shouldValidateBatch() throws IOException {
+        // Given
+        startSimulator(0.0, 0.0, 0, 5000);
+
+        // When
+        List<ThirdPartyValidationResponse> responses = client.validateBeneficiaries(List.of(
+                new ThirdPartyValidationRequest("123456789", "BANK001", "John Doe", "INDIVIDUAL"),
+                new ThirdPartyValidationRequest("666123456", "BANK001", "Jane Doe", "INDIVIDUAL"),
+                new ThirdPartyValidationRequest("999123456", "BANK001", "Ivan Petrov", "INDIVIDUAL")));
+
+        // Then
+        assertThat(responses).hasSize(3);
+        assertThat(responses.get(0).isValid()).isTrue();
+        assertThat(responses.get(1).getServiceError()).isEqualTo("Third-party service temporarily unavailable");
+        assertThat(responses.get(2).isSanctioned()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should surface provider errors as exceptions")
+    void shouldFailOnProviderError() throws IOException {
+        // Given
+        startSimulator(1.0, 0.0, 0, 5000);
+
+        // When / Then
+        assertThatThrownBy(() -> client.checkAccount("123456789", "BANK001", "John Doe"))
+                .isInstanceOf(HttpServerErrorException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    @DisplayName("Should give up on a hung provider after the read timeout")
+    void shouldTimeOutHungProvider() throws IOException {
+        // Given
+        startSimulator(0.0, 1.0, 20000, 1000);
+
+        // When
+        long start = System.nanoTime();
+        Throwable thrown = catchThrowable(() -> client.screenSanctions("123456789", "John Doe"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(thrown).isInstanceOf(ResourceAccessException.class);
+        assertThat(elapsedMs).isLessThan(10000);
+    }
+
+    private void startSimulator(double errorRate, double timeoutRate, long hangMs, long readTimeoutMs) throws IOException {
+        simulator = new ValidationProviderSimulator(new ObjectMapper(), 0, "FIXED", 0, 0, 0,
+                errorRate, timeoutRate, hangMs);
+        simulator.start();
+        client = new HttpThirdPartyValidationClient(RestClient.builder(),
+                "http://localhost:" + simulator.getPort(), true, 500, readTimeoutMs);
+    }
+}
@@ -0,0 +1,133 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.service.LocalFraudScreeningService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LocalFraudScreeningService Tests")
+class LocalFraudScreeningServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalFraudScreeningService screeningService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        screeningService = new LocalFraudScreeningService(jdbcTemplate, meterRegistry, true, 24, 5, 0.2, 0.7);
+    }
+
+    @Test
+    @DisplayName("Should score a customer's usual add as low risk")
+    void shouldScoreUsualAddAsLowRisk() throws SQLException {
+        // Given: one recent add, an existing payee at the same bank, no other customer paying the account
+        givenSignals(1, 3, 2, 0);
+
+        // When
+        Double score = screeningService.score("CUST001", "12345678", "BANK001");
+
+        // Then
+        assertThat(score).isEqualTo(0.08);
+        assertThat(screeningService.isLowRisk(score)).isTrue();
+        assertThat(meterRegistry.get("beneficiary.validation.local.fraud").tag("outcome", "low").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should leave a new bank or a shared account to remote scoring")
+    void shouldScoreSingleSignalAsAmbiguous() throws SQLException {
+        // Given: a first payee at this bank, then an account another customer already pays
+        givenSignals(0, 3, 0, 0);
+        Double newBank = screeningService.score("CUST001", "12345678", "BANK009");
+        givenSignals(0, 3, 1, 1);
+        Double sharedAccount = screeningService.score("CUST001", "12345678", "BANK001");
+
+        // Then
+        assertThat(newBank).isEqualTo(0.2);
+        assertThat(sharedAccount).isEqualTo(0.2);
+        for (Double score : new Double[] {newBank, sharedAccount}) {
+            assertThat(screeningService.isLowRisk(score)).isFalse();
+            assertThat(screeningService.isHighRisk(score)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should score a burst of adds to a widely shared account as high risk")
+    void shouldScoreCombinedSignalsAsHighRisk() throws SQLException {
+        // Given: past the velocity limit, and two other customers pay the account
+        givenSignals(7, 4, 0, 2);
+
+        // When
+        Double score = screeningService.score("CUST001", "12345678", "BANK009");
+
+        // Then
+        assertThat(score).isEqualTo(1.0);
+        assertThat(screeningService.isHighRisk(score)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave a customer without history to remote scoring unless already high risk")
+    void shouldTreatCustomerWithoutHistoryAsAmbiguous() throws SQLException {
+        // Given: a first ever beneficiary, then a burst of adds to an account two other customers pay
+        givenSignals(1, 0, 0, 0);
+        Double firstAdd = screeningService.score("CUST009", "12345678", "BANK001");
+        givenSignals(6, 0, 0, 2);
+        Double burst = screeningService.score("CUST009", "12345678", "BANK001");
+
+        // Then
+        assertThat(firstAdd).isNull();
+        assertThat(screeningService.isLowRisk(firstAdd)).isFalse();
+        assertThat(meterRegistry.get("beneficiary.validation.local.fraud").tag("outcome", "ambiguous").counter().count())
+                .isEqualTo(1.0);
+        assertThat(burst).isEqualTo(0.8);
+        assertThat(screeningService.isHighRisk(burst)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should defer to remote scoring when the signals cannot be read or the tier is disabled")
+    @SuppressWarnings("unchecked")
+    void shouldReturnNoScoreWhenUnavailable() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        LocalFraudScreeningService disabled =
+                new LocalFraudScreeningService(jdbcTemplate, meterRegistry, false, 24, 5, 0.2, 0.7);
+
+        // When / Then
+        assertThat(screeningService.score("CUST001", "12345678", "BANK001")).isNull();
+        assertThat(disabled.score("CUST001", "12345678", "BANK001")).isNull();
+        assertThat(screeningService.isLowRisk(null)).isFalse();
+        assertThat(screeningService.isHighRisk(null)).isFalse();
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenSignals(long recentAdds, long customerBeneficiaries, long sameBank, long otherCustomers)
+            throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("recent_adds")).thenReturn(recentAdds);
+        when(rs.getLong("customer_beneficiaries")).thenReturn(customerBeneficiaries);
+        when(rs.getLong("same_bank")).thenReturn(sameBank);
+        when(rs.getLong("other_customers")).thenReturn(otherCustomers);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> ((RowMapper<Double>) invocation.getArgument(1)).mapRow(rs, 0));
+    }
+}
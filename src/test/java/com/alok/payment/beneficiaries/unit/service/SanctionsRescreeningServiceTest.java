@@ -0,0 +1,245 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.exception.InvalidRequestException;
+import com.alok.payment.beneficiaries.exception.SanctionsRescreenInProgressException;
+import com.alok.payment.beneficiaries.model.Beneficiary;
+import com.alok.payment.beneficiaries.model.SanctionsRescreenJob;
+import com.alok.payment.beneficiaries.repository.BeneficiaryRepository;
+import com.alok.payment.beneficiaries.repository.SanctionsRescreenJobRepository;
+import com.alok.payment.beneficiaries.service.SanctionsRescreeningService;
+import com.alok.payment.beneficiaries.service.SanctionsScreeningService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SanctionsRescreeningService Tests")
+class SanctionsRescreeningServiceTest {
+
+    @Mock
+    private BeneficiaryRepository beneficiaryRepository;
+
+    @Mock
+    private SanctionsRescreenJobRepository jobRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private SanctionsScreeningService screeningService;
+    private SanctionsRescreeningService rescreeningService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path list = Files.write(tempDir.resolve("sanctions.txt"), List.of("NAME|Ivan Petrov", "ACCOUNT|99912345678"));
+        screeningService = new SanctionsScreeningService(list.toString(), 60000);
+        rescreeningService = new SanctionsRescreeningService(beneficiaryRepository, jobRepository, screeningService,
+                jdbcTemplate, transactionManager, 2, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        rescreeningService.shutdown();
+        screeningService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should scan in chunks, flag hits in batches and advance the checkpoint")
+    @SuppressWarnings("unchecked")
+    void shouldScanChunksAndFlagHits() {
+        // Given
+        SanctionsRescreenJob job = newJob(0);
+        when(beneficiaryRepository.findActiveAfterId(0L, 2))
+                .thenReturn(List.of(beneficiary(1L, "John Smith", "12345678"), beneficiary(2L, "Ivan Petrov", "23456789")));
+        when(beneficiaryRepository.findActiveAfterId(2L, 2))
+                .thenReturn(List.of(beneficiary(5L, "Jane Doe", "99912345678")));
+        when(beneficiaryRepository.findActiveAfterId(5L, 2)).thenReturn(List.of());
+
+        // When
+        rescreeningService.runJob(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getScannedCount()).isEqualTo(3);
+        assertThat(job.getFlaggedCount()).isEqualTo(2);
+        assertThat(job.getLastBeneficiaryId()).isEqualTo(5L);
+        assertThat(job.getCompletedAt()).isNotNull();
+
+        ArgumentCaptor<Collection<Object>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("sanctions_match"), batches.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSize(1));
+        verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class));
+        verify(jobRepository, times(3)).save(job);
+    }
+
+    @Test
+    @DisplayName("Should clear stale flags on scanned beneficiaries that no longer match")
+    void shouldClearStaleFlags() throws Exception {
+        // Given
+        SanctionsRescreenJob job = newJob(0);
+        when(beneficiaryRepository.findActiveAfterId(0L, 2))
+                .thenReturn(List.of(beneficiary(1L, "John Smith", "12345678"), beneficiary(2L, "Ivan Petrov", "23456789")));
+        when(beneficiaryRepository.findActiveAfterId(2L, 2)).thenReturn(List.of());
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenAnswer(invocation -> {
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            return 1;
+        });
+
+        // When
+        rescreeningService.runJob(job);
+
+        // Then
+        verify(connection).prepareStatement(contains("sanctions_match = NULL"));
+        verify(connection).createArrayOf("bigint", new Object[]{1L});
+        assertThat(job.getFlaggedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resume scanning after the checkpoint")
+    void shouldResumeFromCheckpoint() {
+        // Given
+        SanctionsRescreenJob job = newJob(40);
+        job.setScannedCount(40);
+        when(beneficiaryRepository.findActiveAfterId(40L, 2)).thenReturn(List.of(beneficiary(41L, "John Smith", "12345678")));
+        when(beneficiaryRepository.findActiveAfterId(41L, 2)).thenReturn(List.of());
+
+        // When
+        rescreeningService.runJob(job);
+
+        // Then
+        verify(beneficiaryRepository, never()).findActiveAfterId(eq(0L), anyInt());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(job.getScannedCount()).isEqualTo(41);
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("Should mark the job failed and keep the last checkpoint when a chunk fails")
+    void shouldFailJobKeepingCheckpoint() {
+        // Given
+        SanctionsRescreenJob job = newJob(0);
+        when(beneficiaryRepository.findActiveAfterId(0L, 2)).thenReturn(List.of(beneficiary(1L, "John Smith", "12345678")));
+        when(beneficiaryRepository.findActiveAfterId(1L, 2)).thenThrow(new RuntimeException("connection reset"));
+
+        // When
+        rescreeningService.runJob(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo("FAILED");
+        assertThat(job.getFailureReason()).isEqualTo("connection reset");
+        assertThat(job.getLastBeneficiaryId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not save the checkpoint of a chunk whose transaction rolled back")
+    @SuppressWarnings("unchecked")
+    void shouldNotAdvanceCheckpointOnRolledBackChunk() {
+        // Given
+        SanctionsRescreenJob job = newJob(0);
+        when(beneficiaryRepository.findActiveAfterId(0L, 2)).thenReturn(List.of(beneficiary(1L, "Ivan Petrov", "12345678")));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("deadlock detected"));
+
+        // When
+        rescreeningService.runJob(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo("FAILED");
+        assertThat(job.getLastBeneficiaryId()).isZero();
+        assertThat(job.getScannedCount()).isZero();
+        assertThat(job.getFlaggedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a second job while one is running")
+    void shouldRejectConcurrentJob() throws InterruptedException {
+        // Given
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobRepository.save(any(SanctionsRescreenJob.class))).thenAnswer(invocation -> {
+            SanctionsRescreenJob saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+        when(beneficiaryRepository.findActiveAfterId(anyLong(), anyInt())).thenAnswer(invocation -> {
+            scanning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        // When
+        SanctionsRescreenJob started = rescreeningService.startJob();
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(started.getId()).isEqualTo(7L);
+        assertThatThrownBy(() -> rescreeningService.startJob())
+                .isInstanceOf(SanctionsRescreenInProgressException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should refuse to resume a completed job")
+    void shouldRefuseToResumeCompletedJob() {
+        // Given
+        SanctionsRescreenJob job = newJob(100);
+        job.setStatus("COMPLETED");
+        when(jobRepository.findById(3L)).thenReturn(Optional.of(job));
+
+        // When / Then
+        assertThatThrownBy(() -> rescreeningService.resumeJob(3L))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("already completed");
+    }
+
+    private SanctionsRescreenJob newJob(long lastBeneficiaryId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new SanctionsRescreenJob(3L, "RUNNING", lastBeneficiaryId, 0, 0, null, now, now, null);
+    }
+
+    private Beneficiary beneficiary(Long id, String name, String accountNumber) {
+        Beneficiary beneficiary = new Beneficiary();
+        beneficiary.setId(id);
+        beneficiary.setCustomerId("CUST001");
+        beneficiary.setBeneficiaryName(name);
+        beneficiary.setBeneficiaryAccountNumber(accountNumber);
+        beneficiary.setStatus("ACTIVE");
+        return beneficiary;
+    }
+}
@@ -0,0 +1,124 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.service.SanctionsScreeningService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SanctionsScreeningService Tests")
+class SanctionsScreeningServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SanctionsScreeningService screeningService;
+
+    @AfterEach
+    void tearDown() {
+        if (screeningService != null) {
+            screeningService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should match sanctioned names as whole words")
+    void shouldMatchSanctionedNames() throws IOException {
+        // Given
+        screeningService = serviceFor(writeList("# test list", "NAME|Jane Doe", "NAME|Ivan Petrov", "", "NAME|Doe"));
+
+        // When / Then
+        assertThat(screeningService.screen("Mrs. JANE  doe", "12345678")).contains("sanctioned name 'jane doe'");
+        assertThat(screeningService.screen("Ivan Petrov-Smith", "12345678")).contains("sanctioned name 'ivan petrov'");
+        assertThat(screeningService.screen("Janet Doering", "12345678")).isEmpty();
+        assertThat(screeningService.screen("John Smith", "12345678")).isEmpty();
+        assertThat(screeningService.getNameCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should find a shorter name nested inside a longer partial match")
+    void shouldFollowFailureLinks() throws IOException {
+        // Given
+        screeningService = serviceFor(writeList("NAME|ann smith jones", "NAME|smith"));
+
+        // When / Then
+        assertThat(screeningService.screen("Ann Smith Brown", null)).contains("sanctioned name 'smith'");
+    }
+
+    @Test
+    @DisplayName("Should match sanctioned accounts ignoring whitespace")
+    void shouldMatchSanctionedAccounts() throws IOException {
+        // Given
+        screeningService = serviceFor(writeList("ACCOUNT|GB29 NWBK 6016 1331 9268 19", "ACCOUNT|99912345678"));
+
+        // When / Then
+        assertThat(screeningService.screen("John Smith", "99912345678")).contains("sanctioned account 99912345678");
+        assertThat(screeningService.screen("John Smith", "gb29nwbk60161331926819")).isPresent();
+        assertThat(screeningService.screen("John Smith", "12345678")).isEmpty();
+        assertThat(screeningService.getAccountCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should pick up a changed list file on reload")
+    void shouldReloadChangedFile() throws IOException {
+        // Given
+        Path list = writeList("NAME|Jane Doe");
+        screeningService = serviceFor(list);
+        assertThat(screeningService.reloadIfChanged()).isFalse();
+
+        // When
+        Files.write(list, List.of("NAME|Jane Doe", "NAME|John Roe"));
+        Files.setLastModifiedTime(list, FileTime.from(Instant.now().plusSeconds(5)));
+        boolean reloaded = screeningService.reloadIfChanged();
+
+        // Then
+        assertThat(reloaded).isTrue();
+        assertThat(screeningService.screen("John Roe", "12345678")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should keep the previous list when the new file is invalid")
+    void shouldKeepPreviousListOnInvalidFile() throws IOException {
+        // Given
+        Path list = writeList("NAME|Jane Doe");
+        screeningService = serviceFor(list);
+
+        // When
+        Files.write(list, List.of("NAME|John Roe", "PASSPORT|X1234567"));
+        Files.setLastModifiedTime(list, FileTime.from(Instant.now().plusSeconds(5)));
+        boolean reloaded = screeningService.reloadIfChanged();
+
+        // Then
+        assertThat(reloaded).isFalse();
+        assertThat(screeningService.screen("Jane Doe", "12345678")).isPresent();
+        assertThat(screeningService.screen("John Roe", "12345678")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should screen nothing when no list file is configured")
+    void shouldBeDisabledWithoutFile() {
+        // Given
+        screeningService = new SanctionsScreeningService("", 1000);
+
+        // When / Then
+        assertThat(screeningService.screen("Jane Doe", "99912345678")).isEmpty();
+        assertThat(screeningService.reloadIfChanged()).isFalse();
+    }
+
+    private Path writeList(String... lines) throws IOException {
+        return Files.write(tempDir.resolve("sanctions.txt"), List.of(lines));
+    }
+
+    private SanctionsScreeningService serviceFor(Path list) {
+        return new SanctionsScreeningService(list.toString(), 60000);
+    }
+}
@@ -0,0 +1,182 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import com.alok.payment.beneficiaries.service.StubThirdPartyValidationClient;
+import com.alok.payment.beneficiaries.service.ThirdPartyValidationGuard;
+import com.alok.payment.beneficiaries.service.ThirdPartyValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ThirdPartyValidationGuard Tests")
+class ThirdPartyValidationGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThirdPartyValidationGuard guard;
+    private StubThirdPartyValidationClient stubClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stubClient = new StubThirdPartyValidationClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (guard != null) {
+            guard.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the provider response when the call succeeds")
+    void shouldReturnResponseOnSuccess() {
+        // Given
+        guard = newGuard(1000, 5, 10);
+
+        // When
+        ThirdPartyValidationResponse response = guard.call(this::validate);
+
+        // Then
+        assertThat(response.isValid()).isTrue();
+        assertThat(guard.getCircuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("Should time out a slow provider call")
+    void shouldTimeOutSlowCall() {
+        // Given
+        guard = newGuard(50, 5, 10);
+        stubClient.setLatencyMs(2000);
+
+        // When / Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> guard.call(this::validate))
+                .isInstanceOf(ThirdPartyServiceUnavailableException.class)
+                .hasMessageContaining("timed out");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+    }
+
+    @Test
+    @DisplayName("Should pass provider errors through unchanged")
+    void shouldPropagateProviderErrors() {
+        // Given
+        guard = newGuard(1000, 5, 10);
+        stubClient.setFailureRate(1.0);
+
+        // When / Then
+        assertThatThrownBy(() -> guard.call(this::validate))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Third-party service failed (injected)");
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after repeated failures and then reject immediately")
+    void shouldOpenCircuitAfterFailures() {
+        // Given
+        guard = newGuard(1000, 5, 4);
+        stubClient.setFailureRate(1.0);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.call(this::validate)).isInstanceOf(RuntimeException.class);
+        }
+
+        // When / Then
+        assertThat(guard.getCircuitState()).isEqualTo("OPEN");
+        assertThatThrownBy(() -> guard.call(this::validate))
+                .isInstanceOf(ThirdPartyServiceUnavailableException.class)
+                .hasMessageContaining("circuit is open");
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("state", "open").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.not.permitted.calls")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead limit without tripping the circuit")
+    void shouldRejectWhenBulkheadFull() throws Exception {
+        // Given
+        guard = newGuard(2000, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> inFlight = caller.submit(() -> guard.call(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            }));
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // When / Then
+            assertThatThrownBy(() -> guard.call(this::validate))
+                    .isInstanceOf(ThirdPartyServiceUnavailableException.class)
+                    .hasMessageContaining("Too many concurrent");
+            assertThat(guard.getCircuitState()).isEqualTo("CLOSED");
+
+            release.countDown();
+            assertThat(inFlight.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep callers moving while the provider is slow")
+    void shouldHoldThroughputWhileProviderIsSlow() throws Exception {
+        // Given - every provider call takes 5 seconds
+        guard = newGuard(100, 20, 10);
+        stubClient.setLatencyMs(5000);
+        int callers = 200;
+        AtomicInteger unavailable = new AtomicInteger();
+
+        // When
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        guard.call(this::validate);
+                    } catch (ThirdPartyServiceUnavailableException e) {
+                        unavailable.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(3, TimeUnit.SECONDS);
+            }
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - every caller got an answer well before a single provider call would finish
+        assertThat(unavailable.get()).isEqualTo(callers);
+        assertThat(elapsedMs).isLessThan(3000);
+        assertThat(guard.getCircuitState()).isEqualTo("OPEN");
+    }
+
+    private ThirdPartyValidationGuard newGuard(long timeoutMs, int maxConcurrentCalls, int minimumCalls) {
+        return new ThirdPartyValidationGuard(meterRegistry, timeoutMs, maxConcurrentCalls,
+                50f, minimumCalls, minimumCalls, 60000);
+    }
+
+    private ThirdPartyValidationResponse validate() {
+        return stubClient.validateBeneficiary("123456789", "BANK001", "John Doe", "INDIVIDUAL");
+    }
+}
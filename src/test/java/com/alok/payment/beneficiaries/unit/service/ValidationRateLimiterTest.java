@@ -0,0 +1,142 @@
+package com.alok.payment.beneficiaries.unit.service;
+
+import com.alok.payment.beneficiaries.exception.ThirdPartyServiceUnavailableException;
+import com.alok.payment.beneficiaries.service.ValidationPriority;
+import com.alok.payment.beneficiaries.service.ValidationRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ValidationRateLimiter Tests")
+class ValidationRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should grant calls within the burst without waiting")
+    void shouldGrantBurstImmediately() {
+        // Given
+        ValidationRateLimiter limiter = newLimiter(1, 10, 2, 100);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(ValidationPriority.INTERACTIVE, 3);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(elapsedMs).isLessThan(100);
+        assertThat(meterRegistry.get("beneficiary.validation.ratelimit.wait")
+                .tag("priority", "interactive").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the interactive reserve away from bulk and background calls")
+    void shouldKeepInteractiveReserve() {
+        // Given
+        ValidationRateLimiter limiter = newLimiter(0.1, 10, 5, 100);
+        limiter.acquire(ValidationPriority.BACKGROUND, 5);
+
+        // When / Then
+        assertThatThrownBy(() -> limiter.acquire(ValidationPriority.BULK, 1))
+                .isInstanceOf(ThirdPartyServiceUnavailableException.class)
+                .hasMessageContaining("rate limit exceeded");
+        assertThatCode(() -> limiter.acquire(ValidationPriority.INTERACTIVE, 5)).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("beneficiary.validation.ratelimit.rejected")
+                .tag("priority", "bulk").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should serve a queued interactive call before an earlier background call")
+    void shouldServeInteractiveFirst() throws Exception {
+        // Given: an empty bucket refilling one token every 200 ms
+        ValidationRateLimiter limiter = newLimiter(5, 1, 0, 5000);
+        limiter.acquire(ValidationPriority.INTERACTIVE, 1);
+        List<ValidationPriority> served = new CopyOnWriteArrayList<>();
+
+        // When
+        Future<?> background = executor.submit(() -> {
+            limiter.acquire(ValidationPriority.BACKGROUND, 1);
+            served.add(ValidationPriority.BACKGROUND);
+        });
+        awaitQueued(limiter, ValidationPriority.BACKGROUND);
+        Future<?> interactive = executor.submit(() -> {
+            limiter.acquire(ValidationPriority.INTERACTIVE, 1);
+            served.add(ValidationPriority.INTERACTIVE);
+        });
+        interactive.get(5, TimeUnit.SECONDS);
+        background.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(served).containsExactly(ValidationPriority.INTERACTIVE, ValidationPriority.BACKGROUND);
+    }
+
+    @Test
+    @DisplayName("Should publish the queue depth of waiting calls per priority")
+    void shouldPublishQueueDepth() throws Exception {
+        // Given
+        ValidationRateLimiter limiter = newLimiter(2, 1, 0, 5000);
+        limiter.acquire(ValidationPriority.BULK, 1);
+
+        // When
+        Future<?> first = executor.submit(() -> limiter.acquire(ValidationPriority.BULK, 1));
+        Future<?> second = executor.submit(() -> limiter.acquire(ValidationPriority.BULK, 1));
+        awaitQueued(limiter, ValidationPriority.BULK);
+
+        // Then
+        assertThat(meterRegistry.get("beneficiary.validation.ratelimit.queue.depth")
+                .tag("priority", "bulk").gauge().value()).isGreaterThanOrEqualTo(1.0);
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(limiter.queueDepth(ValidationPriority.BULK)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not limit calls when the rate is zero")
+    void shouldNotLimitWhenDisabled() {
+        // Given
+        ValidationRateLimiter limiter = newLimiter(0, 1, 0, 0);
+
+        // When / Then
+        assertThatCode(() -> {
+            for (int i = 0; i < 100; i++) {
+                limiter.acquire(ValidationPriority.BACKGROUND, 3);
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    private void awaitQueued(ValidationRateLimiter limiter, ValidationPriority priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.queueDepth(priority) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private ValidationRateLimiter newLimiter(double ratePerSecond, int burst, int reserve, long maxWaitMs) {
+        return new ValidationRateLimiter(meterRegistry, ratePerSecond, burst, reserve, maxWaitMs, maxWaitMs, maxWaitMs);
+    }
+}